@@ -34,6 +34,7 @@ import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.network.messaging.InboundMessage;
 import com.radixdlt.network.transport.TransportControl;
 import com.radixdlt.network.transport.TransportOutboundConnection;
+import io.netty.buffer.ByteBufUtil;
 import static org.mockito.Mockito.*;
 
 public class NettyTCPTransportRTTTest {
@@ -139,12 +140,14 @@ public class NettyTCPTransportRTTTest {
 	}
 
 	private void outboundReceiver(InboundMessage message) {
-		this.obc2.send(message.message());
+		this.obc2.send(ByteBufUtil.getBytes(message.message()));
+		message.release();
 	}
 
 	private void inboundReceiver(InboundMessage message) {
 		long rxTime = System.nanoTime();
-		byte[] msg = message.message();
+		byte[] msg = ByteBufUtil.getBytes(message.message());
+		message.release();
 		if (msg == null || msg.length != Long.BYTES) {
 			throw new IllegalArgumentException("Unexpected message type");
 		}
@@ -140,7 +140,8 @@ public class NettyTCPTransportTest {
 
 	private void handleMessage(InboundMessage message) {
 		packetCounter.incrementAndGet();
-		byteCounter.addAndGet(message.message().length);
+		byteCounter.addAndGet(message.message().readableBytes());
+		message.release();
 	}
 
 	private void unexpectedMessage(InboundMessage message) {
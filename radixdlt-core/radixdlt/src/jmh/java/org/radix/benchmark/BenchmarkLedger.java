@@ -0,0 +1,187 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package org.radix.benchmark;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+import com.radixdlt.SingleNodeAndPeersDeterministicNetworkModule;
+import com.radixdlt.atom.TxLowLevelBuilder;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.atommodel.tokens.TokenDefinitionParticle;
+import com.radixdlt.atommodel.tokens.TokensParticle;
+import com.radixdlt.atomos.REAddrParticle;
+import com.radixdlt.consensus.LedgerProof;
+import com.radixdlt.consensus.bft.Self;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.constraintmachine.ConstraintMachine;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.engine.RadixEngine;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.mempool.MempoolConfig;
+import com.radixdlt.statecomputer.LedgerAndBFTProof;
+import com.radixdlt.statecomputer.RadixEngineConfig;
+import com.radixdlt.statecomputer.RadixEngineMempool;
+import com.radixdlt.statecomputer.checkpoint.MockedGenesisModule;
+import com.radixdlt.statecomputer.forks.BetanetForksModule;
+import com.radixdlt.statecomputer.forks.RadixEngineOnlyLatestForkModule;
+import com.radixdlt.store.DatabaseEnvironment;
+import com.radixdlt.store.DatabaseLocation;
+import com.radixdlt.store.EngineStore;
+import com.radixdlt.store.InMemoryEngineStore;
+import com.radixdlt.store.LastStoredProof;
+import com.radixdlt.store.berkeley.BerkeleyLedgerEntryStore;
+import com.radixdlt.utils.UInt256;
+import org.radix.TokenIssuance;
+import org.radix.serialization.TestSetupUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Single node ledger, starting from a genesis which funds the given accounts, used as
+ * the state benchmarks run against.
+ */
+final class BenchmarkLedger {
+	static final UInt256 ISSUED_AMOUNT = UInt256.from(1_000_000_000_000L);
+
+	@Inject
+	private RadixEngine<LedgerAndBFTProof> radixEngine;
+
+	@Inject
+	private RadixEngineMempool mempool;
+
+	@Inject
+	private ConstraintMachine constraintMachine;
+
+	@Inject
+	private EngineStore<LedgerAndBFTProof> engineStore;
+
+	@Inject
+	private BerkeleyLedgerEntryStore ledgerStore;
+
+	@Inject
+	private DatabaseEnvironment databaseEnvironment;
+
+	@Inject
+	@Self
+	private ECKeyPair self;
+
+	// FIXME: Hack, need this in order to cause provider for genesis to be stored
+	@Inject
+	@LastStoredProof
+	private LedgerProof ledgerProof;
+
+	private final Path databaseDir;
+
+	private BenchmarkLedger(Path databaseDir) {
+		this.databaseDir = databaseDir;
+	}
+
+	/**
+	 * Creates a ledger.
+	 *
+	 * @param inMemoryStore whether the radix engine state should be kept in memory rather than in Berkeley DB
+	 * @param accounts accounts funded by genesis
+	 * @param mempoolMaxSize maximal number of transactions in the mempool
+	 */
+	static BenchmarkLedger create(boolean inMemoryStore, List<ECKeyPair> accounts, int mempoolMaxSize) throws IOException {
+		TestSetupUtils.installBouncyCastleProvider();
+
+		var ledger = new BenchmarkLedger(Files.createTempDirectory("benchmark"));
+		var nodeModule = inMemoryStore
+			? Modules.override(new SingleNodeAndPeersDeterministicNetworkModule()).with(new AbstractModule() {
+				@Override
+				protected void configure() {
+					bind(new TypeLiteral<EngineStore<LedgerAndBFTProof>>() { }).toInstance(new InMemoryEngineStore<>());
+				}
+			})
+			: new SingleNodeAndPeersDeterministicNetworkModule();
+
+		Guice.createInjector(
+			MempoolConfig.asModule(mempoolMaxSize, 10),
+			new BetanetForksModule(),
+			new RadixEngineOnlyLatestForkModule(View.of(100)),
+			RadixEngineConfig.asModule(1, 100, 50),
+			nodeModule,
+			new MockedGenesisModule(),
+			new AbstractModule() {
+				@Override
+				protected void configure() {
+					bindConstant().annotatedWith(Names.named("numPeers")).to(0);
+					bindConstant().annotatedWith(DatabaseLocation.class).to(ledger.databaseDir.toString());
+
+					var issuances = Multibinder.newSetBinder(binder(), TokenIssuance.class);
+					accounts.forEach(a -> issuances.addBinding().toInstance(TokenIssuance.of(a.getPublicKey(), ISSUED_AMOUNT)));
+				}
+			}
+		).injectMembers(ledger);
+
+		return ledger;
+	}
+
+	/**
+	 * Creates a transaction creating a token, which depends on no state other than the token address.
+	 */
+	static Txn createTokenTxn(ECKeyPair keyPair, String symbol) {
+		var addr = REAddr.ofHashedKey(keyPair.getPublicKey(), symbol);
+		var builder = TxLowLevelBuilder.newBuilder()
+			.virtualDown(new REAddrParticle(addr), symbol.getBytes(StandardCharsets.UTF_8))
+			.up(new TokenDefinitionParticle(addr, symbol.toUpperCase(), "description", "", "", UInt256.TEN))
+			.up(new TokensParticle(REAddr.ofPubKeyAccount(keyPair.getPublicKey()), UInt256.TEN, addr))
+			.particleGroup();
+		var sig = keyPair.sign(builder.hashToSign().asBytes());
+		return builder.sig(sig).build();
+	}
+
+	RadixEngine<LedgerAndBFTProof> radixEngine() {
+		return radixEngine;
+	}
+
+	RadixEngineMempool mempool() {
+		return mempool;
+	}
+
+	ConstraintMachine constraintMachine() {
+		return constraintMachine;
+	}
+
+	EngineStore<LedgerAndBFTProof> engineStore() {
+		return engineStore;
+	}
+
+	ECKeyPair validatorKey() {
+		return self;
+	}
+
+	void close() throws IOException {
+		ledgerStore.close();
+		databaseEnvironment.stop();
+		try (var paths = Files.walk(databaseDir)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+}
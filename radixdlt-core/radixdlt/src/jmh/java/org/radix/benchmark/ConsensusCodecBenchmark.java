@@ -0,0 +1,184 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package org.radix.benchmark;
+
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.consensus.BFTHeader;
+import com.radixdlt.consensus.ConsensusCodec;
+import com.radixdlt.consensus.HighQC;
+import com.radixdlt.consensus.LedgerHeader;
+import com.radixdlt.consensus.Proposal;
+import com.radixdlt.consensus.QuorumCertificate;
+import com.radixdlt.consensus.TimestampedECDSASignature;
+import com.radixdlt.consensus.TimestampedECDSASignatures;
+import com.radixdlt.consensus.UnverifiedVertex;
+import com.radixdlt.consensus.Vote;
+import com.radixdlt.consensus.VoteData;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import com.radixdlt.utils.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.radix.serialization.TestSetupUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH driven benchmarks comparing the binary {@link ConsensusCodec} with DSON
+ * serialization for votes and proposals, as sent between validators.
+ * See {@link CodecBenchmark} for DSON and JSON benchmarks of a generic object.
+ * <p>
+ * Run with:
+ * <pre>
+ *    $ gradle --no-daemon clean jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class ConsensusCodecBenchmark {
+	private static final int VALIDATORS = 100;
+	private static final int TXNS = 10;
+
+	private Serialization serialization;
+	private Vote vote;
+	private Proposal proposal;
+	private byte[] voteDson;
+	private byte[] voteBinary;
+	private byte[] proposalDson;
+	private byte[] proposalBinary;
+
+	@Setup
+	public void setup() {
+		TestSetupUtils.installBouncyCastleProvider();
+		this.serialization = DefaultSerialization.getInstance();
+
+		final var keyPair = ECKeyPair.generateNew();
+		final var author = BFTNode.create(keyPair.getPublicKey());
+		final var qc = qc(View.of(10));
+		this.vote = new Vote(
+			author,
+			qc.getVoteData(),
+			System.currentTimeMillis(),
+			keyPair.sign(HashUtils.random256().asBytes()),
+			HighQC.from(qc),
+			Optional.empty()
+		);
+		final var txns = new ArrayList<Txn>();
+		for (int i = 0; i < TXNS; ++i) {
+			txns.add(Txn.create(HashUtils.random256().asBytes()));
+		}
+		this.proposal = new Proposal(
+			UnverifiedVertex.createVertex(qc, View.of(11), txns),
+			qc,
+			author,
+			keyPair.sign(HashUtils.random256().asBytes()),
+			Optional.empty()
+		);
+
+		this.voteDson = serialization.toDson(vote, Output.WIRE);
+		this.voteBinary = ConsensusCodec.encode(vote);
+		this.proposalDson = serialization.toDson(proposal, Output.WIRE);
+		this.proposalBinary = ConsensusCodec.encode(proposal);
+
+		System.out.format("Vote DSON bytes: %s, binary bytes: %s%n", voteDson.length, voteBinary.length);
+		System.out.format("Proposal DSON bytes: %s, binary bytes: %s%n", proposalDson.length, proposalBinary.length);
+	}
+
+	@Benchmark
+	public void voteToDson(Blackhole bh) {
+		bh.consume(serialization.toDson(vote, Output.WIRE));
+	}
+
+	@Benchmark
+	public void voteToBinary(Blackhole bh) {
+		bh.consume(ConsensusCodec.encode(vote));
+	}
+
+	@Benchmark
+	public void voteFromDson(Blackhole bh) throws DeserializeException {
+		bh.consume(serialization.fromDson(voteDson, Vote.class));
+	}
+
+	@Benchmark
+	public void voteFromBinary(Blackhole bh) throws DeserializeException {
+		bh.consume(ConsensusCodec.decodeEvent(voteBinary));
+	}
+
+	@Benchmark
+	public void proposalToDson(Blackhole bh) {
+		bh.consume(serialization.toDson(proposal, Output.WIRE));
+	}
+
+	@Benchmark
+	public void proposalToBinary(Blackhole bh) {
+		bh.consume(ConsensusCodec.encode(proposal));
+	}
+
+	@Benchmark
+	public void proposalFromDson(Blackhole bh) throws DeserializeException {
+		bh.consume(serialization.fromDson(proposalDson, Proposal.class));
+	}
+
+	@Benchmark
+	public void proposalFromBinary(Blackhole bh) throws DeserializeException {
+		bh.consume(ConsensusCodec.decodeEvent(proposalBinary));
+	}
+
+	// QC signed by all validators, as seen in a network of VALIDATORS nodes
+	private static QuorumCertificate qc(View view) {
+		final var signatures = new HashMap<BFTNode, TimestampedECDSASignature>();
+		for (int i = 0; i < VALIDATORS; ++i) {
+			final var signer = ECKeyPair.generateNew();
+			signatures.put(
+				BFTNode.create(signer.getPublicKey()),
+				TimestampedECDSASignature.from(i, UInt256.ONE, signer.sign(HashUtils.random256().asBytes()))
+			);
+		}
+		final var proposed = header(view);
+		final var parent = header(view.previous());
+		final var voteData = new VoteData(proposed, parent, header(view.previous().previous()));
+		return new QuorumCertificate(voteData, new TimestampedECDSASignatures(signatures));
+	}
+
+	private static BFTHeader header(View view) {
+		final var accumulatorState = new AccumulatorState(view.number(), HashUtils.random256());
+		final var ledgerHeader = LedgerHeader.create(1L, view, accumulatorState, view.number() * 1000L);
+		return new BFTHeader(view, HashUtils.random256(), ledgerHeader);
+	}
+}
@@ -0,0 +1,122 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package org.radix.benchmark;
+
+import com.radixdlt.atom.TxBuilderException;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.atom.actions.StakeTokens;
+import com.radixdlt.atom.actions.TransferToken;
+import com.radixdlt.constraintmachine.ConstraintMachine.StatelessVerificationResult;
+import com.radixdlt.constraintmachine.PermissionLevel;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.engine.RadixEngineException;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.utils.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH driven benchmarks for the stateless (parsing and signature) and stateful parts of
+ * constraint machine verification of typical transactions. Transactions are only verified,
+ * never stored, so the same transaction is verified on every invocation.
+ * <p>
+ * Run with:
+ * <pre>
+ *    $ gradle --no-daemon clean jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class ConstraintMachineBenchmark {
+	/**
+	 * Kind of transaction to verify.
+	 */
+	public enum TxnType {
+		TRANSFER,
+		STAKE,
+		CREATE_TOKEN
+	}
+
+	@Param({"TRANSFER", "STAKE", "CREATE_TOKEN"})
+	private TxnType txnType;
+
+	private BenchmarkLedger ledger;
+	private Txn txn;
+	private StatelessVerificationResult statelessResult;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, TxBuilderException, RadixEngineException {
+		var sender = ECKeyPair.generateNew();
+		var senderAccount = REAddr.ofPubKeyAccount(sender.getPublicKey());
+		this.ledger = BenchmarkLedger.create(true, List.of(sender), 100);
+
+		var radixEngine = ledger.radixEngine();
+		switch (txnType) {
+			case TRANSFER:
+				var recipient = REAddr.ofPubKeyAccount(ECKeyPair.generateNew().getPublicKey());
+				this.txn = radixEngine.construct(new TransferToken(REAddr.ofNativeToken(), senderAccount, recipient, UInt256.ONE))
+					.signAndBuild(sender::sign);
+				break;
+			case STAKE:
+				var validatorKey = ledger.validatorKey().getPublicKey();
+				this.txn = radixEngine.construct(new StakeTokens(senderAccount, validatorKey, UInt256.ONE))
+					.signAndBuild(sender::sign);
+				break;
+			case CREATE_TOKEN:
+				this.txn = BenchmarkLedger.createTokenTxn(sender, "bench");
+				break;
+			default:
+				throw new IllegalStateException("Unknown transaction type " + txnType);
+		}
+
+		this.statelessResult = ledger.constraintMachine().statelessVerify(txn);
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() throws IOException {
+		this.ledger.close();
+	}
+
+	@Benchmark
+	public void statelessVerify(Blackhole bh) throws RadixEngineException {
+		bh.consume(ledger.constraintMachine().statelessVerify(txn));
+	}
+
+	@Benchmark
+	public void verify(Blackhole bh) throws RadixEngineException {
+		bh.consume(ledger.constraintMachine().verify(null, ledger.engineStore(), statelessResult, PermissionLevel.USER));
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package org.radix.benchmark;
+
+import com.radixdlt.atom.Txn;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.engine.RadixEngineException;
+import com.radixdlt.mempool.MempoolRejectedException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH driven benchmarks for adding transactions to and selecting transactions from
+ * mempools of different sizes.
+ * <p>
+ * Run with:
+ * <pre>
+ *    $ gradle --no-daemon clean jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class MempoolBenchmark {
+	private static final int PROPOSAL_SIZE = 100;
+
+	@Param({"1000", "10000", "100000"})
+	private int mempoolSize;
+
+	private BenchmarkLedger ledger;
+
+	/**
+	 * Transaction which is not in the mempool yet. It is removed again after each invocation,
+	 * so the size of the mempool stays the same.
+	 */
+	@State(Scope.Thread)
+	public static class NewTxn {
+		private Txn txn;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			this.txn = BenchmarkLedger.createTokenTxn(ECKeyPair.generateNew(), "bench");
+		}
+
+		@TearDown(Level.Invocation)
+		public void teardown(MempoolBenchmark benchmark) throws RadixEngineException {
+			var parsedTxn = benchmark.ledger.radixEngine().verify(txn);
+			benchmark.ledger.mempool().committed(List.of(parsedTxn));
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, MempoolRejectedException {
+		this.ledger = BenchmarkLedger.create(true, List.of(), mempoolSize + 1);
+		for (int i = 0; i < mempoolSize; i++) {
+			ledger.mempool().add(BenchmarkLedger.createTokenTxn(ECKeyPair.generateNew(), "bench"));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() throws IOException {
+		this.ledger.close();
+	}
+
+	@Benchmark
+	public void add(NewTxn newTxn) throws MempoolRejectedException {
+		ledger.mempool().add(newTxn.txn);
+	}
+
+	@Benchmark
+	public void getTxns(Blackhole bh) {
+		bh.consume(ledger.mempool().getTxns(PROPOSAL_SIZE, List.of()));
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package org.radix.benchmark;
+
+import com.radixdlt.consensus.BFTHeader;
+import com.radixdlt.consensus.HighQC;
+import com.radixdlt.consensus.LedgerHeader;
+import com.radixdlt.consensus.PendingVotes;
+import com.radixdlt.consensus.QuorumCertificate;
+import com.radixdlt.consensus.Sha256Hasher;
+import com.radixdlt.consensus.TimestampedECDSASignatures;
+import com.radixdlt.consensus.Vote;
+import com.radixdlt.consensus.VoteData;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.BFTValidator;
+import com.radixdlt.consensus.bft.BFTValidatorSet;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.utils.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.radix.serialization.TestSetupUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH driven benchmarks for collecting votes into quorum and timeout
+ * certificates with {@link PendingVotes}, using stake-weighted validator sets.
+ * <p>
+ * Run with:
+ * <pre>
+ *    $ gradle --no-daemon clean jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class PendingVotesBenchmark {
+	private static final int VIEWS = 10;
+
+	@Param({"100", "400"})
+	private int validators;
+
+	private Hasher hasher;
+	private BFTValidatorSet validatorSet;
+	// Votes from all validators, by view
+	private List<List<Vote>> votes;
+	private List<List<Vote>> timeoutVotes;
+
+	@Setup
+	public void setup() {
+		TestSetupUtils.installBouncyCastleProvider();
+		this.hasher = Sha256Hasher.withDefaultSerialization();
+
+		final var keyPairs = new ArrayList<ECKeyPair>();
+		final var validatorList = new ArrayList<BFTValidator>();
+		for (int i = 0; i < validators; ++i) {
+			final var keyPair = ECKeyPair.generateNew();
+			keyPairs.add(keyPair);
+			// Uneven stakes, so that quorum depends on power rather than count
+			validatorList.add(BFTValidator.from(BFTNode.create(keyPair.getPublicKey()), UInt256.from(1 + i % 7)));
+		}
+		this.validatorSet = BFTValidatorSet.from(validatorList);
+
+		this.votes = new ArrayList<>();
+		this.timeoutVotes = new ArrayList<>();
+		for (int v = 1; v <= VIEWS; ++v) {
+			final var view = View.of(v);
+			final var voteData = new VoteData(header(view), header(view.previous()), null);
+			final var highQC = HighQC.from(new QuorumCertificate(voteData, new TimestampedECDSASignatures()));
+			final var signature = keyPairs.get(0).sign(HashUtils.random256().asBytes());
+			final var viewVotes = new ArrayList<Vote>();
+			final var viewTimeoutVotes = new ArrayList<Vote>();
+			for (int i = 0; i < validators; ++i) {
+				final var author = BFTNode.create(keyPairs.get(i).getPublicKey());
+				// Signatures are not checked by PendingVotes
+				viewVotes.add(new Vote(author, voteData, i, signature, highQC, Optional.empty()));
+				viewTimeoutVotes.add(new Vote(author, voteData, i, signature, highQC, Optional.of(signature)));
+			}
+			this.votes.add(viewVotes);
+			this.timeoutVotes.add(viewTimeoutVotes);
+		}
+	}
+
+	@Benchmark
+	public void quorumForOneView(Blackhole bh) {
+		final var pendingVotes = new PendingVotes(hasher);
+		for (Vote vote : votes.get(0)) {
+			bh.consume(pendingVotes.insertVote(vote, validatorSet));
+		}
+	}
+
+	@Benchmark
+	public void timeoutQuorumForOneView(Blackhole bh) {
+		final var pendingVotes = new PendingVotes(hasher);
+		for (Vote vote : timeoutVotes.get(0)) {
+			bh.consume(pendingVotes.insertVote(vote, validatorSet));
+		}
+	}
+
+	@Benchmark
+	public void quorumsForConsecutiveViews(Blackhole bh) {
+		final var pendingVotes = new PendingVotes(hasher);
+		for (List<Vote> viewVotes : votes) {
+			for (Vote vote : viewVotes) {
+				bh.consume(pendingVotes.insertVote(vote, validatorSet));
+			}
+			pendingVotes.evictBefore(viewVotes.get(0).getView().next());
+		}
+	}
+
+	private static BFTHeader header(View view) {
+		final var accumulatorState = new AccumulatorState(view.number(), HashUtils.random256());
+		final var ledgerHeader = LedgerHeader.create(1L, view, accumulatorState, view.number() * 1000L);
+		return new BFTHeader(view, HashUtils.random256(), ledgerHeader);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package org.radix.benchmark;
+
+import com.radixdlt.atom.TxBuilderException;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.atom.actions.TransferToken;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.engine.RadixEngineException;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.utils.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH driven benchmarks for constructing transactions and executing them on the radix engine,
+ * against both the in memory and the Berkeley DB backed store.
+ * <p>
+ * Run with:
+ * <pre>
+ *    $ gradle --no-daemon clean jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class RadixEngineBenchmark {
+	/**
+	 * Store the radix engine state is kept in.
+	 */
+	public enum StoreType {
+		IN_MEMORY,
+		BERKELEY
+	}
+
+	@Param({"IN_MEMORY", "BERKELEY"})
+	private StoreType storeType;
+
+	private final ECKeyPair sender = ECKeyPair.generateNew();
+	private final REAddr senderAccount = REAddr.ofPubKeyAccount(sender.getPublicKey());
+	private final REAddr recipientAccount = REAddr.ofPubKeyAccount(ECKeyPair.generateNew().getPublicKey());
+
+	private BenchmarkLedger ledger;
+
+	/**
+	 * Transfer which has not been executed yet, constructed against the current state before each invocation.
+	 */
+	@State(Scope.Thread)
+	public static class PendingTransfer {
+		private Txn txn;
+
+		@Setup(Level.Invocation)
+		public void setup(RadixEngineBenchmark benchmark) throws TxBuilderException {
+			this.txn = benchmark.transfer();
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		this.ledger = BenchmarkLedger.create(storeType == StoreType.IN_MEMORY, List.of(sender), 100);
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() throws IOException {
+		this.ledger.close();
+	}
+
+	private Txn transfer() throws TxBuilderException {
+		return ledger.radixEngine()
+			.construct(new TransferToken(REAddr.ofNativeToken(), senderAccount, recipientAccount, UInt256.ONE))
+			.signAndBuild(sender::sign);
+	}
+
+	@Benchmark
+	public void constructTransfer(Blackhole bh) throws TxBuilderException {
+		bh.consume(transfer());
+	}
+
+	@Benchmark
+	public void executeTransfer(PendingTransfer pendingTransfer, Blackhole bh) throws RadixEngineException {
+		bh.consume(ledger.radixEngine().execute(List.of(pendingTransfer.txn)));
+	}
+}
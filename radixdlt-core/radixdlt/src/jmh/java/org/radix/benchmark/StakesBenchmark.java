@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package org.radix.benchmark;
+
+import com.radixdlt.atommodel.validators.ValidatorParticle;
+import com.radixdlt.consensus.bft.BFTValidatorSet;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.statecomputer.RegisteredValidators;
+import com.radixdlt.statecomputer.Stakes;
+import com.radixdlt.statecomputer.ValidatorSetBuilder;
+import com.radixdlt.utils.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.radix.serialization.TestSetupUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH driven benchmarks for reducing stake and validator particles into
+ * {@link Stakes} and {@link RegisteredValidators}, as done when the node starts
+ * and for each committed transaction, and for selecting the top validators by stake.
+ * <p>
+ * Run with:
+ * <pre>
+ *    $ gradle --no-daemon clean jmh
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+public class StakesBenchmark {
+	@Param({"10000", "50000"})
+	private int stakers;
+
+	private List<ECPublicKey> keys;
+	private List<ValidatorParticle> validators;
+	private Stakes stakes;
+	private RegisteredValidators registeredValidators;
+	private int next;
+	private final ValidatorSetBuilder validatorSetBuilder = ValidatorSetBuilder.create(1, 100);
+
+	@Setup
+	public void setup() {
+		TestSetupUtils.installBouncyCastleProvider();
+		this.keys = new ArrayList<>(stakers);
+		this.validators = new ArrayList<>(stakers);
+		for (int i = 0; i < stakers; ++i) {
+			final var key = ECKeyPair.generateNew().getPublicKey();
+			this.keys.add(key);
+			this.validators.add(new ValidatorParticle(key, true, "validator" + i, "http://validator" + i));
+		}
+		this.stakes = reduceStakes();
+		this.registeredValidators = reduceValidators();
+	}
+
+	@Benchmark
+	public Stakes reduceStakes() {
+		var result = Stakes.create();
+		for (var key : keys) {
+			result = result.add(key, UInt256.TEN);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public RegisteredValidators reduceValidators() {
+		var result = RegisteredValidators.create();
+		for (var validator : validators) {
+			result = result.add(validator);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public Stakes updateSingleStake() {
+		final var key = keys.get(nextIndex());
+		return stakes.add(key, UInt256.ONE).remove(key, UInt256.TEN);
+	}
+
+	@Benchmark
+	public RegisteredValidators updateSingleValidator() {
+		final var validator = validators.get(nextIndex());
+		return registeredValidators.remove(validator).add(validator);
+	}
+
+	@Benchmark
+	public BFTValidatorSet buildValidatorSet() {
+		return validatorSetBuilder.buildValidatorSet(registeredValidators, stakes);
+	}
+
+	private int nextIndex() {
+		next = (next + 1) % stakers;
+		return next;
+	}
+}
@@ -17,51 +17,65 @@
 
 package com.radixdlt;
 
-import com.google.common.hash.HashCode;
 import com.google.inject.AbstractModule;
+import com.google.inject.Key;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.OptionalBinder;
 import com.radixdlt.consensus.HashVerifier;
+import com.radixdlt.consensus.SignatureVerificationExecutor;
+import com.radixdlt.consensus.SignatureVerificationThreads;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.crypto.Hasher;
 import com.radixdlt.consensus.Sha256Hasher;
-import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.Serialization;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Module which maintains crypto primitives for consensus
  */
 public final class CryptoModule extends AbstractModule {
+	private static final Logger logger = LogManager.getLogger();
+
 	@Override
 	protected void configure() {
 		// Configuration
 		bind(Serialization.class).toProvider(DefaultSerialization::getInstance);
+
+		// Verify signature sets on the calling thread unless configured otherwise
+		OptionalBinder.newOptionalBinder(binder(), Key.get(Integer.class, SignatureVerificationThreads.class))
+			.setDefault().toInstance(1);
 	}
 
 
 	@Provides
 	Hasher hasher(Serialization serialization, SystemCounters counters) {
-		return new Hasher() {
-			private Sha256Hasher hasher = new Sha256Hasher(serialization);
-
-			@Override
-			public int bytes() {
-				return 32;
-			}
-
-			@Override
-			public HashCode hash(Object o) {
-				// Call hashBytes to ensure counters incremented
-				return this.hashBytes(serialization.toDson(o, Output.HASH));
-			}
+		return new Sha256Hasher(serialization, counters);
+	}
 
-			@Override
-			public HashCode hashBytes(byte[] bytes) {
-				counters.add(CounterType.HASHED_BYTES, bytes.length);
-				return hasher.hashBytes(bytes);
-			}
-		};
+	@Provides
+	@Singleton
+	SignatureVerificationExecutor signatureVerificationExecutor(@SignatureVerificationThreads int verificationThreads) {
+		if (verificationThreads <= 1) {
+			return SignatureVerificationExecutor.sequential();
+		}
+		logger.info("Verifying signature sets with {} threads", verificationThreads);
+		final var pool = new ForkJoinPool(
+			verificationThreads,
+			p -> {
+				var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName("SignatureVerifier-" + thread.getPoolIndex());
+				thread.setDaemon(true);
+				return thread;
+			},
+			null,
+			false
+		);
+		return SignatureVerificationExecutor.parallel(pool);
 	}
 
 	@Provides
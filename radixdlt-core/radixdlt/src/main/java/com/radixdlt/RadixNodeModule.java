@@ -17,15 +17,19 @@
 
 package com.radixdlt;
 
+import com.google.inject.Key;
 import com.google.inject.Scopes;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.OptionalBinder;
 import com.radixdlt.api.Controller;
 import com.radixdlt.api.NodeApiModule;
 
 import com.radixdlt.api.UniverseController;
 import com.radixdlt.api.faucet.FaucetModule;
+import com.radixdlt.consensus.SignatureVerificationThreads;
 import com.radixdlt.statecomputer.RadixEngineConfig;
 import com.radixdlt.statecomputer.RadixEngineStateComputerModule;
+import com.radixdlt.statecomputer.VerificationThreads;
 import com.radixdlt.statecomputer.forks.BetanetForksModule;
 import com.radixdlt.statecomputer.forks.RadixEngineForksModule;
 import org.apache.logging.log4j.LogManager;
@@ -108,6 +112,15 @@ public final class RadixNodeModule extends AbstractModule {
 		// the network.
 		// TODO: Move these deeper into radix engine.
 		install(RadixEngineConfig.asModule(1, 100, 50));
+		var verificationThreads = properties.get("radix_engine.verification_threads", Runtime.getRuntime().availableProcessors());
+		OptionalBinder.newOptionalBinder(binder(), Key.get(Integer.class, VerificationThreads.class))
+			.setBinding().toInstance(verificationThreads);
+		var signatureVerificationThreads = properties.get(
+			"sync.signature_verification_threads",
+			Runtime.getRuntime().availableProcessors()
+		);
+		OptionalBinder.newOptionalBinder(binder(), Key.get(Integer.class, SignatureVerificationThreads.class))
+			.setBinding().toInstance(signatureVerificationThreads);
 
 		// System (e.g. time, random)
 		install(new SystemModule());
@@ -20,10 +20,12 @@ package com.radixdlt;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
 import com.radixdlt.consensus.BFTConfiguration;
 import com.radixdlt.consensus.HashVerifier;
 import com.radixdlt.consensus.LedgerProof;
+import com.radixdlt.consensus.SignatureVerificationExecutor;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.crypto.Hasher;
@@ -38,6 +40,7 @@ import com.radixdlt.store.LastProof;
 import com.radixdlt.sync.LocalSyncService.VerifiedSyncResponseSender;
 import com.radixdlt.sync.LocalSyncService.InvalidSyncResponseSender;
 import com.radixdlt.sync.SyncConfig;
+import com.radixdlt.sync.SyncResponseBacklog;
 import com.radixdlt.sync.SyncState;
 import com.radixdlt.sync.RemoteSyncService;
 import com.radixdlt.sync.LocalSyncService;
@@ -58,6 +61,8 @@ public class SyncServiceModule extends AbstractModule {
 	public void configure() {
 		bind(LocalSyncService.class).in(Scopes.SINGLETON);
 		bind(RemoteSyncService.class).in(Scopes.SINGLETON);
+		OptionalBinder.newOptionalBinder(binder(), SyncResponseBacklog.class)
+			.setDefault().toInstance(SyncResponseBacklog.none());
 	}
 
 	@Provides
@@ -132,8 +137,13 @@ public class SyncServiceModule extends AbstractModule {
 	}
 
 	@Provides
-	private RemoteSyncResponseSignaturesVerifier signaturesVerifier(Hasher hasher, HashVerifier hashVerifier) {
-		return new RemoteSyncResponseSignaturesVerifier(hasher, hashVerifier);
+	private RemoteSyncResponseSignaturesVerifier signaturesVerifier(
+		Hasher hasher,
+		HashVerifier hashVerifier,
+		SignatureVerificationExecutor verificationExecutor,
+		SystemCounters counters
+	) {
+		return new RemoteSyncResponseSignaturesVerifier(hasher, hashVerifier, verificationExecutor, counters);
 	}
 
 	@ProvidesIntoSet
@@ -94,8 +94,9 @@ public final class NodeController implements Controller {
 	}
 
 	private JSONObject getValidator() {
-		var stakeReceived = radixEngine.getComputedState(StakeReceived.class);
-		var validatorInfo = radixEngine.getComputedState(ValidatorInfo.class);
+		var snapshot = radixEngine.getStateSnapshot();
+		var stakeReceived = snapshot.get(StakeReceived.class);
+		var validatorInfo = snapshot.get(ValidatorInfo.class);
 		var stakeFrom = new JSONArray();
 		stakeReceived.forEach((addr, amt) -> {
 			stakeFrom.put(
@@ -114,8 +115,9 @@ public final class NodeController implements Controller {
 	}
 
 	private JSONObject getBalance() {
-		var balances = radixEngine.getComputedState(Balances.class);
-		var stakedBalance = radixEngine.getComputedState(StakedBalance.class);
+		var snapshot = radixEngine.getStateSnapshot();
+		var balances = snapshot.get(Balances.class);
+		var stakedBalance = snapshot.get(StakedBalance.class);
 		var stakeTo = new JSONArray();
 		stakedBalance.forEach((addr, amt) ->
 			stakeTo.put(
@@ -23,6 +23,7 @@ import com.radixdlt.identifiers.ValidatorAddress;
 import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.network.addressbook.AddressBook;
 import com.radixdlt.network.addressbook.PeerWithSystem;
+import com.radixdlt.network.messaging.MessageCentral;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.statecomputer.checkpoint.Genesis;
 import com.radixdlt.systeminfo.InMemorySystemInfo;
@@ -48,6 +49,7 @@ public final class SystemController implements Controller {
 	private final VerifiedTxnsAndProof genesis;
 	private final InMemorySystemInfo inMemorySystemInfo;
 	private final AddressBook addressBook;
+	private final MessageCentral messageCentral;
 	private final PeerWithSystem localPeer;
 
 	@Inject
@@ -55,10 +57,12 @@ public final class SystemController implements Controller {
 		InMemorySystemInfo inMemorySystemInfo,
 		LocalSystem localSystem,
 		AddressBook addressBook,
+		MessageCentral messageCentral,
 		@Genesis VerifiedTxnsAndProof genesis
 	) {
 		this.inMemorySystemInfo = inMemorySystemInfo;
 		this.addressBook = addressBook;
+		this.messageCentral = messageCentral;
 		this.genesis = genesis;
 		this.localSystem = localSystem;
 		this.localPeer = new PeerWithSystem(this.localSystem);
@@ -115,6 +119,14 @@ public final class SystemController implements Controller {
 					String host = t.metadata().get("host");
 					json.put("endpoint", host + ":" + port);
 				});
+				messageCentral.outboundQueueStatus(peer.getNID()).ifPresent(status -> json.put(
+					"outbound",
+					jsonObject()
+						.put("queue_depth", status.queueDepth())
+						.put("bulk_queue_depth", status.bulkQueueDepth())
+						.put("latency_ms", status.latencyMs())
+						.put("dropped", status.dropped())
+				));
 
 				return json;
 			})
@@ -18,28 +18,45 @@
 
 package com.radixdlt.application;
 
+import com.google.common.collect.ImmutableMap;
 import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.utils.UInt256;
 import com.radixdlt.utils.UInt384;
 
 import java.util.HashMap;
-import java.util.Map;
 import java.util.function.BiConsumer;
 
+/**
+ * Token balances of the local node.  Immutable, so that instances can
+ * be shared with readers of the computed state without locking.
+ */
 public final class Balances {
-	private final Map<REAddr, UInt384> balances = new HashMap<>();
+	private final ImmutableMap<REAddr, UInt384> balances;
+
+	public Balances() {
+		this(ImmutableMap.of());
+	}
+
+	private Balances(ImmutableMap<REAddr, UInt384> balances) {
+		this.balances = balances;
+	}
 
 	public Balances add(REAddr rri, UInt256 amount) {
-		balances.merge(rri, UInt384.from(amount), UInt384::add);
-		return this;
+		var next = new HashMap<>(balances);
+		next.merge(rri, UInt384.from(amount), UInt384::add);
+		return new Balances(ImmutableMap.copyOf(next));
 	}
 
 	public Balances remove(REAddr rri, UInt256 amount) {
-		balances.computeIfPresent(rri, ((rriId1, uInt384) -> {
+		if (!balances.containsKey(rri)) {
+			return this;
+		}
+		var next = new HashMap<>(balances);
+		next.computeIfPresent(rri, ((rriId1, uInt384) -> {
 			var bal = uInt384.subtract(amount);
 			return bal.isZero() ? null : bal;
 		}));
-		return this;
+		return new Balances(ImmutableMap.copyOf(next));
 	}
 
 	public void forEach(BiConsumer<REAddr, UInt384> consumer) {
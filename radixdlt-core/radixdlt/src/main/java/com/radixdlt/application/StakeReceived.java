@@ -18,28 +18,44 @@
 
 package com.radixdlt.application;
 
+import com.google.common.collect.ImmutableMap;
 import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.utils.UInt256;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
 import java.util.function.BiConsumer;
 
 /**
- * Amount of stake received from each of one's delegators.
+ * Amount of stake received from each of one's delegators.  Immutable, so
+ * that instances can be shared with readers of the computed state without locking.
  */
 public final class StakeReceived {
-	private final Map<REAddr, UInt256> stakes = new ConcurrentHashMap<>();
+	private final ImmutableMap<REAddr, UInt256> stakes;
 
-	public void addStake(REAddr delegate, UInt256 amount) {
-		stakes.merge(delegate, amount, UInt256::add);
+	public StakeReceived() {
+		this(ImmutableMap.of());
 	}
 
-	public void removeStake(REAddr delegate, UInt256 amount) {
-		stakes.computeIfPresent(delegate, (d, cur) -> {
+	private StakeReceived(ImmutableMap<REAddr, UInt256> stakes) {
+		this.stakes = stakes;
+	}
+
+	public StakeReceived addStake(REAddr delegate, UInt256 amount) {
+		var next = new HashMap<>(stakes);
+		next.merge(delegate, amount, UInt256::add);
+		return new StakeReceived(ImmutableMap.copyOf(next));
+	}
+
+	public StakeReceived removeStake(REAddr delegate, UInt256 amount) {
+		if (!stakes.containsKey(delegate)) {
+			return this;
+		}
+		var next = new HashMap<>(stakes);
+		next.computeIfPresent(delegate, (d, cur) -> {
 			var newAmt = cur.subtract(amount);
 			return newAmt.isZero() ? null : newAmt;
 		});
+		return new StakeReceived(ImmutableMap.copyOf(next));
 	}
 
 	public void forEach(BiConsumer<REAddr, UInt256> consumer) {
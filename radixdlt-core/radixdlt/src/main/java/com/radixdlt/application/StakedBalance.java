@@ -18,25 +18,44 @@
 
 package com.radixdlt.application;
 
+import com.google.common.collect.ImmutableMap;
 import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.utils.UInt256;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
 import java.util.function.BiConsumer;
 
+/**
+ * Amount of stake the local node has delegated to each validator.  Immutable,
+ * so that instances can be shared with readers of the computed state without locking.
+ */
 public final class StakedBalance {
-	private final Map<ECPublicKey, UInt256> stakes = new ConcurrentHashMap<>();
+	private final ImmutableMap<ECPublicKey, UInt256> stakes;
+
+	public StakedBalance() {
+		this(ImmutableMap.of());
+	}
+
+	private StakedBalance(ImmutableMap<ECPublicKey, UInt256> stakes) {
+		this.stakes = stakes;
+	}
 
-	public void addStake(ECPublicKey delegate, UInt256 amount) {
-		stakes.merge(delegate, amount, UInt256::add);
+	public StakedBalance addStake(ECPublicKey delegate, UInt256 amount) {
+		var next = new HashMap<>(stakes);
+		next.merge(delegate, amount, UInt256::add);
+		return new StakedBalance(ImmutableMap.copyOf(next));
 	}
 
-	public void removeStake(ECPublicKey delegate, UInt256 amount) {
-		stakes.computeIfPresent(delegate, (d, cur) -> {
+	public StakedBalance removeStake(ECPublicKey delegate, UInt256 amount) {
+		if (!stakes.containsKey(delegate)) {
+			return this;
+		}
+		var next = new HashMap<>(stakes);
+		next.computeIfPresent(delegate, (d, cur) -> {
 			var newAmt = cur.subtract(amount);
 			return newAmt.isZero() ? null : newAmt;
 		});
+		return new StakedBalance(ImmutableMap.copyOf(next));
 	}
 
 	public void forEach(BiConsumer<ECPublicKey, UInt256> consumer) {
@@ -55,7 +55,7 @@ public final class StakedBalanceReducer implements StateReducer<StakedBalance, S
 	public BiFunction<StakedBalance, StakedTokensParticle, StakedBalance> outputReducer() {
 		return (stakes, p) -> {
 			if (p.getOwner().equals(accountAddr)) {
-				stakes.addStake(p.getDelegateKey(), p.getAmount());
+				return stakes.addStake(p.getDelegateKey(), p.getAmount());
 			}
 			return stakes;
 		};
@@ -65,7 +65,7 @@ public final class StakedBalanceReducer implements StateReducer<StakedBalance, S
 	public BiFunction<StakedBalance, StakedTokensParticle, StakedBalance> inputReducer() {
 		return (balance, p) -> {
 			if (p.getOwner().equals(accountAddr)) {
-				balance.removeStake(p.getDelegateKey(), p.getAmount());
+				return balance.removeStake(p.getDelegateKey(), p.getAmount());
 			}
 			return balance;
 		};
@@ -35,6 +35,7 @@ import com.radixdlt.serialization.SerializerDummy;
 import com.radixdlt.serialization.SerializerId2;
 import com.radixdlt.utils.UInt256;
 
+import java.util.Objects;
 import java.util.function.Function;
 
 import static com.radixdlt.api.JsonRpcUtil.jsonObject;
@@ -150,6 +151,34 @@ public class ActionEntry {
 		return to;
 	}
 
+	public String getRri() {
+		return rri;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (o instanceof ActionEntry) {
+			var that = (ActionEntry) o;
+			return type == that.type
+				&& Objects.equals(from, that.from)
+				&& Objects.equals(to, that.to)
+				&& Objects.equals(amount, that.amount)
+				&& Objects.equals(rri, that.rri);
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, from, to, amount, rri);
+	}
+
+	@Override
 	public String toString() {
 		return asJson().toString(2);
 	}
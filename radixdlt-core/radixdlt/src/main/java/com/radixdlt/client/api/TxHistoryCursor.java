@@ -0,0 +1,123 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.client.api;
+
+import com.radixdlt.identifiers.AID;
+import com.radixdlt.utils.Bytes;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Position in the transaction history of an account, just after the
+ * entry it was created from.  Clients receive it as an opaque token
+ * and pass it back to request the next page of history.
+ */
+public final class TxHistoryCursor {
+	private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + AID.BYTES;
+	private static final int NANOS_PER_SECOND = 1_000_000_000;
+
+	private final Instant timestamp;
+	private final AID txId;
+
+	private TxHistoryCursor(Instant timestamp, AID txId) {
+		this.timestamp = timestamp;
+		this.txId = txId;
+	}
+
+	public static TxHistoryCursor create(Instant timestamp, AID txId) {
+		requireNonNull(timestamp);
+		requireNonNull(txId);
+		return new TxHistoryCursor(timestamp, txId);
+	}
+
+	public static TxHistoryCursor of(TxHistoryEntry entry) {
+		return create(entry.timestamp(), entry.getTxId());
+	}
+
+	/**
+	 * Parses a token previously returned by {@link #asToken()}.
+	 *
+	 * @param token the token to parse
+	 * @return the cursor, or empty if the token is not valid
+	 */
+	public static Optional<TxHistoryCursor> fromToken(String token) {
+		if (token.length() != TOKEN_BYTES * 2) {
+			return Optional.empty();
+		}
+		try {
+			var buf = ByteBuffer.wrap(Bytes.fromHexString(token));
+			var seconds = buf.getLong();
+			var nanos = buf.getInt();
+			if (seconds < 0 || nanos < 0 || nanos >= NANOS_PER_SECOND) {
+				return Optional.empty();
+			}
+			var timestamp = Instant.ofEpochSecond(seconds, nanos);
+			var txId = new byte[AID.BYTES];
+			buf.get(txId);
+			return Optional.of(create(timestamp, AID.from(txId)));
+		} catch (IllegalArgumentException | DateTimeException e) {
+			return Optional.empty();
+		}
+	}
+
+	public String asToken() {
+		var buf = ByteBuffer.allocate(TOKEN_BYTES)
+			.putLong(timestamp.getEpochSecond())
+			.putInt(timestamp.getNano())
+			.put(txId.getBytes());
+		return Bytes.toHexString(buf.array());
+	}
+
+	public Instant timestamp() {
+		return timestamp;
+	}
+
+	public AID getTxId() {
+		return txId;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (o instanceof TxHistoryCursor) {
+			var that = (TxHistoryCursor) o;
+			return timestamp.equals(that.timestamp) && txId.equals(that.txId);
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(timestamp, txId);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[%s, %s]", getClass().getSimpleName(), timestamp, txId);
+	}
+}
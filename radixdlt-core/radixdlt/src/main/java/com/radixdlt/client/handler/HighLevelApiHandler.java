@@ -21,6 +21,7 @@ import org.json.JSONObject;
 
 import com.google.inject.Inject;
 import com.radixdlt.client.api.PreparedTransaction;
+import com.radixdlt.client.api.TxHistoryCursor;
 import com.radixdlt.client.api.TxHistoryEntry;
 import com.radixdlt.client.api.ValidatorInfoDetails;
 import com.radixdlt.client.service.HighLevelApiService;
@@ -42,7 +43,6 @@ import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.identifiers.ValidatorAddress;
 import com.radixdlt.utils.functional.Result;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -62,7 +62,6 @@ import static com.radixdlt.api.JsonRpcUtil.withRequiredStringParameter;
 import static com.radixdlt.client.api.ApiErrors.INVALID_PAGE_SIZE;
 import static com.radixdlt.client.api.ApiErrors.INVALID_PUBLIC_KEY;
 import static com.radixdlt.client.api.ApiErrors.INVALID_SIGNATURE_DER;
-import static com.radixdlt.utils.functional.Optionals.allOf;
 import static com.radixdlt.utils.functional.Result.allOf;
 import static com.radixdlt.utils.functional.Result.ok;
 import static com.radixdlt.utils.functional.Result.wrap;
@@ -159,7 +158,7 @@ public class HighLevelApiHandler {
 			request,
 			List.of("address", "size"),
 			List.of("cursor"),
-			params -> allOf(parseAddress(params), parseSize(params), ok(parseInstantCursor(params)))
+			params -> allOf(parseAddress(params), parseSize(params), ok(parseHistoryCursor(params)))
 				.flatMap(highLevelApiService::getTransactionHistory)
 				.map(tuple -> tuple.map(HighLevelApiHandler::formatHistoryResponse))
 		);
@@ -274,9 +273,9 @@ public class HighLevelApiHandler {
 		return jsonObject().put("txID", txId);
 	}
 
-	private static JSONObject formatHistoryResponse(Optional<Instant> cursor, List<TxHistoryEntry> transactions) {
+	private static JSONObject formatHistoryResponse(Optional<TxHistoryCursor> cursor, List<TxHistoryEntry> transactions) {
 		return jsonObject()
-			.put("cursor", cursor.map(HighLevelApiHandler::asCursor).orElse(""))
+			.put("cursor", cursor.map(TxHistoryCursor::asToken).orElse(""))
 			.put("transactions", fromList(transactions, TxHistoryEntry::asJson));
 	}
 
@@ -290,10 +289,6 @@ public class HighLevelApiHandler {
 		return ECKeyUtils.toRecoverable(signature, HashUtils.sha256(blob).asBytes(), publicKey);
 	}
 
-	private static String asCursor(Instant instant) {
-		return "" + instant.getEpochSecond() + ":" + instant.getNano();
-	}
-
 	private static Result<byte[]> parseBlob(JSONObject params) {
 		return safeObject(params, "transaction")
 			.flatMap(txObj -> safeBlob(txObj, "blob"));
@@ -323,33 +318,10 @@ public class HighLevelApiHandler {
 		return ValidatorAddress.fromString(address).toOptional();
 	}
 
-	private static Optional<Instant> parseInstantCursor(JSONObject params) {
+	private static Optional<TxHistoryCursor> parseHistoryCursor(JSONObject params) {
 		return safeString(params, "cursor")
 			.toOptional()
-			.flatMap(source -> Optional.of(source.split(":"))
-				.filter(v -> v.length == 2)
-				.flatMap(HighLevelApiHandler::parseInstant));
-	}
-
-	private static Optional<Instant> parseInstant(String[] pair) {
-		return allOf(parseLong(pair[0]).filter(v -> v > 0), parseInt(pair[1]).filter(v -> v >= 0))
-			.map(Instant::ofEpochSecond);
-	}
-
-	private static Optional<Long> parseLong(String input) {
-		try {
-			return Optional.of(Long.parseLong(input));
-		} catch (NumberFormatException e) {
-			return Optional.empty();
-		}
-	}
-
-	private static Optional<Integer> parseInt(String input) {
-		try {
-			return Optional.of(Integer.parseInt(input));
-		} catch (NumberFormatException e) {
-			return Optional.empty();
-		}
+			.flatMap(TxHistoryCursor::fromToken);
 	}
 
 	private static Result<Integer> parseSize(JSONObject params) {
@@ -22,6 +22,7 @@ import org.json.JSONArray;
 import com.google.inject.Inject;
 import com.radixdlt.client.Rri;
 import com.radixdlt.client.api.TransactionAction;
+import com.radixdlt.client.api.TxHistoryCursor;
 import com.radixdlt.client.api.TxHistoryEntry;
 import com.radixdlt.client.handler.ActionParser;
 import com.radixdlt.client.store.ClientApiStore;
@@ -35,7 +36,6 @@ import com.radixdlt.universe.Universe;
 import com.radixdlt.utils.functional.Result;
 import com.radixdlt.utils.functional.Tuple.Tuple2;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -79,8 +79,8 @@ public class HighLevelApiService {
 			.flatMap(definition -> withSupply(rri, definition));
 	}
 
-	public Result<Tuple2<Optional<Instant>, List<TxHistoryEntry>>> getTransactionHistory(
-		REAddr address, int size, Optional<Instant> cursor
+	public Result<Tuple2<Optional<TxHistoryCursor>, List<TxHistoryEntry>>> getTransactionHistory(
+		REAddr address, int size, Optional<TxHistoryCursor> cursor
 	) {
 		return clientApiStore.getTransactionHistory(address, size, cursor)
 			.map(response -> tuple(calculateNewCursor(response), response));
@@ -99,10 +99,10 @@ public class HighLevelApiService {
 		return Result.ok(List.of());
 	}
 
-	private static Optional<Instant> calculateNewCursor(List<TxHistoryEntry> response) {
+	private static Optional<TxHistoryCursor> calculateNewCursor(List<TxHistoryEntry> response) {
 		return response.stream()
 			.reduce(HighLevelApiService::findLast)
-			.map(TxHistoryEntry::timestamp);
+			.map(TxHistoryCursor::of);
 	}
 
 	private static <T> T findLast(T first, T second) {
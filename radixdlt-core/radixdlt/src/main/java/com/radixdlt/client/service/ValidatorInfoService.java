@@ -34,13 +34,17 @@ import com.radixdlt.utils.functional.Tuple.Tuple2;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.radixdlt.client.api.ApiErrors.UNKNOWN_VALIDATOR;
 import static com.radixdlt.utils.functional.Tuple.tuple;
 
 public class ValidatorInfoService {
+	private static final Comparator<ECPublicKey> unstakedOrdering = Comparator.comparing(ECPublicKey::euid);
+
 	private final RadixEngine<LedgerAndBFTProof> radixEngine;
 
 	@Inject
@@ -51,25 +55,61 @@ public class ValidatorInfoService {
 	public Result<Tuple2<Optional<ECPublicKey>, List<ValidatorInfoDetails>>> getValidators(
 		int size, Optional<ECPublicKey> cursor
 	) {
-		var validators = radixEngine.getComputedState(RegisteredValidators.class);
-		var stakes = radixEngine.getComputedState(Stakes.class);
-
-		var result = validators.map((address, details) -> fillDetails(address, details, stakes));
-		result.sort(Comparator.comparing(ValidatorInfoDetails::getTotalStake).reversed());
-
-		var paged = cursor
-			.map(key -> FunctionalUtils.skipUntil(result, v -> v.getValidatorKey().equals(key)))
-			.orElse(result);
+		// Read from a single snapshot so that validators and stakes are consistent
+		var snapshot = radixEngine.getStateSnapshot();
+		var validators = snapshot.get(RegisteredValidators.class);
+		var stakes = snapshot.get(Stakes.class);
 
-		var list = paged.stream().limit(size).collect(Collectors.toList());
+		var list = rankedValidators(validators, stakes, cursor)
+			.flatMap(key -> validators.mapSingle(key, details -> fillDetails(key, details, stakes)).stream())
+			.limit(size)
+			.collect(Collectors.toList());
 		var newCursor = list.stream().reduce(FunctionalUtils::findLast).map(ValidatorInfoDetails::getValidatorKey);
 
 		return Result.ok(tuple(newCursor, list));
 	}
 
+	/**
+	 * Registered validators following the cursor, in descending order of stake followed by
+	 * validators without stake. Stakes are kept ranked, so only the returned page is visited
+	 * unless the page reaches the validators without stake.
+	 */
+	private static Stream<ECPublicKey> rankedValidators(
+		RegisteredValidators validators,
+		Stakes stakes,
+		Optional<ECPublicKey> cursor
+	) {
+		if (cursor.isEmpty()) {
+			return Stream.concat(stakedValidators(validators, stakes.ranked()), unstakedValidators(validators, stakes));
+		}
+
+		var key = cursor.get();
+		if (stakes.getStake(key).isPresent()) {
+			return Stream.concat(stakedValidators(validators, stakes.rankedAfter(key)), unstakedValidators(validators, stakes));
+		}
+		if (validators.contains(key)) {
+			return unstakedValidators(validators, stakes).filter(k -> unstakedOrdering.compare(k, key) > 0);
+		}
+		return Stream.empty();
+	}
+
+	private static Stream<ECPublicKey> stakedValidators(
+		RegisteredValidators validators,
+		Stream<Map.Entry<ECPublicKey, UInt256>> rankedStakes
+	) {
+		return rankedStakes.map(Map.Entry::getKey).filter(validators::contains);
+	}
+
+	private static Stream<ECPublicKey> unstakedValidators(RegisteredValidators validators, Stakes stakes) {
+		return validators.keys()
+			.filter(key -> stakes.getStake(key).isEmpty())
+			.sorted(unstakedOrdering);
+	}
+
 	public Result<ValidatorInfoDetails> getValidator(ECPublicKey validatorPublicKey) {
-		var validators = radixEngine.getComputedState(RegisteredValidators.class);
-		var stakes = radixEngine.getComputedState(Stakes.class);
+		var snapshot = radixEngine.getStateSnapshot();
+		var validators = snapshot.get(RegisteredValidators.class);
+		var stakes = snapshot.get(Stakes.class);
 
 		return Result.fromOptional(
 			UNKNOWN_VALIDATOR.with(ValidatorAddress.of(validatorPublicKey)),
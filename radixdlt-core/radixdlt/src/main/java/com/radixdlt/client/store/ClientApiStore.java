@@ -17,6 +17,7 @@
 
 package com.radixdlt.client.store;
 
+import com.radixdlt.client.api.TxHistoryCursor;
 import com.radixdlt.client.api.TxHistoryEntry;
 import com.radixdlt.client.store.berkeley.BalanceEntry;
 import com.radixdlt.client.store.berkeley.ScheduledQueueFlush;
@@ -26,7 +27,6 @@ import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.utils.UInt384;
 import com.radixdlt.utils.functional.Result;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,9 +73,9 @@ public interface ClientApiStore {
 	 * @param size number of elements to return
 	 * @param cursor optional cursor from previous request
 	 *
-	 * @return list of transaction history entries.
+	 * @return list of transaction history entries, most recent first.
 	 */
-	Result<List<TxHistoryEntry>> getTransactionHistory(REAddr address, int size, Optional<Instant> cursor);
+	Result<List<TxHistoryEntry>> getTransactionHistory(REAddr address, int size, Optional<TxHistoryCursor> cursor);
 
 	/**
 	 * Retrieve single transaction history entry.
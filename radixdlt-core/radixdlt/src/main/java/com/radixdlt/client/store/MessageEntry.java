@@ -49,6 +49,14 @@ public class MessageEntry {
 		return create(message, PLAIN);
 	}
 
+	public String getMessage() {
+		return message;
+	}
+
+	public String getEncryptionScheme() {
+		return encryptionScheme;
+	}
+
 	public JSONObject asJson() {
 		return jsonObject().put("msg", message).put("encryptionScheme", encryptionScheme);
 	}
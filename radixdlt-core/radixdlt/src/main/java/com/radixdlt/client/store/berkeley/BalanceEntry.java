@@ -132,6 +132,11 @@ public class BalanceEntry {
 		}
 	}
 
+	// Compressed bytes of the delegate key, without the cost of parsing the key
+	byte[] getDelegateBytes() {
+		return delegate;
+	}
+
 	public String rri() {
 		return rri;
 	}
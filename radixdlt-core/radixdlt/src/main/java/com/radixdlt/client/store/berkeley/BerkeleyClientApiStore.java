@@ -34,6 +34,7 @@ import com.radixdlt.atom.actions.TransferToken;
 import com.radixdlt.atom.actions.UnstakeTokens;
 import com.radixdlt.atommodel.system.SystemParticle;
 import com.radixdlt.client.Rri;
+import com.radixdlt.client.api.TxHistoryCursor;
 import com.radixdlt.client.api.TxHistoryEntry;
 import com.radixdlt.client.store.ClientApiStore;
 import com.radixdlt.client.store.ClientApiStoreException;
@@ -55,12 +56,14 @@ import com.radixdlt.serialization.Serialization;
 import com.radixdlt.statecomputer.AtomsCommittedToLedger;
 import com.radixdlt.store.DatabaseEnvironment;
 import com.radixdlt.store.berkeley.BerkeleyLedgerEntryStore;
+import com.radixdlt.utils.Bytes;
 import com.radixdlt.utils.UInt384;
 import com.radixdlt.utils.functional.Failure;
 import com.radixdlt.utils.functional.Result;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
 import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
 import com.sleepycat.je.OperationStatus;
 
 import java.nio.charset.StandardCharsets;
@@ -68,7 +71,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -113,21 +118,28 @@ import static com.radixdlt.counters.SystemCounters.CounterType.ELAPSED_APIDB_TOK
 import static com.radixdlt.counters.SystemCounters.CounterType.ELAPSED_APIDB_TRANSACTION_READ;
 import static com.radixdlt.counters.SystemCounters.CounterType.ELAPSED_APIDB_TRANSACTION_WRITE;
 import static com.radixdlt.identifiers.CommonErrors.INVALID_ACCOUNT_ADDRESS;
+import static com.radixdlt.identifiers.CommonErrors.UNABLE_TO_DESERIALIZE;
 import static com.radixdlt.serialization.DsonOutput.Output;
 import static com.radixdlt.serialization.SerializationUtils.restore;
 
 public class BerkeleyClientApiStore implements ClientApiStore {
 	private static final Logger log = LogManager.getLogger();
 
-	private static final String EXECUTED_TRANSACTIONS_DB = "radix.executed_transactions_db";
-	private static final String ADDRESS_BALANCE_DB = "radix.address.balance_db";
-	private static final String SUPPLY_BALANCE_DB = "radix.supply.balance_db";
+	// Transaction history with DSON values and keys without transaction IDs, migrated on startup
+	private static final String LEGACY_TRANSACTION_HISTORY_DB = "radix.executed_transactions_db";
+	private static final String TRANSACTION_HISTORY_DB = "radix.transaction_history_db";
+	// Balances with DSON values, migrated on startup
+	private static final String LEGACY_ADDRESS_BALANCE_DB = "radix.address.balance_db";
+	private static final String LEGACY_SUPPLY_BALANCE_DB = "radix.supply.balance_db";
+	private static final String ADDRESS_BALANCE_DB = "radix.address_balance_db";
+	private static final String SUPPLY_BALANCE_DB = "radix.supply_balance_db";
 	private static final String TOKEN_DEFINITION_DB = "radix.token_definition_db";
 	private static final long DEFAULT_FLUSH_INTERVAL = 100L;
 	private static final int KEY_BUFFER_INITIAL_CAPACITY = 1024;
 	private static final int TIMESTAMP_SIZE = Long.BYTES + Integer.BYTES;
+	private static final int HISTORY_KEY_SUFFIX_SIZE = TIMESTAMP_SIZE + AID.BYTES;
+	private static final byte[] LAST_KEY_SUFFIX = filled(HISTORY_KEY_SUFFIX_SIZE, (byte) 0xFF);
 	private static final Instant NOW = Instant.ofEpochMilli(Instant.now().toEpochMilli());
-	private static final Failure IGNORED = Failure.failure(0, "Ignored");
 
 	private final DatabaseEnvironment dbEnv;
 	private final BerkeleyLedgerEntryStore store;
@@ -148,6 +160,10 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 	private Database addressBalances;
 	private Database supplyBalances;
 
+	// Balance changes collected while storing transactions, written once per flush in key order
+	private final Map<byte[], BalanceEntry> pendingBalances = new TreeMap<>(lexicographicalComparator());
+	private final Map<byte[], BalanceEntry> pendingSupplies = new TreeMap<>(lexicographicalComparator());
+
 	private final Cache<REAddr, String> rriCache = CacheBuilder.newBuilder()
 		.maximumSize(1024)
 		.build();
@@ -226,7 +242,7 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 			var list = new ArrayList<BalanceEntry>();
 
 			do {
-				restore(serialization, data.getData(), BalanceEntry.class)
+				decodeBalanceEntry(data)
 					.onFailureDo(
 						() -> log.error("Error deserializing existing balance while scanning DB for address {}", addr)
 					)
@@ -259,7 +275,7 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 				return UNKNOWN_RRI.with(rri).result();
 			}
 
-			return restore(serialization, data.getData(), BalanceEntry.class)
+			return decodeBalanceEntry(data)
 				.onSuccess(entry -> log.trace("Stored token supply balance: {}", entry))
 				.map(BalanceEntry::getAmount);
 		}
@@ -310,7 +326,11 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 			log.trace("Storing collected transactions started");
 
 			var count = withTime(
-				() -> txCollector.consumeCollected(this::storeTransactionBatch),
+				() -> {
+					var consumed = txCollector.consumeCollected(this::storeTransactionBatch);
+					flushBalances();
+					return consumed;
+				},
 				() -> systemCounters.increment(COUNT_APIDB_FLUSH_COUNT),
 				ELAPSED_APIDB_FLUSH_TIME
 			);
@@ -322,72 +342,60 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 	}
 
 	private Result<TxHistoryEntry> lookupTransactionInHistory(REAddr addr, Txn txn) {
-		var key = asKey(addr, Instant.EPOCH);
-		var data = entry();
+		var prefix = addr.getBytes();
+		var key = asKey(addr, Instant.EPOCH, AID.ZERO);
+		// Only keys are needed until the transaction is found
+		var noData = entry();
+		noData.setPartial(0, 0, true);
 
 		try (var cursor = transactionHistory.openCursor(null, null)) {
-			var status = readTxHistory(() -> cursor.getSearchKeyRange(key, data, null), data);
-
-			if (status != OperationStatus.SUCCESS) {
-				return UNKNOWN_TX_ID.with(txn.getId()).result();
-			}
-
-			do {
-				var result = restore(serialization, data.getData(), TxHistoryEntry.class)
-					.filter(txHistoryEntry -> sameTxId(txn, txHistoryEntry), IGNORED);
-
-				if (result.isSuccess()) {
-					return result;
+			var status = readTxHistory(() -> cursor.getSearchKeyRange(key, noData, null), noData);
+
+			while (status == OperationStatus.SUCCESS && hasPrefix(key, prefix)) {
+				if (txn.getId().equals(txIdFromKey(key, prefix))) {
+					var data = entry();
+					status = readTxHistory(() -> cursor.getCurrent(key, data, null), data);
+					if (status == OperationStatus.SUCCESS) {
+						return decodeTxHistoryEntry(data);
+					}
+					break;
 				}
-
-				status = readTxHistory(() -> cursor.getNext(key, data, null), data);
+				status = readTxHistory(() -> cursor.getNext(key, noData, null), noData);
 			}
-			while (status == OperationStatus.SUCCESS);
 		}
 		return UNKNOWN_TX_ID.with(txn.getId()).result();
 	}
 
 	@Override
-	public Result<List<TxHistoryEntry>> getTransactionHistory(REAddr addr, int size, Optional<Instant> ptr) {
+	public Result<List<TxHistoryEntry>> getTransactionHistory(REAddr addr, int size, Optional<TxHistoryCursor> ptr) {
 		if (size <= 0) {
 			return INVALID_PAGE_SIZE.with(size).result();
 		}
 
-		var instant = ptr.orElse(Instant.EPOCH);
-		var key = asKey(addr, instant);
+		// Entries of an address are in chronological order, so history is read backwards,
+		// starting just before the cursor or, without a cursor, just after the last entry.
+		var prefix = addr.getBytes();
+		var key = ptr.map(cursor -> asKey(addr, cursor.timestamp(), cursor.getTxId()))
+			.orElseGet(() -> asLastKey(addr));
 		var data = entry();
 
 		try (var cursor = transactionHistory.openCursor(null, null)) {
 			var status = readTxHistory(() -> cursor.getSearchKeyRange(key, data, null), data);
-			if (status != OperationStatus.SUCCESS) {
-				return Result.ok(List.of());
-			}
-
-			status = readTxHistory(() -> cursor.getLast(key, data, null), data);
-			if (status != OperationStatus.SUCCESS) {
-				return Result.ok(List.of());
-			}
-
-			// skip first entry if it's the same as the cursor
-			if (instantFromKey(key).equals(instant)) {
+			if (status == OperationStatus.SUCCESS) {
 				status = readTxHistory(() -> cursor.getPrev(key, data, null), data);
-
-				if (status != OperationStatus.SUCCESS) {
-					return Result.ok(List.of());
-				}
+			} else {
+				status = readTxHistory(() -> cursor.getLast(key, data, null), data);
 			}
 
 			var list = new ArrayList<TxHistoryEntry>();
 
-			do {
-				addrFromKey(key)
-					.filter(addr::equals, Failure.failure(0, "Ignored"))
-					.flatMap(__ -> restore(serialization, data.getData(), TxHistoryEntry.class))
-					.onSuccess(list::add);
+			while (status == OperationStatus.SUCCESS && hasPrefix(key, prefix) && list.size() < size) {
+				decodeTxHistoryEntry(data)
+					.onSuccess(list::add)
+					.onFailure(this::reportError);
 
 				status = readTxHistory(() -> cursor.getPrev(key, data, null), data);
 			}
-			while (status == OperationStatus.SUCCESS && list.size() < size);
 
 			return Result.ok(list);
 		}
@@ -411,13 +419,21 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 		safeClose(supplyBalances);
 	}
 
-	private boolean sameTxId(Txn txn, TxHistoryEntry txHistoryEntry) {
-		return txHistoryEntry.getTxId().equals(txn.getId());
+	private static boolean hasPrefix(DatabaseEntry key, byte[] prefix) {
+		return key.getSize() == prefix.length + HISTORY_KEY_SUFFIX_SIZE
+			&& Bytes.arrayEquals(key.getData(), key.getOffset(), prefix.length, prefix, 0, prefix.length);
+	}
+
+	private static AID txIdFromKey(DatabaseEntry key, byte[] prefix) {
+		return AID.from(key.getData(), key.getOffset() + prefix.length + TIMESTAMP_SIZE);
 	}
 
-	private Instant instantFromKey(DatabaseEntry key) {
-		var buf = Unpooled.wrappedBuffer(key.getData(), key.getSize() - TIMESTAMP_SIZE, TIMESTAMP_SIZE);
-		return Instant.ofEpochSecond(buf.readLong(), buf.readInt());
+	private static Result<TxHistoryEntry> decodeTxHistoryEntry(DatabaseEntry data) {
+		return Result.wrap(UNABLE_TO_DESERIALIZE, () -> ClientApiStoreCodec.decodeTxHistoryEntry(data.getData()));
+	}
+
+	private static Result<BalanceEntry> decodeBalanceEntry(DatabaseEntry data) {
+		return Result.wrap(UNABLE_TO_DESERIALIZE, () -> ClientApiStoreCodec.decodeBalanceEntry(data.getData()));
 	}
 
 	private Result<REAddr> addrFromKey(DatabaseEntry key) {
@@ -502,7 +518,19 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 			addressBalances = env.openDatabase(null, ADDRESS_BALANCE_DB, uniqueConfig);
 			supplyBalances = env.openDatabase(null, SUPPLY_BALANCE_DB, uniqueConfig);
 			tokenDefinitions = env.openDatabase(null, TOKEN_DEFINITION_DB, uniqueConfig);
-			transactionHistory = env.openDatabase(null, EXECUTED_TRANSACTIONS_DB, uniqueConfig);
+			transactionHistory = env.openDatabase(null, TRANSACTION_HISTORY_DB, uniqueConfig);
+
+			if (env.getDatabaseNames().contains(LEGACY_TRANSACTION_HISTORY_DB)) {
+				migrateTransactionHistory(env);
+			}
+
+			if (env.getDatabaseNames().contains(LEGACY_ADDRESS_BALANCE_DB)) {
+				migrateBalances(env, LEGACY_ADDRESS_BALANCE_DB, addressBalances);
+			}
+
+			if (env.getDatabaseNames().contains(LEGACY_SUPPLY_BALANCE_DB)) {
+				migrateBalances(env, LEGACY_SUPPLY_BALANCE_DB, supplyBalances);
+			}
 
 			if (System.getProperty("db.check_integrity", "1").equals("1")) {
 				//TODO: Implement recovery, basically should be the same as fresh DB handling
@@ -526,6 +554,54 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 		}
 	}
 
+	private void migrateTransactionHistory(Environment env) {
+		log.info("Transaction history migration is started");
+		var count = 0L;
+		try (
+			var legacyHistory = env.openDatabase(null, LEGACY_TRANSACTION_HISTORY_DB, createUniqueConfig());
+			var cursor = legacyHistory.openCursor(null, null)
+		) {
+			var key = entry();
+			var data = entry();
+			while (cursor.getNext(key, data, null) == OperationStatus.SUCCESS) {
+				var address = addrFromKey(key);
+				var result = restore(serialization, data.getData(), TxHistoryEntry.class);
+				if (address.isSuccess() && result.isSuccess()) {
+					result.onSuccess(txn -> address.onSuccess(addr -> storeSingleTransaction(txn, addr)));
+					count += 1;
+				} else {
+					log.warn("Skipping unreadable transaction history entry");
+				}
+			}
+		}
+		env.removeDatabase(null, LEGACY_TRANSACTION_HISTORY_DB);
+		log.info("Transaction history migration is finished, {} entries migrated", count);
+	}
+
+	private void migrateBalances(Environment env, String legacyName, Database database) {
+		log.info("Balance migration of {} is started", legacyName);
+		var count = 0L;
+		try (
+			var legacyBalances = env.openDatabase(null, legacyName, createUniqueConfig());
+			var cursor = legacyBalances.openCursor(null, null)
+		) {
+			// Keys are unchanged, only values are re-encoded
+			var key = entry();
+			var data = entry();
+			while (cursor.getNext(key, data, null) == OperationStatus.SUCCESS) {
+				var result = restore(serialization, data.getData(), BalanceEntry.class);
+				if (result.isSuccess()) {
+					result.onSuccess(balance -> database.put(null, key, entry(ClientApiStoreCodec.encode(balance))));
+					count += 1;
+				} else {
+					log.warn("Skipping unreadable balance entry");
+				}
+			}
+		}
+		env.removeDatabase(null, legacyName);
+		log.info("Balance migration of {} is finished, {} entries migrated", legacyName, count);
+	}
+
 	private DatabaseConfig createUniqueConfig() {
 		return new DatabaseConfig()
 			.setAllowCreate(true)
@@ -547,6 +623,7 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 	private void rebuildDatabase() {
 		log.info("Database rebuilding is started");
 		store.forEach(txn -> txnParser.parseTxn(txn).onSuccess(this::processRETransaction));
+		flushBalances();
 		log.info("Database rebuilding is finished successfully");
 	}
 
@@ -739,8 +816,8 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 	}
 
 	private void storeSingleTransaction(TxHistoryEntry txn, REAddr address) {
-		var key = asKey(address, txn.timestamp());
-		var data = serializeTo(entry(), txn);
+		var key = asKey(address, txn.timestamp(), txn.getTxId());
+		var data = entry(ClientApiStoreCodec.encode(txn));
 
 		var status = withTime(
 			() -> transactionHistory.put(null, key, data),
@@ -767,30 +844,45 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 		}
 	}
 
+	// Changes to the same balance are combined, and only written to the database by flushBalances()
 	private void storeBalanceEntry(BalanceEntry entry) {
 		var key = entry.isSupply() ? asKey(entry.rri()) : asKey(entry);
-		mergeBalances(key, entry(), entry);
+		var pending = entry.isSupply() ? pendingSupplies : pendingBalances;
+		pending.merge(toByteArray(key), entry, BalanceEntry::add);
 	}
 
-	private void mergeBalances(DatabaseEntry key, DatabaseEntry value, BalanceEntry balanceEntry) {
-		var database = balanceEntry.isSupply() ? supplyBalances : addressBalances;
-		var oldValue = entry();
-		var status = readBalance(() -> database.get(null, key, oldValue, null), oldValue);
+	private void flushBalances() {
+		flushBalances(pendingBalances, addressBalances);
+		flushBalances(pendingSupplies, supplyBalances);
+	}
+
+	private void flushBalances(Map<byte[], BalanceEntry> pending, Database database) {
+		// Writing in key order keeps consecutive updates on neighbouring B-tree nodes
+		pending.forEach((key, change) -> mergeBalance(database, entry(key), change));
+		pending.clear();
+	}
+
+	private void mergeBalance(Database database, DatabaseEntry key, BalanceEntry change) {
+		var value = entry();
+		var status = readBalance(() -> database.get(null, key, value, null), value);
 
 		if (status == OperationStatus.NOTFOUND) {
-			serializeTo(value, balanceEntry);
+			value.setData(ClientApiStoreCodec.encode(change));
 		} else if (status == OperationStatus.SUCCESS) {
-			// Merge with existing balance
-			restore(serialization, oldValue.getData(), BalanceEntry.class)
-				.map(existingBalance -> existingBalance.add(balanceEntry))
-				.onSuccess(entry -> serializeTo(value, entry))
-				.onFailure(this::reportError);
+			var merged = Result.wrap(UNABLE_TO_DESERIALIZE, () -> ClientApiStoreCodec.mergeBalance(value.getData(), change));
+			if (!merged.isSuccess()) {
+				log.error("Error deserializing existing balance while merging balance {}", change);
+				return;
+			}
+		} else {
+			log.error("Error {} while reading balance {}", status, change);
+			return;
 		}
 
 		status = writeBalance(() -> database.put(null, key, value), value);
 
 		if (status != OperationStatus.SUCCESS) {
-			log.error("Error while calculating merged balance {}", balanceEntry);
+			log.error("Error while storing merged balance {}", change);
 		}
 	}
 
@@ -820,17 +912,36 @@ public class BerkeleyClientApiStore implements ClientApiStore {
 		return entry(addr.getBytes());
 	}
 
-	private static DatabaseEntry asKey(REAddr addr, Instant timestamp) {
+	// History keys sort by address, then chronologically, then by transaction ID
+	private static DatabaseEntry asKey(REAddr addr, Instant timestamp, AID txId) {
 		return entry(buffer()
 						 .writeBytes(addr.getBytes())
 						 .writeLong(timestamp.getEpochSecond())
-						 .writeInt(timestamp.getNano()));
+						 .writeInt(timestamp.getNano())
+						 .writeBytes(txId.getBytes()));
+	}
+
+	// Sorts after all history keys of the address
+	private static DatabaseEntry asLastKey(REAddr addr) {
+		return entry(buffer()
+						 .writeBytes(addr.getBytes())
+						 .writeBytes(LAST_KEY_SUFFIX));
+	}
+
+	private static byte[] filled(int size, byte value) {
+		var bytes = new byte[size];
+		Arrays.fill(bytes, value);
+		return bytes;
 	}
 
 	private static ByteBuf buffer() {
 		return Unpooled.buffer(KEY_BUFFER_INITIAL_CAPACITY);
 	}
 
+	private static byte[] toByteArray(DatabaseEntry entry) {
+		return Arrays.copyOfRange(entry.getData(), entry.getOffset(), entry.getOffset() + entry.getSize());
+	}
+
 	private static DatabaseEntry entry(byte[] data) {
 		return new DatabaseEntry(data);
 	}
@@ -0,0 +1,259 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.client.store.berkeley;
+
+import com.radixdlt.client.api.ActionEntry;
+import com.radixdlt.client.api.ActionType;
+import com.radixdlt.client.api.TxHistoryEntry;
+import com.radixdlt.client.store.MessageEntry;
+import com.radixdlt.identifiers.AID;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.utils.UInt256;
+import com.radixdlt.utils.UInt384;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Compact binary encoding of the values kept in the client API databases,
+ * used instead of DSON as these values never leave the node.
+ * <p>
+ * Fields are written in a fixed order with no field names or type
+ * information.  Action types are stored by ordinal, so new
+ * {@link ActionType} values must only ever be appended.
+ * <p>
+ * Balances start with their sign and amount at fixed offsets, so that
+ * {@link #mergeBalance(byte[], BalanceEntry)} can update a stored balance
+ * without decoding the rest of it.
+ */
+final class ClientApiStoreCodec {
+	private static final int INITIAL_BUFFER_SIZE = 256;
+	private static final int ABSENT = -1;
+	private static final ActionType[] ACTION_TYPES = ActionType.values();
+	private static final int BALANCE_SIGN_OFFSET = 0;
+	private static final int BALANCE_AMOUNT_OFFSET = BALANCE_SIGN_OFFSET + 1;
+	private static final int BALANCE_HEADER_SIZE = BALANCE_AMOUNT_OFFSET + UInt384.BYTES;
+
+	private ClientApiStoreCodec() {
+		throw new IllegalStateException("Cannot instantiate.");
+	}
+
+	static byte[] encode(TxHistoryEntry entry) {
+		var buf = Unpooled.buffer(INITIAL_BUFFER_SIZE);
+		buf.writeBytes(entry.getTxId().getBytes());
+		writeInstant(buf, entry.timestamp());
+		buf.writeBytes(entry.getFee().toByteArray());
+
+		var message = entry.getMessage();
+		buf.writeBoolean(message != null);
+		if (message != null) {
+			writeString(buf, message.getMessage());
+			writeString(buf, message.getEncryptionScheme());
+		}
+
+		buf.writeInt(entry.getActions().size());
+		for (var action : entry.getActions()) {
+			buf.writeByte(action.getType().ordinal());
+			writeString(buf, action.getFrom());
+			writeString(buf, action.getTo());
+			writeAmount(buf, action.getAmount());
+			writeString(buf, action.getRri());
+		}
+		return toByteArray(buf);
+	}
+
+	/**
+	 * Decodes a history entry previously encoded with {@link #encode(TxHistoryEntry)}.
+	 *
+	 * @throws IllegalArgumentException if the data is malformed
+	 */
+	static TxHistoryEntry decodeTxHistoryEntry(byte[] data) {
+		var buf = Unpooled.wrappedBuffer(data);
+		try {
+			var txId = AID.from(readBytes(buf, AID.BYTES));
+			var timestamp = readInstant(buf);
+			var fee = UInt256.from(readBytes(buf, UInt256.BYTES));
+			var message = buf.readBoolean() ? MessageEntry.create(readString(buf), readString(buf)) : null;
+
+			var count = readCount(buf);
+			var actions = new ArrayList<ActionEntry>(count);
+			for (int i = 0; i < count; ++i) {
+				actions.add(readAction(buf));
+			}
+			checkFullyRead(buf);
+			return TxHistoryEntry.create(txId, timestamp, fee, message, actions);
+		} catch (IndexOutOfBoundsException | NullPointerException e) {
+			throw new IllegalArgumentException("Malformed history entry", e);
+		}
+	}
+
+	static byte[] encode(BalanceEntry entry) {
+		var buf = Unpooled.buffer(INITIAL_BUFFER_SIZE);
+		buf.writeBoolean(entry.isNegative());
+		buf.writeBytes(entry.getAmount().toByteArray());
+		writeBytes(buf, entry.isSupply() ? null : entry.getOwner().getBytes());
+		writeBytes(buf, entry.getDelegateBytes());
+		writeString(buf, entry.rri());
+		return toByteArray(buf);
+	}
+
+	/**
+	 * Decodes a balance previously encoded with {@link #encode(BalanceEntry)}.
+	 *
+	 * @throws IllegalArgumentException if the data is malformed
+	 */
+	static BalanceEntry decodeBalanceEntry(byte[] data) {
+		var buf = Unpooled.wrappedBuffer(data);
+		try {
+			var negative = buf.readBoolean();
+			var amount = UInt384.from(readBytes(buf, UInt384.BYTES));
+			var owner = readBytes(buf);
+			var delegate = readBytes(buf);
+			var rri = readString(buf);
+			checkFullyRead(buf);
+			return BalanceEntry.createFull(owner == null ? null : REAddr.of(owner), delegate, rri, amount, negative);
+		} catch (IndexOutOfBoundsException | NullPointerException e) {
+			throw new IllegalArgumentException("Malformed balance entry", e);
+		}
+	}
+
+	/**
+	 * Adds the specified change to a balance previously encoded with {@link #encode(BalanceEntry)},
+	 * updating the sign and amount of the encoded balance in place.  The result is the same as
+	 * encoding the result of {@link BalanceEntry#add(BalanceEntry)}.
+	 *
+	 * @return the updated encoded balance
+	 * @throws IllegalArgumentException if the data is too short to hold a balance
+	 */
+	static byte[] mergeBalance(byte[] data, BalanceEntry change) {
+		if (data.length < BALANCE_HEADER_SIZE) {
+			throw new IllegalArgumentException("Malformed balance entry");
+		}
+		var negative = data[BALANCE_SIGN_OFFSET] != 0;
+		var amount = UInt384.from(data, BALANCE_AMOUNT_OFFSET);
+
+		if (negative == change.isNegative()) {
+			amount = amount.add(change.getAmount());
+		} else if (amount.compareTo(change.getAmount()) >= 0) {
+			amount = amount.subtract(change.getAmount());
+		} else {
+			amount = change.getAmount().subtract(amount);
+			negative = change.isNegative();
+		}
+
+		data[BALANCE_SIGN_OFFSET] = (byte) (negative ? 1 : 0);
+		amount.toByteArray(data, BALANCE_AMOUNT_OFFSET);
+		return data;
+	}
+
+	private static ActionEntry readAction(ByteBuf buf) {
+		var type = buf.readUnsignedByte();
+		if (type >= ACTION_TYPES.length) {
+			throw new IllegalArgumentException("Unknown action type: " + type);
+		}
+		return ActionEntry.create(ACTION_TYPES[type], readString(buf), readString(buf), readAmount(buf), readString(buf));
+	}
+
+	private static void writeInstant(ByteBuf buf, Instant instant) {
+		buf.writeLong(instant.getEpochSecond()).writeInt(instant.getNano());
+	}
+
+	private static Instant readInstant(ByteBuf buf) {
+		return Instant.ofEpochSecond(buf.readLong(), buf.readInt());
+	}
+
+	private static void writeAmount(ByteBuf buf, UInt256 amount) {
+		buf.writeBoolean(amount != null);
+		if (amount != null) {
+			buf.writeBytes(amount.toByteArray());
+		}
+	}
+
+	private static UInt256 readAmount(ByteBuf buf) {
+		return buf.readBoolean() ? UInt256.from(readBytes(buf, UInt256.BYTES)) : null;
+	}
+
+	private static void writeString(ByteBuf buf, String value) {
+		if (value == null) {
+			buf.writeInt(ABSENT);
+		} else {
+			var bytes = value.getBytes(StandardCharsets.UTF_8);
+			buf.writeInt(bytes.length).writeBytes(bytes);
+		}
+	}
+
+	private static String readString(ByteBuf buf) {
+		var length = buf.readInt();
+		if (length == ABSENT) {
+			return null;
+		}
+		if (length < 0 || length > buf.readableBytes()) {
+			throw new IllegalArgumentException("Invalid string length: " + length);
+		}
+		return buf.readCharSequence(length, StandardCharsets.UTF_8).toString();
+	}
+
+	private static void writeBytes(ByteBuf buf, byte[] value) {
+		if (value == null) {
+			buf.writeInt(ABSENT);
+		} else {
+			buf.writeInt(value.length).writeBytes(value);
+		}
+	}
+
+	private static byte[] readBytes(ByteBuf buf) {
+		var length = buf.readInt();
+		if (length == ABSENT) {
+			return null;
+		}
+		if (length < 0 || length > buf.readableBytes()) {
+			throw new IllegalArgumentException("Invalid length: " + length);
+		}
+		return readBytes(buf, length);
+	}
+
+	private static int readCount(ByteBuf buf) {
+		var count = buf.readInt();
+		if (count < 0 || count > buf.readableBytes()) {
+			throw new IllegalArgumentException("Invalid count: " + count);
+		}
+		return count;
+	}
+
+	private static byte[] readBytes(ByteBuf buf, int length) {
+		var bytes = new byte[length];
+		buf.readBytes(bytes);
+		return bytes;
+	}
+
+	private static void checkFullyRead(ByteBuf buf) {
+		if (buf.isReadable()) {
+			throw new IllegalArgumentException("Unexpected trailing bytes: " + buf.readableBytes());
+		}
+	}
+
+	private static byte[] toByteArray(ByteBuf buf) {
+		var bytes = new byte[buf.readableBytes()];
+		buf.readBytes(bytes);
+		return bytes;
+	}
+}
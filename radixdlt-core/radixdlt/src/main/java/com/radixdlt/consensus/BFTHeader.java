@@ -24,6 +24,8 @@ import java.util.Objects;
 import javax.annotation.concurrent.Immutable;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.radixdlt.crypto.HashCache;
+import com.radixdlt.crypto.HashCacheable;
 import com.radixdlt.crypto.HashUtils;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.SerializerConstants;
@@ -36,7 +38,7 @@ import com.radixdlt.serialization.DsonOutput.Output;
  */
 @Immutable
 @SerializerId2("consensus.bft_header")
-public final class BFTHeader {
+public final class BFTHeader implements HashCacheable {
 	@JsonProperty(SerializerConstants.SERIALIZER_NAME)
 	@DsonOutput(value = {Output.API, Output.WIRE, Output.PERSIST})
 	SerializerDummy serializer = SerializerDummy.DUMMY;
@@ -51,6 +53,8 @@ public final class BFTHeader {
 	@DsonOutput(Output.ALL)
 	private final LedgerHeader ledgerHeader;
 
+	private final transient HashCache hashCache = new HashCache();
+
 	BFTHeader() {
 		// Serializer only
 		this.view = null;
@@ -100,6 +104,11 @@ public final class BFTHeader {
 		this.view = number == null ? null : View.of(number);
 	}
 
+	@Override
+	public HashCache hashCache() {
+		return this.hashCache;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(this.vertexId, this.view, this.ledgerHeader);
@@ -0,0 +1,454 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.consensus;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.radixdlt.atom.RESerializer;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.BFTValidator;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.crypto.ECDSASignature;
+import com.radixdlt.crypto.exception.PublicKeyException;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.utils.UInt256;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compact binary encoding of consensus messages for the wire, as an
+ * alternative to the reflective DSON serialization.
+ * <p>
+ * Every encoding starts with the codec version and a type byte.  Fields are
+ * written in a fixed order with no field names, so any change to the layout
+ * requires a new {@link #VERSION}.  Peers advertise the newest version they
+ * support in their {@link org.radix.universe.system.RadixSystem}, and DSON is
+ * used for peers that do not support this codec.
+ * <p>
+ * Decoded objects are identical to their DSON counterparts, including
+ * absent and empty fields, so that hashes and signatures are unaffected.
+ */
+public final class ConsensusCodec {
+	/**
+	 * Current version of the encoding.
+	 */
+	public static final byte VERSION = 1;
+
+	private static final byte TYPE_PROPOSAL = 1;
+	private static final byte TYPE_VOTE = 2;
+	private static final byte TYPE_VERTICES = 3;
+
+	private static final int HASH_BYTES = 32;
+	private static final int INITIAL_BUFFER_SIZE = 1024;
+
+	private ConsensusCodec() {
+		throw new IllegalStateException("Cannot instantiate.");
+	}
+
+	/**
+	 * Returns {@code true} if the specified version of the encoding can be
+	 * decoded by this codec.
+	 *
+	 * @param version the version advertised by a peer
+	 * @return {@code true} if the version is supported
+	 */
+	public static boolean supports(int version) {
+		return version == VERSION;
+	}
+
+	public static byte[] encode(ConsensusEvent event) {
+		final Writer buf;
+		if (event instanceof Proposal) {
+			buf = new Writer(TYPE_PROPOSAL);
+			writeProposal(buf, (Proposal) event);
+		} else if (event instanceof Vote) {
+			buf = new Writer(TYPE_VOTE);
+			writeVote(buf, (Vote) event);
+		} else {
+			throw new IllegalArgumentException("Unknown consensus event: " + event);
+		}
+		return buf.toByteArray();
+	}
+
+	public static ConsensusEvent decodeEvent(byte[] bytes) throws DeserializeException {
+		var buf = reader(bytes);
+		try {
+			var type = buf.get();
+			final ConsensusEvent event;
+			if (type == TYPE_PROPOSAL) {
+				event = readProposal(buf);
+			} else if (type == TYPE_VOTE) {
+				event = readVote(buf);
+			} else {
+				throw new DeserializeException("Unsupported consensus event type: " + type);
+			}
+			checkFullyRead(buf);
+			return event;
+		} catch (BufferUnderflowException | IllegalArgumentException | NullPointerException e) {
+			throw new DeserializeException("Malformed consensus event", e);
+		}
+	}
+
+	public static byte[] encodeVertices(List<UnverifiedVertex> vertices) {
+		var buf = new Writer(TYPE_VERTICES);
+		buf.ensure(Integer.BYTES).putInt(vertices.size());
+		for (UnverifiedVertex vertex : vertices) {
+			writeVertex(buf, vertex);
+		}
+		return buf.toByteArray();
+	}
+
+	public static List<UnverifiedVertex> decodeVertices(byte[] bytes) throws DeserializeException {
+		var buf = reader(bytes);
+		try {
+			var type = buf.get();
+			if (type != TYPE_VERTICES) {
+				throw new DeserializeException("Unsupported vertices type: " + type);
+			}
+			var count = readCount(buf);
+			var vertices = new ArrayList<UnverifiedVertex>(count);
+			for (int i = 0; i < count; ++i) {
+				vertices.add(readVertex(buf));
+			}
+			checkFullyRead(buf);
+			return vertices;
+		} catch (BufferUnderflowException | IllegalArgumentException | NullPointerException e) {
+			throw new DeserializeException("Malformed vertices", e);
+		}
+	}
+
+	private static ByteBuffer reader(byte[] bytes) throws DeserializeException {
+		if (bytes == null || bytes.length < 2) {
+			throw new DeserializeException("Missing consensus codec header");
+		}
+		var buf = ByteBuffer.wrap(bytes);
+		var version = buf.get();
+		if (!supports(version)) {
+			throw new DeserializeException("Unsupported consensus codec version: " + version);
+		}
+		return buf;
+	}
+
+	private static void checkFullyRead(ByteBuffer buf) throws DeserializeException {
+		if (buf.hasRemaining()) {
+			throw new DeserializeException("Unexpected trailing bytes: " + buf.remaining());
+		}
+	}
+
+	// Counts must be plausible for the remaining bytes, so that a malformed
+	// message cannot cause large allocations
+	private static int readCount(ByteBuffer buf) throws DeserializeException {
+		var count = buf.getInt();
+		if (count < 0 || count > buf.remaining()) {
+			throw new DeserializeException("Invalid count: " + count);
+		}
+		return count;
+	}
+
+	// Consumes the -1 written for absent lists, leaving the buffer unchanged otherwise
+	private static boolean readAbsent(ByteBuffer buf) {
+		if (buf.remaining() >= Integer.BYTES && buf.getInt(buf.position()) == -1) {
+			buf.getInt();
+			return true;
+		}
+		return false;
+	}
+
+	private static void writeProposal(Writer buf, Proposal proposal) {
+		var highQC = proposal.highQC();
+		writeVertex(buf, proposal.getVertex());
+		writeQC(buf, highQC.highestCommittedQC());
+		writeNode(buf, proposal.getAuthor());
+		writeSignature(buf, proposal.getSignature());
+		writeOptional(buf, highQC.highestTC().orElse(null), ConsensusCodec::writeTC);
+	}
+
+	private static Proposal readProposal(ByteBuffer buf) throws DeserializeException {
+		var vertex = readVertex(buf);
+		var committedQC = readQC(buf);
+		var author = readNode(buf);
+		var signature = RESerializer.deserializeSignature(buf);
+		var highestTC = buf.get() != 0 ? readTC(buf) : null;
+		return new Proposal(vertex, committedQC, author, signature, Optional.ofNullable(highestTC));
+	}
+
+	private static void writeVote(Writer buf, Vote vote) {
+		writeNode(buf, vote.getAuthor());
+		writeVoteData(buf, vote.getVoteData());
+		buf.ensure(Long.BYTES).putLong(vote.getTimestamp());
+		writeSignature(buf, vote.getSignature());
+		writeHighQC(buf, vote.highQC());
+		writeOptional(buf, vote.getTimeoutSignature().orElse(null), ConsensusCodec::writeSignature);
+	}
+
+	private static Vote readVote(ByteBuffer buf) throws DeserializeException {
+		var author = readNode(buf);
+		var voteData = readVoteData(buf);
+		var timestamp = buf.getLong();
+		var signature = RESerializer.deserializeSignature(buf);
+		var highQC = readHighQC(buf);
+		var timeoutSignature = buf.get() != 0 ? RESerializer.deserializeSignature(buf) : null;
+		return new Vote(author, voteData, timestamp, signature, highQC, Optional.ofNullable(timeoutSignature));
+	}
+
+	private static void writeVertex(Writer buf, UnverifiedVertex vertex) {
+		writeQC(buf, vertex.getQC());
+		buf.ensure(Long.BYTES).putLong(vertex.getView().number());
+		var txns = vertex.rawTxns();
+		// -1 distinguishes absent transactions from none, as they hash differently
+		buf.ensure(Integer.BYTES).putInt(txns == null ? -1 : txns.size());
+		if (txns != null) {
+			for (byte[] txn : txns) {
+				buf.ensure(Integer.BYTES + txn.length).putInt(txn.length).put(txn);
+			}
+		}
+	}
+
+	private static UnverifiedVertex readVertex(ByteBuffer buf) throws DeserializeException {
+		var qc = readQC(buf);
+		var view = View.of(buf.getLong());
+		final List<byte[]> txns;
+		if (readAbsent(buf)) {
+			txns = null;
+		} else {
+			var count = readCount(buf);
+			txns = new ArrayList<>(count);
+			for (int i = 0; i < count; ++i) {
+				var txn = new byte[readCount(buf)];
+				buf.get(txn);
+				txns.add(txn);
+			}
+		}
+		return new UnverifiedVertex(qc, view, txns);
+	}
+
+	private static void writeHighQC(Writer buf, HighQC highQC) {
+		var highestQC = highQC.highestQC();
+		var committedQC = highQC.highestCommittedQC();
+		writeQC(buf, highestQC);
+		writeOptional(buf, committedQC == highestQC ? null : committedQC, ConsensusCodec::writeQC);
+		writeOptional(buf, highQC.highestTC().orElse(null), ConsensusCodec::writeTC);
+	}
+
+	private static HighQC readHighQC(ByteBuffer buf) throws DeserializeException {
+		var highestQC = readQC(buf);
+		var committedQC = buf.get() != 0 ? readQC(buf) : highestQC;
+		var highestTC = buf.get() != 0 ? readTC(buf) : null;
+		return HighQC.from(highestQC, committedQC, Optional.ofNullable(highestTC));
+	}
+
+	private static void writeQC(Writer buf, QuorumCertificate qc) {
+		writeVoteData(buf, qc.getVoteData());
+		writeSignatures(buf, qc.getTimestampedSignatures());
+	}
+
+	private static QuorumCertificate readQC(ByteBuffer buf) throws DeserializeException {
+		var voteData = readVoteData(buf);
+		var signatures = readSignatures(buf);
+		return new QuorumCertificate(voteData, signatures);
+	}
+
+	private static void writeTC(Writer buf, TimeoutCertificate tc) {
+		buf.ensure(Long.BYTES * 2).putLong(tc.getEpoch()).putLong(tc.getView().number());
+		writeSignatures(buf, tc.getTimestampedSignatures());
+	}
+
+	private static TimeoutCertificate readTC(ByteBuffer buf) throws DeserializeException {
+		var epoch = buf.getLong();
+		var view = View.of(buf.getLong());
+		var signatures = readSignatures(buf);
+		return new TimeoutCertificate(epoch, view, signatures);
+	}
+
+	private static void writeSignatures(Writer buf, TimestampedECDSASignatures signatures) {
+		var nodeSignatures = signatures.getSignatures();
+		buf.ensure(Integer.BYTES).putInt(nodeSignatures.size());
+		nodeSignatures.forEach((node, signature) -> {
+			writeNode(buf, node);
+			buf.ensure(Long.BYTES + UInt256.BYTES)
+				.putLong(signature.timestamp())
+				.put(signature.weight().toByteArray());
+			writeSignature(buf, signature.signature());
+		});
+	}
+
+	private static TimestampedECDSASignatures readSignatures(ByteBuffer buf) throws DeserializeException {
+		var count = readCount(buf);
+		var nodeSignatures = new HashMap<BFTNode, TimestampedECDSASignature>(count);
+		for (int i = 0; i < count; ++i) {
+			var node = readNode(buf);
+			var timestamp = buf.getLong();
+			var weight = readUInt256(buf);
+			var signature = RESerializer.deserializeSignature(buf);
+			nodeSignatures.put(node, TimestampedECDSASignature.from(timestamp, weight, signature));
+		}
+		return new TimestampedECDSASignatures(nodeSignatures);
+	}
+
+	private static void writeVoteData(Writer buf, VoteData voteData) {
+		writeHeader(buf, voteData.getProposed());
+		writeHeader(buf, voteData.getParent());
+		writeOptional(buf, voteData.getCommitted().orElse(null), ConsensusCodec::writeHeader);
+	}
+
+	private static VoteData readVoteData(ByteBuffer buf) throws DeserializeException {
+		var proposed = readHeader(buf);
+		var parent = readHeader(buf);
+		var committed = buf.get() != 0 ? readHeader(buf) : null;
+		return new VoteData(proposed, parent, committed);
+	}
+
+	private static void writeHeader(Writer buf, BFTHeader header) {
+		buf.ensure(Long.BYTES).putLong(header.getView().number());
+		writeHash(buf, header.getVertexId());
+		writeLedgerHeader(buf, header.getLedgerHeader());
+	}
+
+	private static BFTHeader readHeader(ByteBuffer buf) throws DeserializeException {
+		var view = View.of(buf.getLong());
+		var vertexId = readHash(buf);
+		var ledgerHeader = readLedgerHeader(buf);
+		return new BFTHeader(view, vertexId, ledgerHeader);
+	}
+
+	private static void writeLedgerHeader(Writer buf, LedgerHeader header) {
+		var accumulatorState = header.getAccumulatorState();
+		buf.ensure(Long.BYTES * 3)
+			.putLong(header.getEpoch())
+			.putLong(header.getView().number())
+			.putLong(accumulatorState.getStateVersion());
+		writeHash(buf, accumulatorState.getAccumulatorHash());
+		buf.ensure(Long.BYTES).putLong(header.timestamp());
+		var nextValidators = header.nextValidators();
+		buf.ensure(Integer.BYTES).putInt(nextValidators == null ? -1 : nextValidators.size());
+		if (nextValidators != null) {
+			for (BFTValidator validator : nextValidators) {
+				writeNode(buf, validator.getNode());
+				buf.ensure(UInt256.BYTES).put(validator.getPower().toByteArray());
+			}
+		}
+	}
+
+	private static LedgerHeader readLedgerHeader(ByteBuffer buf) throws DeserializeException {
+		var epoch = buf.getLong();
+		var view = View.of(buf.getLong());
+		var stateVersion = buf.getLong();
+		var accumulatorHash = readHash(buf);
+		var timestamp = buf.getLong();
+		final ImmutableSet<BFTValidator> nextValidators;
+		if (readAbsent(buf)) {
+			nextValidators = null;
+		} else {
+			var count = readCount(buf);
+			var validators = ImmutableSet.<BFTValidator>builderWithExpectedSize(count);
+			for (int i = 0; i < count; ++i) {
+				var node = readNode(buf);
+				validators.add(BFTValidator.from(node, readUInt256(buf)));
+			}
+			nextValidators = validators.build();
+		}
+		var accumulatorState = new AccumulatorState(stateVersion, accumulatorHash);
+		return LedgerHeader.create(epoch, view, accumulatorState, timestamp, nextValidators);
+	}
+
+	private static void writeNode(Writer buf, BFTNode node) {
+		var key = node.getKey().getBytes();
+		buf.ensure(1 + key.length).put((byte) key.length).put(key);
+	}
+
+	private static BFTNode readNode(ByteBuffer buf) throws DeserializeException {
+		var key = new byte[Byte.toUnsignedInt(buf.get())];
+		buf.get(key);
+		try {
+			return BFTNode.fromPublicKeyBytes(key);
+		} catch (PublicKeyException e) {
+			throw new DeserializeException("Invalid public key", e);
+		}
+	}
+
+	private static void writeSignature(Writer buf, ECDSASignature signature) {
+		var bytes = RESerializer.serializeSignature(signature);
+		buf.ensure(bytes.length).put(bytes);
+	}
+
+	private static void writeHash(Writer buf, HashCode hash) {
+		var bytes = hash.asBytes();
+		if (bytes.length != HASH_BYTES) {
+			throw new IllegalArgumentException("Unexpected hash length: " + bytes.length);
+		}
+		buf.ensure(HASH_BYTES).put(bytes);
+	}
+
+	private static HashCode readHash(ByteBuffer buf) {
+		var bytes = new byte[HASH_BYTES];
+		buf.get(bytes);
+		return HashCode.fromBytes(bytes);
+	}
+
+	private static UInt256 readUInt256(ByteBuffer buf) {
+		var bytes = new byte[UInt256.BYTES];
+		buf.get(bytes);
+		return UInt256.from(bytes);
+	}
+
+	private static <T> void writeOptional(Writer buf, T value, FieldWriter<T> writer) {
+		buf.ensure(1).put(value == null ? (byte) 0 : (byte) 1);
+		if (value != null) {
+			writer.write(buf, value);
+		}
+	}
+
+	@FunctionalInterface
+	private interface FieldWriter<T> {
+		void write(Writer buf, T value);
+	}
+
+	/**
+	 * Output buffer which grows as required.
+	 */
+	private static final class Writer {
+		private ByteBuffer buf = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+		Writer(byte type) {
+			this.buf.put(VERSION).put(type);
+		}
+
+		ByteBuffer ensure(int bytes) {
+			if (this.buf.remaining() < bytes) {
+				var newSize = Math.max(this.buf.capacity() * 2, this.buf.position() + bytes);
+				var newBuf = ByteBuffer.allocate(newSize);
+				this.buf.flip();
+				newBuf.put(this.buf);
+				this.buf = newBuf;
+			}
+			return this.buf;
+		}
+
+		byte[] toByteArray() {
+			var bytes = new byte[this.buf.position()];
+			System.arraycopy(this.buf.array(), 0, bytes, 0, bytes.length);
+			return bytes;
+		}
+	}
+}
@@ -20,6 +20,8 @@ package com.radixdlt.consensus;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableSet;
+import com.radixdlt.crypto.HashCache;
+import com.radixdlt.crypto.HashCacheable;
 import com.radixdlt.identifiers.ValidatorAddress;
 import com.radixdlt.consensus.bft.BFTValidator;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
@@ -44,7 +46,7 @@ import javax.annotation.concurrent.Immutable;
  */
 @Immutable
 @SerializerId2("consensus.ledger_header")
-public final class LedgerHeader {
+public final class LedgerHeader implements HashCacheable {
 	@JsonProperty(SerializerConstants.SERIALIZER_NAME)
 	@DsonOutput(value = {Output.API, Output.WIRE, Output.PERSIST})
 	SerializerDummy serializer = SerializerDummy.DUMMY;
@@ -67,6 +69,8 @@ public final class LedgerHeader {
 	@DsonOutput(Output.ALL)
 	private final ImmutableSet<BFTValidator> nextValidators;
 
+	private final transient HashCache hashCache = new HashCache();
+
 	// TODO: Replace isEndOfEpoch with nextValidatorSet
 	@JsonCreator
 	private LedgerHeader(
@@ -147,6 +151,16 @@ public final class LedgerHeader {
 		return new LedgerHeader(epoch, view, accumulatorState, timestamp, validatorSet == null ? null : validatorSet.getValidators());
 	}
 
+	static LedgerHeader create(
+		long epoch,
+		View view,
+		AccumulatorState accumulatorState,
+		long timestamp,
+		ImmutableSet<BFTValidator> nextValidators
+	) {
+		return new LedgerHeader(epoch, view, accumulatorState, timestamp, nextValidators);
+	}
+
 	public LedgerHeader updateViewAndTimestamp(View view, long timestamp) {
 		return new LedgerHeader(
 			this.epoch,
@@ -171,6 +185,10 @@ public final class LedgerHeader {
 		return Optional.ofNullable(nextValidators).map(BFTValidatorSet::from);
 	}
 
+	ImmutableSet<BFTValidator> nextValidators() {
+		return this.nextValidators;
+	}
+
 	public AccumulatorState getAccumulatorState() {
 		return accumulatorState;
 	}
@@ -187,6 +205,11 @@ public final class LedgerHeader {
 		return this.timestamp;
 	}
 
+	@Override
+	public HashCache hashCache() {
+		return this.hashCache;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(this.accumulatorState, this.timestamp, this.epoch, this.view, this.nextValidators);
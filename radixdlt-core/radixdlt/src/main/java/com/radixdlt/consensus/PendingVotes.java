@@ -18,30 +18,35 @@
 package com.radixdlt.consensus;
 
 import com.google.common.hash.HashCode;
-import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.View;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import com.radixdlt.consensus.bft.VoteAccumulator;
 import com.radixdlt.consensus.bft.VoteProcessingResult;
 import com.radixdlt.consensus.bft.VoteProcessingResult.VoteRejected.VoteRejectedReason;
-import com.radixdlt.consensus.liveness.VoteTimeout;
 import com.radixdlt.crypto.Hasher;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Maps;
 import com.radixdlt.SecurityCritical;
 import com.radixdlt.SecurityCritical.SecurityKind;
-import com.radixdlt.consensus.bft.ValidationState;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
 import com.radixdlt.crypto.ECDSASignature;
 
 /**
  * Manages pending votes for various vertices.
  * <p>
+ * Votes are grouped by view, so that votes for views that are no longer
+ * of interest can be discarded with {@link #evictBefore(View)}.  Signed
+ * power is tracked incrementally per vote data and per timeout, with
+ * signatures kept in arrays indexed by the position of the author in the
+ * {@link BFTValidatorSet}.
+ * <p>
  * This class is NOT thread-safe.
  * <p>
  * This class is security critical (signature checks, validator set membership checks).
@@ -83,11 +88,25 @@ public final class PendingVotes {
 		}
 	}
 
-	private final Map<HashCode, ValidationState> voteState = Maps.newHashMap();
-	private final Map<HashCode, ValidationState> timeoutVoteState = Maps.newHashMap();
-	private final Map<BFTNode, PreviousVote> previousVotes = Maps.newHashMap();
+	// Votes received for a single view.  There is usually only one vote data
+	// and one epoch per view, so both maps are small.
+	private static final class ViewVotes {
+		private final Map<HashCode, VoteAccumulator> voteState = new HashMap<>(4);
+		private final Map<Long, VoteAccumulator> timeoutVoteState = new HashMap<>(2);
+
+		boolean isEmpty() {
+			return this.voteState.isEmpty() && this.timeoutVoteState.isEmpty();
+		}
+	}
+
+	private final TreeMap<View, ViewVotes> viewVotes = new TreeMap<>();
 	private final Hasher hasher;
 
+	// Previous votes, indexed by author position in the validator set
+	private BFTValidatorSet validatorSet;
+	private PreviousVote[] previousVotes = new PreviousVote[0];
+	private int previousVotesCount = 0;
+
 	public PendingVotes(Hasher hasher) {
 		this.hasher = Objects.requireNonNull(hasher);
 	}
@@ -102,73 +121,90 @@ public final class PendingVotes {
 	 * @return The result of vote processing
 	 */
 	public VoteProcessingResult insertVote(Vote vote, BFTValidatorSet validatorSet) {
-		final BFTNode node = vote.getAuthor();
-		final VoteData voteData = vote.getVoteData();
-		final HashCode voteDataHash = this.hasher.hash(voteData);
+		if (validatorSet != this.validatorSet) {
+			resetFor(validatorSet);
+		}
 
-		if (!validatorSet.containsNode(node)) {
+		final int index = validatorSet.indexOf(vote.getAuthor());
+		if (index < 0) {
 			return VoteProcessingResult.rejected(VoteRejectedReason.INVALID_AUTHOR);
 		}
 
-		if (!replacePreviousVote(node, vote, voteDataHash)) {
+		final HashCode voteDataHash = this.hasher.hash(vote.getVoteData());
+		if (!replacePreviousVote(index, vote, voteDataHash)) {
 			return VoteProcessingResult.rejected(VoteRejectedReason.DUPLICATE_VOTE);
 		}
 
-		return processVoteForQC(vote, validatorSet).<VoteProcessingResult>map(VoteProcessingResult::qcQuorum)
-			.or(() -> processVoteForTC(vote, validatorSet).map(VoteProcessingResult::tcQuorum))
+		final ViewVotes votes = this.viewVotes.computeIfAbsent(vote.getView(), v -> new ViewVotes());
+		return processVoteForQC(votes, index, vote, voteDataHash).<VoteProcessingResult>map(VoteProcessingResult::qcQuorum)
+			.or(() -> processVoteForTC(votes, index, vote).map(VoteProcessingResult::tcQuorum))
 			.orElseGet(VoteProcessingResult::accepted);
 	}
 
-	private Optional<QuorumCertificate> processVoteForQC(Vote vote, BFTValidatorSet validatorSet) {
-		final VoteData voteData = vote.getVoteData();
-		final HashCode voteDataHash = this.hasher.hash(voteData);
-		final BFTNode node = vote.getAuthor();
+	/**
+	 * Discards all pending votes for views before the specified view.
+	 * Votes for earlier views can no longer form a useful quorum once
+	 * the specified view has been reached.
+	 *
+	 * @param view The earliest view for which votes are retained
+	 */
+	public void evictBefore(View view) {
+		this.viewVotes.headMap(view).clear();
+	}
 
-		final ValidationState validationState =
-			this.voteState.computeIfAbsent(voteDataHash, k -> validatorSet.newValidationState());
+	private Optional<QuorumCertificate> processVoteForQC(ViewVotes votes, int index, Vote vote, HashCode voteDataHash) {
+		final VoteAccumulator accumulator =
+			votes.voteState.computeIfAbsent(voteDataHash, k -> this.validatorSet.newVoteAccumulator());
 
-		final boolean signatureAdded = validationState.addSignature(node, vote.getTimestamp(), vote.getSignature());
+		final boolean signatureAdded = accumulator.addSignature(index, vote.getTimestamp(), vote.getSignature());
 
-		if (signatureAdded && validationState.complete()) {
-			return Optional.of(new QuorumCertificate(voteData, validationState.signatures()));
+		if (signatureAdded && accumulator.complete()) {
+			return Optional.of(new QuorumCertificate(vote.getVoteData(), accumulator.signatures()));
 		} else {
 			return Optional.empty();
 		}
 	}
 
-	private Optional<TimeoutCertificate> processVoteForTC(Vote vote, BFTValidatorSet validatorSet) {
+	private Optional<TimeoutCertificate> processVoteForTC(ViewVotes votes, int index, Vote vote) {
 		if (!vote.isTimeout()) {
 			return Optional.empty(); // TC can't be formed if vote is not timed out
 		}
 
 		final ECDSASignature timeoutSignature = vote.getTimeoutSignature().orElseThrow();
 
-		final VoteTimeout voteTimeout = VoteTimeout.of(vote);
-		final HashCode voteTimeoutHash = this.hasher.hash(voteTimeout);
-		final BFTNode node = vote.getAuthor();
-
-		final ValidationState validationState =
-			this.timeoutVoteState.computeIfAbsent(voteTimeoutHash, k -> validatorSet.newValidationState());
+		// Timeouts are already grouped by view, so no need to hash them
+		final VoteAccumulator accumulator =
+			votes.timeoutVoteState.computeIfAbsent(vote.getEpoch(), k -> this.validatorSet.newVoteAccumulator());
 
-		final boolean signatureAdded = validationState.addSignature(node, vote.getTimestamp(), timeoutSignature);
+		final boolean signatureAdded = accumulator.addSignature(index, vote.getTimestamp(), timeoutSignature);
 
-		if (signatureAdded && validationState.complete()) {
+		if (signatureAdded && accumulator.complete()) {
 			return Optional.of(new TimeoutCertificate(
-					voteTimeout.getEpoch(),
-					voteTimeout.getView(),
-					validationState.signatures()));
+					vote.getEpoch(),
+					vote.getView(),
+					accumulator.signatures()));
 		} else {
 			return Optional.empty();
 		}
 	}
 
+	private void resetFor(BFTValidatorSet validatorSet) {
+		// Indices are only meaningful for the validator set they were taken from
+		this.viewVotes.clear();
+		this.validatorSet = validatorSet;
+		this.previousVotes = new PreviousVote[validatorSet.size()];
+		this.previousVotesCount = 0;
+	}
+
 	// TODO: Need to rethink whether we should be removing previous signature
 	// TODO: Could be causing quorum formation to slow down
-	private boolean replacePreviousVote(BFTNode author, Vote vote, HashCode voteHash) {
+	private boolean replacePreviousVote(int index, Vote vote, HashCode voteHash) {
 		final PreviousVote thisVote = new PreviousVote(vote.getView(), vote.getEpoch(), voteHash, vote.isTimeout());
-		final PreviousVote previousVote = this.previousVotes.put(author, thisVote);
+		final PreviousVote previousVote = this.previousVotes[index];
+		this.previousVotes[index] = thisVote;
 		if (previousVote == null) {
 			// No previous vote for this author, all good here
+			this.previousVotesCount += 1;
 			return true;
 		}
 
@@ -180,24 +216,14 @@ public final class PendingVotes {
 
 		// Prune last pending vote from the pending votes.
 		// This limits the number of pending vertices that are in the pipeline.
-		var validationState = this.voteState.get(previousVote.hash);
-		if (validationState != null) {
-			validationState.removeSignature(author);
-			if (validationState.isEmpty()) {
-				this.voteState.remove(previousVote.hash);
+		final ViewVotes votes = this.viewVotes.get(previousVote.view);
+		if (votes != null) {
+			removeSignature(votes.voteState, previousVote.hash, index);
+			if (previousVote.isTimeout) {
+				removeSignature(votes.timeoutVoteState, previousVote.epoch, index);
 			}
-		}
-
-		if (previousVote.isTimeout) {
-			final var voteTimeout = new VoteTimeout(previousVote.view, previousVote.epoch);
-			final var voteTimeoutHash = this.hasher.hash(voteTimeout);
-
-			var timeoutValidationState = this.timeoutVoteState.get(voteTimeoutHash);
-			if (timeoutValidationState != null) {
-				timeoutValidationState.removeSignature(author);
-				if (timeoutValidationState.isEmpty()) {
-					this.timeoutVoteState.remove(voteTimeoutHash);
-				}
+			if (votes.isEmpty()) {
+				this.viewVotes.remove(previousVote.view);
 			}
 		}
 
@@ -214,21 +240,37 @@ public final class PendingVotes {
 		}
 	}
 
+	private static <K> void removeSignature(Map<K, VoteAccumulator> state, K key, int index) {
+		final VoteAccumulator accumulator = state.get(key);
+		if (accumulator != null) {
+			accumulator.removeSignature(index);
+			if (accumulator.isEmpty()) {
+				state.remove(key);
+			}
+		}
+	}
+
 	@VisibleForTesting
 	// Greybox stuff for testing
 	int voteStateSize() {
-		return this.voteState.size();
+		return this.viewVotes.values().stream().mapToInt(votes -> votes.voteState.size()).sum();
 	}
 
 	@VisibleForTesting
 	// Greybox stuff for testing
 	int timeoutVoteStateSize() {
-		return this.timeoutVoteState.size();
+		return this.viewVotes.values().stream().mapToInt(votes -> votes.timeoutVoteState.size()).sum();
+	}
+
+	@VisibleForTesting
+	// Greybox stuff for testing
+	int viewVotesSize() {
+		return this.viewVotes.size();
 	}
 
 	@VisibleForTesting
 	// Greybox stuff for testing
 	int previousVotesSize() {
-		return this.previousVotes.size();
+		return this.previousVotesCount;
 	}
 }
@@ -19,24 +19,40 @@ package com.radixdlt.consensus;
 
 import com.google.common.hash.HashCode;
 import com.radixdlt.DefaultSerialization;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.crypto.HashCacheable;
 import com.radixdlt.crypto.HashUtils;
 import com.radixdlt.crypto.Hasher;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.Serialization;
 
+import java.util.Objects;
+
 /**
  * A Hasher implementation that uses sha256 hashing algorithm.
+ * <p>
+ * Hashes of {@link HashCacheable} objects are computed once and cached in the object.
+ * Cached hashes are keyed by the serialization used, as all instances of this class
+ * with the same serialization compute the same hashes.
  */
 public class Sha256Hasher implements Hasher {
 
 	private final Serialization serialization;
+	private final SystemCounters counters;
 
 	public static Sha256Hasher withDefaultSerialization() {
 		return new Sha256Hasher(DefaultSerialization.getInstance());
 	}
 
 	public Sha256Hasher(Serialization serialization) {
-		this.serialization = serialization;
+		this(serialization, new SystemCountersImpl());
+	}
+
+	public Sha256Hasher(Serialization serialization, SystemCounters counters) {
+		this.serialization = Objects.requireNonNull(serialization);
+		this.counters = Objects.requireNonNull(counters);
 	}
 
 	@Override
@@ -46,11 +62,28 @@ public class Sha256Hasher implements Hasher {
 
 	@Override
 	public HashCode hash(Object o) {
-		return HashUtils.sha256(serialization.toDson(o, DsonOutput.Output.HASH));
+		if (o instanceof HashCacheable) {
+			final var cache = ((HashCacheable) o).hashCache();
+			final var cached = cache.get(this.serialization);
+			if (cached != null) {
+				this.counters.increment(CounterType.HASHER_CACHE_HITS);
+				return cached;
+			}
+			this.counters.increment(CounterType.HASHER_CACHE_MISSES);
+			final var hash = hashObject(o);
+			cache.put(this.serialization, hash);
+			return hash;
+		}
+		return hashObject(o);
 	}
 
 	@Override
 	public HashCode hashBytes(byte[] bytes) {
+		this.counters.add(CounterType.HASHED_BYTES, bytes.length);
 		return HashUtils.sha256(bytes);
 	}
+
+	private HashCode hashObject(Object o) {
+		return hashBytes(serialization.toDson(o, DsonOutput.Output.HASH));
+	}
 }
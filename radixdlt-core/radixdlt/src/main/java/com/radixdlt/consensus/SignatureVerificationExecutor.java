@@ -0,0 +1,98 @@
+/*
+ * (C) Copyright 2020 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.consensus;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Runs verification of sets of signatures, possibly in parallel.
+ */
+public interface SignatureVerificationExecutor {
+	/**
+	 * Tests all the specified elements, typically by hashing and verifying a signature
+	 * for each.  Testing stops early once any element fails.
+	 *
+	 * @param elements the elements to test
+	 * @param verification the test, which must be safe to call concurrently
+	 * @param <T> the type of the elements
+	 * @return {@code true} if all elements pass the test, {@code false} otherwise
+	 */
+	<T> boolean allMatch(Collection<T> elements, Predicate<? super T> verification);
+
+	/**
+	 * Returns an executor that tests elements one after the other on the calling thread.
+	 *
+	 * @return a sequential executor
+	 */
+	static SignatureVerificationExecutor sequential() {
+		return new SignatureVerificationExecutor() {
+			@Override
+			public <T> boolean allMatch(Collection<T> elements, Predicate<? super T> verification) {
+				return elements.stream().allMatch(verification);
+			}
+
+			@Override
+			public String toString() {
+				return "SignatureVerificationExecutor[sequential]";
+			}
+		};
+	}
+
+	/**
+	 * Returns an executor that tests elements in parallel on the specified pool.
+	 * The calling thread waits for the result.
+	 *
+	 * @param pool the pool to test elements on
+	 * @return a parallel executor
+	 */
+	static SignatureVerificationExecutor parallel(ForkJoinPool pool) {
+		Objects.requireNonNull(pool);
+		return new SignatureVerificationExecutor() {
+			@Override
+			public <T> boolean allMatch(Collection<T> elements, Predicate<? super T> verification) {
+				if (elements.size() <= 1) {
+					return elements.stream().allMatch(verification);
+				}
+				// Parallel streams run on the pool of the task they are started from
+				final var task = pool.submit(() -> elements.parallelStream().allMatch(verification));
+				try {
+					return task.get();
+				} catch (InterruptedException e) {
+					task.cancel(true);
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while verifying signatures", e);
+				} catch (ExecutionException e) {
+					final var cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					throw new IllegalStateException("Signature verification failed", cause);
+				}
+			}
+
+			@Override
+			public String toString() {
+				return String.format("SignatureVerificationExecutor[parallelism=%s]", pool.getParallelism());
+			}
+		};
+	}
+}
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.radixdlt.atom.Txn;
 import com.radixdlt.consensus.bft.View;
+import com.radixdlt.crypto.HashCache;
+import com.radixdlt.crypto.HashCacheable;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.SerializerConstants;
 import com.radixdlt.serialization.SerializerDummy;
@@ -38,7 +40,7 @@ import javax.annotation.concurrent.Immutable;
  */
 @Immutable
 @SerializerId2("consensus.vertex")
-public final class UnverifiedVertex {
+public final class UnverifiedVertex implements HashCacheable {
 	@JsonProperty(SerializerConstants.SERIALIZER_NAME)
 	@DsonOutput(value = {Output.API, Output.WIRE, Output.PERSIST})
 	SerializerDummy serializer = SerializerDummy.DUMMY;
@@ -53,6 +55,8 @@ public final class UnverifiedVertex {
 	@DsonOutput(Output.ALL)
 	private final List<byte[]> txns;
 
+	private final transient HashCache hashCache = new HashCache();
+
 	@JsonCreator
 	UnverifiedVertex(
 		@JsonProperty("qc") QuorumCertificate qc,
@@ -97,6 +101,10 @@ public final class UnverifiedVertex {
 		return txns == null ? List.of() : txns.stream().map(Txn::create).collect(Collectors.toList());
 	}
 
+	List<byte[]> rawTxns() {
+		return this.txns;
+	}
+
 	@JsonProperty("view")
 	@DsonOutput(Output.ALL)
 	private Long getSerializerView() {
@@ -108,6 +116,11 @@ public final class UnverifiedVertex {
 		return String.format("Vertex{view=%s, qc=%s, txns=%s}", view, qc, getTxns());
 	}
 
+	@Override
+	public HashCache hashCache() {
+		return this.hashCache;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(qc, view, txns);
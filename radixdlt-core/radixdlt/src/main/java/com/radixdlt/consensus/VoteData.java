@@ -19,6 +19,8 @@ package com.radixdlt.consensus;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.radixdlt.crypto.HashCache;
+import com.radixdlt.crypto.HashCacheable;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.SerializerConstants;
@@ -36,7 +38,7 @@ import javax.annotation.concurrent.Immutable;
  */
 @Immutable
 @SerializerId2("consensus.vote_data")
-public final class VoteData {
+public final class VoteData implements HashCacheable {
 	@JsonProperty(SerializerConstants.SERIALIZER_NAME)
 	@DsonOutput(value = {Output.API, Output.WIRE, Output.PERSIST})
 	SerializerDummy serializer = SerializerDummy.DUMMY;
@@ -53,6 +55,8 @@ public final class VoteData {
 	@DsonOutput(Output.ALL)
 	private final BFTHeader committed;
 
+	private final transient HashCache hashCache = new HashCache();
+
 	@JsonCreator
 	public VoteData(
 		@JsonProperty("proposed") BFTHeader proposed,
@@ -90,6 +94,11 @@ public final class VoteData {
 			&& Objects.equals(committed, that.committed);
 	}
 
+	@Override
+	public HashCache hashCache() {
+		return this.hashCache;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(proposed, parent, committed);
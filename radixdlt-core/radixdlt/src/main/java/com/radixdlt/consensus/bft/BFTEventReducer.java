@@ -113,6 +113,8 @@ public final class BFTEventReducer implements BFTEventProcessor {
 		this.hasReachedQuorum = false;
 		this.isViewTimedOut = false;
 		this.latestViewUpdate = viewUpdate;
+		// Votes for earlier views are ignored from now on
+		this.pendingVotes.evictBefore(viewUpdate.getCurrentView());
 		this.pacemaker.processViewUpdate(viewUpdate);
 		this.tryVote();
 	}
@@ -18,6 +18,7 @@
 package com.radixdlt.consensus.bft;
 
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.radixdlt.utils.UInt256;
@@ -33,6 +34,10 @@ import java.util.stream.Stream;
  * <p>
  * Note that this set will validate for set sizes less than 4,
  * as long as all validators sign.
+ * <p>
+ * Validators are indexed from {@code 0} to {@code size() - 1}, in
+ * iteration order of {@link #getValidators()}, so that per-validator
+ * state can be kept in arrays.
  */
 public final class BFTValidatorSet {
 	private final ImmutableBiMap<BFTNode, BFTValidator> validators;
@@ -41,6 +46,9 @@ public final class BFTValidatorSet {
 	// of 2^256 this should never overflow
 	private final transient UInt256 totalPower;
 
+	private final transient ImmutableList<BFTValidator> validatorList;
+	private final transient ImmutableMap<BFTNode, Integer> indices;
+
 	private BFTValidatorSet(Collection<BFTValidator> validators) {
 		this(validators.stream());
 	}
@@ -53,6 +61,12 @@ public final class BFTValidatorSet {
 			.map(BFTValidator::getPower)
 			.reduce(UInt256::add)
 			.orElse(UInt256.ZERO);
+		this.validatorList = this.validators.values().asList();
+		final ImmutableMap.Builder<BFTNode, Integer> indexBuilder = ImmutableMap.builderWithExpectedSize(this.validatorList.size());
+		for (int i = 0; i < this.validatorList.size(); ++i) {
+			indexBuilder.put(this.validatorList.get(i).getNode(), i);
+		}
+		this.indices = indexBuilder.build();
 	}
 
 	/**
@@ -92,6 +106,40 @@ public final class BFTValidatorSet {
 		return ValidationState.forValidatorSet(this);
 	}
 
+	/**
+	 * Create an initial vote accumulator with no signatures for this validator set.
+	 *
+	 * @return An initial vote accumulator with no signatures
+	 */
+	public VoteAccumulator newVoteAccumulator() {
+		return VoteAccumulator.forValidatorSet(this);
+	}
+
+	/**
+	 * Returns the index of the specified node in this validator set.
+	 *
+	 * @param node the node to look up
+	 * @return the index of the node, or {@code -1} if the node is not a validator
+	 */
+	public int indexOf(BFTNode node) {
+		final Integer index = this.indices.get(node);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Returns the validator with the specified index.
+	 *
+	 * @param index the index of the validator, from {@code 0} to {@code size() - 1}
+	 * @return the validator with the specified index
+	 */
+	public BFTValidator validatorAt(int index) {
+		return this.validatorList.get(index);
+	}
+
+	public int size() {
+		return this.validatorList.size();
+	}
+
 	public boolean containsNode(BFTNode node) {
 		return validators.containsKey(node);
 	}
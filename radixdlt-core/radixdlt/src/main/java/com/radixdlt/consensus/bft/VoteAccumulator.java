@@ -0,0 +1,133 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.consensus.bft;
+
+import com.google.common.collect.ImmutableMap;
+import com.radixdlt.consensus.TimestampedECDSASignature;
+import com.radixdlt.consensus.TimestampedECDSASignatures;
+import com.radixdlt.crypto.ECDSASignature;
+import com.radixdlt.utils.UInt256;
+import java.util.Objects;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Keeps track of the signatures and signed power for a thing that needs
+ * a quorum of signatures, such as vote data or a timeout.
+ * <p>
+ * Like {@link ValidationState}, but with validators identified by their
+ * index in the {@link BFTValidatorSet}, so that signatures are kept in an
+ * array sized for the validator set and signed power is updated as
+ * signatures are added and removed.  Indices must be checked by the caller.
+ */
+@NotThreadSafe
+public final class VoteAccumulator {
+	private final BFTValidatorSet validatorSet;
+	private final TimestampedECDSASignature[] signatures;
+	private final UInt256 threshold;
+	private UInt256 signedPower = UInt256.ZERO;
+	private int signedCount = 0;
+
+	/**
+	 * Construct an empty vote accumulator for the given validator set.
+	 *
+	 * @param validatorSet The validator set
+	 */
+	public static VoteAccumulator forValidatorSet(BFTValidatorSet validatorSet) {
+		return new VoteAccumulator(validatorSet);
+	}
+
+	private VoteAccumulator(BFTValidatorSet validatorSet) {
+		this.validatorSet = Objects.requireNonNull(validatorSet);
+		this.signatures = new TimestampedECDSASignature[validatorSet.size()];
+		this.threshold = ValidationState.threshold(validatorSet.getTotalPower());
+	}
+
+	/**
+	 * Adds the signature of the validator with the specified index, unless
+	 * that validator has already signed.
+	 * Note that it is assumed that signature validation is performed elsewhere.
+	 *
+	 * @param index The index of the validator in the validator set
+	 * @param timestamp The timestamp of the signature
+	 * @param signature The signature
+	 * @return whether the signature was added or not
+	 */
+	public boolean addSignature(int index, long timestamp, ECDSASignature signature) {
+		if (this.signatures[index] != null) {
+			return false;
+		}
+		final UInt256 weight = this.validatorSet.validatorAt(index).getPower();
+		this.signatures[index] = TimestampedECDSASignature.from(timestamp, weight, signature);
+		this.signedPower = this.signedPower.add(weight);
+		this.signedCount += 1;
+		return true;
+	}
+
+	/**
+	 * Removes the signature of the validator with the specified index, if present.
+	 *
+	 * @param index The index of the validator in the validator set
+	 */
+	public void removeSignature(int index) {
+		final TimestampedECDSASignature signature = this.signatures[index];
+		if (signature != null) {
+			this.signatures[index] = null;
+			this.signedPower = this.signedPower.subtract(signature.weight());
+			this.signedCount -= 1;
+		}
+	}
+
+	/**
+	 * Return {@code true} if we have not yet accumulated any signatures.
+	 * @return {@code true} if we have not accumulated any signatures, {@code false} otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.signedCount == 0;
+	}
+
+	/**
+	 * Returns {@code true} if we have enough signed power to form a quorum.
+	 *
+	 * @return {@code true} if we have enough signed power to form a quorum
+	 */
+	public boolean complete() {
+		return this.signedPower.compareTo(this.threshold) >= 0;
+	}
+
+	/**
+	 * Returns a {@link TimestampedECDSASignatures} object for our current set of signatures.
+	 *
+	 * @return a {@link TimestampedECDSASignatures} object for our current set of signatures
+	 */
+	public TimestampedECDSASignatures signatures() {
+		final ImmutableMap.Builder<BFTNode, TimestampedECDSASignature> builder =
+			ImmutableMap.builderWithExpectedSize(this.signedCount);
+		for (int i = 0; i < this.signatures.length; ++i) {
+			if (this.signatures[i] != null) {
+				builder.put(this.validatorSet.validatorAt(i).getNode(), this.signatures[i]);
+			}
+		}
+		return new TimestampedECDSASignatures(builder.build());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[validatorSet=%s, signedCount=%s, signedPower=%s]",
+			getClass().getSimpleName(), this.validatorSet, this.signedCount, this.signedPower);
+	}
+}
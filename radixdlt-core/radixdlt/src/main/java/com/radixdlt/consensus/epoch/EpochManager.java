@@ -69,6 +69,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.inject.Inject;
 
@@ -278,11 +279,11 @@ public final class EpochManager {
 						.build();
 
 			final var ledgerStatusUpdate = LedgerStatusUpdate.create(epochChange.getGenesisHeader());
-			for (BFTValidator validator : currentAndNextValidators) {
-				if (!validator.getNode().equals(self)) {
-					this.ledgerStatusUpdateDispatcher.dispatch(validator.getNode(), ledgerStatusUpdate);
-				}
-			}
+			final var receivers = currentAndNextValidators.stream()
+				.map(BFTValidator::getNode)
+				.filter(node -> !node.equals(self))
+				.collect(Collectors.toList());
+			this.ledgerStatusUpdateDispatcher.dispatch(receivers, ledgerStatusUpdate);
 		}
 
 		log.trace("EPOCH_CHANGE: {}", epochChange);
@@ -72,6 +72,9 @@ public interface SystemCounters {
 		COUNT_BDB_LEDGER_DELETES("count.bdb.ledger.deletes"),
 		COUNT_BDB_LEDGER_PROOFS_ADDED("count.bdb.ledger.proofs.added"),
 		COUNT_BDB_LEDGER_PROOFS_REMOVED("count.bdb.ledger.proofs.removed"),
+		COUNT_BDB_LEDGER_SUBSTATE_CACHE_HITS("count.bdb.ledger.substate_cache.hits"),
+		COUNT_BDB_LEDGER_SUBSTATE_CACHE_MISSES("count.bdb.ledger.substate_cache.misses"),
+		COUNT_BDB_LEDGER_SUBSTATE_CACHE_EVICTIONS("count.bdb.ledger.substate_cache.evictions"),
 
 		COUNT_BDB_ADDRESS_BOOK_TOTAL("count.bdb.address_book.total"),
 		COUNT_BDB_ADDRESS_BOOK_BYTES_READ("count.bdb.address_book.bytes.read"),
@@ -84,6 +87,9 @@ public interface SystemCounters {
 
 		COUNT_BDB_HEADER_BYTES_WRITE("count.bdb.header.bytes.write"),
 
+		/** Number of sync responses with signatures verified. */
+		COUNT_SYNC_SIGNATURES_VERIFY("count.sync.signatures_verify"),
+
 		// API DB metrics
 		COUNT_APIDB_QUEUE_SIZE("count.apidb.queue.size"),
 		COUNT_APIDB_FLUSH_COUNT("count.apidb.flush.count"),
@@ -137,6 +143,9 @@ public interface SystemCounters {
 
 		ELAPSED_BDB_SAFETY_STATE("elapsed.bdb.safety_state"),
 
+		/** Total time spent verifying signatures of sync responses, in microseconds. */
+		ELAPSED_SYNC_SIGNATURES_VERIFY("elapsed.sync.signatures_verify"),
+
 		PERSISTENCE_VERTEX_STORE_SAVES("persistence.vertex_store_saves"),
 		PERSISTENCE_SAFETY_STORE_SAVES("persistence.safety_store_saves"),
 
@@ -148,6 +157,10 @@ public interface SystemCounters {
 		STARTUP_TIME_MS("startup.time_ms"),
 
 		HASHED_BYTES("hashed.bytes"),
+		/** Number of hashes of immutable objects served from their hash cache. */
+		HASHER_CACHE_HITS("hasher.cache.hits"),
+		/** Number of hashes of immutable objects computed and stored in their hash cache. */
+		HASHER_CACHE_MISSES("hasher.cache.misses"),
 
 		LEDGER_STATE_VERSION("ledger.state_version"),
 		LEDGER_SYNC_COMMANDS_PROCESSED("ledger.sync_commands_processed"),
@@ -159,6 +172,8 @@ public interface SystemCounters {
 		SYNC_TARGET_STATE_VERSION("sync.target_state_version"),
 		SYNC_TARGET_CURRENT_DIFF("sync.target_current_diff"),
 		SYNC_REMOTE_REQUESTS_PROCESSED("sync.remote_requests_processed"),
+		/** Number of remote sync requests ignored because earlier responses to the sender were still waiting to be sent. */
+		SYNC_REMOTE_REQUESTS_BACKLOGGED("sync.remote_requests_backlogged"),
 
 		MEMPOOL_COUNT("mempool.count"),
 		MEMPOOL_MAXCOUNT("mempool.maxcount"),
@@ -170,6 +185,12 @@ public interface SystemCounters {
 		MEMPOOL_ERRORS_OTHER("mempool.errors.other"),
 
 		RADIX_ENGINE_INVALID_PROPOSED_COMMANDS("radix_engine.invalid_proposed_commands"),
+		/** Number of vertices prepared on top of the cached branch of their parent. */
+		RADIX_ENGINE_PREPARE_BRANCH_CACHE_HITS("radix_engine.prepare_branch_cache.hits"),
+		/** Number of vertices prepared by re-executing all uncommitted ancestors. */
+		RADIX_ENGINE_PREPARE_BRANCH_CACHE_MISSES("radix_engine.prepare_branch_cache.misses"),
+		/** Number of transactions committed using the results of local prepare rather than being verified again. */
+		RADIX_ENGINE_PREVERIFIED_COMMITTED_TRANSACTIONS("radix_engine.preverified_committed_transactions"),
 		RADIX_ENGINE_USER_TRANSACTIONS("radix_engine.user_transactions"),
 		RADIX_ENGINE_SYSTEM_TRANSACTIONS("radix_engine.system_transactions"),
 
@@ -177,7 +198,13 @@ public interface SystemCounters {
 		MESSAGES_INBOUND_PROCESSED("messages.inbound.processed"),
 		MESSAGES_INBOUND_DISCARDED("messages.inbound.discarded"),
 		MESSAGES_INBOUND_BADSIGNATURE("messages.inbound.badsignature"),
+		/** Number of inbound messages dropped because the decoding or validation queue was full. */
+		MESSAGES_INBOUND_DROPPED("messages.inbound.dropped"),
+		/** Number of inbound messages dropped because the buffer of a slow subscriber was full. */
+		MESSAGES_INBOUND_OVERFLOW("messages.inbound.overflow"),
 		MESSAGES_OUTBOUND_ABORTED("messages.outbound.aborted"),
+		/** Number of outbound messages dropped because the queue of the receiving peer was full. */
+		MESSAGES_OUTBOUND_DROPPED("messages.outbound.dropped"),
 		MESSAGES_OUTBOUND_PENDING("messages.outbound.pending"),
 		MESSAGES_OUTBOUND_PROCESSED("messages.outbound.processed"),
 		MESSAGES_OUTBOUND_SENT("messages.outbound.sent"),
@@ -29,6 +29,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -151,15 +153,43 @@ public final class Dispatchers {
 			final Set<EventProcessor<T>> onDispatch = onDispatchProcessors.stream()
 				.flatMap(p -> p.getProcessor(c).stream())
 				.collect(Collectors.toSet());
-			return (node, e) -> {
-				if (node.equals(self)) {
-					localDispatcher.dispatch(e);
-				} else {
-					remoteDispatcher.dispatch(node, e);
+			return new RemoteEventDispatcher<>() {
+				@Override
+				public void dispatch(BFTNode node, T e) {
+					if (node.equals(self)) {
+						localDispatcher.dispatch(e);
+					} else {
+						remoteDispatcher.dispatch(node, e);
+					}
+					dispatched(e);
 				}
-				onDispatch.forEach(p -> p.process(e));
-				if (counterType != null) {
-					systemCounters.increment(counterType);
+
+				@Override
+				public void dispatch(Iterable<BFTNode> nodes, T e) {
+					// Remote nodes are passed on together so that the event is only serialized once
+					final List<BFTNode> remoteNodes = new ArrayList<>();
+					int count = 0;
+					for (BFTNode node : nodes) {
+						if (node.equals(self)) {
+							localDispatcher.dispatch(e);
+						} else {
+							remoteNodes.add(node);
+						}
+						count++;
+					}
+					if (!remoteNodes.isEmpty()) {
+						remoteDispatcher.dispatch(remoteNodes, e);
+					}
+					for (int i = 0; i < count; i++) {
+						dispatched(e);
+					}
+				}
+
+				private void dispatched(T e) {
+					onDispatch.forEach(p -> p.process(e));
+					if (counterType != null) {
+						systemCounters.increment(counterType);
+					}
 				}
 			};
 		}
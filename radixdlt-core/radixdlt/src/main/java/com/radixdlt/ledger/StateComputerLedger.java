@@ -91,8 +91,22 @@ public final class StateComputerLedger implements Ledger, NextTxnsGenerator {
 	public interface StateComputer {
 		void addToMempool(MempoolAdd mempoolAdd, BFTNode origin);
 		List<Txn> getNextTxnsFromMempool(List<PreparedTxn> prepared);
-		StateComputerResult prepare(List<PreparedTxn> previous, List<Txn> next, long epoch, View view, long timestamp);
-		void commit(VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState);
+		StateComputerResult prepare(List<PreparedTxn> previous, VerifiedVertex vertex, long timestamp);
+		/**
+		 * Commits a verified set of transactions. If the transactions were prepared by this node
+		 * (i.e. committed by BFT) the prepared results are passed along so they need not be
+		 * verified again.
+		 *
+		 * @param verifiedTxnsAndProof the transactions to commit along with the proof
+		 * @param preparedTxns the prepared results of the transactions, or {@code null} if not prepared
+		 *     locally, e.g. when syncing
+		 * @param vertexStoreState the vertex store state to store, or {@code null} when syncing
+		 */
+		void commit(
+			VerifiedTxnsAndProof verifiedTxnsAndProof,
+			List<PreparedTxn> preparedTxns,
+			VerifiedVertexStoreState vertexStoreState
+		);
 	}
 
 	private final Comparator<LedgerProof> headerComparator;
@@ -204,9 +218,7 @@ public final class StateComputerLedger implements Ledger, NextTxnsGenerator {
 
 			final StateComputerResult result = stateComputer.prepare(
 				concatenatedCommands,
-				vertex.getTxns(),
-				vertex.getParentHeader().getLedgerHeader().getEpoch(),
-				vertex.getView(),
+				vertex,
 				quorumTimestamp
 			);
 
@@ -233,23 +245,29 @@ public final class StateComputerLedger implements Ledger, NextTxnsGenerator {
 
 	public EventProcessor<BFTCommittedUpdate> bftCommittedUpdateEventProcessor() {
 		return committedUpdate -> {
-			final ImmutableList<Txn> txns = committedUpdate.getCommitted().stream()
+			final ImmutableList<PreparedTxn> preparedTxns = committedUpdate.getCommitted().stream()
 				.flatMap(PreparedVertex::successfulCommands)
+				.collect(ImmutableList.toImmutableList());
+			final ImmutableList<Txn> txns = preparedTxns.stream()
 				.map(PreparedTxn::txn)
 				.collect(ImmutableList.toImmutableList());
 			var proof = committedUpdate.getVertexStoreState().getRootHeader();
 			var verifiedTxnsAndProof = VerifiedTxnsAndProof.create(txns, proof);
 
 			// TODO: Make these two atomic (RPNV1-827)
-			this.commit(verifiedTxnsAndProof, committedUpdate.getVertexStoreState());
+			this.commit(verifiedTxnsAndProof, preparedTxns, committedUpdate.getVertexStoreState());
 		};
 	}
 
 	public EventProcessor<VerifiedTxnsAndProof> syncEventProcessor() {
-		return p -> this.commit(p, null);
+		return p -> this.commit(p, null, null);
 	}
 
-	private void commit(VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState) {
+	private void commit(
+		VerifiedTxnsAndProof verifiedTxnsAndProof,
+		List<PreparedTxn> preparedTxns,
+		VerifiedVertexStoreState vertexStoreState
+	) {
 		synchronized (lock) {
 			final LedgerProof nextHeader = verifiedTxnsAndProof.getProof();
 			if (headerComparator.compare(nextHeader, this.currentLedgerHeader) <= 0) {
@@ -268,6 +286,10 @@ public final class StateComputerLedger implements Ledger, NextTxnsGenerator {
 			}
 
 			var txns = verifiedExtension.get();
+			// Only the extension is committed so drop the prepared results of anything already committed
+			var preparedExtension = preparedTxns == null
+				? null
+				: preparedTxns.subList(preparedTxns.size() - txns.size(), preparedTxns.size());
 			if (vertexStoreState == null) {
 				this.counters.add(CounterType.LEDGER_SYNC_COMMANDS_PROCESSED, txns.size());
 			} else {
@@ -277,7 +299,7 @@ public final class StateComputerLedger implements Ledger, NextTxnsGenerator {
 			var txnsAndProof = VerifiedTxnsAndProof.create(txns, verifiedTxnsAndProof.getProof());
 
 			// persist
-			this.stateComputer.commit(txnsAndProof, vertexStoreState);
+			this.stateComputer.commit(txnsAndProof, preparedExtension, vertexStoreState);
 
 			// TODO: move all of the following to post-persist event handling
 			this.currentLedgerHeader = nextHeader;
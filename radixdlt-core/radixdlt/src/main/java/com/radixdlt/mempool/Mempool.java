@@ -18,7 +18,9 @@ package com.radixdlt.mempool;
 
 import com.radixdlt.atom.Txn;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -34,6 +36,27 @@ public interface Mempool<T> {
 	 */
 	void add(Txn txn) throws MempoolRejectedException;
 
+	/**
+	 * Add a batch of transactions to the local mempool.  Each transaction is
+	 * admitted or rejected independently of the others in the batch.
+	 *
+	 * @param txns the transactions to add
+	 * @param rejected called with each rejected transaction and the reason it was rejected
+	 * @return the transactions which were added, in batch order
+	 */
+	default List<Txn> addAll(List<Txn> txns, BiConsumer<Txn, MempoolRejectedException> rejected) {
+		var added = new ArrayList<Txn>(txns.size());
+		for (var txn : txns) {
+			try {
+				add(txn);
+				added.add(txn);
+			} catch (MempoolRejectedException e) {
+				rejected.accept(txn, e);
+			}
+		}
+		return added;
+	}
+
 	/**
 	 * Retrieve a list of atoms from the local mempool for processing by
 	 * consensus.
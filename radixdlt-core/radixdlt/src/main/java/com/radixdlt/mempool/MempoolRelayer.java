@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Relays commands from the local mempool to node neighbors.
@@ -95,11 +96,12 @@ public final class MempoolRelayer {
 		final var peers = new ArrayList<>(this.peersView.peers());
 		peers.removeAll(ignorePeers);
 		Collections.shuffle(peers);
-		peers.stream()
+		final var receivers = peers.stream()
 			.limit(maxPeers)
-			.forEach(peer -> {
-				counters.add(CounterType.MEMPOOL_RELAYER_SENT_COUNT, txns.size());
-				this.remoteEventDispatcher.dispatch(peer, mempoolAddMsg);
-			});
+			.collect(Collectors.toList());
+		if (!receivers.isEmpty()) {
+			counters.add(CounterType.MEMPOOL_RELAYER_SENT_COUNT, (long) txns.size() * receivers.size());
+			this.remoteEventDispatcher.dispatch(receivers, mempoolAddMsg);
+		}
 	}
 }
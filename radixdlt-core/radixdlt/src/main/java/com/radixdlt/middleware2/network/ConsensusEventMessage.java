@@ -18,9 +18,11 @@
 package com.radixdlt.middleware2.network;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.radixdlt.consensus.ConsensusCodec;
 import com.radixdlt.consensus.ConsensusEvent;
 import com.radixdlt.consensus.Proposal;
 import com.radixdlt.consensus.Vote;
+import com.radixdlt.serialization.DeserializeException;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.SerializerId2;
@@ -43,6 +45,10 @@ public final class ConsensusEventMessage extends Message {
 	@DsonOutput(Output.ALL)
 	private final Vote vote;
 
+	// Proposal or vote encoded with ConsensusCodec, for peers which support it
+	private byte[] encodedEvent;
+	private ConsensusEvent decodedEvent;
+
 	ConsensusEventMessage() {
 		// Serializer only
 		super(0);
@@ -68,6 +74,26 @@ public final class ConsensusEventMessage extends Message {
 		this.vote = vote;
 	}
 
+	private ConsensusEventMessage(int magic, ConsensusEvent event, byte[] encodedEvent) {
+		super(magic);
+		this.proposal = null;
+		this.vote = null;
+		this.encodedEvent = encodedEvent;
+		this.decodedEvent = event;
+	}
+
+	/**
+	 * Creates a message with the event in the binary encoding of {@link ConsensusCodec}
+	 * rather than DSON.  Should only be sent to peers which support the codec.
+	 *
+	 * @param magic the universe magic
+	 * @param event the proposal or vote to send
+	 * @return the message
+	 */
+	static ConsensusEventMessage encoded(int magic, ConsensusEvent event) {
+		return new ConsensusEventMessage(magic, event, ConsensusCodec.encode(event));
+	}
+
 	public ConsensusEvent getConsensusMessage() {
 		ConsensusEvent event = consensusMessageInternal();
 		if (event == null) {
@@ -85,7 +111,20 @@ public final class ConsensusEventMessage extends Message {
 			return this.vote;
 		}
 
-		return null;
+		return this.decodedEvent;
+	}
+
+	@JsonProperty("event")
+	@DsonOutput(Output.ALL)
+	private byte[] getEncodedEvent() {
+		return this.encodedEvent;
+	}
+
+	// Decoded straight away, so that decoding is done on the inbound message threads
+	@JsonProperty("event")
+	private void setEncodedEvent(byte[] encodedEvent) throws DeserializeException {
+		this.decodedEvent = ConsensusCodec.decodeEvent(encodedEvent);
+		this.encodedEvent = encodedEvent;
 	}
 
 	@Override
@@ -104,12 +143,13 @@ public final class ConsensusEventMessage extends Message {
 		ConsensusEventMessage that = (ConsensusEventMessage) o;
 		return Objects.equals(proposal, that.proposal)
 				&& Objects.equals(vote, that.vote)
+				&& Objects.equals(decodedEvent, that.decodedEvent)
 				&& Objects.equals(getTimestamp(), that.getTimestamp())
 				&& Objects.equals(getMagic(), that.getMagic());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(proposal, vote, getTimestamp(), getMagic());
+		return Objects.hash(proposal, vote, decodedEvent, getTimestamp(), getMagic());
 	}
 }
@@ -19,7 +19,9 @@ package com.radixdlt.middleware2.network;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableList;
+import com.radixdlt.consensus.ConsensusCodec;
 import com.radixdlt.consensus.UnverifiedVertex;
+import com.radixdlt.serialization.DeserializeException;
 import com.radixdlt.serialization.DsonOutput;
 import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.SerializerId2;
@@ -37,6 +39,10 @@ public final class GetVerticesResponseMessage extends Message {
 	@DsonOutput(Output.ALL)
 	private final List<UnverifiedVertex> vertices;
 
+	// Vertices encoded with ConsensusCodec, for peers which support it
+	private byte[] encodedVertices;
+	private List<UnverifiedVertex> decodedVertices;
+
 	GetVerticesResponseMessage() {
 		// Serializer only
 		super(0);
@@ -48,13 +54,48 @@ public final class GetVerticesResponseMessage extends Message {
 		this.vertices = Objects.requireNonNull(vertices);
 	}
 
+	private GetVerticesResponseMessage(int magic, List<UnverifiedVertex> vertices, byte[] encodedVertices) {
+		super(magic);
+		this.vertices = null;
+		this.encodedVertices = encodedVertices;
+		this.decodedVertices = vertices;
+	}
+
+	/**
+	 * Creates a message with the vertices in the binary encoding of {@link ConsensusCodec}
+	 * rather than DSON.  Should only be sent to peers which support the codec.
+	 *
+	 * @param magic the universe magic
+	 * @param vertices the vertices to send
+	 * @return the message
+	 */
+	static GetVerticesResponseMessage encoded(int magic, List<UnverifiedVertex> vertices) {
+		return new GetVerticesResponseMessage(magic, vertices, ConsensusCodec.encodeVertices(vertices));
+	}
+
 	public List<UnverifiedVertex> getVertices() {
-		return vertices == null ? ImmutableList.of() : vertices;
+		if (vertices != null) {
+			return vertices;
+		}
+		return decodedVertices == null ? ImmutableList.of() : decodedVertices;
+	}
+
+	@JsonProperty("encoded_vertices")
+	@DsonOutput(Output.ALL)
+	private byte[] getEncodedVertices() {
+		return this.encodedVertices;
+	}
+
+	// Decoded straight away, so that decoding is done on the inbound message threads
+	@JsonProperty("encoded_vertices")
+	private void setEncodedVertices(byte[] encodedVertices) throws DeserializeException {
+		this.decodedVertices = ConsensusCodec.decodeVertices(encodedVertices);
+		this.encodedVertices = encodedVertices;
 	}
 
 	@Override
 	public String toString() {
-		return String.format("%s[%s]", getClass().getSimpleName(), vertices);
+		return String.format("%s[%s]", getClass().getSimpleName(), getVertices());
 	}
 
 	@Override
@@ -67,12 +108,13 @@ public final class GetVerticesResponseMessage extends Message {
 		}
 		GetVerticesResponseMessage that = (GetVerticesResponseMessage) o;
 		return Objects.equals(vertices, that.vertices)
+				&& Objects.equals(decodedVertices, that.decodedVertices)
 				&& Objects.equals(getTimestamp(), that.getTimestamp())
 				&& Objects.equals(getMagic(), that.getMagic());
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(vertices, getTimestamp(), getMagic());
+		return Objects.hash(vertices, decodedVertices, getTimestamp(), getMagic());
 	}
 }
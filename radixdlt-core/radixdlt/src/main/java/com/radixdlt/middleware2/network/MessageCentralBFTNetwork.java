@@ -24,19 +24,19 @@ import com.radixdlt.consensus.bft.Self;
 
 import com.radixdlt.environment.RemoteEventDispatcher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import java.util.Optional;
 
 import com.radixdlt.environment.rx.RemoteEvent;
 import com.radixdlt.network.messaging.MessageFromPeer;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.radix.network.messaging.Message;
 
 import com.radixdlt.consensus.ConsensusEvent;
 import com.radixdlt.consensus.Proposal;
@@ -105,45 +105,85 @@ public final class MessageCentralBFTNetwork {
 	private Flowable<MessageFromPeer<ConsensusEventMessage>> remoteBftEvents() {
 		return this.messageCentral
 			.messagesOf(ConsensusEventMessage.class)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(m -> m.getPeer().hasSystem());
 	}
 
 	public RemoteEventDispatcher<Proposal> proposalDispatcher() {
-		return this::sendProposal;
-	}
-
-	private void sendProposal(BFTNode receiver, Proposal proposal) {
-		if (this.self.equals(receiver)) {
-			this.localMessages.onNext(proposal);
-		} else {
-			ConsensusEventMessage message = new ConsensusEventMessage(this.magic, proposal);
-			send(message, receiver);
-		}
+		return new RemoteEventDispatcher<>() {
+			@Override
+			public void dispatch(BFTNode receiver, Proposal proposal) {
+				send(receiver, proposal);
+			}
+
+			@Override
+			public void dispatch(Iterable<BFTNode> receivers, Proposal proposal) {
+				broadcast(receivers, proposal);
+			}
+		};
 	}
 
 	public RemoteEventDispatcher<Vote> voteDispatcher() {
-		return this::sendVote;
+		return new RemoteEventDispatcher<>() {
+			@Override
+			public void dispatch(BFTNode receiver, Vote vote) {
+				send(receiver, vote);
+			}
+
+			@Override
+			public void dispatch(Iterable<BFTNode> receivers, Vote vote) {
+				broadcast(receivers, vote);
+			}
+		};
 	}
 
-	private void sendVote(BFTNode receiver, Vote vote) {
+	private void send(BFTNode receiver, ConsensusEvent event) {
 		if (this.self.equals(receiver)) {
-			this.localMessages.onNext(vote);
+			this.localMessages.onNext(event);
+			return;
+		}
+		Optional<PeerWithSystem> peer = this.addressBook.peer(receiver.getKey().euid());
+		if (peer.isPresent()) {
+			this.messageCentral.send(peer.get(), message(event, supportsConsensusCodec(peer.get())));
 		} else {
-			ConsensusEventMessage message = new ConsensusEventMessage(this.magic, vote);
-			send(message, receiver);
+			log.error("{}: Peer {} not present", this.self, receiver);
 		}
 	}
 
-	private boolean send(Message message, BFTNode recipient) {
-		Optional<PeerWithSystem> peer = this.addressBook.peer(recipient.getKey().euid());
+	private void broadcast(Iterable<BFTNode> receivers, ConsensusEvent event) {
+		// Peers are grouped by encoding, so that each message is only serialized once
+		final List<PeerWithSystem> codecPeers = new ArrayList<>();
+		final List<PeerWithSystem> dsonPeers = new ArrayList<>();
+		for (BFTNode receiver : receivers) {
+			if (this.self.equals(receiver)) {
+				this.localMessages.onNext(event);
+			} else {
+				Optional<PeerWithSystem> peer = this.addressBook.peer(receiver.getKey().euid());
+				if (peer.isPresent()) {
+					(supportsConsensusCodec(peer.get()) ? codecPeers : dsonPeers).add(peer.get());
+				} else {
+					log.error("{}: Peer {} not present", this.self, receiver);
+				}
+			}
+		}
+		if (!codecPeers.isEmpty()) {
+			this.messageCentral.broadcast(codecPeers, message(event, true));
+		}
+		if (!dsonPeers.isEmpty()) {
+			this.messageCentral.broadcast(dsonPeers, message(event, false));
+		}
+	}
 
-		if (!peer.isPresent()) {
-			log.error("{}: Peer {} not present", this.self, recipient);
-			return false;
+	private ConsensusEventMessage message(ConsensusEvent event, boolean encoded) {
+		if (encoded) {
+			return ConsensusEventMessage.encoded(this.magic, event);
+		} else if (event instanceof Proposal) {
+			return new ConsensusEventMessage(this.magic, (Proposal) event);
 		} else {
-			this.messageCentral.send(peer.get(), message);
-			return true;
+			return new ConsensusEventMessage(this.magic, (Vote) event);
 		}
 	}
+
+	private static boolean supportsConsensusCodec(PeerWithSystem peer) {
+		return peer.hasSystem() && peer.getSystem().supportsConsensusCodec();
+	}
 }
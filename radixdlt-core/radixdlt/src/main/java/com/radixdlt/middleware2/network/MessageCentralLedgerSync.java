@@ -22,21 +22,24 @@ import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.environment.RemoteEventDispatcher;
 import com.radixdlt.environment.rx.RemoteEvent;
 import com.radixdlt.network.addressbook.AddressBook;
+import com.radixdlt.network.addressbook.PeerWithSystem;
 import com.radixdlt.network.messaging.MessageCentral;
+import com.radixdlt.sync.SyncResponseBacklog;
 import com.radixdlt.sync.messages.remote.LedgerStatusUpdate;
 import com.radixdlt.sync.messages.remote.StatusRequest;
 import com.radixdlt.sync.messages.remote.StatusResponse;
 import com.radixdlt.sync.messages.remote.SyncRequest;
 import com.radixdlt.sync.messages.remote.SyncResponse;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import javax.inject.Inject;
 
 /**
  * Network interface for syncing committed state using the MessageCentral
  */
-public final class MessageCentralLedgerSync {
+public final class MessageCentralLedgerSync implements SyncResponseBacklog {
 	private final int magic;
 	private final MessageCentral messageCentral;
 	private final AddressBook addressBook;
@@ -52,9 +55,16 @@ public final class MessageCentralLedgerSync {
 		this.messageCentral = Objects.requireNonNull(messageCentral);
 	}
 
+	@Override
+	public boolean isBacklogged(BFTNode node) {
+		// Sync responses are sent as bulk messages
+		return this.messageCentral.outboundQueueStatus(node.getKey().euid())
+			.map(status -> status.bulkQueueDepth() > 0)
+			.orElse(false);
+	}
+
 	public Flowable<RemoteEvent<StatusRequest>> statusRequests() {
 		return this.messageCentral.messagesOf(StatusRequestMessage.class)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(m -> m.getPeer().hasSystem())
 			.map(m -> {
 				final var node = BFTNode.create(m.getPeer().getSystem().getKey());
@@ -64,7 +74,6 @@ public final class MessageCentralLedgerSync {
 
 	public Flowable<RemoteEvent<StatusResponse>> statusResponses() {
 		return this.messageCentral.messagesOf(StatusResponseMessage.class)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(m -> m.getPeer().hasSystem())
 			.map(m -> {
 				final var node = BFTNode.create(m.getPeer().getSystem().getKey());
@@ -75,7 +84,6 @@ public final class MessageCentralLedgerSync {
 
 	public Flowable<RemoteEvent<SyncRequest>> syncRequests() {
 		return this.messageCentral.messagesOf(SyncRequestMessage.class)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(m -> m.getPeer().hasSystem())
 			.map(m -> {
 				final var node = BFTNode.create(m.getPeer().getSystem().getKey());
@@ -86,7 +94,6 @@ public final class MessageCentralLedgerSync {
 
 	public Flowable<RemoteEvent<SyncResponse>> syncResponses() {
 		return this.messageCentral.messagesOf(SyncResponseMessage.class)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(m -> m.getPeer().hasSystem())
 			.map(m -> {
 				final var node = BFTNode.create(m.getPeer().getSystem().getKey());
@@ -97,7 +104,6 @@ public final class MessageCentralLedgerSync {
 
 	public Flowable<RemoteEvent<LedgerStatusUpdate>> ledgerStatusUpdates() {
 		return this.messageCentral.messagesOf(LedgerStatusUpdateMessage.class)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(m -> m.getPeer().hasSystem())
 			.map(m -> {
 				final var node = BFTNode.create(m.getPeer().getSystem().getKey());
@@ -159,7 +165,17 @@ public final class MessageCentralLedgerSync {
 	}
 
 	public RemoteEventDispatcher<LedgerStatusUpdate> ledgerStatusUpdateDispatcher() {
-		return this::sendLedgerStatusUpdate;
+		return new RemoteEventDispatcher<>() {
+			@Override
+			public void dispatch(BFTNode receiver, LedgerStatusUpdate ledgerStatusUpdate) {
+				sendLedgerStatusUpdate(receiver, ledgerStatusUpdate);
+			}
+
+			@Override
+			public void dispatch(Iterable<BFTNode> receivers, LedgerStatusUpdate ledgerStatusUpdate) {
+				broadcastLedgerStatusUpdate(receivers, ledgerStatusUpdate);
+			}
+		};
 	}
 
 	private void sendLedgerStatusUpdate(BFTNode node, LedgerStatusUpdate ledgerStatusUpdate) {
@@ -170,4 +186,17 @@ public final class MessageCentralLedgerSync {
 			}
 		});
 	}
+
+	private void broadcastLedgerStatusUpdate(Iterable<BFTNode> nodes, LedgerStatusUpdate ledgerStatusUpdate) {
+		final List<PeerWithSystem> peers = new ArrayList<>();
+		for (BFTNode node : nodes) {
+			addressBook.peer(node.getKey().euid())
+				.filter(PeerWithSystem::hasSystem)
+				.ifPresent(peers::add);
+		}
+		if (!peers.isEmpty()) {
+			final var msg = new LedgerStatusUpdateMessage(this.magic, ledgerStatusUpdate.getHeader());
+			this.messageCentral.broadcast(peers, msg);
+		}
+	}
 }
@@ -25,13 +25,14 @@ import com.radixdlt.mempool.MempoolAdd;
 import com.radixdlt.network.addressbook.AddressBook;
 import com.radixdlt.network.addressbook.PeerWithSystem;
 import com.radixdlt.network.messaging.MessageCentral;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.radix.network.messaging.Message;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -57,9 +58,18 @@ public final class MessageCentralMempool {
 	}
 
 	public RemoteEventDispatcher<MempoolAdd> mempoolAddRemoteEventDispatcher() {
-		return (receiver, msg) -> {
-			MempoolAddMessage message = new MempoolAddMessage(this.magic, msg.getTxns());
-			this.send(message, receiver);
+		return new RemoteEventDispatcher<>() {
+			@Override
+			public void dispatch(BFTNode receiver, MempoolAdd msg) {
+				MempoolAddMessage message = new MempoolAddMessage(magic, msg.getTxns());
+				send(message, receiver);
+			}
+
+			@Override
+			public void dispatch(Iterable<BFTNode> receivers, MempoolAdd msg) {
+				MempoolAddMessage message = new MempoolAddMessage(magic, msg.getTxns());
+				broadcast(message, receivers);
+			}
 		};
 	}
 
@@ -75,6 +85,21 @@ public final class MessageCentralMempool {
 		}
 	}
 
+	private void broadcast(Message message, Iterable<BFTNode> recipients) {
+		final List<PeerWithSystem> peers = new ArrayList<>();
+		for (BFTNode recipient : recipients) {
+			Optional<PeerWithSystem> peer = this.addressBook.peer(recipient.getKey().euid());
+			if (peer.isPresent()) {
+				peers.add(peer.get());
+			} else {
+				log.error("Peer {} not present", recipient);
+			}
+		}
+		if (!peers.isEmpty()) {
+			this.messageCentral.broadcast(peers, message);
+		}
+	}
+
 	public Flowable<RemoteEvent<MempoolAdd>> mempoolComands() {
 		return messageCentral
 			.messagesOf(MempoolAddMessage.class)
@@ -84,7 +109,6 @@ public final class MessageCentralMempool {
 					node,
 					MempoolAdd.create(msg.getMessage().getTxns())
 				);
-			})
-			.toFlowable(BackpressureStrategy.BUFFER);
+			});
 	}
 }
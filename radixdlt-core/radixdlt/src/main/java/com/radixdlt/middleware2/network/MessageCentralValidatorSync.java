@@ -34,7 +34,6 @@ import com.radixdlt.network.addressbook.Peer;
 import com.radixdlt.network.addressbook.PeerWithSystem;
 import com.radixdlt.network.messaging.MessageCentral;
 import com.radixdlt.network.messaging.MessageFromPeer;
-import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.functions.Predicate;
 import org.apache.logging.log4j.LogManager;
@@ -103,14 +102,15 @@ public class MessageCentralValidatorSync {
 	private void sendGetVerticesResponse(BFTNode node, GetVerticesResponse response) {
 		var rawVertices = response.getVertices().stream()
 			.map(VerifiedVertex::toSerializable).collect(Collectors.toList());
-		var msg = new GetVerticesResponseMessage(
-			this.magic,
-			rawVertices
-		);
 
 		final Optional<PeerWithSystem> peerMaybe = this.addressBook.peer(node.getKey().euid());
 		peerMaybe.ifPresentOrElse(
-			p -> this.messageCentral.send(p, msg),
+			p -> {
+				var msg = p.hasSystem() && p.getSystem().supportsConsensusCodec()
+					? GetVerticesResponseMessage.encoded(this.magic, rawVertices)
+					: new GetVerticesResponseMessage(this.magic, rawVertices);
+				this.messageCentral.send(p, msg);
+			},
 			() -> log.warn("{}: Peer {} not in address book when sending GetVerticesResponse", this.self, node)
 		);
 	}
@@ -171,7 +171,6 @@ public class MessageCentralValidatorSync {
 		BiFunction<Peer, T, U> mapper
 	) {
 		return this.messageCentral.messagesOf(c)
-			.toFlowable(BackpressureStrategy.BUFFER)
 			.filter(filter)
 			.map(m -> mapper.apply(m.getPeer(), m.getMessage()));
 	}
@@ -23,6 +23,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.OptionalBinder;
 import com.google.inject.multibindings.ProvidesIntoSet;
 import com.radixdlt.consensus.Proposal;
 import com.radixdlt.consensus.Vote;
@@ -40,6 +41,7 @@ import com.radixdlt.middleware2.network.MessageCentralBFTNetwork;
 import com.radixdlt.middleware2.network.MessageCentralLedgerSync;
 import com.radixdlt.network.addressbook.AddressBookPeersView;
 import com.radixdlt.network.addressbook.PeersView;
+import com.radixdlt.sync.SyncResponseBacklog;
 import com.radixdlt.sync.messages.remote.LedgerStatusUpdate;
 import com.radixdlt.sync.messages.remote.StatusRequest;
 import com.radixdlt.sync.messages.remote.StatusResponse;
@@ -65,6 +67,10 @@ public final class NetworkModule extends AbstractModule {
 		// Network BFT messages
 		bind(MessageCentralBFTNetwork.class).in(Scopes.SINGLETON);
 		bind(PeersView.class).to(AddressBookPeersView.class);
+
+		// Sync responses are held back while earlier ones are still queued
+		OptionalBinder.newOptionalBinder(binder(), SyncResponseBacklog.class)
+			.setBinding().to(MessageCentralLedgerSync.class);
 	}
 
 	@ProvidesIntoSet
@@ -17,31 +17,49 @@
 
 package com.radixdlt.network.messaging;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 import com.radixdlt.network.transport.TransportInfo;
-import com.radixdlt.utils.Bytes;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 
 /**
  * A raw message received by a transport, before decoding.
+ * <p>
+ * The message content is held in a reference counted buffer, usually pooled
+ * memory received from the network.  The receiver of an inbound message takes
+ * ownership of the buffer, and must {@link #release()} the message once its
+ * content is no longer required.
  */
 public final class InboundMessage {
 	private final TransportInfo source;
-	private final byte[] message;
+	private final ByteBuf message;
 
 	/**
 	 * Creates an inbound message with the specified source and message.
+	 * Ownership of the buffer passes to the inbound message.
 	 *
 	 * @param source The source of the message.
 	 * @param message The message received.
 	 * @return a constructed {@code InboundMessage}
 	 */
-	public static InboundMessage of(TransportInfo source, byte[] message) {
+	public static InboundMessage of(TransportInfo source, ByteBuf message) {
 		return new InboundMessage(source, message);
 	}
 
-	private InboundMessage(TransportInfo source, byte[] message) {
+	/**
+	 * Creates an inbound message with the specified source and message.
+	 *
+	 * @param source The source of the message.
+	 * @param message The message received.
+	 * @return a constructed {@code InboundMessage}
+	 */
+	public static InboundMessage of(TransportInfo source, byte[] message) {
+		return new InboundMessage(source, Unpooled.wrappedBuffer(message));
+	}
+
+	private InboundMessage(TransportInfo source, ByteBuf message) {
 		// Null checking not performed for high-frequency interface
 		this.source = source;
 		this.message = message;
@@ -57,17 +75,25 @@ public final class InboundMessage {
 	}
 
 	/**
-	 * Returns the message.
+	 * Returns the message.  The returned buffer is only valid until
+	 * the message is released.
 	 *
 	 * @return the message.
 	 */
-	public byte[] message() {
+	public ByteBuf message() {
 		return message;
 	}
 
+	/**
+	 * Releases the buffer holding the message.
+	 */
+	public void release() {
+		message.release();
+	}
+
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(message) * 31 + Objects.hashCode(source);
+		return Objects.hashCode(message) * 31 + Objects.hashCode(source);
 	}
 
 	@Override
@@ -77,13 +103,14 @@ public final class InboundMessage {
 		}
 		if (obj instanceof InboundMessage) {
 			InboundMessage other = (InboundMessage) obj;
-			return Objects.equals(this.source, other.source) && Arrays.equals(this.message, other.message);
+			return Objects.equals(this.source, other.source) && Objects.equals(this.message, other.message);
 		}
 		return false;
 	}
 
 	@Override
 	public String toString() {
-		return String.format("%s[%s:%s]", getClass().getSimpleName(), source, Bytes.toHexString(message));
+		final var content = message.refCnt() > 0 ? ByteBufUtil.hexDump(message) : "released";
+		return String.format("%s[%s:%s]", getClass().getSimpleName(), source, content);
 	}
 }
@@ -0,0 +1,380 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.RateLimiter;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.middleware2.network.ConsensusEventMessage;
+import com.radixdlt.middleware2.network.MempoolAddMessage;
+import com.radixdlt.middleware2.network.SyncResponseMessage;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.radix.network.messages.PeerPingMessage;
+import org.radix.network.messages.PeerPongMessage;
+import org.radix.network.messages.PeersMessage;
+import org.radix.network.messaging.Message;
+import org.radix.utils.SimpleThreadPool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Decodes and validates inbound messages on a number of lanes, away from the
+ * transport threads the messages are received on.
+ * <p>
+ * Messages are assigned to a lane by their source, so that messages from the same
+ * peer are delivered in the order they were received.  Each lane decompresses and
+ * deserializes messages on one thread and validates them on another.  Both stages
+ * are bounded: raw messages are dropped when a lane's decode queue is full, and
+ * decoded messages waiting for validation are evicted lowest priority first.
+ * <p>
+ * Raw messages cannot be classified by type before decoding, so large raw messages,
+ * such as sync responses, are classed as bulk messages by size alone.  Bulk messages
+ * are queued apart from other messages, so that a backlog of bulk messages does not
+ * stop consensus messages being admitted.  Bulk messages from a peer are delivered
+ * in order with each other, but may be overtaken by other messages from that peer.
+ */
+final class InboundMessageDecoder {
+	private static final Logger log = LogManager.getLogger();
+
+	private static final int DEFAULT_PRIORITY = 0;
+	// Lower (inc -ve) numbers are higher priority than larger numbers
+	private static final Map<Class<?>, Integer> MESSAGE_PRIORITIES = ImmutableMap.<Class<?>, Integer>builder()
+		.put(PeerPingMessage.class, Integer.MIN_VALUE)
+		.put(PeerPongMessage.class, Integer.MIN_VALUE)
+		.put(ConsensusEventMessage.class, -1)
+		.put(SyncResponseMessage.class, 1)
+		.put(MempoolAddMessage.class, 1)
+		.put(PeersMessage.class, 1)
+		.build();
+
+	private final MessagePreprocessor messagePreprocessor;
+	private final Consumer<MessageFromPeer<Message>> sink;
+	private final SystemCounters counters;
+	private final Lane[] lanes;
+	private final int bulkMessageSize;
+	private volatile boolean stopped = true;
+
+	private final RateLimiter discardedInboundMessagesLogRateLimiter = RateLimiter.create(1.0);
+	private final RateLimiter droppedInboundMessagesLogRateLimiter = RateLimiter.create(1.0);
+
+	InboundMessageDecoder(
+		MessagePreprocessor messagePreprocessor,
+		Consumer<MessageFromPeer<Message>> sink,
+		SystemCounters counters,
+		int numLanes,
+		int queueSize,
+		int bulkMessageSize
+	) {
+		if (numLanes <= 0) {
+			throw new IllegalArgumentException("Number of lanes must be positive: " + numLanes);
+		}
+		if (bulkMessageSize <= 0) {
+			throw new IllegalArgumentException("Bulk message size must be positive: " + bulkMessageSize);
+		}
+		this.messagePreprocessor = Objects.requireNonNull(messagePreprocessor);
+		this.sink = Objects.requireNonNull(sink);
+		this.counters = Objects.requireNonNull(counters);
+		this.bulkMessageSize = bulkMessageSize;
+		this.lanes = new Lane[numLanes];
+		final int laneQueueSize = Math.max(1, queueSize / numLanes);
+		for (int i = 0; i < numLanes; ++i) {
+			this.lanes[i] = new Lane(i + 1, laneQueueSize);
+		}
+	}
+
+	static int priority(Message message) {
+		return MESSAGE_PRIORITIES.getOrDefault(message.getClass(), DEFAULT_PRIORITY);
+	}
+
+	/**
+	 * Starts decoding messages.
+	 */
+	void start() {
+		this.stopped = false;
+		for (Lane lane : this.lanes) {
+			lane.start();
+		}
+	}
+
+	/**
+	 * Stops decoding messages.  Messages still queued, or submitted once stopped,
+	 * are released and not delivered.
+	 */
+	void stop() {
+		this.stopped = true;
+		for (Lane lane : this.lanes) {
+			lane.stop();
+		}
+	}
+
+	/**
+	 * Queues an inbound message for decoding.  Called from transport threads.
+	 *
+	 * @param inboundMessage the message to decode
+	 */
+	void submit(InboundMessage inboundMessage) {
+		final Lane lane = this.lanes[Math.floorMod(inboundMessage.source().hashCode(), this.lanes.length)];
+		if (this.stopped) {
+			inboundMessage.release();
+		} else if (!lane.raw.offer(inboundMessage, inboundMessage.message().readableBytes() >= this.bulkMessageSize)) {
+			inboundMessage.release();
+			dropped(inboundMessage, "decode queue full");
+		} else if (this.stopped) {
+			// Stopped while queueing, so the lane may already have been drained
+			lane.releaseQueued();
+		}
+	}
+
+	private void decode(InboundMessage inboundMessage, Lane lane) {
+		final Message message;
+		try {
+			message = this.messagePreprocessor.decode(inboundMessage);
+		} catch (Exception ex) {
+			final var msg = String.format("Message decoding from %s failed", inboundMessage.source());
+			log.error(msg, ex);
+			return;
+		} finally {
+			// Content is not required after decoding
+			inboundMessage.release();
+		}
+		final DecodedMessage evicted = lane.decoded.offer(new DecodedMessage(inboundMessage, message));
+		if (evicted != null) {
+			dropped(evicted.inboundMessage, "validation queue full");
+		}
+	}
+
+	private void validate(DecodedMessage decodedMessage) {
+		final var inboundMessage = decodedMessage.inboundMessage;
+		try {
+			this.messagePreprocessor.process(inboundMessage, decodedMessage.message).fold(
+				error -> {
+					final var logLevel =
+						discardedInboundMessagesLogRateLimiter.tryAcquire() ? Level.INFO : Level.TRACE;
+					log.log(logLevel, "Dropping inbound message from {} because of {}", inboundMessage.source(), error);
+					return null;
+				},
+				messageFromPeer -> {
+					if (log.isTraceEnabled()) {
+						log.trace("Received from {}: {}", inboundMessage.source(), messageFromPeer.getMessage());
+					}
+					this.sink.accept(messageFromPeer);
+					return null;
+				}
+			);
+		} catch (Exception ex) {
+			final var msg = String.format("Message preprocessing from %s failed", inboundMessage.source());
+			log.error(msg, ex);
+		}
+	}
+
+	private void dropped(InboundMessage inboundMessage, String reason) {
+		this.counters.increment(CounterType.MESSAGES_INBOUND_DROPPED);
+		final var logLevel = droppedInboundMessagesLogRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
+		log.log(logLevel, "Inbound message from {} dropped: {}", inboundMessage.source(), reason);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[lanes=%s]", getClass().getSimpleName(), this.lanes.length);
+	}
+
+	private final class Lane {
+		private final RawMessageQueue raw;
+		private final PriorityEvictingQueue decoded;
+		private final SimpleThreadPool<InboundMessage> decodeThread;
+		private final SimpleThreadPool<DecodedMessage> validateThread;
+
+		Lane(int number, int queueSize) {
+			this.raw = new RawMessageQueue(queueSize);
+			this.decoded = new PriorityEvictingQueue(queueSize);
+			this.decodeThread = new SimpleThreadPool<>(
+				"Inbound message decoding " + number, 1, this.raw::take, m -> decode(m, this), log
+			);
+			this.validateThread = new SimpleThreadPool<>(
+				"Inbound message validation " + number, 1, this.decoded::take, InboundMessageDecoder.this::validate, log
+			);
+		}
+
+		void start() {
+			this.decodeThread.start();
+			this.validateThread.start();
+		}
+
+		void stop() {
+			this.decodeThread.stop();
+			this.validateThread.stop();
+			releaseQueued();
+		}
+
+		void releaseQueued() {
+			final var remaining = new ArrayList<InboundMessage>();
+			this.raw.drainTo(remaining);
+			remaining.forEach(InboundMessage::release);
+		}
+	}
+
+	static final class DecodedMessage {
+		private final InboundMessage inboundMessage;
+		private final Message message;
+		private final int priority;
+
+		DecodedMessage(InboundMessage inboundMessage, Message message) {
+			this.inboundMessage = inboundMessage;
+			this.message = message;
+			this.priority = priority(message);
+		}
+
+		Message message() {
+			return this.message;
+		}
+	}
+
+	/**
+	 * Bounded FIFO queues of raw messages, one for bulk messages and one for all
+	 * other messages, each holding up to the same number of messages.  Other messages
+	 * are taken first, but while bulk messages are waiting, one is taken after every
+	 * {@link #BULK_TAKE_INTERVAL} other messages so that bulk messages are not starved.
+	 */
+	static final class RawMessageQueue {
+		static final int BULK_TAKE_INTERVAL = 8;
+
+		private final ArrayDeque<InboundMessage> messages;
+		private final ArrayDeque<InboundMessage> bulkMessages;
+		private final int capacity;
+		private int takenWhileBulkWaiting;
+
+		RawMessageQueue(int capacity) {
+			this.messages = new ArrayDeque<>(capacity);
+			this.bulkMessages = new ArrayDeque<>(capacity);
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Adds the specified message to the queue, if there is room.
+		 *
+		 * @param message the message to add
+		 * @param bulk {@code true} if the message is a bulk message
+		 * @return {@code true} if the message was added, {@code false} if the queue was full
+		 */
+		synchronized boolean offer(InboundMessage message, boolean bulk) {
+			final ArrayDeque<InboundMessage> queue = bulk ? this.bulkMessages : this.messages;
+			if (queue.size() >= this.capacity) {
+				return false;
+			}
+			queue.addLast(message);
+			notifyAll();
+			return true;
+		}
+
+		synchronized InboundMessage take() throws InterruptedException {
+			while (this.messages.isEmpty() && this.bulkMessages.isEmpty()) {
+				wait();
+			}
+			if (this.messages.isEmpty() || (!this.bulkMessages.isEmpty() && this.takenWhileBulkWaiting >= BULK_TAKE_INTERVAL)) {
+				this.takenWhileBulkWaiting = 0;
+				return this.bulkMessages.removeFirst();
+			}
+			if (!this.bulkMessages.isEmpty()) {
+				this.takenWhileBulkWaiting += 1;
+			}
+			return this.messages.removeFirst();
+		}
+
+		synchronized void drainTo(Collection<? super InboundMessage> collection) {
+			collection.addAll(this.messages);
+			collection.addAll(this.bulkMessages);
+			this.messages.clear();
+			this.bulkMessages.clear();
+		}
+	}
+
+	/**
+	 * Bounded FIFO queue of decoded messages.  When full, the newest of the lowest
+	 * priority messages is evicted to make room, unless the offered message has the
+	 * same or a lower priority, in which case it is dropped instead.  Order of the
+	 * remaining messages is never changed.
+	 */
+	static final class PriorityEvictingQueue {
+		private final ArrayDeque<DecodedMessage> queue;
+		private final int capacity;
+
+		PriorityEvictingQueue(int capacity) {
+			this.queue = new ArrayDeque<>(capacity);
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Adds the specified message to the queue.
+		 *
+		 * @param message the message to add
+		 * @return the message which was evicted or dropped, or {@code null} if none
+		 */
+		synchronized DecodedMessage offer(DecodedMessage message) {
+			if (this.queue.size() >= this.capacity) {
+				final DecodedMessage lowest = removeLowestPriority(message.priority);
+				if (lowest == null) {
+					return message;
+				}
+				this.queue.addLast(message);
+				return lowest;
+			}
+			this.queue.addLast(message);
+			notifyAll();
+			return null;
+		}
+
+		synchronized DecodedMessage take() throws InterruptedException {
+			while (this.queue.isEmpty()) {
+				wait();
+			}
+			return this.queue.removeFirst();
+		}
+
+		synchronized int size() {
+			return this.queue.size();
+		}
+
+		private DecodedMessage removeLowestPriority(int thanPriority) {
+			DecodedMessage lowest = null;
+			for (DecodedMessage queued : this.queue) {
+				if (queued.priority > thanPriority && (lowest == null || queued.priority >= lowest.priority)) {
+					lowest = queued;
+				}
+			}
+			if (lowest != null) {
+				final Iterator<DecodedMessage> i = this.queue.descendingIterator();
+				while (i.hasNext()) {
+					if (i.next() == lowest) {
+						i.remove();
+						break;
+					}
+				}
+			}
+			return lowest;
+		}
+	}
+}
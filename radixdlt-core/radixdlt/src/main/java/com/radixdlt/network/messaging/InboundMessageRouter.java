@@ -0,0 +1,141 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.radix.network.messaging.Message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes inbound messages to subscribers by message class.
+ * <p>
+ * Each message is delivered with a single lookup of its class, which yields the
+ * streams of all subscribed types the message is an instance of.  The lookup is
+ * resolved once per message class, and again only when a new type is subscribed.
+ * <p>
+ * Every subscription has its own bounded buffer.  When a subscriber falls behind
+ * and its buffer fills, the oldest buffered message is dropped, without affecting
+ * other subscribers.
+ */
+final class InboundMessageRouter {
+	private static final Logger log = LogManager.getLogger();
+
+	private final SystemCounters counters;
+	private final int bufferSize;
+	private final ConcurrentMap<Class<?>, Subject<MessageFromPeer<Message>>> subjects = new ConcurrentHashMap<>();
+	// Replaced whenever a new type is subscribed, so that routes are resolved again
+	private volatile ConcurrentMap<Class<?>, List<Subject<MessageFromPeer<Message>>>> routes = new ConcurrentHashMap<>();
+
+	private final RateLimiter overflowLogRateLimiter = RateLimiter.create(1.0);
+
+	InboundMessageRouter(SystemCounters counters, int bufferSize) {
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+		}
+		this.counters = Objects.requireNonNull(counters);
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Delivers a message to the subscribers of all types the message is an instance of.
+	 * May be called concurrently.
+	 *
+	 * @param message the message to deliver
+	 */
+	void route(MessageFromPeer<Message> message) {
+		final var subscribers = this.routes.computeIfAbsent(message.getMessage().getClass(), this::resolve);
+		for (Subject<MessageFromPeer<Message>> subject : subscribers) {
+			subject.onNext(message);
+		}
+	}
+
+	/**
+	 * Returns a {@link Flowable} of inbound messages of the specified type.
+	 * Each subscriber to the returned {@code Flowable} has its own bounded buffer.
+	 *
+	 * @param messageType the message type
+	 * @return a {@code Flowable} of inbound messages
+	 */
+	@SuppressWarnings("unchecked")
+	<T extends Message> Flowable<MessageFromPeer<T>> messagesOf(Class<T> messageType) {
+		final var subject = subjectFor(messageType);
+		return Flowable.defer(() -> {
+			final var dropped = new AtomicLong();
+			return subject.toFlowable(BackpressureStrategy.MISSING)
+				.onBackpressureBuffer(
+					this.bufferSize,
+					() -> overflow(messageType, dropped.incrementAndGet()),
+					BackpressureOverflowStrategy.DROP_OLDEST
+				)
+				.map(m -> (MessageFromPeer<T>) (MessageFromPeer<?>) m);
+		});
+	}
+
+	private Subject<MessageFromPeer<Message>> subjectFor(Class<?> messageType) {
+		final var subject = this.subjects.get(messageType);
+		if (subject != null) {
+			return subject;
+		}
+		synchronized (this.subjects) {
+			final var existing = this.subjects.get(messageType);
+			if (existing != null) {
+				return existing;
+			}
+			final Subject<MessageFromPeer<Message>> created = PublishSubject.<MessageFromPeer<Message>>create().toSerialized();
+			this.subjects.put(messageType, created);
+			// Subject must be visible before routes are resolved again
+			this.routes = new ConcurrentHashMap<>();
+			return created;
+		}
+	}
+
+	private List<Subject<MessageFromPeer<Message>>> resolve(Class<?> messageClass) {
+		return this.subjects.entrySet().stream()
+			.filter(e -> e.getKey().isAssignableFrom(messageClass))
+			.map(Map.Entry::getValue)
+			.collect(ImmutableList.toImmutableList());
+	}
+
+	private void overflow(Class<?> messageType, long dropped) {
+		this.counters.increment(CounterType.MESSAGES_INBOUND_OVERFLOW);
+		final var logLevel = overflowLogRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
+		log.log(logLevel, "Subscriber to {} is falling behind, {} messages dropped", messageType.getSimpleName(), dropped);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[types=%s]", getClass().getSimpleName(), this.subjects.keySet());
+	}
+}
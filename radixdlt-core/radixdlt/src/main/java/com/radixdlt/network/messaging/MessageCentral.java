@@ -18,11 +18,14 @@
 package com.radixdlt.network.messaging;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 
-import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Flowable;
 import org.radix.network.messaging.Message;
 import org.radix.universe.system.SystemMessage;
 
+import com.radixdlt.identifiers.EUID;
 import com.radixdlt.network.addressbook.Peer;
 import com.radixdlt.network.transport.TransportException;
 import com.radixdlt.network.transport.TransportInfo;
@@ -42,6 +45,17 @@ public interface MessageCentral {
 	 */
 	void send(Peer peer, Message message) throws TransportException;
 
+	/**
+	 * Sends a single message to a number of peers.
+	 * The message is signed, serialized and compressed once, and the resulting
+	 * bytes are sent to each of the peers, rather than repeating this work for
+	 * each peer as multiple calls to {@link #send(Peer, Message)} would.
+	 *
+	 * @param peers The peers to send the message to
+	 * @param message The message to send
+	 */
+	void broadcast(Collection<? extends Peer> peers, Message message) throws TransportException;
+
 	/**
 	 * Sends a {@link SystemMessage} to a specific transport.
 	 * This method can be used to allow a node to introduce itself to another
@@ -52,12 +66,23 @@ public interface MessageCentral {
 	 */
 	void sendSystemMessage(TransportInfo transportInfo, SystemMessage message) throws TransportException;
 
+	/**
+	 * Returns the state of the outbound message queue of the peer with the
+	 * specified node ID, if any messages have been sent to that peer.
+	 *
+	 * @param nid the node ID of the peer
+	 * @return the state of the peer's outbound queue, if any
+	 */
+	Optional<OutboundQueueStatus> outboundQueueStatus(EUID nid);
+
 	/**
 	 * Returns a Flowable of inbound peer messages of specified type.
+	 * Each subscriber has its own bounded buffer, from which the oldest
+	 * messages are dropped if the subscriber falls behind.
 	 * @param messageType the message type
 	 * @return a Flowable of inbound peer messages
 	 */
-	<T extends Message> Observable<MessageFromPeer<T>> messagesOf(Class<T> messageType);
+	<T extends Message> Flowable<MessageFromPeer<T>> messagesOf(Class<T> messageType);
 
     /**
      * Closes this {@code MessageCentral} and releases any system resources associated
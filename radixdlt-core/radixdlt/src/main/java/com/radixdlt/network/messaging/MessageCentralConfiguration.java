@@ -33,6 +33,34 @@ public interface MessageCentralConfiguration {
 	 */
 	int messagingInboundQueueMax(int defaultValue);
 
+	/**
+	 * Retrieves the number of lanes used to decode and validate inbound messages.
+	 * Each lane uses one thread for decoding and one for validating messages.
+	 *
+	 * @param defaultValue a default value if no special configuration value is set
+	 * @return The number of inbound decoding lanes
+	 */
+	int messagingInboundDecodeThreads(int defaultValue);
+
+	/**
+	 * Retrieves the size in bytes from which raw inbound messages are treated as
+	 * bulk messages, such as sync responses, and queued apart from other messages
+	 * while waiting to be decoded.
+	 *
+	 * @param defaultValue a default value if no special configuration value is set
+	 * @return The minimum size of inbound bulk messages in bytes
+	 */
+	int messagingInboundBulkMessageSize(int defaultValue);
+
+	/**
+	 * Retrieves the maximum number of inbound messages buffered for each
+	 * subscriber before the oldest buffered messages will be dropped.
+	 *
+	 * @param defaultValue a default value if no special configuration value is set
+	 * @return The maximum buffer size per subscriber
+	 */
+	int messagingInboundSubscriptionBufferMax(int defaultValue);
+
 	/**
 	 * Retrieves the maximum queue depth for outbound messages before
 	 * further outgoing messages will be dropped.
@@ -42,6 +70,33 @@ public interface MessageCentralConfiguration {
 	 */
 	int messagingOutboundQueueMax(int defaultValue);
 
+	/**
+	 * Retrieves the maximum queue depth for outbound messages to a single
+	 * peer before messages to that peer will be dropped.
+	 *
+	 * @param defaultValue a default value if no special configuration value is set
+	 * @return The maximum queue depth per peer
+	 */
+	int messagingOutboundPeerQueueMax(int defaultValue);
+
+	/**
+	 * Retrieves the maximum queue depth for outbound bulk messages, such as
+	 * sync responses, to a single peer before bulk messages to that peer will
+	 * be dropped.
+	 *
+	 * @param defaultValue a default value if no special configuration value is set
+	 * @return The maximum bulk queue depth per peer
+	 */
+	int messagingOutboundPeerBulkQueueMax(int defaultValue);
+
+	/**
+	 * Retrieves the number of threads used to send queued outbound messages to peers.
+	 *
+	 * @param defaultValue a default value if no special configuration value is set
+	 * @return The number of outbound sending threads
+	 */
+	int messagingOutboundThreads(int defaultValue);
+
 	/**
 	 * Retrieves the maximum time-to-live for inbound and outbound messages in milliseconds.
 	 * If messages are not processed and dispatched within this time, they will be
@@ -65,11 +120,41 @@ public interface MessageCentralConfiguration {
 				return properties.get("messaging.inbound.queue_max", defaultValue);
 			}
 
+			@Override
+			public int messagingInboundDecodeThreads(int defaultValue) {
+				return properties.get("messaging.inbound.decode_threads", defaultValue);
+			}
+
+			@Override
+			public int messagingInboundBulkMessageSize(int defaultValue) {
+				return properties.get("messaging.inbound.bulk_message_size", defaultValue);
+			}
+
+			@Override
+			public int messagingInboundSubscriptionBufferMax(int defaultValue) {
+				return properties.get("messaging.inbound.subscription_buffer_max", defaultValue);
+			}
+
 			@Override
 			public int messagingOutboundQueueMax(int defaultValue) {
 				return properties.get("messaging.outbound.queue_max", defaultValue);
 			}
 
+			@Override
+			public int messagingOutboundPeerQueueMax(int defaultValue) {
+				return properties.get("messaging.outbound.peer_queue_max", defaultValue);
+			}
+
+			@Override
+			public int messagingOutboundPeerBulkQueueMax(int defaultValue) {
+				return properties.get("messaging.outbound.peer_bulk_queue_max", defaultValue);
+			}
+
+			@Override
+			public int messagingOutboundThreads(int defaultValue) {
+				return properties.get("messaging.outbound.threads", defaultValue);
+			}
+
 			@Override
 			public long messagingTimeToLive(long defaultValue) {
 				return properties.get("messaging.time_to_live", defaultValue);
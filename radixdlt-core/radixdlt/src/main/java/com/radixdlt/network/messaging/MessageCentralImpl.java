@@ -19,15 +19,22 @@ package com.radixdlt.network.messaging;
 
 import com.radixdlt.consensus.HashSigner;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.radixdlt.crypto.Hasher;
 import java.util.stream.Collectors;
 
+import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.Observable;
-import org.apache.logging.log4j.Level;
+import io.reactivex.rxjava3.disposables.Disposable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.radix.network.messaging.Message;
@@ -40,13 +47,17 @@ import com.google.common.util.concurrent.RateLimiter;
 import com.google.inject.Inject;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.identifiers.EUID;
 import com.radixdlt.network.TimeSupplier;
 import com.radixdlt.network.addressbook.AddressBook;
 import com.radixdlt.network.addressbook.Peer;
 import com.radixdlt.network.addressbook.PeerWithTransport;
+import com.radixdlt.network.addressbook.PeersRemovedEvent;
+import com.radixdlt.network.transport.SendResult;
 import com.radixdlt.network.transport.Transport;
 import com.radixdlt.network.transport.TransportInfo;
 import com.radixdlt.serialization.Serialization;
+import com.radixdlt.utils.ThreadFactories;
 
 final class MessageCentralImpl implements MessageCentral {
 	private static final Logger log = LogManager.getLogger();
@@ -67,13 +78,21 @@ final class MessageCentralImpl implements MessageCentral {
 	private final List<Transport> transports;
 
 	private final RateLimiter outboundLogRateLimiter = RateLimiter.create(1.0);
-	private final RateLimiter discardedInboundMessagesLogRateLimiter = RateLimiter.create(1.0);
 
-	private final Observable<MessageFromPeer<Message>> peerMessages;
+	// Inbound message handling
+	private final InboundMessageRouter inboundRouter;
+	private final InboundMessageDecoder inboundDecoder;
+	private final Disposable inboundSubscription;
 
 	// Outbound message handling
 	private final SimpleBlockingQueue<OutboundMessageEvent> outboundQueue;
 	private final SimpleThreadPool<OutboundMessageEvent> outboundThreadPool;
+	// Keyed by node ID, or by peer for peers without a node ID
+	private final ConcurrentMap<Object, PeerOutboundQueue> peerQueues = new ConcurrentHashMap<>();
+	private final Disposable removedPeersSubscription;
+	private final ExecutorService peerQueueExecutor;
+	private final int peerQueueMax;
+	private final int peerBulkQueueMax;
 
 	@Inject
 	MessageCentralImpl(
@@ -121,64 +140,63 @@ final class MessageCentralImpl implements MessageCentral {
 
 		this.transports = Lists.newArrayList(transportManager.transports());
 
+		// Messages are serialized by the outbound processing thread and then sent by
+		// per-peer queues, so that slow peers do not hold up messages to other peers
+		this.peerQueueMax = config.messagingOutboundPeerQueueMax(1024);
+		this.peerBulkQueueMax = config.messagingOutboundPeerBulkQueueMax(16);
+		this.peerQueueExecutor = Executors.newFixedThreadPool(
+			config.messagingOutboundThreads(2),
+			ThreadFactories.daemonThreads("Outbound message sending")
+		);
+
 		// Start outbound processing thread
 		this.outboundThreadPool = new SimpleThreadPool<>(
 			"Outbound message processing",
-			1, // Ensure messages sent in-order
+			1, // Ensure messages queued in-order
 			outboundQueue::take,
 			this::outboundMessageProcessor,
 			log
 		);
 		this.outboundThreadPool.start();
 
-		List<Observable<InboundMessage>> inboundMessages = this.transports.stream()
-			.map(Transport::start)
-			.collect(Collectors.toList());
+		// Start inbound processing lanes
+		this.inboundRouter = new InboundMessageRouter(counters, config.messagingInboundSubscriptionBufferMax(8192));
+		this.inboundDecoder = new InboundMessageDecoder(
+			messagePreprocessor,
+			this.inboundRouter::route,
+			counters,
+			config.messagingInboundDecodeThreads(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+			config.messagingInboundQueueMax(16384),
+			config.messagingInboundBulkMessageSize(64 * 1024)
+		);
+		this.inboundDecoder.start();
 
-		this.peerMessages = Observable.merge(inboundMessages)
-			.map(this::processInboundMessage)
-			.filter(Optional::isPresent)
-			.map(Optional::get)
-			.publish()
-			.autoConnect();
-	}
+		this.inboundSubscription = Observable.merge(
+			this.transports.stream()
+				.map(Transport::start)
+				.collect(Collectors.toList())
+		).subscribe(this.inboundDecoder::submit);
 
-	private Optional<MessageFromPeer<Message>> processInboundMessage(InboundMessage inboundMessage) {
-		try {
-			return this.messagePreprocessor.process(inboundMessage).fold(
-				error -> {
-					final var logLevel =
-						discardedInboundMessagesLogRateLimiter.tryAcquire() ? Level.INFO : Level.TRACE;
-					log.log(logLevel, "Dropping inbound message from {} because of {}", inboundMessage.source(), error);
-					return Optional.empty();
-				},
-				messageFromPeer -> {
-					if (log.isTraceEnabled()) {
-						log.trace("Received from {}: {}", hostId(messageFromPeer.getPeer()), messageFromPeer.getMessage());
-					}
-					return Optional.of(messageFromPeer);
-				}
-			);
-		} catch (Exception ex) {
-			final var msg = String.format("Message preprocessing from %s failed", inboundMessage.source());
-			log.error(msg, ex);
-			return Optional.empty();
-		}
+		// Queues of peers which have left the address book are dropped once idle
+		this.removedPeersSubscription = this.addressBook.peerUpdates()
+			.ofType(PeersRemovedEvent.class)
+			.subscribe(event -> event.peers().forEach(peer -> removeIfIdle(queueKey(peer))));
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
-	public <T extends Message> Observable<MessageFromPeer<T>> messagesOf(Class<T> messageType) {
-		return this.peerMessages
-			.filter(p -> messageType.isInstance(p.getMessage()))
-			.map(p -> (MessageFromPeer<T>) p);
+	public <T extends Message> Flowable<MessageFromPeer<T>> messagesOf(Class<T> messageType) {
+		return this.inboundRouter.messagesOf(messageType);
 	}
 
 	@Override
 	public void close() {
+		this.inboundSubscription.dispose();
+		this.removedPeersSubscription.dispose();
 		this.transports.forEach(this::closeWithLog);
 		this.transports.clear();
+		this.inboundDecoder.stop();
 		this.outboundThreadPool.stop();
+		this.peerQueueExecutor.shutdownNow();
 	}
 
 	@Override
@@ -198,9 +216,75 @@ final class MessageCentralImpl implements MessageCentral {
 		}
 	}
 
+	@Override
+	public void broadcast(Collection<? extends Peer> peers, Message message) {
+		if (peers.isEmpty()) {
+			return;
+		}
+		OutboundMessageEvent event = new OutboundMessageEvent(peers, message, System.nanoTime() - timeBase);
+		if (!outboundQueue.offer(event) && outboundLogRateLimiter.tryAcquire()) {
+			log.error("Outbound message to {} dropped", peers);
+		}
+	}
+
+	@Override
+	public Optional<OutboundQueueStatus> outboundQueueStatus(EUID nid) {
+		return Optional.ofNullable(this.peerQueues.get(nid)).map(PeerOutboundQueue::status);
+	}
+
 	private void outboundMessageProcessor(OutboundMessageEvent outbound) {
 		this.counters.set(CounterType.MESSAGES_OUTBOUND_PENDING, outboundQueue.size());
-		messageDispatcher.send(connectionManager, outbound);
+		final Message message = outbound.message();
+		if (this.messageDispatcher.checkExpired(message, MessageDispatcher.destination(outbound.peers())).isPresent()) {
+			return;
+		}
+		final byte[] bytes = this.messageDispatcher.signAndSerialize(message);
+		final long now = System.nanoTime();
+		for (Peer peer : outbound.peers()) {
+			final var pending = new PeerOutboundQueue.PendingMessage(
+				message, bytes, outbound.priority(), outbound.isBulk(), outbound.isUrgent(), now
+			);
+			this.peerQueues.compute(queueKey(peer), (key, queue) -> {
+				final var peerQueue = queue == null ? createPeerQueue(key, peer) : queue;
+				final var dropped = peerQueue.offer(pending);
+				if (dropped != null) {
+					this.counters.increment(CounterType.MESSAGES_OUTBOUND_DROPPED);
+					if (outboundLogRateLimiter.tryAcquire()) {
+						log.warn("Outbound {} message to {} dropped", dropped.message().getClass().getSimpleName(), peer);
+					}
+				}
+				return peerQueue;
+			});
+		}
+	}
+
+	private PeerOutboundQueue createPeerQueue(Object key, Peer peer) {
+		return new PeerOutboundQueue(
+			peer,
+			this.peerQueueMax,
+			this.peerBulkQueueMax,
+			this.peerQueueExecutor,
+			this::sendToPeer,
+			() -> removeIfIdle(key)
+		);
+	}
+
+	private CompletableFuture<SendResult> sendToPeer(Peer peer, Message message, byte[] bytes, boolean bulk) {
+		// Message may have expired while waiting in the peer's queue
+		return this.messageDispatcher.checkExpired(message, peer)
+			.map(CompletableFuture::completedFuture)
+			.orElseGet(() -> this.messageDispatcher.send(this.connectionManager, peer, message, bytes, bulk));
+	}
+
+	private void removeIfIdle(Object key) {
+		// Queues of peers in the address book are kept for their statistics
+		if (!(key instanceof EUID) || this.addressBook.peer((EUID) key).isEmpty()) {
+			this.peerQueues.computeIfPresent(key, (k, queue) -> queue.isIdle() ? null : queue);
+		}
+	}
+
+	private static Object queueKey(Peer peer) {
+		return peer.hasNID() ? peer.getNID() : peer;
 	}
 
 	private void closeWithLog(Transport t) {
@@ -210,11 +294,4 @@ final class MessageCentralImpl implements MessageCentral {
 			log.error(String.format("Error closing transport %s", t), e);
 		}
 	}
-
-	private String hostId(Peer peer) {
-		return peer.supportedTransports()
-			.findFirst()
-			.map(ti -> String.format("%s:%s", ti.name(), ti.metadata()))
-			.orElse("None");
-	}
 }
@@ -20,6 +20,8 @@ package com.radixdlt.network.messaging;
 import com.radixdlt.consensus.HashSigner;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import com.radixdlt.crypto.Hasher;
@@ -30,6 +32,7 @@ import com.radixdlt.network.TimeSupplier;
 import com.radixdlt.network.addressbook.Peer;
 import com.radixdlt.network.transport.SendResult;
 import com.radixdlt.network.transport.Transport;
+import com.radixdlt.network.transport.TransportMetadata;
 import com.radixdlt.network.transport.TransportOutboundConnection;
 import com.radixdlt.serialization.Serialization;
 import com.radixdlt.serialization.DsonOutput.Output;
@@ -71,17 +74,42 @@ class MessageDispatcher {
 		this.hashSigner = hashSigner;
 	}
 
-	CompletableFuture<SendResult> send(TransportManager transportManager, final OutboundMessageEvent outboundMessage) {
-		final Message message = outboundMessage.message();
-		final Peer peer = outboundMessage.peer();
-
+	/**
+	 * Checks whether the time-to-live of the specified message has expired.
+	 *
+	 * @return a failed send result if the message has expired, empty otherwise
+	 */
+	Optional<SendResult> checkExpired(Message message, Object destination) {
 		if (timeSource.currentTime() - message.getTimestamp() > messageTtlMs) {
-			String msg = String.format("TTL for %s message to %s has expired", message.getClass().getSimpleName(), peer);
+			String msg = String.format(
+				"TTL for %s message to %s has expired", message.getClass().getSimpleName(), destination
+			);
 			log.warn(msg);
 			this.counters.increment(CounterType.MESSAGES_OUTBOUND_ABORTED);
-			return CompletableFuture.completedFuture(SendResult.failure(new IOException(msg)));
+			return Optional.of(SendResult.failure(new IOException(msg)));
 		}
+		return Optional.empty();
+	}
 
+	/**
+	 * Sends a message, already serialized using {@link #signAndSerialize(Message)}, to a single peer.
+	 * Bulk messages are sent over the transport's bulk connection, if it has one.
+	 */
+	CompletableFuture<SendResult> send(TransportManager transportManager, Peer peer, Message message, byte[] bytes, boolean bulk) {
+		try {
+			return findTransportAndOpenConnection(transportManager, peer, bytes, bulk)
+				.thenCompose(conn -> send(conn, message, bytes))
+				.thenApply(this::updateStatistics)
+				.exceptionally(t -> completionException(t, peer, message));
+		} catch (RuntimeException e) {
+			return CompletableFuture.completedFuture(completionException(e, peer, message));
+		}
+	}
+
+	/**
+	 * Signs the specified message if required, and serializes and compresses it.
+	 */
+	byte[] signAndSerialize(Message message) {
 		if (message instanceof SignedMessage) {
 			SignedMessage signedMessage = (SignedMessage) message;
 			if (signedMessage.getSignature() == null) {
@@ -89,12 +117,11 @@ class MessageDispatcher {
 				signedMessage.setSignature(hashSigner.sign(hash));
 			}
 		}
+		return serialize(message);
+	}
 
-		byte[] bytes = serialize(message);
-		return findTransportAndOpenConnection(transportManager, peer, bytes)
-			.thenCompose(conn -> send(conn, message, bytes))
-			.thenApply(this::updateStatistics)
-			.exceptionally(t -> completionException(t, peer, message));
+	static Object destination(List<Peer> peers) {
+		return peers.size() == 1 ? peers.get(0) : peers;
 	}
 
 	private CompletableFuture<SendResult> send(TransportOutboundConnection conn, Message message, byte[] bytes) {
@@ -103,7 +130,7 @@ class MessageDispatcher {
 		return conn.send(bytes);
 	}
 
-	private SendResult completionException(Throwable cause, Peer receiver, Message message) {
+	private SendResult completionException(Throwable cause, Object receiver, Message message) {
 		String msg = String.format("Send %s to %s failed", message.getClass().getSimpleName(), receiver);
 		log.warn("{}: {}", msg, cause.getMessage());
 		return SendResult.failure(new IOException(msg, cause));
@@ -122,10 +149,12 @@ class MessageDispatcher {
 	private CompletableFuture<TransportOutboundConnection> findTransportAndOpenConnection(
 		TransportManager transportManager,
 		Peer peer,
-		byte[] bytes
+		byte[] bytes,
+		boolean bulk
 	) {
 		Transport transport = transportManager.findTransport(peer, bytes);
-		return transport.control().open(peer.connectionData(transport.name()));
+		TransportMetadata metadata = peer.connectionData(transport.name());
+		return bulk ? transport.control().openBulk(metadata) : transport.control().open(metadata);
 	}
 
 	private byte[] serialize(Message out) {
@@ -39,6 +39,9 @@ import com.radixdlt.network.addressbook.PeerWithSystem;
 import com.radixdlt.network.transport.TransportInfo;
 import com.radixdlt.serialization.Serialization;
 import com.radixdlt.utils.Compress;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufInputStream;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -84,9 +87,23 @@ final class MessagePreprocessor {
 	}
 
 	Result<MessageFromPeer<Message>> process(InboundMessage inboundMessage) {
-		final byte[] messageBytes = inboundMessage.message();
-		this.counters.add(CounterType.NETWORKING_RECEIVED_BYTES, messageBytes.length);
-		final Message message = deserialize(messageBytes);
+		return process(inboundMessage, decode(inboundMessage));
+	}
+
+	/**
+	 * Uncompresses and deserializes an inbound message, without validating it.
+	 * The message is not released.
+	 */
+	Message decode(InboundMessage inboundMessage) {
+		final ByteBuf messageBytes = inboundMessage.message();
+		this.counters.add(CounterType.NETWORKING_RECEIVED_BYTES, messageBytes.readableBytes());
+		return deserialize(messageBytes);
+	}
+
+	/**
+	 * Validates an inbound message previously decoded with {@link #decode(InboundMessage)}.
+	 */
+	Result<MessageFromPeer<Message>> process(InboundMessage inboundMessage, Message message) {
 		final var result = processMessage(inboundMessage.source(), message);
 
 		this.counters.increment(CounterType.MESSAGES_INBOUND_RECEIVED);
@@ -128,9 +145,8 @@ final class MessagePreprocessor {
 		}
 	}
 
-	private Message deserialize(byte[] in) {
-		try {
-			byte[] uncompressed = Compress.uncompress(in);
+	private Message deserialize(ByteBuf in) {
+		try (var uncompressed = new ByteBufInputStream(Compress.uncompress(in, ByteBufAllocator.DEFAULT), true)) {
 			return serialization.fromDson(uncompressed, Message.class);
 		} catch (IOException e) {
 			throw new UncheckedIOException("While deserializing message", e);
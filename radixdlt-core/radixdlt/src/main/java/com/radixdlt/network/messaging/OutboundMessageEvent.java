@@ -17,32 +17,62 @@
 
 package com.radixdlt.network.messaging;
 
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.radix.network.messages.PeerPingMessage;
 import org.radix.network.messages.PeerPongMessage;
+import org.radix.network.messages.PeersMessage;
 import org.radix.network.messaging.Message;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.radixdlt.middleware2.network.ConsensusEventMessage;
+import com.radixdlt.middleware2.network.GetVerticesResponseMessage;
+import com.radixdlt.middleware2.network.MempoolAddMessage;
+import com.radixdlt.middleware2.network.SyncRequestMessage;
+import com.radixdlt.middleware2.network.SyncResponseMessage;
 import com.radixdlt.network.addressbook.Peer;
 
 /**
- * Outbound message wrapper with priority, time and destination.
+ * Outbound message wrapper with priority, time and destinations.
  * <p>
  * Note that priority is calculated from a fixed table of priorities for
  * specific message types, and cannot be specified by the user.
  * <p>
  * Time is number of nanoseconds since some arbitrary baseline.
+ * <p>
+ * An event may have more than one destination, in which case the message
+ * is serialized once and the same bytes are sent to all destinations.
+ * <p>
+ * Large messages used to catch up peers are sent as bulk messages, which are
+ * queued and sent separately from other messages, see {@link PeerOutboundQueue}.
+ * Only urgent messages, which keep consensus going, hold up bulk messages.
  */
 public final class OutboundMessageEvent {
 
 	private static final int DEFAULT_PRIORITY = 0;
 	// Lower (inc -ve) numbers are higher priority than larger numbers
-	private static final Map<Class<?>, Integer> MESSAGE_PRIORITIES = ImmutableMap.of(
-		PeerPingMessage.class, Integer.MIN_VALUE,
-		PeerPongMessage.class, Integer.MIN_VALUE
+	private static final Map<Class<?>, Integer> MESSAGE_PRIORITIES = ImmutableMap.<Class<?>, Integer>builder()
+		.put(PeerPingMessage.class, Integer.MIN_VALUE)
+		.put(PeerPongMessage.class, Integer.MIN_VALUE)
+		.put(ConsensusEventMessage.class, -1)
+		.put(SyncRequestMessage.class, 1)
+		.put(SyncResponseMessage.class, 1)
+		.put(MempoolAddMessage.class, 1)
+		.put(PeersMessage.class, 1)
+		.build();
+
+	private static final Set<Class<?>> BULK_MESSAGES = Set.of(
+		SyncResponseMessage.class,
+		GetVerticesResponseMessage.class
+	);
+
+	private static final Set<Class<?>> URGENT_MESSAGES = Set.of(
+		ConsensusEventMessage.class
 	);
 
 	public static Comparator<OutboundMessageEvent> comparator() {
@@ -50,14 +80,22 @@ public final class OutboundMessageEvent {
 	}
 
 	private final int priority;
+	private final boolean bulk;
+	private final boolean urgent;
 	private final long nanoTimeDiff;
-	private final Peer peer;
+	private final ImmutableList<Peer> peers;
 	private final Message message;
 
 	OutboundMessageEvent(Peer peer, Message message, long nanoTimeDiff) {
+		this(ImmutableList.of(peer), message, nanoTimeDiff);
+	}
+
+	OutboundMessageEvent(Collection<? extends Peer> peers, Message message, long nanoTimeDiff) {
 		this.priority = MESSAGE_PRIORITIES.getOrDefault(message.getClass(), DEFAULT_PRIORITY);
+		this.bulk = BULK_MESSAGES.contains(message.getClass());
+		this.urgent = URGENT_MESSAGES.contains(message.getClass());
 		this.nanoTimeDiff = nanoTimeDiff;
-		this.peer = peer;
+		this.peers = ImmutableList.copyOf(peers);
 		this.message = message;
 	}
 
@@ -70,6 +108,26 @@ public final class OutboundMessageEvent {
 		return priority;
 	}
 
+	/**
+	 * Returns {@code true} if the message is a bulk message, to be sent
+	 * without delaying other messages to the same peers.
+	 *
+	 * @return {@code true} if the message is a bulk message
+	 */
+	public boolean isBulk() {
+		return bulk;
+	}
+
+	/**
+	 * Returns {@code true} if the message is urgent, and bulk messages to the
+	 * same peers should wait until it has been sent.
+	 *
+	 * @return {@code true} if the message is urgent
+	 */
+	public boolean isUrgent() {
+		return urgent;
+	}
+
 	/**
 	 * Returns the time this event was created as a number of nanoseconds
 	 * since some arbitrary baseline.
@@ -81,12 +139,12 @@ public final class OutboundMessageEvent {
 	}
 
 	/**
-	 * Returns the destination of the message.
+	 * Returns the destinations of the message.
 	 *
-	 * @return the source or destination of the message.
+	 * @return the destinations of the message.
 	 */
-	public Peer peer() {
-		return peer;
+	public ImmutableList<Peer> peers() {
+		return peers;
 	}
 
 	/**
@@ -100,7 +158,7 @@ public final class OutboundMessageEvent {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.priority, this.nanoTimeDiff, this.peer, this.message);
+		return Objects.hash(this.priority, this.bulk, this.urgent, this.nanoTimeDiff, this.peers, this.message);
 	}
 
 	@Override
@@ -111,8 +169,10 @@ public final class OutboundMessageEvent {
 		if (obj instanceof OutboundMessageEvent) {
 			OutboundMessageEvent that = (OutboundMessageEvent) obj;
 			return this.priority == that.priority
+				&& this.bulk == that.bulk
+				&& this.urgent == that.urgent
 				&& this.nanoTimeDiff == that.nanoTimeDiff
-				&& Objects.equals(this.peer, that.peer)
+				&& Objects.equals(this.peers, that.peers)
 				&& Objects.equals(this.message, that.message);
 		}
 		return false;
@@ -120,7 +180,7 @@ public final class OutboundMessageEvent {
 
 	@Override
 	public String toString() {
-		return String.format("%s[priority=%s, nanoTime=%s, peer=%s, message=%s]",
-			getClass().getSimpleName(), priority, nanoTimeDiff, peer, message);
+		return String.format("%s[priority=%s, nanoTime=%s, peers=%s, message=%s]",
+			getClass().getSimpleName(), priority, nanoTimeDiff, peers, message);
 	}
 }
\ No newline at end of file
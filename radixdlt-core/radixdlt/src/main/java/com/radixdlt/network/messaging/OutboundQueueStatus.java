@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import java.util.Objects;
+
+/**
+ * Snapshot of the state of the outbound message queue of a single peer.
+ */
+public final class OutboundQueueStatus {
+	private final int queueDepth;
+	private final int bulkQueueDepth;
+	private final long latencyMs;
+	private final long dropped;
+
+	private OutboundQueueStatus(int queueDepth, int bulkQueueDepth, long latencyMs, long dropped) {
+		this.queueDepth = queueDepth;
+		this.bulkQueueDepth = bulkQueueDepth;
+		this.latencyMs = latencyMs;
+		this.dropped = dropped;
+	}
+
+	public static OutboundQueueStatus create(int queueDepth, int bulkQueueDepth, long latencyMs, long dropped) {
+		return new OutboundQueueStatus(queueDepth, bulkQueueDepth, latencyMs, dropped);
+	}
+
+	/**
+	 * Returns the number of messages, other than bulk messages, waiting to be sent to the peer.
+	 *
+	 * @return the number of queued messages
+	 */
+	public int queueDepth() {
+		return queueDepth;
+	}
+
+	/**
+	 * Returns the number of bulk messages, such as sync responses, waiting to be sent to the peer.
+	 *
+	 * @return the number of queued bulk messages
+	 */
+	public int bulkQueueDepth() {
+		return bulkQueueDepth;
+	}
+
+	/**
+	 * Returns the time between queueing and completing the send of the
+	 * most recently sent message, other than bulk messages, in milliseconds.
+	 *
+	 * @return the latency of the last sent message
+	 */
+	public long latencyMs() {
+		return latencyMs;
+	}
+
+	/**
+	 * Returns the number of messages dropped because the queue was full.
+	 *
+	 * @return the number of dropped messages
+	 */
+	public long dropped() {
+		return dropped;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(queueDepth, bulkQueueDepth, latencyMs, dropped);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof OutboundQueueStatus)) {
+			return false;
+		}
+		OutboundQueueStatus other = (OutboundQueueStatus) o;
+		return this.queueDepth == other.queueDepth
+			&& this.bulkQueueDepth == other.bulkQueueDepth
+			&& this.latencyMs == other.latencyMs
+			&& this.dropped == other.dropped;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[queueDepth=%s, bulkQueueDepth=%s, latencyMs=%s, dropped=%s]",
+			getClass().getSimpleName(), queueDepth, bulkQueueDepth, latencyMs, dropped);
+	}
+}
@@ -0,0 +1,290 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.radixdlt.network.addressbook.Peer;
+import com.radixdlt.network.transport.SendResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.radix.network.messaging.Message;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue of serialized messages waiting to be sent to a single peer.
+ * <p>
+ * Messages are sent one at a time and in the order they were queued, on the
+ * shared executor.  The next message is only sent once the send of the previous
+ * message has completed, so a slow or unreachable peer only delays its own
+ * messages.
+ * <p>
+ * Bulk messages, such as sync responses, are queued separately and sent over
+ * their own connection, so that a large transfer in progress does not hold up
+ * other messages to the same peer.  Only urgent messages, such as consensus
+ * messages, have strict priority: the next bulk message is only sent once no
+ * urgent messages are waiting or being sent.  Bulk messages are otherwise sent
+ * alongside other messages, so that gossip cannot starve a peer which is catching up.
+ * <p>
+ * When a queue is full, the oldest of the lowest priority messages is dropped
+ * to make room, unless the offered message has a lower priority, in which case
+ * it is dropped instead.
+ */
+final class PeerOutboundQueue {
+	private static final Logger log = LogManager.getLogger();
+
+	/**
+	 * Sends a serialized message to a peer.
+	 */
+	@FunctionalInterface
+	interface Sender {
+		CompletableFuture<SendResult> send(Peer peer, Message message, byte[] bytes, boolean bulk);
+	}
+
+	static final class PendingMessage {
+		private final Message message;
+		private final byte[] bytes;
+		private final int priority;
+		private final boolean bulk;
+		private final boolean urgent;
+		private final long queuedNanos;
+
+		PendingMessage(Message message, byte[] bytes, int priority, boolean bulk, boolean urgent, long queuedNanos) {
+			this.message = message;
+			this.bytes = bytes;
+			this.priority = priority;
+			this.bulk = bulk;
+			this.urgent = urgent;
+			this.queuedNanos = queuedNanos;
+		}
+
+		Message message() {
+			return message;
+		}
+	}
+
+	// Messages sent one at a time over the same connection.  Guarded by the outer queue.
+	private final class Lane {
+		private final boolean bulk;
+		private final int capacity;
+		private final ArrayDeque<PendingMessage> queue = new ArrayDeque<>();
+		private boolean sending = false;
+		private PendingMessage current = null;
+		private int urgentQueued = 0;
+
+		Lane(boolean bulk, int capacity) {
+			if (capacity <= 0) {
+				throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+			}
+			this.bulk = bulk;
+			this.capacity = capacity;
+		}
+
+		PendingMessage add(PendingMessage message) {
+			PendingMessage droppedMessage = null;
+			if (this.queue.size() >= this.capacity) {
+				droppedMessage = removeLowestPriority(message.priority);
+				if (droppedMessage == null) {
+					return message;
+				}
+				removed(droppedMessage);
+			}
+			this.queue.addLast(message);
+			if (message.urgent) {
+				this.urgentQueued += 1;
+			}
+			return droppedMessage;
+		}
+
+		void start() {
+			if (!this.sending && !this.queue.isEmpty()) {
+				this.sending = true;
+				execute(this);
+			}
+		}
+
+		PendingMessage poll() {
+			// Bulk messages wait while urgent messages are waiting or being sent
+			final PendingMessage next = this.bulk && lane.hasUrgent() ? null : this.queue.pollFirst();
+			if (next == null) {
+				this.sending = false;
+			} else {
+				removed(next);
+			}
+			this.current = next;
+			return next;
+		}
+
+		boolean isIdle() {
+			return !this.sending && this.queue.isEmpty();
+		}
+
+		boolean hasUrgent() {
+			return this.urgentQueued > 0 || (this.sending && this.current != null && this.current.urgent);
+		}
+
+		void clear() {
+			this.queue.clear();
+			this.sending = false;
+			this.current = null;
+			this.urgentQueued = 0;
+		}
+
+		private void removed(PendingMessage message) {
+			if (message.urgent) {
+				this.urgentQueued -= 1;
+			}
+		}
+
+		private PendingMessage removeLowestPriority(int thanPriority) {
+			PendingMessage lowest = null;
+			for (PendingMessage queued : this.queue) {
+				if (queued.priority >= thanPriority && (lowest == null || queued.priority > lowest.priority)) {
+					lowest = queued;
+				}
+			}
+			if (lowest != null) {
+				final Iterator<PendingMessage> i = this.queue.iterator();
+				while (i.hasNext()) {
+					if (i.next() == lowest) {
+						i.remove();
+						break;
+					}
+				}
+			}
+			return lowest;
+		}
+	}
+
+	private final Peer peer;
+	private final Executor executor;
+	private final Sender sender;
+	private final Runnable onIdle;
+	private final Lane lane;
+	private final Lane bulkLane;
+
+	// Guarded by this
+	private long dropped = 0L;
+	private long latencyNanos = 0L;
+
+	PeerOutboundQueue(Peer peer, int capacity, int bulkCapacity, Executor executor, Sender sender, Runnable onIdle) {
+		this.peer = Objects.requireNonNull(peer);
+		this.lane = new Lane(false, capacity);
+		this.bulkLane = new Lane(true, bulkCapacity);
+		this.executor = Objects.requireNonNull(executor);
+		this.sender = Objects.requireNonNull(sender);
+		this.onIdle = Objects.requireNonNull(onIdle);
+	}
+
+	/**
+	 * Queues a message for sending, starting to send if the queue was idle.
+	 *
+	 * @param message the message to queue
+	 * @return the message dropped to make room, or {@code null} if no message was dropped
+	 */
+	synchronized PendingMessage offer(PendingMessage message) {
+		final PendingMessage droppedMessage = (message.bulk ? this.bulkLane : this.lane).add(message);
+		if (droppedMessage != null) {
+			this.dropped += 1;
+		}
+		startSending();
+		return droppedMessage;
+	}
+
+	/**
+	 * Returns {@code true} if there are no messages queued or being sent.
+	 */
+	synchronized boolean isIdle() {
+		return this.lane.isIdle() && this.bulkLane.isIdle();
+	}
+
+	synchronized OutboundQueueStatus status() {
+		return OutboundQueueStatus.create(
+			this.lane.queue.size(),
+			this.bulkLane.queue.size(),
+			TimeUnit.NANOSECONDS.toMillis(this.latencyNanos),
+			this.dropped
+		);
+	}
+
+	synchronized int size() {
+		return this.lane.queue.size() + this.bulkLane.queue.size();
+	}
+
+	// Requires "this" to be held
+	private void startSending() {
+		this.lane.start();
+		if (!this.lane.hasUrgent()) {
+			this.bulkLane.start();
+		}
+	}
+
+	private void sendNext(Lane from) {
+		final PendingMessage next;
+		final boolean idle;
+		synchronized (this) {
+			next = from.poll();
+			startSending();
+			idle = isIdle();
+		}
+		if (next == null) {
+			if (idle) {
+				this.onIdle.run();
+			}
+			return;
+		}
+
+		CompletableFuture<SendResult> result;
+		try {
+			result = this.sender.send(this.peer, next.message, next.bytes, next.bulk);
+		} catch (Exception e) {
+			log.warn("Sending {} to {} failed", next.message.getClass().getSimpleName(), this.peer, e);
+			result = CompletableFuture.completedFuture(SendResult.failure(e));
+		}
+		result.whenComplete((r, t) -> {
+			if (!next.bulk) {
+				synchronized (this) {
+					this.latencyNanos = System.nanoTime() - next.queuedNanos;
+				}
+			}
+			execute(from);
+		});
+	}
+
+	private void execute(Lane from) {
+		try {
+			this.executor.execute(() -> sendNext(from));
+		} catch (RejectedExecutionException e) {
+			// Shutting down
+			synchronized (this) {
+				this.lane.clear();
+				this.bulkLane.clear();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[%s]", getClass().getSimpleName(), this.peer);
+	}
+}
@@ -34,6 +34,19 @@ public interface TransportControl extends Closeable {
 	 */
 	CompletableFuture<TransportOutboundConnection> open(TransportMetadata endpointMetadata);
 
+	/**
+	 * Open an outbound connection to a peer for bulk transfers, such as sync responses.
+	 * Transports able to do so use a connection separate from the one returned by
+	 * {@link #open(TransportMetadata)}, so that bulk transfers do not delay other messages.
+	 * By default, the same connection is used for both.
+	 *
+	 * @param endpointMetadata the metadata for the endpoint we are connecting to
+	 * @return A {@link CompletableFuture} returning an outbound transport connection once the connection is open
+	 */
+	default CompletableFuture<TransportOutboundConnection> openBulk(TransportMetadata endpointMetadata) {
+		return open(endpointMetadata);
+	}
+
 	/**
 	 * Closes this {@code TransportControl} and releases any system resources associated
 	 * with it. If the {@code TransportControl} is already closed then invoking this
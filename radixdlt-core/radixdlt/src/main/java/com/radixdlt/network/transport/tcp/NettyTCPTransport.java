@@ -20,9 +20,17 @@ package com.radixdlt.network.transport.tcp;
 import com.radixdlt.network.transport.Transport;
 
 import io.netty.channel.ChannelFuture;
+import io.netty.util.AttributeKey;
 
 interface NettyTCPTransport extends Transport {
 
+	/**
+	 * Attribute set on outbound channels used for bulk transfers.
+	 */
+	AttributeKey<Boolean> BULK_CHANNEL = AttributeKey.valueOf("bulk");
+
 	ChannelFuture createChannel(String host, int port);
 
+	ChannelFuture createBulkChannel(String host, int port);
+
 }
@@ -96,6 +96,7 @@ final class NettyTCPTransportImpl implements NettyTCPTransport {
 
 	private Channel channel;
 	private Bootstrap outboundBootstrap;
+	private Bootstrap bulkBootstrap;
 
 	@Inject
 	NettyTCPTransportImpl(
@@ -174,6 +175,8 @@ final class NettyTCPTransportImpl implements NettyTCPTransport {
 					setupChannel(ch, control.outHandler(), CLI_RCV_BUF_SIZE, CLI_SND_BUF_SIZE);
 				}
 			});
+		this.bulkBootstrap = this.outboundBootstrap.clone()
+			.attr(BULK_CHANNEL, Boolean.TRUE);
 
 		ServerBootstrap b = new ServerBootstrap();
 		b.group(serverGroup, workerGroup)
@@ -234,14 +237,23 @@ final class NettyTCPTransportImpl implements NettyTCPTransport {
 
 	@Override
 	public ChannelFuture createChannel(String host, int port) {
-		log.info("Establishing connection to {}:{}", host, port);
-		final ChannelFuture cf = this.outboundBootstrap.connect(host, port);
+		return connect(this.outboundBootstrap, "connection", host, port);
+	}
+
+	@Override
+	public ChannelFuture createBulkChannel(String host, int port) {
+		return connect(this.bulkBootstrap, "bulk connection", host, port);
+	}
+
+	private ChannelFuture connect(Bootstrap bootstrap, String what, String host, int port) {
+		log.info("Establishing {} to {}:{}", what, host, port);
+		final ChannelFuture cf = bootstrap.connect(host, port);
 		return cf.addListener(v -> {
 			Throwable cause = cf.cause();
 			if (cause == null) {
-				log.info("Established connection to {}:{}", host, port);
+				log.info("Established {} to {}:{}", what, host, port);
 			} else {
-				log.warn("Connection to {}:{} failed: {}", host, port, cause.getMessage());
+				log.warn("{} to {}:{} failed: {}", what, host, port, cause.getMessage());
 			}
 		});
 	}
@@ -20,11 +20,11 @@ package com.radixdlt.network.transport.tcp;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.utils.Pair;
-import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.processors.PublishProcessor;
 import org.apache.logging.log4j.Level;
@@ -51,26 +51,22 @@ final class TCPNettyMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
 
 	private final RateLimiter droppedMessagesRateLimiter = RateLimiter.create(1.0);
 
-	private final PublishProcessor<Pair<InetSocketAddress, byte[]>> rawMessageSink = PublishProcessor.create();
+	private final PublishProcessor<Pair<InetSocketAddress, ByteBuf>> rawMessageSink = PublishProcessor.create();
 	private final Flowable<InboundMessage> inboundMessages;
 
 	private final RateLimiter logRateLimiter = RateLimiter.create(1.0);
 
 	private final SystemCounters counters;
 	private final int bufferSize;
+	// Messages received and not yet taken by the subscriber, bounded by bufferSize
+	private final AtomicInteger pending = new AtomicInteger();
 
 	TCPNettyMessageHandler(SystemCounters counters, int bufferSize) {
 		this.counters = counters;
 		this.bufferSize = bufferSize;
 		this.inboundMessages = rawMessageSink
-			.onBackpressureBuffer(
-				this.bufferSize,
-				() -> {
-					this.counters.increment(CounterType.NETWORKING_TCP_DROPPED_MESSAGES);
-					Level logLevel = droppedMessagesRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
-					log.log(logLevel, "TCP msg buffer overflow, dropping msg");
-				},
-				BackpressureOverflowStrategy.DROP_LATEST)
+			// Never overflows, as messages are dropped in channelRead0 once bufferSize are pending
+			.onBackpressureBuffer(this.bufferSize)
 			.map(this::parseMessage);
 	}
 
@@ -87,15 +83,18 @@ final class TCPNettyMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
 		SocketAddress socketSender = ctx.channel().remoteAddress();
 		if (socketSender instanceof InetSocketAddress) {
 			final InetSocketAddress sender = (InetSocketAddress) socketSender;
-			final byte[] data;
-			if (buf.isDirect() && buf.nioBuffer().hasArray()) {
-				data = buf.nioBuffer().array();
+			if (!this.rawMessageSink.hasSubscribers()) {
+				// Not subscribed or shut down, so nothing would release the frame
+				log.trace("No subscriber for TCP msg, dropping msg");
+			} else if (this.pending.incrementAndGet() > this.bufferSize) {
+				this.pending.decrementAndGet();
+				this.counters.increment(CounterType.NETWORKING_TCP_DROPPED_MESSAGES);
+				Level logLevel = droppedMessagesRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
+				log.log(logLevel, "TCP msg buffer overflow, dropping msg");
 			} else {
-				final int length = buf.readableBytes();
-				data = new byte[length];
-				buf.readBytes(data);
+				// Frame is retained until the inbound message is released by its receiver
+				this.rawMessageSink.onNext(Pair.of(sender, buf.retain()));
 			}
-			this.rawMessageSink.onNext(Pair.of(sender, data));
 		} else if (logRateLimiter.tryAcquire()) {
 			String type = socketSender == null ? null : socketSender.getClass().getName();
 			String from = socketSender == null ? null : socketSender.toString();
@@ -103,7 +102,8 @@ final class TCPNettyMessageHandler extends SimpleChannelInboundHandler<ByteBuf>
 		}
 	}
 
-	private InboundMessage parseMessage(Pair<InetSocketAddress, byte[]> rawData) {
+	private InboundMessage parseMessage(Pair<InetSocketAddress, ByteBuf> rawData) {
+		this.pending.decrementAndGet();
 		final TransportInfo source = TransportInfo.of(
 			TCPConstants.NAME,
 			StaticTransportMetadata.of(
@@ -56,6 +56,9 @@ import io.netty.channel.ChannelHandler.Sharable;
  * an inbound connection (ie those in {@code channelMap}) are for the right
  * "application" on the remote host, so we would therefore need to open an
  * outbound connection regardless.
+ * <p>
+ * Bulk transfers to a peer use a second outbound connection, so that they
+ * do not hold up other messages queued behind them on the same connection.
  */
 final class TCPTransportControlImpl implements TCPTransportControl {
 	private static final Logger log = LogManager.getLogger();
@@ -109,9 +112,10 @@ final class TCPTransportControlImpl implements TCPTransportControl {
 
 					String host = remote.getAddress().getHostAddress();
 					int port = remote.getPort();
+					boolean bulk = sch.hasAttr(NettyTCPTransport.BULK_CHANNEL);
 					synchronized (lock) {
-						removePending(formatAddress(host, port));
-						addChannel(host, sch);
+						removePending(channelKey(formatAddress(host, port), bulk));
+						addChannel(channelKey(host, bulk), sch);
 					}
 				} else {
 					// Too many channels, we just close and exit.
@@ -144,10 +148,19 @@ final class TCPTransportControlImpl implements TCPTransportControl {
 			TransportMetadata metadata,
 			NettyTCPTransport transport,
 			TCPTransportOutboundConnectionFactory outboundFactory
+		) {
+			return findOrCreateActiveChannel(metadata, transport, outboundFactory, false);
+		}
+
+		CompletableFuture<TransportOutboundConnection> findOrCreateActiveChannel(
+			TransportMetadata metadata,
+			NettyTCPTransport transport,
+			TCPTransportOutboundConnectionFactory outboundFactory,
+			boolean bulk
 		) {
 			String host = metadata.get(TCPConstants.METADATA_HOST);
 			String port = metadata.get(TCPConstants.METADATA_PORT);
-			String hostAndPort = formatAddress(host, port);
+			String hostAndPort = channelKey(formatAddress(host, port), bulk);
 			synchronized (lock) {
 				cleanChannels("Clean");
 
@@ -157,7 +170,7 @@ final class TCPTransportControlImpl implements TCPTransportControl {
 					return pending;
 				}
 
-				LinkedList<SocketChannel> items = this.channelMap.get(host);
+				LinkedList<SocketChannel> items = this.channelMap.get(channelKey(host, bulk));
 
 				final SocketChannel channel;
 				if (items != null && !items.isEmpty()) {
@@ -166,7 +179,9 @@ final class TCPTransportControlImpl implements TCPTransportControl {
 					channel = null;
 				}
 				if (channel == null) {
-					ChannelFuture cf = transport.createChannel(host, Integer.parseInt(port));
+					ChannelFuture cf = bulk
+						? transport.createBulkChannel(host, Integer.parseInt(port))
+						: transport.createChannel(host, Integer.parseInt(port));
 					final CompletableFuture<TransportOutboundConnection> cfsr0 = new CompletableFuture<>();
 					final CompletableFuture<TransportOutboundConnection> cfsr = cfsr0.whenComplete((obc, t) -> {
 						log.trace("Completed");
@@ -259,6 +274,11 @@ final class TCPTransportControlImpl implements TCPTransportControl {
 		private String formatAddress(String host, int port) {
 			return String.format("%s:%s", host, port);
 		}
+
+		// Bulk channels are kept apart from other channels to the same host
+		private String channelKey(String address, boolean bulk) {
+			return bulk ? "bulk/" + address : address;
+		}
 	}
 
 	@Sharable
@@ -318,6 +338,11 @@ final class TCPTransportControlImpl implements TCPTransportControl {
 		return this.outHandler.findOrCreateActiveChannel(endpointMetadata, this.transport, this.outboundFactory);
 	}
 
+	@Override
+	public CompletableFuture<TransportOutboundConnection> openBulk(TransportMetadata endpointMetadata) {
+		return this.outHandler.findOrCreateActiveChannel(endpointMetadata, this.transport, this.outboundFactory, true);
+	}
+
 	@Override
 	public void close() throws IOException {
 		this.outHandler.closeAll();
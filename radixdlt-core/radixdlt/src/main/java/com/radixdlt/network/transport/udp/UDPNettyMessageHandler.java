@@ -19,12 +19,12 @@ package com.radixdlt.network.transport.udp;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.util.concurrent.RateLimiter;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.network.messaging.InboundMessage;
 import com.radixdlt.utils.Pair;
-import io.reactivex.rxjava3.core.BackpressureOverflowStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.processors.PublishProcessor;
 import org.apache.logging.log4j.Level;
@@ -55,6 +55,8 @@ final class UDPNettyMessageHandler extends SimpleChannelInboundHandler<DatagramP
 	private final NatHandler natHandler;
 
 	private final PublishProcessor<Pair<InetSocketAddress, ByteBuf>> rawMessageSink = PublishProcessor.create();
+	// Messages received and not yet taken by the subscriber, bounded by bufferSize
+	private final AtomicInteger pending = new AtomicInteger();
 
 	UDPNettyMessageHandler(SystemCounters counters, int bufferSize, NatHandler natHandler) {
 		this.counters = counters;
@@ -64,14 +66,8 @@ final class UDPNettyMessageHandler extends SimpleChannelInboundHandler<DatagramP
 
 	Flowable<InboundMessage> inboundMessageRx() {
 		return rawMessageSink
-			.onBackpressureBuffer(
-				this.bufferSize,
-				() -> {
-					this.counters.increment(SystemCounters.CounterType.NETWORKING_UDP_DROPPED_MESSAGES);
-					Level logLevel = droppedMessagesRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
-					log.log(logLevel, "UDP msg buffer overflow, dropping msg");
-				},
-				BackpressureOverflowStrategy.DROP_LATEST)
+			// Never overflows, as messages are dropped in channelRead0 once bufferSize are pending
+			.onBackpressureBuffer(this.bufferSize)
 			.map(this::parseMessage);
 	}
 
@@ -88,15 +84,23 @@ final class UDPNettyMessageHandler extends SimpleChannelInboundHandler<DatagramP
 			final InetAddress peerAddress = sender.getAddress();
 			natHandler.handleInboundPacket(ctx, peerAddress, buf);
 			// NAT validated, just make the message available
-			// Clone data and put in queue
-			this.rawMessageSink.onNext(Pair.of(sender, buf));
+			if (!this.rawMessageSink.hasSubscribers()) {
+				// Not subscribed or shut down, so nothing would release the packet content
+				log.trace("No subscriber for UDP msg, dropping msg");
+			} else if (this.pending.incrementAndGet() > this.bufferSize) {
+				this.pending.decrementAndGet();
+				this.counters.increment(SystemCounters.CounterType.NETWORKING_UDP_DROPPED_MESSAGES);
+				Level logLevel = droppedMessagesRateLimiter.tryAcquire() ? Level.WARN : Level.TRACE;
+				log.log(logLevel, "UDP msg buffer overflow, dropping msg");
+			} else {
+				// Packet content is retained until the inbound message is released by its receiver
+				this.rawMessageSink.onNext(Pair.of(sender, buf.retain()));
+			}
 		}
 	}
 
 	private InboundMessage parseMessage(Pair<InetSocketAddress, ByteBuf> rawData) {
-		final int length = rawData.getSecond().readableBytes();
-		final byte[] data = new byte[length];
-		rawData.getSecond().readBytes(data);
+		this.pending.decrementAndGet();
 		final TransportInfo source = TransportInfo.of(
 			UDPConstants.NAME,
 			StaticTransportMetadata.of(
@@ -104,7 +108,7 @@ final class UDPNettyMessageHandler extends SimpleChannelInboundHandler<DatagramP
 				UDPConstants.METADATA_PORT, String.valueOf(rawData.getFirst().getPort())
 			)
 		);
-		return InboundMessage.of(source, data);
+		return InboundMessage.of(source, rawData.getSecond());
 	}
 
 	@Override
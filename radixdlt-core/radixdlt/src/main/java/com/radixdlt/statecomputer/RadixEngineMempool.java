@@ -33,17 +33,22 @@ import com.radixdlt.mempool.MempoolMetadata;
 import com.radixdlt.mempool.MempoolDuplicateException;
 import com.radixdlt.mempool.MempoolFullException;
 import com.radixdlt.mempool.MempoolRejectedException;
+import com.radixdlt.statecomputer.transaction.TokenFeeChecker;
 import com.radixdlt.utils.Pair;
+import com.radixdlt.utils.UInt256;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -55,7 +60,30 @@ import java.util.stream.Collectors;
 public final class RadixEngineMempool implements Mempool<REParsedTxn> {
 	private static final Logger logger = LogManager.getLogger();
 
+	/**
+	 * Position of a txn in proposal order: highest fee paid first, then earliest arrival.
+	 */
+	private static final class Priority {
+		private static final Comparator<Priority> COMPARATOR = Comparator
+			.comparing((Priority p) -> p.feePaid, Comparator.reverseOrder())
+			.thenComparingLong(p -> p.arrival);
+
+		private final UInt256 feePaid;
+		private final long arrival;
+		private final AID txnId;
+
+		private Priority(UInt256 feePaid, long arrival, AID txnId) {
+			this.feePaid = feePaid;
+			this.arrival = arrival;
+			this.txnId = txnId;
+		}
+	}
+
 	private final ConcurrentHashMap<AID, Pair<REParsedTxn, MempoolMetadata>> data = new ConcurrentHashMap<>();
+	private final Map<AID, Priority> priorities = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListSet<Priority> priorityIndex = new ConcurrentSkipListSet<>(Priority.COMPARATOR);
+	private final AtomicLong arrivals = new AtomicLong();
+	// Txns in the mempool which shut down a given substate, i.e. which conflict with each other
 	private final Map<SubstateId, Set<AID>> substateIndex = new ConcurrentHashMap<>();
 	private final RadixEngine<LedgerAndBFTProof> radixEngine;
 	private final int maxSize;
@@ -74,34 +102,120 @@ public final class RadixEngineMempool implements Mempool<REParsedTxn> {
 
 	@Override
 	public void add(Txn txn) throws MempoolRejectedException {
-		if (this.data.size() >= maxSize) {
-			throw new MempoolFullException(
-				String.format("Mempool full: %s of %s items", this.data.size(), maxSize)
-			);
+		checkAdmissible(txn);
+
+		final REParsedTxn parsedTxn;
+		try {
+			// Only checks against the current state rather than executing on a branch as the
+			// txn is executed again when proposed
+			parsedTxn = radixEngine.verify(txn);
+		} catch (RadixEngineException e) {
+			// TODO: allow missing dependency atoms to live for a certain amount of time
+			throw new RadixEngineMempoolException(e);
 		}
 
+		admit(parsedTxn);
+	}
+
+	@Override
+	public List<Txn> addAll(List<Txn> txns, BiConsumer<Txn, MempoolRejectedException> rejected) {
+		var candidates = new ArrayList<Txn>(txns.size());
+		var candidateIds = new HashSet<AID>();
+		for (var txn : txns) {
+			try {
+				checkAdmissible(txn);
+				if (!candidateIds.add(txn.getId())) {
+					throw new MempoolDuplicateException(String.format("Batch already has command %s", txn.getId()));
+				}
+				candidates.add(txn);
+			} catch (MempoolRejectedException e) {
+				rejected.accept(txn, e);
+			}
+		}
+
+		// The batch is verified in one pass, so signatures are checked in parallel where possible
+		var parsedTxns = radixEngine.verify(candidates, (txn, e) -> rejected.accept(txn, new RadixEngineMempoolException(e)));
+		var added = new ArrayList<Txn>(parsedTxns.size());
+		for (var parsedTxn : parsedTxns) {
+			try {
+				admit(parsedTxn);
+				added.add(parsedTxn.getTxn());
+			} catch (MempoolRejectedException e) {
+				rejected.accept(parsedTxn.getTxn(), e);
+			}
+		}
+		return added;
+	}
+
+	private void checkAdmissible(Txn txn) throws MempoolRejectedException {
+		checkNotFull();
+
 		if (this.data.containsKey(txn.getId())) {
 			throw new MempoolDuplicateException(String.format("Mempool already has command %s", txn.getId()));
 		}
+	}
 
-		final List<REParsedTxn> radixEngineTxns;
-		try {
-			RadixEngine.RadixEngineBranch<LedgerAndBFTProof> checker = radixEngine.transientBranch();
-			radixEngineTxns = checker.execute(List.of(txn));
-		} catch (RadixEngineException e) {
-			// TODO: allow missing dependency atoms to live for a certain amount of time
-			throw new RadixEngineMempoolException(e);
-		} finally {
-			radixEngine.deleteBranches();
+	private void checkNotFull() throws MempoolFullException {
+		if (this.data.size() >= maxSize) {
+			throw new MempoolFullException(
+				String.format("Mempool full: %s of %s items", this.data.size(), maxSize)
+			);
 		}
+	}
+
+	private void admit(REParsedTxn parsedTxn) throws MempoolRejectedException {
+		// Checked again as other txns may have been admitted while this one was verified
+		checkNotFull();
 
+		var txn = parsedTxn.getTxn();
 		var mempoolTxn = MempoolMetadata.create(System.currentTimeMillis());
-		var data = Pair.of(radixEngineTxns.get(0), mempoolTxn);
-		this.data.put(txn.getId(), data);
-		radixEngineTxns.get(0).instructions().filter(REParsedInstruction::isShutDown).forEach(instruction -> {
+		var data = Pair.of(parsedTxn, mempoolTxn);
+		// Admission runs concurrently, so the slot is claimed before anything is indexed
+		if (this.data.putIfAbsent(txn.getId(), data) != null) {
+			throw new MempoolDuplicateException(String.format("Mempool already has command %s", txn.getId()));
+		}
+		parsedTxn.instructions().filter(REParsedInstruction::isShutDown).forEach(instruction -> {
 			var substateId = instruction.getSubstate().getId();
 			substateIndex.merge(substateId, Set.of(txn.getId()), Sets::union);
 		});
+		var priority = new Priority(TokenFeeChecker.computeFeePaid(parsedTxn), arrivals.getAndIncrement(), txn.getId());
+		this.priorities.put(txn.getId(), priority);
+		this.priorityIndex.add(priority);
+
+		// Removed by a concurrent commit while being indexed
+		if (this.data.get(txn.getId()) != data) {
+			removeFromIndexes(txn.getId(), parsedTxn);
+		}
+	}
+
+	private Pair<REParsedTxn, MempoolMetadata> remove(AID txnId) {
+		var removed = data.remove(txnId);
+		if (removed == null) {
+			return null;
+		}
+
+		removeFromIndexes(txnId, removed.getFirst());
+		return removed;
+	}
+
+	private void removeFromIndexes(AID txnId, REParsedTxn parsedTxn) {
+		var priority = priorities.remove(txnId);
+		if (priority != null) {
+			priorityIndex.remove(priority);
+		}
+		parsedTxn.instructions().filter(REParsedInstruction::isShutDown).forEach(instruction ->
+			substateIndex.computeIfPresent(instruction.getSubstate().getId(), (id, txnIds) -> {
+				var remaining = Sets.difference(txnIds, Set.of(txnId));
+				return remaining.isEmpty() ? null : Set.copyOf(remaining);
+			})
+		);
+	}
+
+	private Set<AID> conflictingTxns(REParsedTxn parsedTxn) {
+		return parsedTxn.instructions()
+			.filter(REParsedInstruction::isShutDown)
+			.flatMap(i -> substateIndex.getOrDefault(i.getSubstate().getId(), Set.of()).stream())
+			.collect(Collectors.toSet());
 	}
 
 	@Override
@@ -122,7 +236,7 @@ public final class RadixEngineMempool implements Mempool<REParsedTxn> {
 				}
 
 				for (var txnId : txnIds) {
-					var toRemove = data.remove(txnId);
+					var toRemove = remove(txnId);
 					// TODO: Cleanup
 					if (toRemove != null && !committedIds.contains(toRemove.getFirst().getTxn().getId())) {
 						removed.add(toRemove.getFirst().getTxn());
@@ -139,27 +253,25 @@ public final class RadixEngineMempool implements Mempool<REParsedTxn> {
 
 	@Override
 	public List<Txn> getTxns(int count, List<REParsedTxn> prepared) {
-		// TODO: Order by highest fees paid
-		var copy = new TreeSet<>(data.keySet());
-		prepared.stream()
-			.flatMap(REParsedTxn::instructions)
-			.filter(REParsedInstruction::isShutDown)
-			.flatMap(i -> substateIndex.getOrDefault(i.getSubstate().getId(), Set.of()).stream())
-			.distinct()
-			.forEach(copy::remove);
+		// Only the txns conflicting with prepared or already selected txns are tracked
+		// so the cost is proportional to the number of txns visited rather than the mempool size
+		var excluded = new HashSet<AID>();
+		prepared.forEach(p -> excluded.addAll(conflictingTxns(p)));
 
 		var txns = new ArrayList<Txn>();
+		var iterator = priorityIndex.iterator();
+		while (txns.size() < count && iterator.hasNext()) {
+			var txnId = iterator.next().txnId;
+			if (excluded.contains(txnId)) {
+				continue;
+			}
 
-		for (int i = 0; i < count && !copy.isEmpty(); i++) {
-			var txId = copy.first();
-			copy.remove(txId);
-			var txnData = data.get(txId);
-			txnData.getFirst().instructions()
-				.filter(REParsedInstruction::isShutDown)
-				.flatMap(inst -> substateIndex.getOrDefault(inst.getSubstate().getId(), Set.of()).stream())
-				.distinct()
-				.forEach(copy::remove);
+			var txnData = data.get(txnId);
+			if (txnData == null) {
+				continue;
+			}
 
+			excluded.addAll(conflictingTxns(txnData.getFirst()));
 			txns.add(txnData.getFirst().getTxn());
 		}
 
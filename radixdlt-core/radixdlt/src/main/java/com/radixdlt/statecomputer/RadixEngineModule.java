@@ -18,11 +18,13 @@
 package com.radixdlt.statecomputer;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Key;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
 import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.OptionalBinder;
 import com.radixdlt.atommodel.system.SystemParticle;
 import com.radixdlt.atomos.Result;
 import com.radixdlt.constraintmachine.ConstraintMachine;
@@ -31,12 +33,15 @@ import com.radixdlt.engine.BatchVerifier;
 import com.radixdlt.engine.RadixEngine;
 import com.radixdlt.engine.StateReducer;
 import com.radixdlt.engine.SubstateCacheRegister;
+import com.radixdlt.consensus.LedgerProof;
+import com.radixdlt.sync.CommittedReader;
 import com.radixdlt.store.EngineStore;
 import com.radixdlt.utils.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Module which manages execution of commands
@@ -52,6 +57,10 @@ public class RadixEngineModule extends AbstractModule {
 		Multibinder.newSetBinder(binder(), new TypeLiteral<Pair<String, StateReducer<?, ?>>>() { });
 		Multibinder.newSetBinder(binder(), PostParsedChecker.class);
 		Multibinder.newSetBinder(binder(), new TypeLiteral<SubstateCacheRegister<?>>() { });
+
+		// Verify on the calling thread unless configured otherwise
+		OptionalBinder.newOptionalBinder(binder(), Key.get(Integer.class, VerificationThreads.class))
+			.setDefault().toInstance(1);
 	}
 
 	@Provides
@@ -85,13 +94,35 @@ public class RadixEngineModule extends AbstractModule {
 		BatchVerifier<LedgerAndBFTProof> batchVerifier,
 		Set<StateReducer<?, ?>> stateReducers,
 		Set<Pair<String, StateReducer<?, ?>>> namedStateReducers,
-		Set<SubstateCacheRegister<?>> substateCacheRegisters
+		Set<SubstateCacheRegister<?>> substateCacheRegisters,
+		@VerificationThreads int verificationThreads,
+		CommittedReader committedReader
 	) {
+		final ForkJoinPool verificationPool;
+		if (verificationThreads > 1) {
+			logger.info("RE - Verifying transaction batches with {} threads", verificationThreads);
+			verificationPool = new ForkJoinPool(
+				verificationThreads,
+				pool -> {
+					var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+					thread.setName("RadixEngineVerifier-" + thread.getPoolIndex());
+					return thread;
+				},
+				null,
+				false
+			);
+		} else {
+			verificationPool = null;
+		}
+
 		var radixEngine = new RadixEngine<>(
 			constraintMachine,
 			engineStore,
 			checker,
-			batchVerifier
+			batchVerifier,
+			verificationPool,
+			meta -> meta.getProof().getStateVersion(),
+			committedReader.getLastProof().map(LedgerProof::getStateVersion).orElse(0L)
 		);
 
 		// TODO: Convert to something more like the following:
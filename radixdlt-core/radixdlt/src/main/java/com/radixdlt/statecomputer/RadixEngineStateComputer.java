@@ -19,6 +19,7 @@ package com.radixdlt.statecomputer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
 import com.google.inject.Inject;
 import com.radixdlt.atom.TxBuilderException;
 import com.radixdlt.atom.Txn;
@@ -26,6 +27,7 @@ import com.radixdlt.atom.actions.SystemNextEpoch;
 import com.radixdlt.atom.actions.SystemNextView;
 import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
+import com.radixdlt.consensus.bft.VerifiedVertex;
 import com.radixdlt.consensus.bft.VerifiedVertexStoreState;
 import com.radixdlt.consensus.bft.View;
 import com.radixdlt.constraintmachine.PermissionLevel;
@@ -42,7 +44,6 @@ import com.radixdlt.mempool.MempoolAdd;
 import com.radixdlt.mempool.MempoolAddFailure;
 import com.radixdlt.mempool.MempoolAddSuccess;
 import com.radixdlt.mempool.MempoolDuplicateException;
-import com.radixdlt.mempool.MempoolRejectedException;
 import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.ledger.StateComputerLedger.StateComputer;
 import com.radixdlt.statecomputer.forks.ForkConfig;
@@ -50,7 +51,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
@@ -74,6 +77,11 @@ public final class RadixEngineStateComputer implements StateComputer {
 	private final TreeMap<Long, ForkConfig> epochToForkConfig;
 	private final SystemCounters systemCounters;
 
+	// Branches containing the state after each prepared vertex, keyed by vertex id.
+	// Only valid as long as the underlying engine store remains unchanged and
+	// so are cleared on every commit.
+	private final Map<HashCode, RadixEngineBranch<LedgerAndBFTProof>> vertexBranches = new HashMap<>();
+
 	private View epochCeilingView;
 
 	@Inject
@@ -132,21 +140,22 @@ public final class RadixEngineStateComputer implements StateComputer {
 
 	@Override
 	public void addToMempool(MempoolAdd mempoolAdd, @Nullable BFTNode origin) {
-		mempoolAdd.getTxns().forEach(txn -> {
-			try {
-				mempool.add(txn);
-				systemCounters.set(SystemCounters.CounterType.MEMPOOL_COUNT, mempool.getCount());
-			} catch (MempoolDuplicateException e) {
+		var added = mempool.addAll(mempoolAdd.getTxns(), (txn, e) -> {
+			if (e instanceof MempoolDuplicateException) {
 				// Idempotent commands
 				log.trace("Mempool duplicate txn: {} origin: {}", txn, origin);
 				return;
-			} catch (MempoolRejectedException e) {
-				var failure = MempoolAddFailure.create(txn, e, origin);
-				mempoolAddFailureEventDispatcher.dispatch(failure);
-				mempoolAdd.onFailure(e); // Required for blocking web apis
-				return;
 			}
 
+			var failure = MempoolAddFailure.create(txn, e, origin);
+			mempoolAddFailureEventDispatcher.dispatch(failure);
+			mempoolAdd.onFailure(e); // Required for blocking web apis
+		});
+
+		if (!added.isEmpty()) {
+			systemCounters.set(SystemCounters.CounterType.MEMPOOL_COUNT, mempool.getCount());
+		}
+		added.forEach(txn -> {
 			var success = MempoolAddSuccess.create(txn, origin);
 			mempoolAdd.onSuccess(success); // Required for blocking web apis
 			mempoolAddSuccessEventDispatcher.dispatch(success);
@@ -229,8 +238,14 @@ public final class RadixEngineStateComputer implements StateComputer {
 		});
 	}
 
-	@Override
-	public StateComputerResult prepare(List<PreparedTxn> previous, List<Txn> next, long epoch, View view, long timestamp) {
+	private RadixEngineBranch<LedgerAndBFTProof> branchFromParent(List<PreparedTxn> previous, VerifiedVertex vertex) {
+		var parentBranch = vertexBranches.get(vertex.getParentId());
+		if (parentBranch != null) {
+			systemCounters.increment(SystemCounters.CounterType.RADIX_ENGINE_PREPARE_BRANCH_CACHE_HITS);
+			return parentBranch.transientBranch();
+		}
+
+		systemCounters.increment(SystemCounters.CounterType.RADIX_ENGINE_PREPARE_BRANCH_CACHE_MISSES);
 		var transientBranch = this.radixEngine.transientBranch();
 		for (PreparedTxn command : previous) {
 			// TODO: fix this cast with generics. Currently the fix would become a bit too messy
@@ -245,35 +260,60 @@ public final class RadixEngineStateComputer implements StateComputer {
 					+ radixEngineCommand.transaction.getTxn().getId(), e);
 			}
 		}
+		return transientBranch;
+	}
+
+	@Override
+	public StateComputerResult prepare(List<PreparedTxn> previous, VerifiedVertex vertex, long timestamp) {
+		final var epoch = vertex.getParentHeader().getLedgerHeader().getEpoch();
+		final var view = vertex.getView();
+		var transientBranch = branchFromParent(previous, vertex);
 
 		final ImmutableList.Builder<PreparedTxn> successBuilder = ImmutableList.builder();
 		final ImmutableMap.Builder<Txn, Exception> exceptionBuilder = ImmutableMap.builder();
 		final BFTValidatorSet validatorSet = this.executeSystemUpdate(transientBranch, epoch, view, timestamp, successBuilder);
 		// Don't execute command if changing epochs
 		if (validatorSet == null) {
-			this.executeUserCommands(transientBranch, next, successBuilder, exceptionBuilder);
+			this.executeUserCommands(transientBranch, vertex.getTxns(), successBuilder, exceptionBuilder);
 		}
 		this.radixEngine.deleteBranches();
 
+		// Children of this vertex can continue on from this branch rather than re-executing
+		vertexBranches.put(vertex.getId(), transientBranch);
+
 		return new StateComputerResult(successBuilder.build(), exceptionBuilder.build(), validatorSet);
 	}
 
 	private List<REParsedTxn> commitInternal(
-		VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState
+		VerifiedTxnsAndProof verifiedTxnsAndProof,
+		List<PreparedTxn> preparedTxns,
+		VerifiedVertexStoreState vertexStoreState
 	) {
 		final var atomsToCommit = verifiedTxnsAndProof.getTxns();
 		var proof = verifiedTxnsAndProof.getProof();
+
+		// Prepared branches are built on top of the current store state, which is about to change
+		vertexBranches.clear();
 		var ledgerAndBFTProof = LedgerAndBFTProof.create(proof, vertexStoreState);
 
 		final List<REParsedTxn> radixEngineTxns;
-		try {
-			radixEngineTxns = this.radixEngine.execute(
-				atomsToCommit,
-				ledgerAndBFTProof,
-				PermissionLevel.SUPER_USER
-			);
-		} catch (RadixEngineException e) {
-			throw new ByzantineQuorumException(String.format("Trying to commit bad atoms:\n%s", atomsToCommit), e);
+		if (preparedTxns != null) {
+			// Already verified by this node when preparing so no need to verify again
+			var parsedTxns = preparedTxns.stream()
+				.map(p -> ((RadixEngineTxn) p).transaction)
+				.collect(Collectors.toList());
+			radixEngineTxns = this.radixEngine.executeVerified(parsedTxns, ledgerAndBFTProof);
+			systemCounters.add(SystemCounters.CounterType.RADIX_ENGINE_PREVERIFIED_COMMITTED_TRANSACTIONS, parsedTxns.size());
+		} else {
+			try {
+				radixEngineTxns = this.radixEngine.execute(
+					atomsToCommit,
+					ledgerAndBFTProof,
+					PermissionLevel.SUPER_USER
+				);
+			} catch (RadixEngineException e) {
+				throw new ByzantineQuorumException(String.format("Trying to commit bad atoms:\n%s", atomsToCommit), e);
+			}
 		}
 
 		// Next epoch
@@ -298,8 +338,12 @@ public final class RadixEngineStateComputer implements StateComputer {
 	}
 
 	@Override
-	public void commit(VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState) {
-		var txCommitted = commitInternal(verifiedTxnsAndProof, vertexStoreState);
+	public void commit(
+		VerifiedTxnsAndProof verifiedTxnsAndProof,
+		List<PreparedTxn> preparedTxns,
+		VerifiedVertexStoreState vertexStoreState
+	) {
+		var txCommitted = commitInternal(verifiedTxnsAndProof, preparedTxns, vertexStoreState);
 
 		// TODO: refactor mempool to be less generic and make this more efficient
 		// TODO: Move this into engine
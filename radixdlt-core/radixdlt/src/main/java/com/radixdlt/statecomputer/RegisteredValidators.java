@@ -17,9 +17,10 @@
 
 package com.radixdlt.statecomputer;
 
-import com.google.common.collect.ImmutableSet;
 import com.radixdlt.atommodel.validators.ValidatorParticle;
 import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.utils.PersistentHashMap;
+import com.radixdlt.utils.PersistentHashSet;
 
 import java.util.List;
 import java.util.Objects;
@@ -28,42 +29,54 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Wrapper class for registered validators
+ * Wrapper class for registered validators.
+ * Backed by a persistent set so that updates do not copy all validators,
+ * and indexed by validator key.
  */
 public final class RegisteredValidators {
-    private final Set<ValidatorParticle> validatorParticles;
+    private final PersistentHashSet<ValidatorParticle> validatorParticles;
+    private final PersistentHashMap<ECPublicKey, ValidatorParticle> validatorsByKey;
 
-    private RegisteredValidators(Set<ValidatorParticle> validatorParticles) {
+    private RegisteredValidators(
+        PersistentHashSet<ValidatorParticle> validatorParticles,
+        PersistentHashMap<ECPublicKey, ValidatorParticle> validatorsByKey
+    ) {
         this.validatorParticles = validatorParticles;
+        this.validatorsByKey = validatorsByKey;
     }
 
     public static RegisteredValidators create() {
-        return new RegisteredValidators(Set.of());
+        return new RegisteredValidators(PersistentHashSet.empty(), PersistentHashMap.empty());
     }
 
     public RegisteredValidators add(ValidatorParticle particle) {
-        var map = ImmutableSet.<ValidatorParticle>builder()
-            .addAll(validatorParticles)
-            .add(particle)
-            .build();
-
-        return new RegisteredValidators(map);
+        return new RegisteredValidators(
+            validatorParticles.with(particle),
+            validatorsByKey.with(particle.getKey(), particle)
+        );
     }
 
     public RegisteredValidators remove(ValidatorParticle particle) {
-        return new RegisteredValidators(
-            validatorParticles.stream()
-                .filter(e -> !e.equals(particle))
-                .collect(Collectors.toSet())
-        );
+        // The particle replacing this one may already have been added
+        var byKey = particle.equals(validatorsByKey.get(particle.getKey()))
+            ? validatorsByKey.without(particle.getKey())
+            : validatorsByKey;
+        return new RegisteredValidators(validatorParticles.without(particle), byKey);
+    }
+
+    public boolean contains(ECPublicKey validatorKey) {
+        return validatorsByKey.containsKey(validatorKey);
+    }
+
+    public Stream<ECPublicKey> keys() {
+        return validatorsByKey.keySet().stream();
     }
 
     public Set<ECPublicKey> toSet() {
-    	return validatorParticles.stream()
-            .map(ValidatorParticle::getKey)
-            .collect(Collectors.toSet());
+        return validatorsByKey.keySet();
     }
 
     public <T> List<T> map(BiFunction<ECPublicKey, ValidatorDetails, T> mapper) {
@@ -74,9 +87,7 @@ public final class RegisteredValidators {
     }
 
     public <T> Optional<T> mapSingle(ECPublicKey validatorKey, Function<ValidatorDetails, T> mapper) {
-        return validatorParticles.stream()
-            .filter(p -> p.getKey().equals(validatorKey))
-            .findFirst()
+        return Optional.ofNullable(validatorsByKey.get(validatorKey))
             .map(ValidatorDetails::fromParticle)
             .map(mapper);
     }
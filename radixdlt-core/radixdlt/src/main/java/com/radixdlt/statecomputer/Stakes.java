@@ -17,31 +17,52 @@
 
 package com.radixdlt.statecomputer;
 
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.utils.PersistentHashMap;
+import com.radixdlt.utils.PersistentSortedSet;
 import com.radixdlt.utils.UInt256;
 
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Wrapper class for amount staked per node
+ * Wrapper class for amount staked per node.
+ * Backed by a persistent map so that updates do not copy all stakes, and
+ * a persistent tree ranking the stakes so that the largest can be found
+ * without sorting all stakes.
  */
 public final class Stakes {
-	private final ImmutableMap<ECPublicKey, UInt256> stakedAmounts;
-
-	private Stakes(ImmutableMap<ECPublicKey, UInt256> stakedAmounts) {
+	/**
+	 * Descending order of stake, with ties in ascending order of key EUID.
+	 */
+	static final Comparator<Map.Entry<ECPublicKey, UInt256>> stakeOrdering =
+		Map.Entry.<ECPublicKey, UInt256>comparingByValue(Comparator.reverseOrder())
+			.thenComparing(Map.Entry.comparingByKey(Comparator.comparing(ECPublicKey::euid)));
+
+	private final PersistentHashMap<ECPublicKey, UInt256> stakedAmounts;
+	private final PersistentSortedSet<Map.Entry<ECPublicKey, UInt256>> ranking;
+
+	private Stakes(
+		PersistentHashMap<ECPublicKey, UInt256> stakedAmounts,
+		PersistentSortedSet<Map.Entry<ECPublicKey, UInt256>> ranking
+	) {
 		this.stakedAmounts = stakedAmounts;
+		this.ranking = ranking;
 	}
 
 	public static Stakes create() {
-		return new Stakes(ImmutableMap.of());
+		return new Stakes(PersistentHashMap.empty(), PersistentSortedSet.empty(stakeOrdering));
 	}
 
-	public ImmutableMap<ECPublicKey, UInt256> toMap() {
+	public Map<ECPublicKey, UInt256> toMap() {
 		return stakedAmounts;
 	}
 
@@ -49,18 +70,50 @@ public final class Stakes {
 		return Optional.ofNullable(stakedAmounts.get(key));
 	}
 
+	/**
+	 * Returns all stakes in descending order of stake, with ties in ascending order of key EUID.
+	 */
+	public Stream<Map.Entry<ECPublicKey, UInt256>> ranked() {
+		return stream(ranking.iterator());
+	}
+
+	/**
+	 * Returns the stakes ranked after the stake of the given key, in the order of {@link #ranked()}.
+	 * Returns an empty stream if the key has no stake.
+	 */
+	public Stream<Map.Entry<ECPublicKey, UInt256>> rankedAfter(ECPublicKey key) {
+		return getStake(key)
+			.map(amount -> stream(ranking.iteratorAfter(entry(key, amount))))
+			.orElseGet(Stream::empty);
+	}
+
+	private static Stream<Map.Entry<ECPublicKey, UInt256>> stream(Iterator<Map.Entry<ECPublicKey, UInt256>> iterator) {
+		return StreamSupport.stream(
+			Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+			false
+		);
+	}
+
+	private static Map.Entry<ECPublicKey, UInt256> entry(ECPublicKey key, UInt256 amount) {
+		return new AbstractMap.SimpleImmutableEntry<>(key, amount);
+	}
+
+	private Stakes update(ECPublicKey key, UInt256 oldAmount, UInt256 newAmount) {
+		var nextRanking = oldAmount == null ? ranking : ranking.without(entry(key, oldAmount));
+		if (newAmount == null) {
+			return new Stakes(stakedAmounts.without(key), nextRanking);
+		}
+		return new Stakes(stakedAmounts.with(key, newAmount), nextRanking.with(entry(key, newAmount)));
+	}
+
 	public Stakes add(ECPublicKey delegatedKey, UInt256 amount) {
 		if (amount.isZero()) {
 			return this;
 		}
 
-		final var nextAmount = this.stakedAmounts.getOrDefault(delegatedKey, UInt256.ZERO).add(amount);
-		final var nextStakedAmounts = Stream.concat(
-			Stream.of(Maps.immutableEntry(delegatedKey, nextAmount)),
-			this.stakedAmounts.entrySet().stream().filter(e -> !delegatedKey.equals(e.getKey()))
-		).collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
-
-		return new Stakes(nextStakedAmounts);
+		final var oldAmount = this.stakedAmounts.get(delegatedKey);
+		final var nextAmount = oldAmount == null ? amount : oldAmount.add(amount);
+		return update(delegatedKey, oldAmount, nextAmount);
 	}
 
 	public Stakes remove(ECPublicKey delegatedKey, UInt256 amount) {
@@ -77,23 +130,15 @@ public final class Stakes {
 
 		if (comparison == 0) {
 			// remove stake
-			final var nextStakedAmounts = this.stakedAmounts.entrySet().stream()
-				.filter(e -> !delegatedKey.equals(e.getKey()))
-				.collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
-			return new Stakes(nextStakedAmounts);
+			return update(delegatedKey, oldAmount, null);
 		} else if (comparison < 0) {
 			// reduce stake
 			final var nextAmount = oldAmount.subtract(amount);
-			final var nextStakedAmounts = Stream.concat(
-				Stream.of(Maps.immutableEntry(delegatedKey, nextAmount)),
-				this.stakedAmounts.entrySet().stream().filter(e -> !delegatedKey.equals(e.getKey()))
-			).collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
-			return new Stakes(nextStakedAmounts);
+			return update(delegatedKey, oldAmount, nextAmount);
 		} else {
 			throw new IllegalStateException("Removing stake which doesn't exist.");
 		}
 	}
-
 	@Override
 	public int hashCode() {
 		return Objects.hash(stakedAmounts);
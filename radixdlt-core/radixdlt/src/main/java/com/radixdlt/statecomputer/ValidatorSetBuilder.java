@@ -21,9 +21,7 @@ import java.util.Comparator;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.BFTValidator;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
@@ -35,11 +33,7 @@ import com.radixdlt.utils.UInt256;
  * stake and validator computers.
  */
 public final class ValidatorSetBuilder {
-	@VisibleForTesting
-	static final Comparator<ECPublicKey> keyOrdering = Comparator.comparing(ECPublicKey::euid);
-	private static final Comparator<UInt256> stakeOrdering = Comparator.reverseOrder();
-	private static final Comparator<Map.Entry<ECPublicKey, UInt256>> validatorOrdering =
-		Map.Entry.<ECPublicKey, UInt256>comparingByValue(stakeOrdering).thenComparing(Map.Entry.comparingByKey(keyOrdering));
+	private static final Comparator<Map.Entry<ECPublicKey, UInt256>> validatorOrdering = Stakes.stakeOrdering;
 
 	private final int minValidators;
 	private final int maxValidators;
@@ -65,9 +59,18 @@ public final class ValidatorSetBuilder {
 		RegisteredValidators registeredValidators,
 		Stakes stakes
 	) {
-		var stakedAmounts = ImmutableMap.copyOf(Maps.filterKeys(stakes.toMap(), registeredValidators.toSet()::contains));
+		// Stakes are already ranked, so only the top validators need to be visited
+		final var validators = stakes.ranked()
+			.filter(e -> !e.getValue().isZero() && registeredValidators.contains(e.getKey()))
+			.limit(this.maxValidators)
+			.map(e -> BFTValidator.from(BFTNode.create(e.getKey()), e.getValue()))
+			.collect(Collectors.toList());
+
+		if (validators.size() < this.minValidators) {
+			return null;
+		}
 
-		return buildValidatorSet(stakedAmounts);
+		return BFTValidatorSet.from(validators);
 	}
 
 	public BFTValidatorSet buildValidatorSet(
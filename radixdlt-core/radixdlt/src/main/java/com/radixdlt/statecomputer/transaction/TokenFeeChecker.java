@@ -62,7 +62,13 @@ public class TokenFeeChecker implements PostParsedChecker {
 		return Result.success();
 	}
 
-	private UInt256 computeFeePaid(REParsedTxn radixEngineTxn) {
+	/**
+	 * Computes the fee paid by a transaction, i.e. the amount of native token burnt.
+	 *
+	 * @param radixEngineTxn the parsed transaction
+	 * @return the fee paid
+	 */
+	public static UInt256 computeFeePaid(REParsedTxn radixEngineTxn) {
 		return radixEngineTxn.getActions()
 			.stream()
 			.map(REParsedAction::getTxAction)
@@ -41,4 +41,16 @@ public final class DatabasePropertiesModule extends AbstractModule {
         cacheSize = Math.min(cacheSize, maxCacheSize);
         return cacheSize;
     }
+
+    @Provides
+    StoreConfig storeConfig(RuntimeProperties properties) {
+        var txnLogArchivePath = properties.get("db.txn_log.archive_location", "");
+        return new StoreConfig(
+            1000,
+            StoreConfig.DEFAULT_TXN_LOG_SEGMENT_SIZE,
+            StoreConfig.DEFAULT_SUBSTATE_CACHE_SIZE,
+            txnLogArchivePath.isBlank() ? null : txnLogArchivePath,
+            properties.get("db.txn_log.retained_segments", StoreConfig.DEFAULT_RETAINED_TXN_LOG_SEGMENTS)
+        );
+    }
 }
@@ -56,11 +56,6 @@ public class PersistenceModule extends AbstractModule {
 		return store.loadLastVertexStoreState();
 	}
 
-	@Provides
-	StoreConfig storeConfig() {
-		return new StoreConfig(1000);
-	}
-
 	@ProvidesIntoSet
 	@ProcessOnDispatch
 	public EventProcessor<BFTHighQCUpdate> persistQC(
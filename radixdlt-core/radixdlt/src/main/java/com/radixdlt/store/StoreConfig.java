@@ -18,19 +18,88 @@
 
 package com.radixdlt.store;
 
+import java.util.Optional;
+
 /**
  * Specifies high level configuration options for persistent storage
  */
 public final class StoreConfig {
+	public static final long DEFAULT_TXN_LOG_SEGMENT_SIZE = 1L << 30;
+	public static final long DEFAULT_SUBSTATE_CACHE_SIZE = 64L << 20;
+	public static final int DEFAULT_RETAINED_TXN_LOG_SEGMENTS = 4;
+
 	private final int minimumProofBlockSize;
+	private final long txnLogSegmentSize;
+	private final long substateCacheSize;
+	private final String txnLogArchivePath;
+	private final int retainedTxnLogSegments;
+
 	public StoreConfig(int minimumProofBlockSize) {
+		this(minimumProofBlockSize, DEFAULT_TXN_LOG_SEGMENT_SIZE);
+	}
+
+	public StoreConfig(int minimumProofBlockSize, long txnLogSegmentSize) {
+		this(minimumProofBlockSize, txnLogSegmentSize, DEFAULT_SUBSTATE_CACHE_SIZE);
+	}
+
+	public StoreConfig(int minimumProofBlockSize, long txnLogSegmentSize, long substateCacheSize) {
+		this(minimumProofBlockSize, txnLogSegmentSize, substateCacheSize, null, DEFAULT_RETAINED_TXN_LOG_SEGMENTS);
+	}
+
+	public StoreConfig(
+		int minimumProofBlockSize,
+		long txnLogSegmentSize,
+		long substateCacheSize,
+		String txnLogArchivePath,
+		int retainedTxnLogSegments
+	) {
 		if (minimumProofBlockSize < 1) {
 			throw new IllegalArgumentException("Proof block size must be >= 1.");
 		}
+		if (txnLogSegmentSize < 1) {
+			throw new IllegalArgumentException("Transaction log segment size must be >= 1.");
+		}
+		if (substateCacheSize < 0) {
+			throw new IllegalArgumentException("Substate cache size must be >= 0.");
+		}
+		if (retainedTxnLogSegments < 0) {
+			throw new IllegalArgumentException("Retained transaction log segments must be >= 0.");
+		}
 		this.minimumProofBlockSize = minimumProofBlockSize;
+		this.txnLogSegmentSize = txnLogSegmentSize;
+		this.substateCacheSize = substateCacheSize;
+		this.txnLogArchivePath = txnLogArchivePath;
+		this.retainedTxnLogSegments = retainedTxnLogSegments;
 	}
 
 	public int getMinimumProofBlockSize() {
 		return minimumProofBlockSize;
 	}
+
+	public long getTxnLogSegmentSize() {
+		return txnLogSegmentSize;
+	}
+
+	/**
+	 * Maximal total size in bytes of up substates cached in front of the substate database,
+	 * zero if substates should not be cached.
+	 */
+	public long getSubstateCacheSize() {
+		return substateCacheSize;
+	}
+
+	/**
+	 * Directory into which sealed transaction log segments are moved on startup, empty if
+	 * segments should not be archived.
+	 */
+	public Optional<String> getTxnLogArchivePath() {
+		return Optional.ofNullable(txnLogArchivePath);
+	}
+
+	/**
+	 * Number of most recent sealed transaction log segments which are not archived.
+	 */
+	public int getRetainedTxnLogSegments() {
+		return retainedTxnLogSegments;
+	}
 }
@@ -35,6 +35,7 @@ import com.radixdlt.consensus.bft.PersistentVertexStore;
 import com.radixdlt.consensus.bft.VerifiedVertexStoreState;
 import com.radixdlt.constraintmachine.Particle;
 import com.radixdlt.constraintmachine.REParsedInstruction;
+import com.radixdlt.constraintmachine.REParsedTxn;
 import com.radixdlt.constraintmachine.Spin;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.counters.SystemCounters.CounterType;
@@ -53,6 +54,7 @@ import com.radixdlt.store.TxnIndex;
 import com.radixdlt.store.berkeley.atom.AppendLog;
 import com.radixdlt.sync.CommittedReader;
 import com.radixdlt.utils.Longs;
+import com.radixdlt.utils.Pair;
 import com.sleepycat.je.Cursor;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
@@ -61,10 +63,13 @@ import com.sleepycat.je.OperationStatus;
 import com.sleepycat.je.SecondaryConfig;
 import com.sleepycat.je.SecondaryCursor;
 import com.sleepycat.je.SecondaryDatabase;
+import io.netty.buffer.PooledByteBufAllocator;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -100,6 +105,7 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 	private final DatabaseEnvironment dbEnv;
 	private final SystemCounters systemCounters;
 	private final StoreConfig storeConfig;
+	private final SubstateCache substateCache;
 
 	private Database atomDatabase; // Atoms by primary keys (state version, no prefixes); Append-only
 
@@ -128,6 +134,11 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 		this.dbEnv = Objects.requireNonNull(dbEnv);
 		this.systemCounters = Objects.requireNonNull(systemCounters);
 		this.storeConfig = storeConfig;
+		this.substateCache = new SubstateCache(
+			PooledByteBufAllocator.DEFAULT,
+			storeConfig.getSubstateCacheSize(),
+			systemCounters
+		);
 
 		this.open();
 	}
@@ -149,6 +160,8 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 		if (atomLog != null) {
 			atomLog.close();
 		}
+
+		substateCache.clear();
 	}
 
 	@Override
@@ -182,7 +195,8 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 	@Override
 	public Transaction createTransaction() {
 		return withTime(
-			() -> wrap(beginTransaction()),
+			// Substates read within the transaction may have been cached
+			() -> wrap(beginTransaction(), substateCache::clear),
 			CounterType.ELAPSED_BDB_LEDGER_CREATE_TX,
 			CounterType.COUNT_BDB_LEDGER_CREATE_TX
 		);
@@ -190,7 +204,26 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 
 	@Override
 	public void storeTxn(Transaction dbTxn, Txn txn, List<REParsedInstruction> stateUpdates) {
-		withTime(() -> doStore(unwrap(dbTxn), txn, stateUpdates), CounterType.ELAPSED_BDB_LEDGER_STORE, CounterType.COUNT_BDB_LEDGER_STORE);
+		withTime(
+			() -> doStore(unwrap(dbTxn), List.of(txn), stateUpdates),
+			CounterType.ELAPSED_BDB_LEDGER_STORE,
+			CounterType.COUNT_BDB_LEDGER_STORE
+		);
+	}
+
+	@Override
+	public void storeTxns(Transaction dbTxn, List<REParsedTxn> parsedTxns) {
+		var txns = new ArrayList<Txn>(parsedTxns.size());
+		var stateUpdates = new ArrayList<REParsedInstruction>();
+		for (var parsedTxn : parsedTxns) {
+			txns.add(parsedTxn.getTxn());
+			stateUpdates.addAll(parsedTxn.stateUpdates());
+		}
+		withTime(
+			() -> doStore(unwrap(dbTxn), txns, stateUpdates),
+			CounterType.ELAPSED_BDB_LEDGER_STORE,
+			CounterType.COUNT_BDB_LEDGER_STORE
+		);
 	}
 
 	@Override
@@ -302,18 +335,57 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 			vertexStoreDatabase = env.openDatabase(null, VERTEX_STORE_DB_NAME, pendingConfig);
 			epochProofDatabase = env.openSecondaryDatabase(null, EPOCH_PROOF_DB_NAME, proofDatabase, buildEpochProofConfig());
 
-			atomLog = AppendLog.openCompressed(new File(env.getHome(), ATOM_LOG).getAbsolutePath(), systemCounters);
+			atomLog = AppendLog.openCompressed(openSegmentedAtomLog(env.getHome()), systemCounters);
 		} catch (Exception e) {
 			throw new BerkeleyStoreException("Error while opening databases", e);
 		}
 
 		if (System.getProperty("db.check_integrity", "1").equals("1")) {
-			// TODO implement integrity check
-			// TODO perhaps we should implement recovery instead?
+			recoverAtomLog();
 			// TODO recovering should be integrated with recovering of ClientApiStore
 		}
 	}
 
+	private AppendLog openSegmentedAtomLog(File home) throws IOException {
+		var archivePath = storeConfig.getTxnLogArchivePath();
+		var segmentedLog = AppendLog.openMapped(
+			new File(home, ATOM_LOG).getAbsolutePath(),
+			archivePath.orElse(null),
+			storeConfig.getTxnLogSegmentSize()
+		);
+
+		if (archivePath.isPresent()) {
+			var archived = segmentedLog.archiveSegments(storeConfig.getRetainedTxnLogSegments());
+			log.info("Archived {} atom log segments into {}", archived, archivePath.get());
+		}
+		return segmentedLog;
+	}
+
+	/**
+	 * Atom data is written to the log before atom indices are committed, so after a crash the log
+	 * may contain chunks which are not referenced by any index. Truncate them, so the log ends at
+	 * the last committed atom.
+	 */
+	private void recoverAtomLog() {
+		try (var atomCursor = atomDatabase.openCursor(null, null)) {
+			var key = entry();
+			var value = entry();
+			var status = atomCursor.getLast(key, value, DEFAULT);
+			var end = 0L;
+			if (status == SUCCESS) {
+				var offset = fromByteArray(value.getData());
+				end = offset + Integer.BYTES + atomLog.readChunk(offset).getSecond();
+			}
+
+			if (atomLog.position() != end) {
+				log.warn("Truncating atom log from {} to last committed atom at {}", atomLog.position(), end);
+				atomLog.truncate(end);
+			}
+		} catch (IOException e) {
+			throw new BerkeleyStoreException("Unable to recover atom log", e);
+		}
+	}
+
 	private SecondaryConfig buildUpParticleConfig() {
 		return (SecondaryConfig) new SecondaryConfig()
 			.setKeyCreator(
@@ -540,25 +612,14 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 		return v;
 	}
 
-	private void upParticle(
+	private void downSubstate(
 		com.sleepycat.je.Transaction txn,
-		ByteBuffer bytes,
-		SubstateId substateId
+		SubstateId substateId,
+		DatabaseEntry key,
+		DatabaseEntry downedParticle
 	) {
-		byte[] particleKey = substateId.asBytes();
-		var value = new DatabaseEntry(bytes.array(), bytes.position(), bytes.remaining());
-		particleDatabase.putNoOverwrite(txn, entry(particleKey), value);
-	}
-
-	private void downVirtualSubstate(com.sleepycat.je.Transaction txn, SubstateId substateId) {
-		var particleKey = substateId.asBytes();
-		particleDatabase.put(txn, entry(particleKey), downEntry());
-	}
-
-	private void downSubstate(com.sleepycat.je.Transaction txn, SubstateId substateId) {
 		// TODO: check for up Particle state
-		final var downedParticle = entry();
-		var status = particleDatabase.get(txn, entry(substateId.asBytes()), downedParticle, DEFAULT);
+		var status = particleDatabase.get(txn, key, downedParticle, DEFAULT);
 		if (status != SUCCESS) {
 			throw new IllegalStateException("Downing particle does not exist " + substateId);
 		}
@@ -567,7 +628,7 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 			throw new IllegalStateException("Particle was already spun down: " + substateId);
 		}
 
-		particleDatabase.delete(txn, entry(substateId.asBytes()));
+		particleDatabase.delete(txn, key);
 	}
 
 	private DatabaseEntry downEntry() {
@@ -590,71 +651,116 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 		}
 	}
 
-	private void updateParticle(com.sleepycat.je.Transaction txn, REParsedInstruction inst) {
+	private void updateParticle(
+		com.sleepycat.je.Transaction txn,
+		byte[] particleKey,
+		REParsedInstruction inst,
+		DatabaseEntry key,
+		DatabaseEntry value
+	) {
+		substateCache.invalidate(inst.getSubstate().getId());
+		key.setData(particleKey);
 		if (inst.isBootUp()) {
 			var buf = inst.getInstruction().getDataByteBuffer();
-			upParticle(txn, buf, inst.getSubstate().getId());
-
-			if (inst.getParticle() instanceof TokenDefinitionParticle) {
-				var p = (TokenDefinitionParticle) inst.getParticle();
-				var addr = p.getAddr();
-				var buf2 = inst.getInstruction().getDataByteBuffer();
-				var value = new DatabaseEntry(buf2.array(), buf2.position(), buf2.remaining());
-				addrDatabase.putNoOverwrite(txn, new DatabaseEntry(addr.getBytes()), value);
-			} else if (inst.getParticle() instanceof SystemParticle) {
-				var buf2 = inst.getInstruction().getDataByteBuffer();
-				var value = new DatabaseEntry(buf2.array(), buf2.position(), buf2.remaining());
-				addrDatabase.put(txn, new DatabaseEntry(REAddr.ofSystem().getBytes()), value);
-			}
+			value.setData(buf.array(), buf.position(), buf.remaining());
+			particleDatabase.putNoOverwrite(txn, key, value);
 		} else if (inst.isShutDown()) {
 			if (inst.getSubstate().getId().isVirtual()) {
-				downVirtualSubstate(txn, inst.getSubstate().getId());
+				particleDatabase.put(txn, key, downEntry());
 			} else {
-				downSubstate(txn, inst.getSubstate().getId());
+				downSubstate(txn, inst.getSubstate().getId(), key, value);
 			}
 		} else {
 			throw new IllegalStateException("Must bootup or shutdown to update particle.");
 		}
 	}
 
+	private void updateAddr(
+		com.sleepycat.je.Transaction txn,
+		REParsedInstruction inst,
+		DatabaseEntry key,
+		DatabaseEntry value
+	) {
+		if (inst.getParticle() instanceof TokenDefinitionParticle) {
+			var p = (TokenDefinitionParticle) inst.getParticle();
+			key.setData(p.getAddr().getBytes());
+			addrDatabase.putNoOverwrite(txn, key, addrEntry(inst, value));
+		} else if (inst.getParticle() instanceof SystemParticle) {
+			key.setData(REAddr.ofSystem().getBytes());
+			addrDatabase.put(txn, key, addrEntry(inst, value));
+		}
+	}
+
+	private static DatabaseEntry addrEntry(REParsedInstruction inst, DatabaseEntry value) {
+		var buf = inst.getInstruction().getDataByteBuffer();
+		value.setData(buf.array(), buf.position(), buf.remaining());
+		return value;
+	}
+
 	private void doStore(
 		com.sleepycat.je.Transaction transaction,
-		Txn txn,
+		List<Txn> txns,
 		List<REParsedInstruction> stateUpdates
 	) {
-		final long stateVersion;
+		final long firstStateVersion;
 		try (var cursor = atomDatabase.openCursor(transaction, null)) {
 			var key = entry();
 			var status = cursor.getLast(key, null, DEFAULT);
 			if (status == OperationStatus.NOTFOUND) {
-				stateVersion = 0;
+				firstStateVersion = 0;
 			} else {
-				stateVersion = Longs.fromByteArray(key.getData()) + 1;
+				firstStateVersion = Longs.fromByteArray(key.getData()) + 1;
 			}
 		}
 
 		try {
-			var aid = txn.getId();
 			// Write atom data as soon as possible
-			var offset = atomLog.write(txn.getPayload());
+			var payloads = new ArrayList<byte[]>(txns.size());
+			txns.forEach(txn -> payloads.add(txn.getPayload()));
+			var offsets = atomLog.write(payloads);
+
 			// Store atom indices
-			var pKey = toPKey(stateVersion);
-			var atomPosData = entry(offset, aid);
-			failIfNotSuccess(atomDatabase.putNoOverwrite(transaction, pKey, atomPosData), "Atom write for", aid);
-			addBytesWrite(atomPosData, pKey);
-			var idKey = entry(aid);
-			failIfNotSuccess(atomIdDatabase.put(transaction, idKey, atomPosData), "Atom Id write for", aid);
-			addBytesWrite(atomPosData, idKey);
-
-			systemCounters.increment(CounterType.COUNT_BDB_LEDGER_COMMIT);
-
-			// Update particles
-			stateUpdates.forEach(i -> this.updateParticle(transaction, i));
+			var atomIds = new ArrayList<Pair<AID, DatabaseEntry>>(txns.size());
+			for (int i = 0; i < txns.size(); i++) {
+				var aid = txns.get(i).getId();
+				var pKey = toPKey(firstStateVersion + i);
+				var atomPosData = entry(offsets[i], aid);
+				failIfNotSuccess(atomDatabase.putNoOverwrite(transaction, pKey, atomPosData), "Atom write for", aid);
+				addBytesWrite(atomPosData, pKey);
+				atomIds.add(Pair.of(aid, atomPosData));
+			}
+
+			// Ids are random, so store them in key order for better B-tree locality
+			atomIds.sort(Comparator.comparing(p -> p.getFirst().getBytes(), lexicographicalComparator()));
+			for (var atomId : atomIds) {
+				var idKey = entry(atomId.getFirst());
+				var atomPosData = atomId.getSecond();
+				failIfNotSuccess(atomIdDatabase.put(transaction, idKey, atomPosData), "Atom Id write for", atomId.getFirst());
+				addBytesWrite(atomPosData, idKey);
+			}
+
+			systemCounters.add(CounterType.COUNT_BDB_LEDGER_COMMIT, txns.size());
+
+			// Update particles in key order. The sort is stable, so updates of a substate
+			// which is created and spent within the batch remain in order.
+			var updates = new ArrayList<Pair<byte[], REParsedInstruction>>(stateUpdates.size());
+			stateUpdates.forEach(i -> updates.add(Pair.of(i.getSubstate().getId().asBytes(), i)));
+			updates.sort(Comparator.comparing(Pair::getFirst, lexicographicalComparator()));
+
+			var key = entry();
+			var value = entry();
+			updates.forEach(u -> updateParticle(transaction, u.getFirst(), u.getSecond(), key, value));
+
+			// Addr entries are overwritten by later updates, so these are applied in txn order
+			stateUpdates.stream()
+				.filter(REParsedInstruction::isBootUp)
+				.forEach(i -> updateAddr(transaction, i, key, value));
 		} catch (Exception e) {
 			if (transaction != null) {
 				transaction.abort();
+				substateCache.clear();
 			}
-			throw new BerkeleyStoreException("Unable to store atom:\n" + txn, e);
+			throw new BerkeleyStoreException("Unable to store atoms:\n" + txns, e);
 		}
 	}
 
@@ -742,6 +848,12 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 
 	@Override
 	public Optional<Particle> loadUpParticle(Transaction tx, SubstateId substateId) {
+		var cached = substateCache.get(substateId);
+		if (cached.isPresent()) {
+			return entryToUpParticle(entry(cached.get()));
+		}
+
+		var generation = substateCache.generation();
 		var key = entry(substateId.asBytes());
 		var value = entry();
 		var status = particleDatabase.get(unwrap(tx), key, value, DEFAULT);
@@ -749,6 +861,9 @@ public final class BerkeleyLedgerEntryStore implements EngineStore<LedgerAndBFTP
 			return Optional.empty();
 		}
 
+		if (entryToSpin(value) == Spin.UP) {
+			substateCache.put(substateId, value.getData(), generation);
+		}
 		return entryToUpParticle(value);
 	}
 
@@ -24,13 +24,22 @@ import com.radixdlt.store.CMStore.Transaction;
  */
 final class BerkeleyTransaction implements Transaction {
 	private final com.sleepycat.je.Transaction transaction;
+	private final Runnable onAbort;
 
-	private BerkeleyTransaction(com.sleepycat.je.Transaction transaction) {
+	private BerkeleyTransaction(com.sleepycat.je.Transaction transaction, Runnable onAbort) {
 		this.transaction = transaction;
+		this.onAbort = onAbort;
 	}
 
 	public static Transaction wrap(com.sleepycat.je.Transaction transaction) {
-		return new BerkeleyTransaction(transaction);
+		return wrap(transaction, () -> { });
+	}
+
+	/**
+	 * Wraps a transaction, running given action after it has been aborted.
+	 */
+	public static Transaction wrap(com.sleepycat.je.Transaction transaction, Runnable onAbort) {
+		return new BerkeleyTransaction(transaction, onAbort);
 	}
 
 	@Override
@@ -40,7 +49,11 @@ final class BerkeleyTransaction implements Transaction {
 
 	@Override
 	public void abort() {
-		transaction.abort();
+		try {
+			transaction.abort();
+		} finally {
+			onAbort.run();
+		}
 	}
 
 	@Override
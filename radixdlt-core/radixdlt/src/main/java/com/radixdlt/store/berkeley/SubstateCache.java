@@ -0,0 +1,148 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.store.berkeley;
+
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * Size bounded cache of serialized up substates by substate id. Substate bytes are kept in
+ * pooled direct buffers outside of the heap, least recently used substates are evicted first.
+ * <p>
+ * Substates must be invalidated whenever they are written. As a substate read from the database
+ * may be written concurrently before it is added to the cache, it is only added if nothing has been
+ * invalidated since the read started, see {@link #generation()}.
+ */
+final class SubstateCache {
+	private final Object lock = new Object();
+	private final LinkedHashMap<SubstateId, ByteBuf> substates = new LinkedHashMap<>(16, 0.75f, true);
+	private final ByteBufAllocator allocator;
+	private final long maxSize;
+	private final SystemCounters counters;
+	private long size;
+	private long generation;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param allocator allocator for substate buffers
+	 * @param maxSize maximal total size of cached substates in bytes, zero to disable caching
+	 * @param counters system counters to use
+	 */
+	SubstateCache(ByteBufAllocator allocator, long maxSize, SystemCounters counters) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Invalid cache size: " + maxSize);
+		}
+		this.allocator = Objects.requireNonNull(allocator);
+		this.maxSize = maxSize;
+		this.counters = Objects.requireNonNull(counters);
+	}
+
+	/**
+	 * Returns the current generation of the cache, which changes whenever a substate is invalidated.
+	 * Must be obtained before reading the substate which is later passed to {@link #put}.
+	 */
+	long generation() {
+		synchronized (lock) {
+			return generation;
+		}
+	}
+
+	Optional<byte[]> get(SubstateId substateId) {
+		synchronized (lock) {
+			var buf = substates.get(substateId);
+			if (buf == null) {
+				counters.increment(CounterType.COUNT_BDB_LEDGER_SUBSTATE_CACHE_MISSES);
+				return Optional.empty();
+			}
+
+			counters.increment(CounterType.COUNT_BDB_LEDGER_SUBSTATE_CACHE_HITS);
+			var bytes = new byte[buf.readableBytes()];
+			buf.getBytes(buf.readerIndex(), bytes);
+			return Optional.of(bytes);
+		}
+	}
+
+	/**
+	 * Adds a substate read from the database.
+	 *
+	 * @param substateId id of the substate
+	 * @param bytes serialized substate
+	 * @param readGeneration generation of the cache before the substate was read
+	 */
+	void put(SubstateId substateId, byte[] bytes, long readGeneration) {
+		if (bytes.length > maxSize) {
+			return;
+		}
+
+		synchronized (lock) {
+			if (readGeneration != generation || substates.containsKey(substateId)) {
+				return;
+			}
+
+			substates.put(substateId, allocator.directBuffer(bytes.length).writeBytes(bytes));
+			size += bytes.length;
+
+			var iterator = substates.values().iterator();
+			while (size > maxSize) {
+				var evicted = iterator.next();
+				iterator.remove();
+				size -= evicted.readableBytes();
+				evicted.release();
+				counters.increment(CounterType.COUNT_BDB_LEDGER_SUBSTATE_CACHE_EVICTIONS);
+			}
+		}
+	}
+
+	void invalidate(SubstateId substateId) {
+		synchronized (lock) {
+			generation++;
+			var buf = substates.remove(substateId);
+			if (buf != null) {
+				size -= buf.readableBytes();
+				buf.release();
+			}
+		}
+	}
+
+	/**
+	 * Removes all substates, releasing their buffers.
+	 */
+	void clear() {
+		synchronized (lock) {
+			generation++;
+			substates.values().forEach(ByteBuf::release);
+			substates.clear();
+			size = 0;
+		}
+	}
+
+	long size() {
+		synchronized (lock) {
+			return size;
+		}
+	}
+}
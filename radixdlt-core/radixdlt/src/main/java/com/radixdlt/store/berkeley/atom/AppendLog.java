@@ -21,6 +21,8 @@ import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.utils.Pair;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.function.BiConsumer;
 
 /**
@@ -44,6 +46,63 @@ public interface AppendLog {
 		return CompressedAppendLog.open(openSimple(path), counters);
 	}
 
+	/**
+	 * Open compressed R/W append log split into segments of given size, which is read through memory mapped buffers.
+	 *
+	 * @param path log file path
+	 * @param segmentSize maximal size of a single segment file
+	 * @param counters system counters to use
+	 *
+	 * @return append log
+	 *
+	 * @throws IOException
+	 */
+	static AppendLog openCompressed(String path, long segmentSize, SystemCounters counters) throws IOException {
+		return CompressedAppendLog.open(openMapped(path, segmentSize), counters);
+	}
+
+	/**
+	 * Wrap given append log into a log which compresses chunks.
+	 *
+	 * @param delegate log to store compressed chunks in
+	 * @param counters system counters to use
+	 *
+	 * @return append log
+	 */
+	static AppendLog openCompressed(AppendLog delegate, SystemCounters counters) {
+		return CompressedAppendLog.open(delegate, counters);
+	}
+
+	/**
+	 * Open plain R/W append log split into segments of given size, which is read through memory mapped buffers.
+	 *
+	 * @param path log file path
+	 * @param segmentSize maximal size of a single segment file
+	 *
+	 * @return append log
+	 *
+	 * @throws IOException
+	 */
+	static AppendLog openMapped(String path, long segmentSize) throws IOException {
+		return MappedAppendLog.open(path, segmentSize);
+	}
+
+	/**
+	 * Open plain R/W append log split into segments of given size, whose sealed segments may be moved
+	 * into an archive directory with {@link MappedAppendLog#archiveSegments(int)}.
+	 *
+	 * @param path log file path
+	 * @param archivePath directory for archived segments
+	 * @param segmentSize maximal size of a single segment file
+	 *
+	 * @return append log
+	 *
+	 * @throws IOException
+	 */
+	static MappedAppendLog openMapped(String path, String archivePath, long segmentSize) throws IOException {
+		return MappedAppendLog.open(path, archivePath, segmentSize);
+	}
+
 	/**
 	 * Open plain R/W append log.
 	 *
@@ -78,6 +137,21 @@ public interface AppendLog {
 	 */
 	long write(byte[] data) throws IOException;
 
+	/**
+	 * Write several chunks, one after another. Implementations may write all chunks at once.
+	 *
+	 * @param data chunks to write
+	 *
+	 * @return offsets of written chunks, in the same order.
+	 */
+	default long[] write(List<byte[]> data) throws IOException {
+		var offsets = new long[data.size()];
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = write(data.get(i));
+		}
+		return offsets;
+	}
+
 	/**
 	 * Read chunk at specified position.
 	 *
@@ -98,6 +172,19 @@ public interface AppendLog {
 	 */
 	Pair<byte[], Integer> readChunk(long offset) throws IOException;
 
+	/**
+	 * Read chunk at specified position into a read-only buffer. Implementations may return a view of
+	 * the underlying storage rather than a copy. Such a view is only valid until the log is truncated or
+	 * closed, so callers must copy any data they keep.
+	 *
+	 * @param offset offset to read from
+	 *
+	 * @return buffer containing the chunk data.
+	 */
+	default ByteBuffer readBuffer(long offset) throws IOException {
+		return ByteBuffer.wrap(read(offset)).asReadOnlyBuffer();
+	}
+
 	/**
 	 * Force flushing data to disk.
 	 */
@@ -112,4 +199,13 @@ public interface AppendLog {
 	 * Scan log from start to end and submit every found chunk and its offset into provided consumer.
 	 */
 	void forEach(BiConsumer<byte[], Long> chunkConsumer);
+
+	/**
+	 * Scan log from start to end and submit every found chunk, as a read-only buffer, and its offset
+	 * into provided consumer. Implementations may return views of the underlying storage rather than copies.
+	 * Such views are only valid until the log is truncated or closed.
+	 */
+	default void forEachBuffer(BiConsumer<ByteBuffer, Long> chunkConsumer) {
+		forEach((data, offset) -> chunkConsumer.accept(ByteBuffer.wrap(data).asReadOnlyBuffer(), offset));
+	}
 }
@@ -22,6 +22,10 @@ import com.radixdlt.utils.Compress;
 import com.radixdlt.utils.Pair;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiConsumer;
 
 import static com.radixdlt.counters.SystemCounters.CounterType.PERSISTENCE_ATOM_LOG_WRITE_BYTES;
@@ -60,10 +64,30 @@ public class CompressedAppendLog implements AppendLog {
 		return delegate.write(compressedData);
 	}
 
+	@Override
+	public long[] write(final List<byte[]> data) throws IOException {
+		var compressedData = new ArrayList<byte[]>(data.size());
+		for (var chunk : data) {
+			var compressedChunk = Compress.compress(chunk);
+
+			counters.add(PERSISTENCE_ATOM_LOG_WRITE_BYTES, chunk.length);
+			counters.add(PERSISTENCE_ATOM_LOG_WRITE_COMPRESSED, compressedChunk.length);
+			compressedData.add(compressedChunk);
+		}
+
+		return delegate.write(compressedData);
+	}
+
 	@Override
 	public Pair<byte[], Integer> readChunk(final long offset) throws IOException {
-		var result = delegate.readChunk(offset);
-		return Pair.of(Compress.uncompress(result.getFirst()), result.getSecond());
+		var buffer = delegate.readBuffer(offset);
+		var length = buffer.remaining();
+		return Pair.of(Compress.uncompress(buffer), length);
+	}
+
+	@Override
+	public ByteBuffer readBuffer(final long offset) throws IOException {
+		return ByteBuffer.wrap(read(offset)).asReadOnlyBuffer();
 	}
 
 	@Override
@@ -78,18 +102,12 @@ public class CompressedAppendLog implements AppendLog {
 
 	@Override
 	public void forEach(BiConsumer<byte[], Long> chunkConsumer) {
-		var offset = 0L;
-		synchronized (delegate) {
-			var end = false;
-			while (!end) {
-				try {
-					var chunk = readChunk(offset);
-					chunkConsumer.accept(chunk.getFirst(), offset);
-					offset += chunk.getSecond() + Integer.BYTES;
-				} catch (IOException exception) {
-					end = true;
-				}
+		delegate.forEachBuffer((buffer, offset) -> {
+			try {
+				chunkConsumer.accept(Compress.uncompress(buffer), offset);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Unable to uncompress chunk at " + offset, e);
 			}
-		}
+		});
 	}
 }
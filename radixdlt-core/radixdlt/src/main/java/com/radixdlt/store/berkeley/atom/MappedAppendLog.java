@@ -0,0 +1,517 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.store.berkeley.atom;
+
+import com.radixdlt.utils.Pair;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Implementation of append-only log which is split into segment files of limited size and
+ * which is read through memory mapped buffers, so chunks can be read without copying.
+ * <p>
+ * Segments are mapped in windows of fixed size, each mapped once and kept for reuse, and only
+ * re-mapped while the window is still being written to. Chunks which span two windows are
+ * copied instead. Buffers returned by {@link #readBuffer(long)} and {@link #forEachBuffer(BiConsumer)}
+ * are views of these mappings and are only valid until the log is truncated or closed, so callers
+ * must copy any data they keep.
+ * <p>
+ * Chunks have the same format as in {@link SimpleAppendLog} and never span segments, a new
+ * segment is started once a chunk does not fit into the current one. The first segment is
+ * stored at the log path itself, so existing single file logs remain readable, and following
+ * segments are stored at {@code <path>.<segment number>}. Only the last segment is ever written
+ * to, so all other segments are immutable and may be backed up or moved to an archive directory.
+ * <p>
+ * Every segment has a sparse index file {@code <segment path>.idx} holding the position of every
+ * {@value #INDEX_INTERVAL}th chunk, which allows recovering the end of the last segment after a crash
+ * without scanning it from the beginning.
+ * <p>
+ * Chunk offsets contain the segment number in the high bits and the position within the
+ * segment in the low {@value #SEGMENT_POSITION_BITS} bits.
+ */
+public class MappedAppendLog implements AppendLog {
+	static final int SEGMENT_POSITION_BITS = 40;
+	static final int INDEX_INTERVAL = 1024;
+	static final int DEFAULT_MAP_WINDOW_SIZE = 64 << 20;
+	private static final long SEGMENT_POSITION_MASK = (1L << SEGMENT_POSITION_BITS) - 1;
+	private static final String INDEX_SUFFIX = ".idx";
+
+	/**
+	 * Maximal size of a segment.
+	 */
+	public static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+	private final Object lock = new Object();
+	private final Path path;
+	private final Path archivePath;
+	private final long segmentSize;
+	private final int mapWindowSize;
+	private final List<Segment> segments = new ArrayList<>();
+	private final ByteBuffer indexBufferW;
+
+	private static final class Segment {
+		private final Path path;
+		private final FileChannel channel;
+		private final FileChannel indexChannel;
+		private final int windowSize;
+		private MappedByteBuffer[] windows = new MappedByteBuffer[0];
+		private long chunkCount;
+
+		private Segment(Path path, FileChannel channel, FileChannel indexChannel, int windowSize) {
+			this.path = path;
+			this.channel = channel;
+			this.indexChannel = indexChannel;
+			this.windowSize = windowSize;
+		}
+
+		static Segment open(Path path, int windowSize) throws IOException {
+			var channel = FileChannel.open(path, EnumSet.of(READ, WRITE, CREATE));
+			var indexChannel = FileChannel.open(indexPath(path), EnumSet.of(READ, WRITE, CREATE));
+
+			channel.position(channel.size());
+			indexChannel.position(indexChannel.size());
+			return new Segment(path, channel, indexChannel, windowSize);
+		}
+
+		void close() throws IOException {
+			windows = new MappedByteBuffer[0];
+			channel.close();
+			indexChannel.close();
+		}
+
+		void force() throws IOException {
+			channel.force(true);
+			indexChannel.force(true);
+		}
+
+		/**
+		 * Returns a read-only view of given region of the segment, or a read-only copy if the
+		 * region spans two mapping windows.
+		 */
+		ByteBuffer slice(long position, int length) throws IOException {
+			var end = position + length;
+			var window = (int) (position / windowSize);
+			var windowStart = (long) window * windowSize;
+			if (end > windowStart + windowSize) {
+				return checkedRead(position, allocate(length)).asReadOnlyBuffer();
+			}
+
+			return window(window, end - windowStart)
+				.duplicate()
+				.position((int) (position - windowStart))
+				.limit((int) (end - windowStart))
+				.slice();
+		}
+
+		/**
+		 * Returns the mapping of given window, which covers at least the given number of bytes
+		 * from the start of the window. The window is only re-mapped if it does not yet.
+		 */
+		private MappedByteBuffer window(int window, long required) throws IOException {
+			if (window >= windows.length) {
+				windows = Arrays.copyOf(windows, window + 1);
+			}
+
+			var mapped = windows[window];
+			if (mapped == null || mapped.limit() < required) {
+				var start = (long) window * windowSize;
+				var size = channel.size();
+				if (size < start + required) {
+					throw new IOException("Got less bytes than requested: " + (size - start) + " vs " + required
+						+ " at " + start + ", size " + size);
+				}
+				mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, windowSize));
+				windows[window] = mapped;
+			}
+			return mapped;
+		}
+
+		/**
+		 * Finds the end of the last complete chunk, starting from the last indexed chunk which is
+		 * still within the segment, and truncates both segment and index to it.
+		 */
+		void recover() throws IOException {
+			var size = channel.size();
+			var position = 0L;
+			var indexEntries = indexChannel.size() / Long.BYTES;
+			var entry = allocate(Long.BYTES);
+			while (indexEntries > 0) {
+				indexChannel.read(entry.clear(), (indexEntries - 1) * Long.BYTES);
+				position = entry.flip().getLong();
+				if (position + Integer.BYTES <= size) {
+					break;
+				}
+				indexEntries--;
+				position = 0L;
+			}
+			indexChannel.truncate(indexEntries * Long.BYTES);
+			indexChannel.position(indexChannel.size());
+
+			var chunks = Math.max(indexEntries - 1, 0) * INDEX_INTERVAL;
+			var sizeBuffer = allocate(Integer.BYTES);
+			while (position + Integer.BYTES <= size) {
+				checkedRead(position, sizeBuffer.clear());
+				var length = sizeBuffer.getInt();
+				if (length < 0 || position + Integer.BYTES + length > size) {
+					break;
+				}
+				position += Integer.BYTES + length;
+				chunks++;
+			}
+
+			channel.truncate(position);
+			channel.position(position);
+			chunkCount = chunks;
+			// Mappings may extend past the new end, so they must not be used any more
+			windows = new MappedByteBuffer[0];
+		}
+
+		private ByteBuffer checkedRead(long offset, ByteBuffer buffer) throws IOException {
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, offset + buffer.position()) < 0) {
+					throw new IOException("Got less bytes than requested: " + buffer.position() + " vs "
+						+ buffer.capacity() + " at " + offset + ", size " + channel.size());
+				}
+			}
+			return buffer.flip();
+		}
+	}
+
+	private MappedAppendLog(final Path path, final Path archivePath, final long segmentSize, final int mapWindowSize) {
+		this.path = path;
+		this.archivePath = archivePath;
+		this.segmentSize = segmentSize;
+		this.mapWindowSize = mapWindowSize;
+		this.indexBufferW = allocate(Long.BYTES).order(ByteOrder.BIG_ENDIAN);
+	}
+
+	static MappedAppendLog open(String path, long segmentSize) throws IOException {
+		return open(path, null, segmentSize);
+	}
+
+	/**
+	 * Opens a log, looking for segments both next to the log path and in the given archive directory,
+	 * and recovers the end of the last segment.
+	 */
+	static MappedAppendLog open(String path, String archivePath, long segmentSize) throws IOException {
+		return open(path, archivePath, segmentSize, DEFAULT_MAP_WINDOW_SIZE);
+	}
+
+	static MappedAppendLog open(String path, String archivePath, long segmentSize, int mapWindowSize) throws IOException {
+		if (segmentSize <= Integer.BYTES || segmentSize > MAX_SEGMENT_SIZE) {
+			throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+		}
+		if (mapWindowSize <= 0) {
+			throw new IllegalArgumentException("Invalid map window size: " + mapWindowSize);
+		}
+
+		var archive = archivePath == null ? null : Path.of(archivePath);
+		var log = new MappedAppendLog(Path.of(path), archive, segmentSize, mapWindowSize);
+		var segmentPath = Optional.ofNullable(log.existingSegmentPath(0)).orElse(log.segmentPath(0));
+		do {
+			log.segments.add(Segment.open(segmentPath, mapWindowSize));
+			segmentPath = log.existingSegmentPath(log.segments.size());
+		} while (segmentPath != null);
+
+		log.current().recover();
+		return log;
+	}
+
+	private static Path indexPath(Path segmentPath) {
+		return Path.of(segmentPath.toString() + INDEX_SUFFIX);
+	}
+
+	private Path segmentPath(int segmentNumber) {
+		return segmentNumber == 0 ? path : Path.of(path.toString() + "." + segmentNumber);
+	}
+
+	private Path existingSegmentPath(int segmentNumber) {
+		var segmentPath = segmentPath(segmentNumber);
+		if (Files.exists(segmentPath)) {
+			return segmentPath;
+		}
+		if (archivePath != null) {
+			var archivedPath = archivePath.resolve(segmentPath.getFileName());
+			if (Files.exists(archivedPath)) {
+				return archivedPath;
+			}
+		}
+		return null;
+	}
+
+	private static long toOffset(int segmentNumber, long position) {
+		return ((long) segmentNumber << SEGMENT_POSITION_BITS) | position;
+	}
+
+	private Segment current() {
+		return segments.get(segments.size() - 1);
+	}
+
+	private Segment segmentFor(long offset) throws IOException {
+		var segmentNumber = offset >>> SEGMENT_POSITION_BITS;
+		if (offset < 0 || segmentNumber >= segments.size()) {
+			throw new IOException("No segment for offset " + offset);
+		}
+		return segments.get((int) segmentNumber);
+	}
+
+	/**
+	 * Seals the current segment, making sure it is persisted, and starts the next one. Any leftover
+	 * files at the path of the next segment are not part of the log and are replaced.
+	 */
+	private Segment rollover() throws IOException {
+		current().force();
+
+		var nextPath = segmentPath(segments.size());
+		Files.deleteIfExists(nextPath);
+		Files.deleteIfExists(indexPath(nextPath));
+
+		var segment = Segment.open(nextPath, mapWindowSize);
+		segments.add(segment);
+		return segment;
+	}
+
+	@Override
+	public long write(byte[] data) throws IOException {
+		return write(List.of(data))[0];
+	}
+
+	/**
+	 * Write several chunks. All chunks which fit into the current segment are written with a single
+	 * gathering write.
+	 */
+	@Override
+	public long[] write(List<byte[]> data) throws IOException {
+		synchronized (lock) {
+			var offsets = new long[data.size()];
+			var buffers = new ArrayList<ByteBuffer>(data.size() * 2);
+			var segment = current();
+			var position = segment.channel.position();
+
+			for (int i = 0; i < offsets.length; i++) {
+				var chunk = data.get(i);
+				if (position > 0 && position + Integer.BYTES + chunk.length > segmentSize) {
+					writeFully(segment, buffers);
+					segment = rollover();
+					position = 0;
+				}
+
+				buffers.add(allocate(Integer.BYTES).order(ByteOrder.BIG_ENDIAN).putInt(0, chunk.length));
+				buffers.add(ByteBuffer.wrap(chunk));
+
+				if (segment.chunkCount % INDEX_INTERVAL == 0) {
+					indexBufferW.clear().putLong(position).flip();
+					while (indexBufferW.hasRemaining()) {
+						segment.indexChannel.write(indexBufferW);
+					}
+				}
+				segment.chunkCount++;
+
+				offsets[i] = toOffset(segments.size() - 1, position);
+				position += Integer.BYTES + chunk.length;
+			}
+			writeFully(segment, buffers);
+
+			return offsets;
+		}
+	}
+
+	private static void writeFully(Segment segment, List<ByteBuffer> buffers) throws IOException {
+		var array = buffers.toArray(ByteBuffer[]::new);
+		var last = array.length - 1;
+		while (last >= 0 && array[last].hasRemaining()) {
+			segment.channel.write(array);
+		}
+		buffers.clear();
+	}
+
+	@Override
+	public ByteBuffer readBuffer(long offset) throws IOException {
+		synchronized (lock) {
+			var segment = segmentFor(offset);
+			var position = offset & SEGMENT_POSITION_MASK;
+			var length = segment.slice(position, Integer.BYTES).getInt();
+			return segment.slice(position + Integer.BYTES, length);
+		}
+	}
+
+	@Override
+	public Pair<byte[], Integer> readChunk(long offset) throws IOException {
+		var buffer = readBuffer(offset);
+		var data = new byte[buffer.remaining()];
+		buffer.get(data);
+		return Pair.of(data, data.length);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		synchronized (lock) {
+			current().force();
+		}
+	}
+
+	/**
+	 * Get position at which next chunk will be written. Note that if the next chunk does not fit into
+	 * the current segment, it will be written at the start of the next segment instead.
+	 */
+	@Override
+	public long position() {
+		try {
+			synchronized (lock) {
+				return toOffset(segments.size() - 1, current().channel.position());
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to obtain current position in log", e);
+		}
+	}
+
+	/**
+	 * Truncate the log to specified offset. All segments after the segment containing the offset are
+	 * removed and only that segment is truncated, so the cost does not depend on the size of the log.
+	 *
+	 * @param position offset to which log should be truncated.
+	 */
+	@Override
+	public void truncate(long position) {
+		try {
+			synchronized (lock) {
+				var segmentNumber = (int) (position >>> SEGMENT_POSITION_BITS);
+				while (segments.size() > segmentNumber + 1 && segments.size() > 1) {
+					var last = segments.remove(segments.size() - 1);
+					last.close();
+					Files.delete(last.path);
+					Files.delete(indexPath(last.path));
+				}
+
+				if (segmentNumber < segments.size()) {
+					var segment = segments.get(segmentNumber);
+					segment.channel.truncate(position & SEGMENT_POSITION_MASK);
+					segment.recover();
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to truncate log", e);
+		}
+	}
+
+	/**
+	 * Moves sealed segments, apart from the most recent ones, into the archive directory. Archived
+	 * segments remain readable. Does nothing if the log has no archive directory.
+	 *
+	 * @param retainedSegments number of most recent sealed segments to keep next to the log path
+	 *
+	 * @return number of segments archived
+	 */
+	public int archiveSegments(int retainedSegments) throws IOException {
+		if (archivePath == null) {
+			return 0;
+		}
+
+		synchronized (lock) {
+			Files.createDirectories(archivePath);
+			var archived = 0;
+			var sealedSegments = segments.size() - 1;
+			for (int i = 0; i < sealedSegments - retainedSegments; i++) {
+				var segment = segments.get(i);
+				var archivedPath = archivePath.resolve(segment.path.getFileName());
+				if (segment.path.equals(archivedPath)) {
+					continue;
+				}
+
+				segment.close();
+				moveFile(segment.path, archivedPath);
+				moveFile(indexPath(segment.path), indexPath(archivedPath));
+				segments.set(i, Segment.open(archivedPath, mapWindowSize));
+				archived++;
+			}
+			return archived;
+		}
+	}
+
+	private static void moveFile(Path from, Path to) throws IOException {
+		// Copy to a temporary file first as the archive may be on a different file system
+		var tmp = Path.of(to.toString() + ".tmp");
+		Files.copy(from, tmp, StandardCopyOption.REPLACE_EXISTING);
+		Files.move(tmp, to, StandardCopyOption.ATOMIC_MOVE);
+		Files.delete(from);
+	}
+
+	@Override
+	public void close() {
+		try {
+			synchronized (lock) {
+				for (var segment : segments) {
+					segment.close();
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Error while closing log", e);
+		}
+	}
+
+	@Override
+	public void forEach(BiConsumer<byte[], Long> chunkConsumer) {
+		forEachBuffer((buffer, offset) -> {
+			var data = new byte[buffer.remaining()];
+			buffer.get(data);
+			chunkConsumer.accept(data, offset);
+		});
+	}
+
+	@Override
+	public void forEachBuffer(BiConsumer<ByteBuffer, Long> chunkConsumer) {
+		synchronized (lock) {
+			for (int i = 0; i < segments.size(); i++) {
+				var segment = segments.get(i);
+				try {
+					var end = segment.channel.size();
+					var position = 0L;
+					while (position + Integer.BYTES <= end) {
+						var length = segment.slice(position, Integer.BYTES).getInt();
+						if (position + Integer.BYTES + length > end) {
+							// Incomplete chunk at the end of segment
+							break;
+						}
+						chunkConsumer.accept(segment.slice(position + Integer.BYTES, length), toOffset(i, position));
+						position += Integer.BYTES + length;
+					}
+				} catch (IOException e) {
+					throw new IllegalStateException("Unable to read log", e);
+				}
+			}
+		}
+	}
+}
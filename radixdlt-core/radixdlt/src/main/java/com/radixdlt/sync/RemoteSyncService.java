@@ -61,6 +61,7 @@ public final class RemoteSyncService {
 	private final RemoteEventDispatcher<StatusResponse> statusResponseDispatcher;
 	private final RemoteEventDispatcher<SyncResponse> syncResponseDispatcher;
 	private final RemoteEventDispatcher<LedgerStatusUpdate> statusUpdateDispatcher;
+	private final SyncResponseBacklog syncResponseBacklog;
 	private final SyncConfig syncConfig;
 	private final SystemCounters systemCounters;
 	private final Comparator<AccumulatorState> accComparator;
@@ -76,6 +77,7 @@ public final class RemoteSyncService {
 		RemoteEventDispatcher<StatusResponse> statusResponseDispatcher,
 		RemoteEventDispatcher<SyncResponse> syncResponseDispatcher,
 		RemoteEventDispatcher<LedgerStatusUpdate> statusUpdateDispatcher,
+		SyncResponseBacklog syncResponseBacklog,
 		SyncConfig syncConfig,
 		SystemCounters systemCounters,
 		Comparator<AccumulatorState> accComparator,
@@ -88,6 +90,7 @@ public final class RemoteSyncService {
 		this.statusResponseDispatcher = Objects.requireNonNull(statusResponseDispatcher);
 		this.syncResponseDispatcher = Objects.requireNonNull(syncResponseDispatcher);
 		this.statusUpdateDispatcher = Objects.requireNonNull(statusUpdateDispatcher);
+		this.syncResponseBacklog = Objects.requireNonNull(syncResponseBacklog);
 		this.systemCounters = systemCounters;
 		this.accComparator = Objects.requireNonNull(accComparator);
 		this.ledgerStatusUpdateSendRateLimiter = RateLimiter.create(syncConfig.maxLedgerUpdatesRate());
@@ -101,6 +104,14 @@ public final class RemoteSyncService {
 
 	private void processSyncRequest(BFTNode sender, SyncRequest syncRequest) {
 		final var remoteCurrentHeader = syncRequest.getHeader();
+		if (this.syncResponseBacklog.isBacklogged(sender)) {
+			// Sender will time out and retry, possibly with another peer
+			log.debug("REMOTE_SYNC_REQUEST: Ignoring sync request {} from {}, earlier responses not sent yet.",
+				remoteCurrentHeader, sender);
+			systemCounters.increment(CounterType.SYNC_REMOTE_REQUESTS_BACKLOGGED);
+			return;
+		}
+
 		final var committedCommands = getCommittedCommandsForSyncRequest(remoteCurrentHeader);
 
 		if (committedCommands == null) {
@@ -158,12 +169,12 @@ public final class RemoteSyncService {
 		final var currentPeers = new ArrayList<>(this.peersView.peers());
 		Collections.shuffle(currentPeers);
 
-		currentPeers.stream()
+		final var receivers = currentPeers.stream()
 			.limit(syncConfig.ledgerStatusUpdateMaxPeersToNotify())
-			.forEach(peer -> {
-				if (this.ledgerStatusUpdateSendRateLimiter.tryAcquire()) {
-					statusUpdateDispatcher.dispatch(peer, statusUpdate);
-				}
-			});
+			.filter(peer -> this.ledgerStatusUpdateSendRateLimiter.tryAcquire())
+			.collect(Collectors.toList());
+		if (!receivers.isEmpty()) {
+			statusUpdateDispatcher.dispatch(receivers, statusUpdate);
+		}
 	}
 }
@@ -0,0 +1,41 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.sync;
+
+import com.radixdlt.consensus.bft.BFTNode;
+
+/**
+ * Reports whether responses sent to a node are backing up, because they
+ * are not being sent as fast as they are produced.
+ */
+@FunctionalInterface
+public interface SyncResponseBacklog {
+
+	/**
+	 * Returns {@code true} if earlier responses to the specified node are
+	 * still waiting to be sent.
+	 *
+	 * @param node the node to check
+	 * @return {@code true} if responses to the node are backing up
+	 */
+	boolean isBacklogged(BFTNode node);
+
+	static SyncResponseBacklog none() {
+		return node -> false;
+	}
+}
@@ -19,27 +19,40 @@ package com.radixdlt.sync.validation;
 
 import com.google.inject.Inject;
 import com.radixdlt.consensus.HashVerifier;
+import com.radixdlt.consensus.SignatureVerificationExecutor;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
 import com.radixdlt.crypto.Hasher;
-import com.radixdlt.consensus.TimestampedECDSASignature;
 import com.radixdlt.consensus.ConsensusHasher;
-import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.sync.messages.remote.SyncResponse;
 
-import java.util.Map.Entry;
 import java.util.Objects;
 
 /**
- * Verifies the signatures in a sync response
+ * Verifies the signatures in a sync response.
+ * <p>
+ * Signatures are hashed and verified using a {@link SignatureVerificationExecutor},
+ * and verification stops at the first invalid signature.  All signatures must be
+ * valid, as the proof is stored and served to other nodes as received.
  */
 public final class RemoteSyncResponseSignaturesVerifier {
 
 	private final Hasher hasher;
 	private final HashVerifier hashVerifier;
+	private final SignatureVerificationExecutor verificationExecutor;
+	private final SystemCounters counters;
 
 	@Inject
-	public RemoteSyncResponseSignaturesVerifier(Hasher hasher, HashVerifier hashVerifier) {
+	public RemoteSyncResponseSignaturesVerifier(
+		Hasher hasher,
+		HashVerifier hashVerifier,
+		SignatureVerificationExecutor verificationExecutor,
+		SystemCounters counters
+	) {
 		this.hasher = Objects.requireNonNull(hasher);
 		this.hashVerifier = Objects.requireNonNull(hashVerifier);
+		this.verificationExecutor = Objects.requireNonNull(verificationExecutor);
+		this.counters = Objects.requireNonNull(counters);
 	}
 
 	public boolean verifyResponseSignatures(SyncResponse syncResponse) {
@@ -49,16 +62,21 @@ public final class RemoteSyncResponseSignaturesVerifier {
 		var opaque = endHeader.getOpaque();
 		var header = endHeader.getLedgerHeader();
 		var signatures = endHeader.getSignatures().getSignatures();
-		for (Entry<BFTNode, TimestampedECDSASignature> nodeAndSignature : signatures.entrySet()) {
+
+		final var start = System.nanoTime();
+		final var verified = this.verificationExecutor.allMatch(signatures.entrySet(), nodeAndSignature -> {
 			var node = nodeAndSignature.getKey();
 			var signature = nodeAndSignature.getValue();
 			final var voteDataHash = ConsensusHasher.toHash(opaque, header, signature.timestamp(), hasher);
-			if (!hashVerifier.verify(node.getKey(), voteDataHash, signature.signature())) {
-				return false;
-			}
-		}
-
-		return true;
+			return hashVerifier.verify(node.getKey(), voteDataHash, signature.signature());
+		});
+		addTime(start);
+		return verified;
 	}
 
+	private void addTime(long start) {
+		final var elapsed = (System.nanoTime() - start + 500L) / 1000L;
+		this.counters.add(CounterType.ELAPSED_SYNC_SIGNATURES_VERIFY, elapsed);
+		this.counters.increment(CounterType.COUNT_SYNC_SIGNATURES_VERIFY);
+	}
 }
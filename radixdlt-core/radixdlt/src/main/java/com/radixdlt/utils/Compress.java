@@ -17,18 +17,40 @@
 
 package com.radixdlt.utils;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import org.xerial.snappy.Snappy;
 import org.xerial.snappy.SnappyFramedInputStream;
-import org.xerial.snappy.SnappyFramedOutputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
 
 /**
  * Common utility methods for compression/decompression.
+ * <p>
+ * Data is compressed using the
+ * <a href="https://github.com/google/snappy/blob/master/framing_format.txt">Snappy framing format</a>.
  */
 public class Compress {
+	private static final byte[] STREAM_IDENTIFIER = "sNaPpY".getBytes(StandardCharsets.US_ASCII);
+	private static final int CHUNK_HEADER_LENGTH = 4;
+	private static final int CHECKSUM_LENGTH = 4;
+	private static final int MAX_CHUNK_LENGTH = 65536;
+	// Chunks that do not compress to this ratio or better are stored uncompressed
+	private static final double MIN_COMPRESSION_RATIO = 0.85;
+
+	private static final int CHUNK_STREAM_IDENTIFIER = 0xff;
+	private static final int CHUNK_COMPRESSED = 0x00;
+	private static final int CHUNK_UNCOMPRESSED = 0x01;
+	private static final int CHUNK_MAX_UNSKIPPABLE = 0x7f;
+
 	private Compress() {
 		throw new UnsupportedOperationException("Utility class should not be instantiated.");
 	}
@@ -42,11 +64,39 @@ public class Compress {
 	 * @throws IOException
 	 */
 	public static byte[] compress(byte[] input) throws IOException {
-		var out = new ByteArrayOutputStream();
-		var os = new SnappyFramedOutputStream(out);
-		os.transferFrom(new ByteArrayInputStream(input));
-		os.close();
-		return out.toByteArray();
+		final int chunks = (input.length + MAX_CHUNK_LENGTH - 1) / MAX_CHUNK_LENGTH;
+		final var output = new byte[
+			CHUNK_HEADER_LENGTH + STREAM_IDENTIFIER.length
+				+ chunks * (CHUNK_HEADER_LENGTH + CHECKSUM_LENGTH)
+				+ (chunks == 0 ? 0 : (chunks - 1) * Snappy.maxCompressedLength(MAX_CHUNK_LENGTH))
+				+ Snappy.maxCompressedLength(Math.min(input.length, MAX_CHUNK_LENGTH))
+		];
+		final var out = ByteBuffer.wrap(output).order(ByteOrder.LITTLE_ENDIAN);
+		putChunkHeader(out, CHUNK_STREAM_IDENTIFIER, STREAM_IDENTIFIER.length);
+		out.put(STREAM_IDENTIFIER);
+
+		final var crc = new CRC32C();
+		for (int offset = 0; offset < input.length; offset += MAX_CHUNK_LENGTH) {
+			final int length = Math.min(MAX_CHUNK_LENGTH, input.length - offset);
+			crc.reset();
+			crc.update(input, offset, length);
+			final int checksum = maskChecksum(crc.getValue());
+
+			final int chunkStart = out.position();
+			final int dataStart = chunkStart + CHUNK_HEADER_LENGTH + CHECKSUM_LENGTH;
+			final int compressedLength = Snappy.compress(input, offset, length, output, dataStart);
+			out.position(chunkStart);
+			if ((double) compressedLength / length <= MIN_COMPRESSION_RATIO) {
+				putChunkHeader(out, CHUNK_COMPRESSED, CHECKSUM_LENGTH + compressedLength);
+				out.putInt(checksum);
+				out.position(dataStart + compressedLength);
+			} else {
+				putChunkHeader(out, CHUNK_UNCOMPRESSED, CHECKSUM_LENGTH + length);
+				out.putInt(checksum);
+				out.put(input, offset, length);
+			}
+		}
+		return Arrays.copyOf(output, out.position());
 	}
 
 	/**
@@ -64,4 +114,168 @@ public class Compress {
 		os.close();
 		return os.toByteArray();
 	}
+
+	/**
+	 * Decompresses the remaining content of input buffer into output byte array. The content
+	 * is read from the buffer directly, without copying it first.
+	 *
+	 * @param input source data to decompress
+	 * @return decompressed output.
+	 *
+	 * @throws IOException
+	 */
+	public static byte[] uncompress(ByteBuffer input) throws IOException {
+		var is = new SnappyFramedInputStream(new ByteBufferInputStream(input.duplicate()));
+		var os = new ByteArrayOutputStream(input.remaining() * 2);
+		is.transferTo(os);
+		os.close();
+		return os.toByteArray();
+	}
+
+	/**
+	 * Decompresses the readable content of input buffer into a new direct buffer allocated from
+	 * the specified allocator.  Direct input is read in place, without copying it first.
+	 * The reader index of the input buffer is not changed.
+	 *
+	 * @param input source data to decompress
+	 * @param allocator allocator for the output buffer
+	 * @return decompressed output, which must be released by the caller.
+	 *
+	 * @throws IOException if the input is not validly compressed
+	 */
+	public static ByteBuf uncompress(ByteBuf input, ByteBufAllocator allocator) throws IOException {
+		final boolean readInPlace = input.isDirect() && input.nioBufferCount() == 1;
+		final ByteBuf in = readInPlace
+			? input
+			: allocator.directBuffer(input.readableBytes()).writeBytes(input, input.readerIndex(), input.readableBytes());
+		final ByteBuf out = allocator.directBuffer(Math.max(in.readableBytes() * 2, MAX_CHUNK_LENGTH));
+		try {
+			uncompress(in, out);
+			return out;
+		} catch (IOException | RuntimeException e) {
+			out.release();
+			throw e;
+		} finally {
+			if (!readInPlace) {
+				in.release();
+			}
+		}
+	}
+
+	private static void uncompress(ByteBuf in, ByteBuf out) throws IOException {
+		final var crc = new CRC32C();
+		final int end = in.writerIndex();
+		int index = in.readerIndex();
+		boolean identified = false;
+		while (index < end) {
+			if (end - index < CHUNK_HEADER_LENGTH) {
+				throw new IOException("Truncated chunk header at " + index);
+			}
+			final int type = in.getUnsignedByte(index);
+			final int length = in.getUnsignedMediumLE(index + 1);
+			index += CHUNK_HEADER_LENGTH;
+			if (end - index < length) {
+				throw new IOException("Truncated chunk of length " + length + " at " + index);
+			}
+			if (!identified && type != CHUNK_STREAM_IDENTIFIER) {
+				throw new IOException("Missing stream identifier");
+			}
+			switch (type) {
+				case CHUNK_STREAM_IDENTIFIER:
+					checkStreamIdentifier(in, index, length);
+					identified = true;
+					break;
+				case CHUNK_COMPRESSED:
+					checkDataLength(length);
+					final var compressed = in.nioBuffer(index + CHECKSUM_LENGTH, length - CHECKSUM_LENGTH);
+					final int uncompressedLength = Snappy.uncompressedLength(compressed);
+					if (uncompressedLength > MAX_CHUNK_LENGTH) {
+						throw new IOException("Chunk too long: " + uncompressedLength);
+					}
+					out.ensureWritable(uncompressedLength);
+					final var uncompressed = out.nioBuffer(out.writerIndex(), uncompressedLength);
+					Snappy.uncompress(compressed, uncompressed);
+					checkChecksum(crc, in.getIntLE(index), out.nioBuffer(out.writerIndex(), uncompressedLength));
+					out.writerIndex(out.writerIndex() + uncompressedLength);
+					break;
+				case CHUNK_UNCOMPRESSED:
+					checkDataLength(length);
+					checkChecksum(crc, in.getIntLE(index), in.nioBuffer(index + CHECKSUM_LENGTH, length - CHECKSUM_LENGTH));
+					out.writeBytes(in, index + CHECKSUM_LENGTH, length - CHECKSUM_LENGTH);
+					break;
+				default:
+					if (type <= CHUNK_MAX_UNSKIPPABLE) {
+						throw new IOException("Unsupported unskippable chunk type " + type);
+					}
+					// Padding or skippable chunk
+					break;
+			}
+			index += length;
+		}
+	}
+
+	private static void checkStreamIdentifier(ByteBuf in, int index, int length) throws IOException {
+		if (length != STREAM_IDENTIFIER.length) {
+			throw new IOException("Invalid stream identifier length " + length);
+		}
+		for (int i = 0; i < length; ++i) {
+			if (in.getByte(index + i) != STREAM_IDENTIFIER[i]) {
+				throw new IOException("Invalid stream identifier");
+			}
+		}
+	}
+
+	private static void checkDataLength(int length) throws IOException {
+		if (length < CHECKSUM_LENGTH || length - CHECKSUM_LENGTH > Snappy.maxCompressedLength(MAX_CHUNK_LENGTH)) {
+			throw new IOException("Invalid data chunk length " + length);
+		}
+	}
+
+	private static void checkChecksum(CRC32C crc, int expected, ByteBuffer data) throws IOException {
+		crc.reset();
+		crc.update(data);
+		if (maskChecksum(crc.getValue()) != expected) {
+			throw new IOException("Corrupt input: invalid checksum");
+		}
+	}
+
+	private static void putChunkHeader(ByteBuffer out, int type, int length) {
+		out.putInt((length << 8) | type);
+	}
+
+	private static int maskChecksum(long crc) {
+		final int value = (int) crc;
+		return ((value >>> 15) | (value << 17)) + 0xa282ead8;
+	}
+
+	private static final class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		private ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			var count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
 }
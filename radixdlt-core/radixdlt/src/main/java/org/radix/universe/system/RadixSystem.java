@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import com.radixdlt.consensus.ConsensusCodec;
 import com.radixdlt.crypto.exception.PublicKeyException;
 import com.radixdlt.identifiers.EUID;
 import com.radixdlt.network.transport.TransportInfo;
@@ -48,6 +49,8 @@ public class RadixSystem extends BasicContainer {
 
 	private int agentVersion;
 	private int protocolVersion;
+	// Newest consensus codec version supported, zero if none
+	private int consensusCodecVersion;
 
 	private String agent;
 
@@ -63,6 +66,7 @@ public class RadixSystem extends BasicContainer {
 		this.agent = "unknown";
 		this.agentVersion = 0;
 		this.protocolVersion = 0;
+		this.consensusCodecVersion = 0;
 		this.transports = ImmutableList.of();
 		this.key = null;
 	}
@@ -74,6 +78,7 @@ public class RadixSystem extends BasicContainer {
 		this.agent = agent;
 		this.agentVersion = agentVersion;
 		this.protocolVersion = protocolVersion;
+		this.consensusCodecVersion = ConsensusCodec.VERSION;
 		this.transports = transports;
 	}
 
@@ -89,6 +94,18 @@ public class RadixSystem extends BasicContainer {
 		return this.protocolVersion;
 	}
 
+	public int getConsensusCodecVersion() {
+		return this.consensusCodecVersion;
+	}
+
+	/**
+	 * Returns {@code true} if consensus messages can be sent to this system
+	 * using the binary encoding of {@link ConsensusCodec}.
+	 */
+	public boolean supportsConsensusCodec() {
+		return ConsensusCodec.supports(this.consensusCodecVersion);
+	}
+
 	public boolean hasTransports() {
 		return !this.transports.isEmpty();
 	}
@@ -113,7 +130,8 @@ public class RadixSystem extends BasicContainer {
 		return mapOf(
 			"name", this.agent,
 			"version", this.agentVersion,
-			"protocol", this.protocolVersion
+			"protocol", this.protocolVersion,
+			"codec", this.consensusCodecVersion
 		);
 	}
 
@@ -122,6 +140,9 @@ public class RadixSystem extends BasicContainer {
 		this.agent = (String) props.get("name");
 		this.agentVersion = ((Number) props.get("version")).intValue();
 		this.protocolVersion = ((Number) props.get("protocol")).intValue();
+		// Not present for nodes without support for the consensus codec
+		final Object codec = props.get("codec");
+		this.consensusCodecVersion = codec == null ? 0 : ((Number) codec).intValue();
 	}
 
 	// Property "key" - 1 getter, 1 setter
@@ -164,6 +185,7 @@ public class RadixSystem extends BasicContainer {
 		RadixSystem that = (RadixSystem) o;
 		return agentVersion == that.agentVersion
 			&& protocolVersion == that.protocolVersion
+			&& consensusCodecVersion == that.consensusCodecVersion
 			&& Objects.equals(agent, that.agent)
 			&& Objects.equals(transports, that.transports)
 			&& Objects.equals(key, that.key);
@@ -171,6 +193,6 @@ public class RadixSystem extends BasicContainer {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(agentVersion, protocolVersion, agent, transports, key);
+		return Objects.hash(agentVersion, protocolVersion, consensusCodecVersion, agent, transports, key);
 	}
 }
@@ -33,6 +33,7 @@ import com.radixdlt.environment.deterministic.DeterministicEnvironmentModule;
 import com.radixdlt.network.TimeSupplier;
 import com.radixdlt.store.DatabaseCacheSize;
 import com.radixdlt.store.PersistenceModule;
+import com.radixdlt.store.StoreConfig;
 import com.radixdlt.sync.SyncConfig;
 
 /**
@@ -52,6 +53,7 @@ public final class PersistedNodeForTestingModule extends AbstractModule {
 			.toInstance(RateLimiter.create(Double.MAX_VALUE));
 		bindConstant().annotatedWith(DatabaseCacheSize.class)
 			.to((long) (Runtime.getRuntime().maxMemory() * 0.125));
+		bind(StoreConfig.class).toInstance(new StoreConfig(1000));
 
 		// System
 		bind(SystemCounters.class).to(SystemCountersImpl.class).in(Scopes.SINGLETON);
@@ -22,11 +22,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Module;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.radixdlt.atom.TxBuilder;
 import com.radixdlt.atom.TxBuilderException;
@@ -37,14 +39,19 @@ import com.radixdlt.atom.actions.RegisterValidator;
 import com.radixdlt.atom.actions.SystemNextEpoch;
 import com.radixdlt.atom.actions.SystemNextView;
 import com.radixdlt.atommodel.system.SystemParticle;
+import com.radixdlt.consensus.BFTHeader;
 import com.radixdlt.consensus.LedgerHeader;
+import com.radixdlt.consensus.QuorumCertificate;
 import com.radixdlt.consensus.TimestampedECDSASignatures;
 import com.radixdlt.consensus.LedgerProof;
 import com.radixdlt.consensus.Sha256Hasher;
+import com.radixdlt.consensus.UnverifiedVertex;
+import com.radixdlt.consensus.VoteData;
 import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.BFTValidator;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
 import com.radixdlt.consensus.bft.PersistentVertexStore;
+import com.radixdlt.consensus.bft.VerifiedVertex;
 import com.radixdlt.consensus.bft.View;
 import com.radixdlt.constraintmachine.CMErrorCode;
 import com.radixdlt.constraintmachine.PermissionLevel;
@@ -60,6 +67,7 @@ import com.radixdlt.ledger.AccumulatorState;
 import com.radixdlt.ledger.ByzantineQuorumException;
 import com.radixdlt.ledger.LedgerAccumulator;
 import com.radixdlt.ledger.SimpleLedgerAccumulatorAndVerifier;
+import com.radixdlt.ledger.StateComputerLedger.PreparedTxn;
 import com.radixdlt.ledger.StateComputerLedger.StateComputerResult;
 import com.radixdlt.ledger.VerifiedTxnsAndProof;
 import com.radixdlt.mempool.MempoolAddFailure;
@@ -112,6 +120,9 @@ public class RadixEngineStateComputerTest {
 	@Inject
 	private ValidatorSetBuilder validatorSetBuilder;
 
+	@Inject
+	private SystemCounters systemCounters;
+
 
 	private Serialization serialization = DefaultSerialization.getInstance();
 	private InMemoryEngineStore<LedgerAndBFTProof> engineStore;
@@ -158,7 +169,7 @@ public class RadixEngineStateComputerTest {
 				bind(new TypeLiteral<EventDispatcher<MempoolRelayTrigger>>() { })
 					.toInstance(TypedMocks.rmock(EventDispatcher.class));
 
-				bind(SystemCounters.class).to(SystemCountersImpl.class);
+				bind(SystemCounters.class).to(SystemCountersImpl.class).in(Scopes.SINGLETON);
 			}
 		};
 	}
@@ -218,10 +229,25 @@ public class RadixEngineStateComputerTest {
 			.signAndBuild(keyPair::sign);
 	}
 
+	private VerifiedVertex vertex(HashCode parentId, View view, List<Txn> txns) {
+		var parentHeader = new BFTHeader(
+			view.previous(),
+			parentId,
+			LedgerHeader.create(1, View.of(0), new AccumulatorState(0, HashUtils.zero256()), 0)
+		);
+		var qc = new QuorumCertificate(new VoteData(parentHeader, parentHeader, null), new TimestampedECDSASignatures());
+		var unverifiedVertex = UnverifiedVertex.createVertex(qc, view, txns);
+		return new VerifiedVertex(unverifiedVertex, hasher.hash(unverifiedVertex));
+	}
+
+	private VerifiedVertex vertex(View view, List<Txn> txns) {
+		return vertex(HashUtils.zero256(), view, txns);
+	}
+
 	@Test
 	public void executing_non_epoch_high_view_should_return_no_validator_set() {
 		// Action
-		StateComputerResult result = sut.prepare(ImmutableList.of(), List.of(), 1, View.of(9), 0);
+		StateComputerResult result = sut.prepare(ImmutableList.of(), vertex(View.of(9), List.of()), 0);
 
 		// Assert
 		assertThat(result.getSuccessfulCommands()).hasSize(1);
@@ -232,7 +258,7 @@ public class RadixEngineStateComputerTest {
 	@Test
 	public void executing_epoch_high_view_should_return_next_validator_set() {
 		// Act
-		StateComputerResult result = sut.prepare(ImmutableList.of(), List.of(), 1, View.of(10), 0);
+		StateComputerResult result = sut.prepare(ImmutableList.of(), vertex(View.of(10), List.of()), 0);
 
 		// Assert
 		assertThat(result.getSuccessfulCommands()).hasSize(1);
@@ -253,7 +279,7 @@ public class RadixEngineStateComputerTest {
 		BFTNode node = BFTNode.create(keyPair.getPublicKey());
 
 		// Act
-		StateComputerResult result = sut.prepare(ImmutableList.of(), List.of(txn), 1, View.of(10), 0);
+		StateComputerResult result = sut.prepare(ImmutableList.of(), vertex(View.of(10), List.of(txn)), 0);
 
 		// Assert
 		assertThat(result.getSuccessfulCommands()).hasSize(1); // since high view, command is not executed
@@ -263,6 +289,50 @@ public class RadixEngineStateComputerTest {
 		});
 	}
 
+	@Test
+	public void preparing_child_vertex_should_continue_from_parent_branch() throws Exception {
+		// Arrange
+		ECKeyPair keyPair = ECKeyPair.generateNew();
+		var txn = registerCommand(keyPair);
+		var parent = vertex(View.of(1), List.of(txn));
+		var parentResult = sut.prepare(ImmutableList.of(), parent, 0);
+		var child = vertex(parent.getId(), View.of(2), List.of(txn));
+
+		// Act
+		StateComputerResult result = sut.prepare(parentResult.getSuccessfulCommands(), child, 0);
+
+		// Assert
+		assertThat(systemCounters.get(SystemCounters.CounterType.RADIX_ENGINE_PREPARE_BRANCH_CACHE_HITS)).isEqualTo(1);
+		assertThat(result.getSuccessfulCommands()).hasSize(1); // system update only
+		assertThat(result.getFailedCommands()).containsOnlyKeys(txn); // already registered in parent
+	}
+
+	@Test
+	public void committing_prepared_txns_should_store_them_without_verifying_again() throws Exception {
+		// Arrange
+		ECKeyPair keyPair = ECKeyPair.generateNew();
+		var txn = registerCommand(keyPair);
+		var result = sut.prepare(ImmutableList.of(), vertex(View.of(1), List.of(txn)), 0);
+		var preparedTxns = result.getSuccessfulCommands();
+		var ledgerProof = new LedgerProof(
+			HashUtils.random256(),
+			LedgerHeader.create(1, View.of(1), new AccumulatorState(3, HashUtils.zero256()), 0),
+			new TimestampedECDSASignatures()
+		);
+		var txnsAndProof = VerifiedTxnsAndProof.create(
+			preparedTxns.stream().map(PreparedTxn::txn).collect(ImmutableList.toImmutableList()),
+			ledgerProof
+		);
+
+		// Act
+		sut.commit(txnsAndProof, preparedTxns, null);
+
+		// Assert
+		assertThat(systemCounters.get(SystemCounters.CounterType.RADIX_ENGINE_PREVERIFIED_COMMITTED_TRANSACTIONS))
+			.isEqualTo(2);
+		assertThat(radixEngine.getComputedState(RegisteredValidators.class).toSet()).contains(keyPair.getPublicKey());
+	}
+
 	@Test
 	public void preparing_system_update_from_vertex_should_fail() throws TxBuilderException {
 		// Arrange
@@ -274,7 +344,7 @@ public class RadixEngineStateComputerTest {
 			.build();
 
 		// Act
-		StateComputerResult result = sut.prepare(ImmutableList.of(), List.of(illegalTxn), 1, View.of(1), 0);
+		StateComputerResult result = sut.prepare(ImmutableList.of(), vertex(View.of(1), List.of(illegalTxn)), 0);
 
 		// Assert
 		assertThat(result.getSuccessfulCommands()).hasSize(1);
@@ -309,7 +379,7 @@ public class RadixEngineStateComputerTest {
 
 		// Act
 		// Assert
-		assertThatThrownBy(() -> sut.commit(commandsAndProof, null))
+		assertThatThrownBy(() -> sut.commit(commandsAndProof, null, null))
 			.isInstanceOf(ByzantineQuorumException.class);
 	}
 
@@ -332,7 +402,7 @@ public class RadixEngineStateComputerTest {
 
 		// Act
 		// Assert
-		assertThatThrownBy(() -> sut.commit(commandsAndProof, null))
+		assertThatThrownBy(() -> sut.commit(commandsAndProof, null, null))
 			.isInstanceOf(ByzantineQuorumException.class);
 	}
 
@@ -357,7 +427,7 @@ public class RadixEngineStateComputerTest {
 
 		// Act
 		// Assert
-		assertThatThrownBy(() -> sut.commit(commandsAndProof, null))
+		assertThatThrownBy(() -> sut.commit(commandsAndProof, null, null))
 			.isInstanceOf(ByzantineQuorumException.class);
 	}
 
@@ -380,7 +450,7 @@ public class RadixEngineStateComputerTest {
 
 		// Act
 		// Assert
-		assertThatThrownBy(() -> sut.commit(commandsAndProof, null))
+		assertThatThrownBy(() -> sut.commit(commandsAndProof, null, null))
 			.isInstanceOf(ByzantineQuorumException.class);
 	}
 }
@@ -0,0 +1,58 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.client.api;
+
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.identifiers.AID;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TxHistoryCursorTest {
+	@Test
+	public void equals_contract() {
+		EqualsVerifier.forClass(TxHistoryCursor.class)
+			.withNonnullFields("timestamp", "txId")
+			.verify();
+	}
+
+	@Test
+	public void cursor_survives_round_trip_through_token() {
+		var cursor = TxHistoryCursor.create(
+			Instant.ofEpochSecond(1_600_000_000L, 999_999_999),
+			AID.from(HashUtils.random256().asBytes())
+		);
+
+		assertThat(TxHistoryCursor.fromToken(cursor.asToken())).contains(cursor);
+	}
+
+	@Test
+	public void invalid_tokens_are_ignored() {
+		var token = TxHistoryCursor.create(Instant.EPOCH, AID.ZERO).asToken();
+
+		assertThat(TxHistoryCursor.fromToken("")).isEmpty();
+		assertThat(TxHistoryCursor.fromToken("1600000000:0")).isEmpty();
+		assertThat(TxHistoryCursor.fromToken(token.substring(2))).isEmpty();
+		assertThat(TxHistoryCursor.fromToken("zz" + token.substring(2))).isEmpty();
+		// Nanoseconds out of range
+		assertThat(TxHistoryCursor.fromToken(token.substring(0, 16) + "ffffffff" + token.substring(24))).isEmpty();
+	}
+}
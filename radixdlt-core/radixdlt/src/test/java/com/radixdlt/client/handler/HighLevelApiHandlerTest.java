@@ -26,6 +26,7 @@ import org.junit.Test;
 
 import com.radixdlt.client.Rri;
 import com.radixdlt.client.api.TransactionStatus;
+import com.radixdlt.client.api.TxHistoryCursor;
 import com.radixdlt.client.api.TxHistoryEntry;
 import com.radixdlt.client.api.ValidatorInfoDetails;
 import com.radixdlt.client.service.HighLevelApiService;
@@ -252,7 +253,7 @@ public class HighLevelApiHandlerTest {
 		var entry = createTxHistoryEntry(AID.ZERO);
 
 		when(highLevelApiService.getTransactionHistory(any(), eq(5), any()))
-			.thenReturn(Result.ok(tuple(Optional.ofNullable(entry.timestamp()), List.of(entry))));
+			.thenReturn(Result.ok(tuple(Optional.of(TxHistoryCursor.of(entry)), List.of(entry))));
 
 		var params = jsonArray().put(ADDRESS).put(5);
 		var response = handler.handleTransactionHistory(requestWith(params));
@@ -274,7 +275,7 @@ public class HighLevelApiHandlerTest {
 		var entry = createTxHistoryEntry(AID.ZERO);
 
 		when(highLevelApiService.getTransactionHistory(any(), eq(5), any()))
-			.thenReturn(Result.ok(tuple(Optional.ofNullable(entry.timestamp()), List.of(entry))));
+			.thenReturn(Result.ok(tuple(Optional.of(TxHistoryCursor.of(entry)), List.of(entry))));
 
 		var params = jsonObject().put("address", ADDRESS).put("size", "5");
 		var response = handler.handleTransactionHistory(requestWith(params));
@@ -283,7 +284,7 @@ public class HighLevelApiHandlerTest {
 
 		var result = response.getJSONObject("result");
 
-		assertTrue(result.has("cursor"));
+		assertEquals(TxHistoryCursor.of(entry).asToken(), result.getString("cursor"));
 		assertTrue(result.has("transactions"));
 		var transactions = result.getJSONArray("transactions");
 		assertEquals(1, transactions.length());
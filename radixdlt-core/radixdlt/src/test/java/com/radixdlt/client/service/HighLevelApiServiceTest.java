@@ -24,6 +24,7 @@ import org.junit.Test;
 import com.radixdlt.atom.actions.CreateMutableToken;
 import com.radixdlt.client.Rri;
 import com.radixdlt.client.api.ActionEntry;
+import com.radixdlt.client.api.TxHistoryCursor;
 import com.radixdlt.client.api.TxHistoryEntry;
 import com.radixdlt.client.store.ClientApiStore;
 import com.radixdlt.client.store.MessageEntry;
@@ -154,7 +155,7 @@ public class HighLevelApiServiceTest {
 		highLevelApiService.getTransactionHistory(OWNER_ACCOUNT, 1, Optional.empty())
 			.onSuccess(tuple -> tuple.map((cursor, list) -> {
 				assertTrue(cursor.isPresent());
-				assertEquals(entry.timestamp(), cursor.get());
+				assertEquals(TxHistoryCursor.of(entry), cursor.get());
 
 				assertEquals(1, list.size());
 				assertEquals(entry, list.get(0));
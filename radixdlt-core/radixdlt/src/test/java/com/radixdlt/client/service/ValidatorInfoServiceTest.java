@@ -16,6 +16,8 @@
  */
 package com.radixdlt.client.service;
 
+import com.radixdlt.client.api.ValidatorInfoDetails;
+import com.radixdlt.crypto.ECKeyPair;
 import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.crypto.exception.PublicKeyException;
 import org.junit.Assert;
@@ -24,12 +26,15 @@ import org.junit.Test;
 
 import com.radixdlt.atommodel.validators.ValidatorParticle;
 import com.radixdlt.engine.RadixEngine;
+import com.radixdlt.engine.StateSnapshot;
 import com.radixdlt.statecomputer.LedgerAndBFTProof;
 import com.radixdlt.statecomputer.RegisteredValidators;
 import com.radixdlt.statecomputer.Stakes;
 import com.radixdlt.utils.UInt256;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -111,10 +116,39 @@ public class ValidatorInfoServiceTest {
 			}));
 	}
 
+	@Test
+	public void validatorsWithoutStakeAreReturnedLast() {
+		var unstaked = ECKeyPair.generateNew().getPublicKey();
+		var validatorInfoService = setUpService(new ValidatorParticle(unstaked, false, "V4", "http://v4.com"));
+
+		var firstPage = validatorInfoService.getValidators(3, Optional.empty());
+		var secondPage = validatorInfoService.getValidators(3, Optional.of(validator1));
+		var afterLast = validatorInfoService.getValidators(3, Optional.of(unstaked));
+
+		assertEquals(
+			List.of(validator3, validator2, validator1),
+			firstPage.map(tuple -> tuple.map((cursor, list) -> keys(list))).toOptional().orElseThrow()
+		);
+		assertEquals(
+			List.of(unstaked),
+			secondPage.map(tuple -> tuple.map((cursor, list) -> keys(list))).toOptional().orElseThrow()
+		);
+		assertEquals(
+			List.of(),
+			afterLast.map(tuple -> tuple.map((cursor, list) -> keys(list))).toOptional().orElseThrow()
+		);
+	}
+
+	private static List<ECPublicKey> keys(List<ValidatorInfoDetails> details) {
+		return details.stream().map(ValidatorInfoDetails::getValidatorKey).collect(Collectors.toList());
+	}
+
 	@SuppressWarnings("unchecked")
-	private ValidatorInfoService setUpService() {
+	private ValidatorInfoService setUpService(ValidatorParticle... unstakedValidators) {
 		var radixEngine = (RadixEngine<LedgerAndBFTProof>) mock(RadixEngine.class);
 		var validatorInfoService = new ValidatorInfoService(radixEngine);
+		var snapshot = mock(StateSnapshot.class);
+		when(radixEngine.getStateSnapshot()).thenReturn(snapshot);
 
 		var particle1 = new ValidatorParticle(validator1, false, "V1", "http://v1.com");
 		var particle2 = new ValidatorParticle(validator2, false, "V2", "http://v2.com");
@@ -123,15 +157,18 @@ public class ValidatorInfoServiceTest {
 			.add(particle1)
 			.add(particle2)
 			.add(particle3);
+		for (var unstaked : unstakedValidators) {
+			validators = validators.add(unstaked);
+		}
 
-		when(radixEngine.getComputedState(eq(RegisteredValidators.class))).thenReturn(validators);
+		when(snapshot.get(eq(RegisteredValidators.class))).thenReturn(validators);
 
 		var stakes = Stakes.create()
 			.add(validator1, UInt256.FIVE)
 			.add(validator2, UInt256.EIGHT)
 			.add(validator3, UInt256.TEN);
 
-		when(radixEngine.getComputedState(eq(Stakes.class))).thenReturn(stakes);
+		when(snapshot.get(eq(Stakes.class))).thenReturn(stakes);
 		return validatorInfoService;
 	}
 }
\ No newline at end of file
@@ -31,11 +31,11 @@ import com.radixdlt.statecomputer.forks.RadixEngineOnlyLatestForkModule;
 import com.radixdlt.utils.UInt384;
 import org.junit.Assert;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import com.radixdlt.client.api.ActionType;
+import com.radixdlt.client.api.TxHistoryCursor;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
@@ -66,7 +66,6 @@ import com.radixdlt.store.DatabaseLocation;
 import com.radixdlt.store.berkeley.BerkeleyLedgerEntryStore;
 import com.radixdlt.utils.UInt256;
 
-import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -234,7 +233,6 @@ public class BerkeleyClientApiStoreTest {
 	}
 
 	@Test
-	@Ignore("Something weird going on with this test.")
 	public void transactionHistoryIsReturnedInPages() throws Exception {
 		var tokenDef = prepareMutableTokenDef(SYMBOL);
 		var tx = engine.construct(TOKEN_KEYPAIR.getPublicKey(), TxActionListBuilder.create()
@@ -246,7 +244,7 @@ public class BerkeleyClientApiStoreTest {
 		).signAndBuild(TOKEN_KEYPAIR::sign);
 
 		var clientApiStore = prepareApiStore(tx);
-		var newCursor = new AtomicReference<Instant>();
+		var newCursor = new AtomicReference<TxHistoryCursor>();
 
 		clientApiStore.getTransactionHistory(TOKEN_ACCOUNT, 1, Optional.empty())
 			.onFailure(this::failWithMessage)
@@ -265,7 +263,7 @@ public class BerkeleyClientApiStoreTest {
 				assertEquals(AccountAddress.of(TOKEN_ACCOUNT), action.getFrom());
 				assertEquals(AccountAddress.of(REAddr.ofPubKeyAccount(OWNER_KEYPAIR.getPublicKey())), action.getTo());
 
-				newCursor.set(entry.timestamp());
+				newCursor.set(TxHistoryCursor.of(entry));
 			});
 
 		assertNotNull(newCursor.get());
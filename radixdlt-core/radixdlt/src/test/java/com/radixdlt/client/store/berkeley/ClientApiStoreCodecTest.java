@@ -0,0 +1,121 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.client.store.berkeley;
+
+import com.radixdlt.client.api.ActionEntry;
+import com.radixdlt.client.api.ActionType;
+import com.radixdlt.client.api.TxHistoryEntry;
+import com.radixdlt.client.store.MessageEntry;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.identifiers.AID;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.utils.UInt256;
+import com.radixdlt.utils.UInt384;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClientApiStoreCodecTest {
+	@Test
+	public void history_entry_survives_round_trip() {
+		var entry = TxHistoryEntry.create(
+			AID.from(HashUtils.random256().asBytes()),
+			Instant.ofEpochSecond(1_600_000_000L, 123_456_789),
+			UInt256.TEN,
+			MessageEntry.fromPlainString("Hello, \u00e9t\u00e9"),
+			List.of(
+				ActionEntry.create(ActionType.TRANSFER, "from", "to", UInt256.FIVE, "xrd_rb1qya85pwq"),
+				ActionEntry.create(ActionType.BURN, "from", null, UInt256.ONE, "xrd_rb1qya85pwq"),
+				ActionEntry.unknown()
+			)
+		);
+
+		assertThat(ClientApiStoreCodec.decodeTxHistoryEntry(ClientApiStoreCodec.encode(entry))).isEqualTo(entry);
+	}
+
+	@Test
+	public void history_entry_without_message_or_actions_survives_round_trip() {
+		var entry = TxHistoryEntry.create(AID.ZERO, Instant.EPOCH, UInt256.ZERO, null, List.of());
+
+		assertThat(ClientApiStoreCodec.decodeTxHistoryEntry(ClientApiStoreCodec.encode(entry))).isEqualTo(entry);
+	}
+
+	@Test
+	public void truncated_or_padded_history_entry_is_rejected() {
+		var entry = TxHistoryEntry.create(AID.ZERO, Instant.EPOCH, UInt256.ZERO, null, List.of(ActionEntry.unknown()));
+		var bytes = ClientApiStoreCodec.encode(entry);
+
+		assertThatThrownBy(() -> ClientApiStoreCodec.decodeTxHistoryEntry(Arrays.copyOf(bytes, bytes.length - 1)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ClientApiStoreCodec.decodeTxHistoryEntry(Arrays.copyOf(bytes, bytes.length + 1)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void balance_entries_survive_round_trip() {
+		var owner = REAddr.ofPubKeyAccount(ECKeyPair.generateNew().getPublicKey());
+		var delegate = ECKeyPair.generateNew().getPublicKey();
+		var entries = List.of(
+			BalanceEntry.create(owner, null, "xrd_rb1qya85pwq", UInt384.TEN, false),
+			BalanceEntry.create(owner, delegate, "xrd_rb1qya85pwq", UInt384.FIVE, true),
+			BalanceEntry.create(null, null, "xrd_rb1qya85pwq", UInt384.MAX_VALUE, false)
+		);
+
+		for (var entry : entries) {
+			assertThat(ClientApiStoreCodec.decodeBalanceEntry(ClientApiStoreCodec.encode(entry))).isEqualTo(entry);
+		}
+	}
+
+	@Test
+	public void merged_balance_matches_added_balance_entries() {
+		var owner = REAddr.ofPubKeyAccount(ECKeyPair.generateNew().getPublicKey());
+		var amounts = List.of(UInt384.ZERO, UInt384.FIVE, UInt384.TEN);
+
+		for (var amount0 : amounts) {
+			for (var amount1 : amounts) {
+				for (var negative0 : List.of(false, true)) {
+					for (var negative1 : List.of(false, true)) {
+						var entry0 = BalanceEntry.create(owner, null, "xrd_rb1qya85pwq", amount0, negative0);
+						var entry1 = BalanceEntry.create(owner, null, "xrd_rb1qya85pwq", amount1, negative1);
+
+						var merged = ClientApiStoreCodec.mergeBalance(ClientApiStoreCodec.encode(entry0), entry1);
+
+						assertThat(ClientApiStoreCodec.decodeBalanceEntry(merged)).isEqualTo(entry0.add(entry1));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void truncated_balance_entry_is_rejected() {
+		var entry = BalanceEntry.create(null, null, "xrd_rb1qya85pwq", UInt384.TEN, false);
+		var bytes = ClientApiStoreCodec.encode(entry);
+
+		assertThatThrownBy(() -> ClientApiStoreCodec.decodeBalanceEntry(Arrays.copyOf(bytes, bytes.length - 1)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ClientApiStoreCodec.mergeBalance(new byte[UInt384.BYTES], entry))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.consensus;
+
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.BFTValidator;
+import com.radixdlt.consensus.bft.BFTValidatorSet;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.utils.UInt256;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConsensusCodecTest {
+	private final Hasher hasher = new Sha256Hasher(DefaultSerialization.getInstance());
+	private final ECKeyPair keyPair = ECKeyPair.generateNew();
+	private final BFTNode author = BFTNode.create(keyPair.getPublicKey());
+
+	@Test
+	public void vote_round_trips_unchanged() throws DeserializeException {
+		final var qc = qc(View.of(5), true);
+		final var committedQC = qc(View.of(3), false);
+		final var tc = new TimeoutCertificate(1L, View.of(6), signatures(2));
+		final var vote = new Vote(
+			author,
+			voteData(View.of(6), false),
+			12345L,
+			keyPair.sign(HashUtils.random256().asBytes()),
+			HighQC.from(qc, committedQC, Optional.of(tc)),
+			Optional.of(keyPair.sign(HashUtils.random256().asBytes()))
+		);
+
+		final var decoded = (Vote) ConsensusCodec.decodeEvent(ConsensusCodec.encode(vote));
+
+		assertThat(decoded).isEqualTo(vote);
+		assertThat(hasher.hash(decoded.getVoteData())).isEqualTo(hasher.hash(vote.getVoteData()));
+		assertThat(hasher.hash(decoded.highQC())).isEqualTo(hasher.hash(vote.highQC()));
+	}
+
+	@Test
+	public void proposal_round_trips_unchanged() throws DeserializeException {
+		final var qc = qc(View.of(5), true);
+		final var vertex = UnverifiedVertex.createVertex(qc, View.of(6), List.of(Txn.create(new byte[] {1, 2, 3})));
+		final var proposal = new Proposal(
+			vertex,
+			qc(View.of(4), false),
+			author,
+			keyPair.sign(HashUtils.random256().asBytes()),
+			Optional.empty()
+		);
+
+		final var decoded = (Proposal) ConsensusCodec.decodeEvent(ConsensusCodec.encode(proposal));
+
+		assertThat(decoded).isEqualTo(proposal);
+		assertThat(hasher.hash(decoded.getVertex())).isEqualTo(hasher.hash(vertex));
+	}
+
+	@Test
+	public void vertices_keep_absent_fields_so_hashes_are_unchanged() throws DeserializeException {
+		final var genesis = UnverifiedVertex.createGenesis(LedgerHeader.genesis(
+			new AccumulatorState(0, HashUtils.zero256()),
+			BFTValidatorSet.from(List.of(BFTValidator.from(author, UInt256.TEN))),
+			0L
+		));
+		final var vertex = UnverifiedVertex.createVertex(qc(View.of(1), false), View.of(2), List.of());
+
+		final var decoded = ConsensusCodec.decodeVertices(ConsensusCodec.encodeVertices(List.of(genesis, vertex)));
+
+		assertThat(decoded).containsExactly(genesis, vertex);
+		assertThat(hasher.hash(decoded.get(0))).isEqualTo(hasher.hash(genesis));
+		assertThat(hasher.hash(decoded.get(1))).isEqualTo(hasher.hash(vertex));
+	}
+
+	@Test
+	public void unsupported_version_is_rejected() {
+		final var bytes = ConsensusCodec.encodeVertices(List.of());
+		bytes[0] = ConsensusCodec.VERSION + 1;
+
+		assertThatThrownBy(() -> ConsensusCodec.decodeVertices(bytes))
+			.isInstanceOf(DeserializeException.class);
+	}
+
+	@Test
+	public void truncated_encoding_is_rejected() {
+		final var vote = new Vote(
+			author,
+			voteData(View.of(2), true),
+			1L,
+			keyPair.sign(HashUtils.random256().asBytes()),
+			HighQC.from(qc(View.of(1), true)),
+			Optional.empty()
+		);
+		final var bytes = ConsensusCodec.encode(vote);
+
+		assertThatThrownBy(() -> ConsensusCodec.decodeEvent(Arrays.copyOf(bytes, bytes.length - 1)))
+			.isInstanceOf(DeserializeException.class);
+	}
+
+	@Test
+	public void every_truncation_of_vertices_is_rejected() {
+		final var genesis = UnverifiedVertex.createGenesis(LedgerHeader.genesis(
+			new AccumulatorState(0, HashUtils.zero256()),
+			BFTValidatorSet.from(List.of(BFTValidator.from(author, UInt256.TEN))),
+			0L
+		));
+		final var vertex = UnverifiedVertex.createVertex(qc(View.of(1), false), View.of(2), List.of());
+		final var bytes = ConsensusCodec.encodeVertices(List.of(genesis, vertex));
+
+		for (int length = 0; length < bytes.length; ++length) {
+			final var truncated = Arrays.copyOf(bytes, length);
+			assertThatThrownBy(() -> ConsensusCodec.decodeVertices(truncated))
+				.isInstanceOf(DeserializeException.class);
+		}
+	}
+
+	private QuorumCertificate qc(View view, boolean committed) {
+		return new QuorumCertificate(voteData(view, committed), signatures(3));
+	}
+
+	private VoteData voteData(View view, boolean committed) {
+		final var proposed = header(view, true);
+		final var parent = header(view.previous(), false);
+		return new VoteData(proposed, parent, committed ? parent : null);
+	}
+
+	private BFTHeader header(View view, boolean endOfEpoch) {
+		final var accumulatorState = new AccumulatorState(view.number() * 10, HashUtils.random256());
+		final var ledgerHeader = endOfEpoch
+			? LedgerHeader.create(1L, view, accumulatorState, 1000L,
+				BFTValidatorSet.from(List.of(BFTValidator.from(author, UInt256.FIVE))))
+			: LedgerHeader.create(1L, view, accumulatorState, 1000L);
+		return new BFTHeader(view, HashUtils.random256(), ledgerHeader);
+	}
+
+	private TimestampedECDSASignatures signatures(int count) {
+		final var signatures = new HashMap<BFTNode, TimestampedECDSASignature>();
+		for (int i = 0; i < count; ++i) {
+			final var signer = ECKeyPair.generateNew();
+			signatures.put(
+				BFTNode.create(signer.getPublicKey()),
+				TimestampedECDSASignature.from(i, UInt256.from(i + 1), signer.sign(HashUtils.random256().asBytes()))
+			);
+		}
+		return new TimestampedECDSASignatures(Map.copyOf(signatures));
+	}
+}
@@ -24,7 +24,6 @@ import com.google.common.hash.HashCode;
 import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.BFTValidator;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
-import com.radixdlt.consensus.bft.ValidationState;
 import com.radixdlt.consensus.bft.View;
 import com.radixdlt.consensus.bft.ViewVotingResult;
 import com.radixdlt.consensus.bft.VoteProcessingResult;
@@ -44,7 +43,6 @@ import nl.jqno.equalsverifier.EqualsVerifier;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -89,23 +87,68 @@ public class PendingVotesTest {
 		BFTNode author = mock(BFTNode.class);
 		Vote vote = makeSignedVoteFor(author, View.genesis(), HashUtils.random256());
 
-		BFTValidatorSet validatorSet = mock(BFTValidatorSet.class);
-		ValidationState validationState = mock(ValidationState.class);
-		TimestampedECDSASignatures signatures = mock(TimestampedECDSASignatures.class);
-		when(validationState.addSignature(any(), anyLong(), any())).thenReturn(true);
-		when(validationState.complete()).thenReturn(true);
-		when(validationState.signatures()).thenReturn(signatures);
-		when(validatorSet.newValidationState()).thenReturn(validationState);
-		when(validatorSet.containsNode(any())).thenReturn(true);
-
-		VoteData voteData = mock(VoteData.class);
-		BFTHeader proposed = vote.getVoteData().getProposed();
-		when(voteData.getProposed()).thenReturn(proposed);
+		BFTValidatorSet validatorSet = BFTValidatorSet.from(
+			Collections.singleton(BFTValidator.from(author, UInt256.ONE))
+		);
 
 		assertTrue(
 			this.pendingVotes.insertVote(vote, validatorSet) instanceof VoteProcessingResult.QuorumReached);
 	}
 
+	@Test
+	public void when_inserting_votes__then_quorum_is_formed_by_power_not_count() {
+		BFTNode heavy = mock(BFTNode.class);
+		HashCode vertexId = HashUtils.random256();
+		Vote heavyVote = makeSignedVoteFor(heavy, View.genesis(), vertexId);
+		Vote lightVote = makeSignedVoteFor(mock(BFTNode.class), View.genesis(), vertexId);
+		VoteData voteData = heavyVote.getVoteData();
+		when(lightVote.getVoteData()).thenReturn(voteData);
+
+		// Total power 5, so 4 is needed for a quorum: two out of three validators
+		BFTValidatorSet validatorSet = BFTValidatorSet.from(
+			Arrays.asList(
+				BFTValidator.from(heavy, UInt256.from(3)),
+				BFTValidator.from(lightVote.getAuthor(), UInt256.ONE),
+				BFTValidator.from(mock(BFTNode.class), UInt256.ONE)
+			)
+		);
+
+		assertEquals(
+			VoteProcessingResult.accepted(),
+			this.pendingVotes.insertVote(heavyVote, validatorSet)
+		);
+
+		VoteProcessingResult result = this.pendingVotes.insertVote(lightVote, validatorSet);
+
+		assertTrue(result instanceof VoteProcessingResult.QuorumReached);
+		ViewVotingResult viewResult = ((VoteProcessingResult.QuorumReached) result).getViewVotingResult();
+		assertTrue(viewResult instanceof ViewVotingResult.FormedQC);
+		assertEquals(2, ((ViewVotingResult.FormedQC) viewResult).getQC().getTimestampedSignatures().count());
+	}
+
+	@Test
+	public void when_evicting_before_a_view__then_earlier_votes_are_discarded() {
+		BFTNode author1 = mock(BFTNode.class);
+		BFTNode author2 = mock(BFTNode.class);
+		Vote vote1 = makeSignedVoteFor(author1, View.genesis(), HashUtils.random256());
+		Vote vote2 = makeSignedVoteFor(author2, View.of(1), HashUtils.random256());
+		BFTValidatorSet validatorSet = BFTValidatorSet.from(
+			Arrays.asList(
+				BFTValidator.from(author1, UInt256.ONE),
+				BFTValidator.from(author2, UInt256.ONE)
+			)
+		);
+
+		this.pendingVotes.insertVote(vote1, validatorSet);
+		this.pendingVotes.insertVote(vote2, validatorSet);
+		assertEquals(2, this.pendingVotes.viewVotesSize());
+
+		this.pendingVotes.evictBefore(View.of(1));
+
+		assertEquals(1, this.pendingVotes.viewVotesSize());
+		assertEquals(1, this.pendingVotes.voteStateSize());
+	}
+
 	@Test
 	public void when_inserting_valid_timeout_votes__then_tc_is_formed() {
 		HashCode vertexId1 = HashUtils.random256();
@@ -140,17 +183,13 @@ public class PendingVotesTest {
 		BFTNode author = mock(BFTNode.class);
 		Vote vote = makeSignedVoteFor(author, View.genesis(), HashUtils.random256());
 
-		BFTValidatorSet validatorSet = mock(BFTValidatorSet.class);
-		ValidationState validationState = mock(ValidationState.class);
-		TimestampedECDSASignatures signatures = mock(TimestampedECDSASignatures.class);
-		when(validationState.signatures()).thenReturn(signatures);
-		when(validationState.isEmpty()).thenReturn(true);
-		when(validatorSet.newValidationState()).thenReturn(validationState);
-		when(validatorSet.containsNode(any())).thenReturn(true);
-
-		VoteData voteData = mock(VoteData.class);
-		BFTHeader proposed = vote.getVoteData().getProposed();
-		when(voteData.getProposed()).thenReturn(proposed);
+		// Two validators, so that a single vote is not enough for a quorum
+		BFTValidatorSet validatorSet = BFTValidatorSet.from(
+			Arrays.asList(
+				BFTValidator.from(author, UInt256.ONE),
+				BFTValidator.from(mock(BFTNode.class), UInt256.ONE)
+			)
+		);
 
 		// Preconditions
 		assertEquals(
@@ -177,17 +216,13 @@ public class PendingVotesTest {
 		when(vote.getTimeoutSignature()).thenReturn(Optional.of(mock(ECDSASignature.class)));
 		when(vote.isTimeout()).thenReturn(true);
 
-		BFTValidatorSet validatorSet = mock(BFTValidatorSet.class);
-		ValidationState validationState = mock(ValidationState.class);
-		TimestampedECDSASignatures signatures = mock(TimestampedECDSASignatures.class);
-		when(validationState.signatures()).thenReturn(signatures);
-		when(validationState.isEmpty()).thenReturn(true);
-		when(validatorSet.newValidationState()).thenReturn(validationState);
-		when(validatorSet.containsNode(any())).thenReturn(true);
-
-		VoteData voteData = mock(VoteData.class);
-		BFTHeader proposed = vote.getVoteData().getProposed();
-		when(voteData.getProposed()).thenReturn(proposed);
+		// Two validators, so that a single vote is not enough for a quorum
+		BFTValidatorSet validatorSet = BFTValidatorSet.from(
+			Arrays.asList(
+				BFTValidator.from(author, UInt256.ONE),
+				BFTValidator.from(mock(BFTNode.class), UInt256.ONE)
+			)
+		);
 
 		// Preconditions
 		assertEquals(
@@ -0,0 +1,92 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.consensus;
+
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.serialization.DsonOutput.Output;
+import com.radixdlt.serialization.Serialization;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class Sha256HasherTest {
+	private Serialization serialization;
+	private SystemCounters counters;
+	private Sha256Hasher hasher;
+
+	@Before
+	public void setup() {
+		this.serialization = spy(DefaultSerialization.getInstance());
+		this.counters = new SystemCountersImpl();
+		this.hasher = new Sha256Hasher(serialization, counters);
+	}
+
+	@Test
+	public void hash_of_cacheable_object_is_serialized_once() {
+		final var header = header();
+
+		final var first = hasher.hash(header);
+		final var second = hasher.hash(header);
+
+		assertThat(second).isEqualTo(first);
+		assertThat(first).isEqualTo(HashUtils.sha256(DefaultSerialization.getInstance().toDson(header, Output.HASH)));
+		verify(serialization, times(1)).toDson(any(), any());
+		assertThat(counters.get(CounterType.HASHER_CACHE_MISSES)).isEqualTo(1L);
+		assertThat(counters.get(CounterType.HASHER_CACHE_HITS)).isEqualTo(1L);
+	}
+
+	@Test
+	public void hash_cached_with_other_serialization_is_not_used() {
+		final var header = header();
+		final var other = new Sha256Hasher(DefaultSerialization.getInstance());
+		other.hash(header);
+
+		hasher.hash(header);
+
+		verify(serialization, times(1)).toDson(any(), any());
+		assertThat(counters.get(CounterType.HASHER_CACHE_HITS)).isZero();
+	}
+
+	@Test
+	public void hash_of_other_objects_is_not_cached() {
+		final var view = View.of(1);
+
+		hasher.hash(view);
+		hasher.hash(view);
+
+		verify(serialization, times(2)).toDson(any(), any());
+		assertThat(counters.get(CounterType.HASHER_CACHE_HITS)).isZero();
+		assertThat(counters.get(CounterType.HASHER_CACHE_MISSES)).isZero();
+	}
+
+	private static BFTHeader header() {
+		final var accumulatorState = new AccumulatorState(1L, HashUtils.random256());
+		return new BFTHeader(View.of(1), HashUtils.random256(), LedgerHeader.create(1L, View.of(1), accumulatorState, 1L));
+	}
+}
@@ -127,9 +127,16 @@ public class BFTEventReducerTest {
         when(vote.getView()).thenReturn(View.of(1));
         this.bftEventReducer.processViewUpdate(ViewUpdate.create(View.of(3), mock(HighQC.class), mock(BFTNode.class), this.self));
         this.bftEventReducer.processVote(vote);
+        verify(this.pendingVotes, times(1)).evictBefore(View.of(3));
         verifyNoMoreInteractions(this.pendingVotes);
     }
 
+    @Test
+    public void when_view_update__then_votes_for_previous_views_are_evicted() {
+        this.bftEventReducer.processViewUpdate(ViewUpdate.create(View.of(3), mock(HighQC.class), mock(BFTNode.class), this.self));
+        verify(this.pendingVotes, times(1)).evictBefore(View.of(3));
+    }
+
     @Test
     public void when_process_vote_with_quorum__then_processed() {
         BFTNode author = mock(BFTNode.class);
@@ -151,6 +158,7 @@ public class BFTEventReducerTest {
         this.bftEventReducer.processVote(vote);
 
         verify(this.viewQuorumReachedEventDispatcher, times(1)).dispatch(any());
+        verify(this.pendingVotes, times(1)).evictBefore(View.of(1));
         verify(this.pendingVotes, times(1)).insertVote(eq(vote), any());
         verifyNoMoreInteractions(this.pendingVotes);
     }
@@ -61,6 +61,22 @@ public class BFTValidatorSetTest {
 		assertThat(s).contains(node.getSimpleName());
 	}
 
+	@Test
+	public void testIndices() {
+		BFTNode node1 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+		BFTNode node2 = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+		BFTNode other = BFTNode.create(ECKeyPair.generateNew().getPublicKey());
+		BFTValidatorSet vs = BFTValidatorSet.from(ImmutableList.of(
+			BFTValidator.from(node1, UInt256.ONE),
+			BFTValidator.from(node2, UInt256.TWO)
+		));
+
+		assertEquals(2, vs.size());
+		assertEquals(node1, vs.validatorAt(vs.indexOf(node1)).getNode());
+		assertEquals(node2, vs.validatorAt(vs.indexOf(node2)).getNode());
+		assertEquals(-1, vs.indexOf(other));
+	}
+
 	@Test
 	public void testValidate() {
 		ECKeyPair k1 = ECKeyPair.generateNew();
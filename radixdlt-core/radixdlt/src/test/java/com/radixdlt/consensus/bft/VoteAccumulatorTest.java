@@ -0,0 +1,74 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.consensus.bft;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.radixdlt.crypto.ECDSASignature;
+import com.radixdlt.utils.UInt256;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class VoteAccumulatorTest {
+	private final BFTNode node1 = mock(BFTNode.class);
+	private final BFTNode node2 = mock(BFTNode.class);
+	private final BFTNode node3 = mock(BFTNode.class);
+	private final BFTValidatorSet validatorSet = BFTValidatorSet.from(ImmutableList.of(
+		BFTValidator.from(node1, UInt256.from(3)),
+		BFTValidator.from(node2, UInt256.ONE),
+		BFTValidator.from(node3, UInt256.ONE)
+	));
+
+	@Test
+	public void sensible_to_string() {
+		String s = validatorSet.newVoteAccumulator().toString();
+		assertThat(s).contains(VoteAccumulator.class.getSimpleName());
+	}
+
+	@Test
+	public void quorum_is_reached_on_signed_power() {
+		final var accumulator = validatorSet.newVoteAccumulator();
+
+		assertThat(accumulator.isEmpty()).isTrue();
+		assertThat(accumulator.addSignature(validatorSet.indexOf(node2), 1L, ECDSASignature.zeroSignature())).isTrue();
+		assertThat(accumulator.addSignature(validatorSet.indexOf(node3), 2L, ECDSASignature.zeroSignature())).isTrue();
+		assertThat(accumulator.complete()).isFalse();
+		assertThat(accumulator.addSignature(validatorSet.indexOf(node1), 3L, ECDSASignature.zeroSignature())).isTrue();
+		assertThat(accumulator.complete()).isTrue();
+		assertThat(accumulator.signatures().getSignatures()).containsOnlyKeys(node1, node2, node3);
+	}
+
+	@Test
+	public void signatures_are_counted_once_and_can_be_removed() {
+		final var accumulator = validatorSet.newVoteAccumulator();
+		final int index = validatorSet.indexOf(node1);
+
+		assertThat(accumulator.addSignature(index, 1L, ECDSASignature.zeroSignature())).isTrue();
+		assertThat(accumulator.addSignature(index, 2L, ECDSASignature.zeroSignature())).isFalse();
+		assertThat(accumulator.signatures().getSignatures().get(node1).timestamp()).isEqualTo(1L);
+
+		accumulator.removeSignature(index);
+		accumulator.removeSignature(index);
+
+		assertThat(accumulator.isEmpty()).isTrue();
+		assertThat(accumulator.addSignature(validatorSet.indexOf(node2), 3L, ECDSASignature.zeroSignature())).isTrue();
+		assertThat(accumulator.complete()).isFalse();
+	}
+}
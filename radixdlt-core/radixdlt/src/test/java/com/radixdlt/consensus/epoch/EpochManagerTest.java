@@ -137,12 +137,16 @@ public class EpochManagerTest {
 		}
 
 		@Override
-		public StateComputerResult prepare(List<PreparedTxn> previous, List<Txn> next, long epoch, View view, long timestamp) {
+		public StateComputerResult prepare(List<PreparedTxn> previous, VerifiedVertex vertex, long timestamp) {
 			return new StateComputerResult(ImmutableList.of(), ImmutableMap.of());
 		}
 
 		@Override
-		public void commit(VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState) {
+		public void commit(
+			VerifiedTxnsAndProof verifiedTxnsAndProof,
+			List<PreparedTxn> preparedTxns,
+			VerifiedVertexStoreState vertexStoreState
+		) {
 			// No-op
 		}
 	};
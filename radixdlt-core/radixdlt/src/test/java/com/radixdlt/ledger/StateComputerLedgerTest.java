@@ -20,6 +20,8 @@ package com.radixdlt.ledger;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -27,17 +29,20 @@ import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.radixdlt.atom.Txn;
 import com.radixdlt.consensus.LedgerHeader;
 import com.radixdlt.consensus.QuorumCertificate;
 import com.radixdlt.consensus.TimestampedECDSASignatures;
 import com.radixdlt.consensus.UnverifiedVertex;
 import com.radixdlt.consensus.LedgerProof;
+import com.radixdlt.consensus.bft.BFTCommittedUpdate;
 import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.BFTValidator;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
 import com.radixdlt.consensus.bft.PreparedVertex;
 import com.radixdlt.consensus.bft.VerifiedVertex;
+import com.radixdlt.consensus.bft.VerifiedVertexStoreState;
 import com.radixdlt.consensus.bft.View;
 import com.radixdlt.consensus.Sha256Hasher;
 import com.radixdlt.crypto.HashUtils;
@@ -152,7 +157,7 @@ public class StateComputerLedgerTest {
 	public void should_not_change_accumulator_when_there_is_no_command() {
 		// Arrange
 		genesisIsEndOfEpoch(false);
-		when(stateComputer.prepare(any(), any(), anyLong(), any(), anyLong()))
+		when(stateComputer.prepare(any(), any(), anyLong()))
 			.thenReturn(new StateComputerResult(ImmutableList.of(), ImmutableMap.of()));
 		final UnverifiedVertex unverifiedVertex = new UnverifiedVertex(genesisQC, View.of(1), null);
 		final VerifiedVertex proposedVertex = new VerifiedVertex(unverifiedVertex, hasher.hash(unverifiedVertex));
@@ -171,7 +176,7 @@ public class StateComputerLedgerTest {
 	public void should_not_change_header_when_past_end_of_epoch_even_with_command() {
 		// Arrange
 		genesisIsEndOfEpoch(true);
-		when(stateComputer.prepare(any(), any(), anyLong(), any(), anyLong()))
+		when(stateComputer.prepare(any(), any(), anyLong()))
 			.thenReturn(new StateComputerResult(ImmutableList.of(successfulNextCommand), ImmutableMap.of()));
 		final UnverifiedVertex unverifiedVertex = new UnverifiedVertex(genesisQC, View.of(1), List.of(nextTxn.getPayload()));
 		final VerifiedVertex proposedVertex = new VerifiedVertex(unverifiedVertex, hasher.hash(unverifiedVertex));
@@ -190,7 +195,7 @@ public class StateComputerLedgerTest {
 	public void should_accumulate_when_next_command_valid() {
 		// Arrange
 		genesisIsEndOfEpoch(false);
-		when(stateComputer.prepare(any(), any(), anyLong(), any(), anyLong()))
+		when(stateComputer.prepare(any(), any(), anyLong()))
 			.thenReturn(new StateComputerResult(ImmutableList.of(successfulNextCommand), ImmutableMap.of()));
 
 		// Act
@@ -214,7 +219,7 @@ public class StateComputerLedgerTest {
 	public void should_do_nothing_if_committing_lower_state_version() {
 		// Arrange
 		genesisIsEndOfEpoch(false);
-		when(stateComputer.prepare(any(), any(), anyLong(), any(), anyLong()))
+		when(stateComputer.prepare(any(), any(), anyLong()))
 			.thenReturn(new StateComputerResult(ImmutableList.of(successfulNextCommand), ImmutableMap.of()));
 		final AccumulatorState accumulatorState = new AccumulatorState(genesisStateVersion - 1, HashUtils.zero256());
 		final LedgerHeader ledgerHeader = LedgerHeader.create(
@@ -234,8 +239,46 @@ public class StateComputerLedgerTest {
 		sut.syncEventProcessor().process(verified);
 
 		// Assert
-		verify(stateComputer, never()).commit(any(), any());
+		verify(stateComputer, never()).commit(any(), any(), any());
 		verify(mempool, never()).committed(any());
 		verify(ledgerUpdateSender, never()).dispatch(any());
 	}
+
+	@Test
+	public void bft_commit_passes_only_prepared_txns_of_the_uncommitted_extension() {
+		// Arrange
+		genesisIsEndOfEpoch(false);
+		when(headerComparator.compare(any(), any())).thenReturn(1);
+		final Txn committedTxn = Txn.create(new byte[] {1});
+		final PreparedTxn committedPrepared = () -> committedTxn;
+		final PreparedTxn nextPrepared = successfulNextCommand;
+
+		final var committedState = accumulator.accumulate(ledgerHeader.getAccumulatorState(), committedTxn.getId().asHashCode());
+		sut.syncEventProcessor().process(VerifiedTxnsAndProof.create(List.of(committedTxn), proof(committedState)));
+
+		final var nextState = accumulator.accumulate(committedState, nextTxn.getId().asHashCode());
+		final VerifiedVertexStoreState vertexStoreState = mock(VerifiedVertexStoreState.class);
+		when(vertexStoreState.getRootHeader()).thenReturn(proof(nextState));
+		final PreparedVertex preparedVertex = mock(PreparedVertex.class);
+		when(preparedVertex.successfulCommands()).thenReturn(Stream.of(committedPrepared, nextPrepared));
+
+		// Act
+		sut.bftCommittedUpdateEventProcessor()
+			.process(BFTCommittedUpdate.create(ImmutableSet.of(), ImmutableList.of(preparedVertex), vertexStoreState));
+
+		// Assert
+		verify(stateComputer).commit(
+			argThat(t -> t.getTxns().equals(List.of(nextTxn))),
+			eq(List.of(nextPrepared)),
+			eq(vertexStoreState)
+		);
+	}
+
+	private LedgerProof proof(AccumulatorState accumulatorState) {
+		return new LedgerProof(
+			HashUtils.random256(),
+			LedgerHeader.create(genesisEpoch, View.of(2), accumulatorState, 1234),
+			new TimestampedECDSASignatures()
+		);
+	}
 }
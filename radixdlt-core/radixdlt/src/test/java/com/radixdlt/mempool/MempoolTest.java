@@ -239,7 +239,7 @@ public class MempoolTest {
 		when(proof.getAccumulatorState()).thenReturn(new AccumulatorState(genesisTxns.getTxns().size(), HashUtils.random256()));
 		when(proof.getStateVersion()).thenReturn((long) genesisTxns.getTxns().size());
 		var commandsAndProof = VerifiedTxnsAndProof.create(List.of(txn), proof);
-		stateComputer.commit(commandsAndProof, null);
+		stateComputer.commit(commandsAndProof, null, null);
 
 		// Act
 		MempoolAdd mempoolAdd = MempoolAdd.create(txn);
@@ -264,7 +264,7 @@ public class MempoolTest {
 		when(proof.getAccumulatorState()).thenReturn(new AccumulatorState(genesisTxns.getTxns().size(), HashUtils.random256()));
 		when(proof.getStateVersion()).thenReturn((long) genesisTxns.getTxns().size());
 		var commandsAndProof = VerifiedTxnsAndProof.create(List.of(txn2), proof);
-		stateComputer.commit(commandsAndProof, null);
+		stateComputer.commit(commandsAndProof, null, null);
 
 		// Assert
 		assertThat(systemCounters.get(CounterType.MEMPOOL_COUNT)).isEqualTo(0);
@@ -287,12 +287,47 @@ public class MempoolTest {
 		when(proof.getAccumulatorState()).thenReturn(new AccumulatorState(genesisTxns.getTxns().size(), HashUtils.random256()));
 		when(proof.getStateVersion()).thenReturn((long) genesisTxns.getTxns().size());
 		var commandsAndProof = VerifiedTxnsAndProof.create(List.of(txn3), proof);
-		stateComputer.commit(commandsAndProof, null);
+		stateComputer.commit(commandsAndProof, null, null);
 
 		// Assert
 		assertThat(systemCounters.get(CounterType.MEMPOOL_COUNT)).isEqualTo(0);
 	}
 
+	@Test
+	public void mempool_proposes_txns_with_equal_fees_in_arrival_order() {
+		// Arrange
+		getInjector().injectMembers(this);
+		var txn = createTxn(ECKeyPair.generateNew());
+		var txn2 = createTxn(ECKeyPair.generateNew());
+		var txn3 = createTxn(ECKeyPair.generateNew());
+		processor.handleMessage(getFirstPeer(), MempoolAdd.create(txn), null);
+		processor.handleMessage(getFirstPeer(), MempoolAdd.create(txn2), null);
+		processor.handleMessage(getFirstPeer(), MempoolAdd.create(txn3), null);
+
+		// Act
+		var proposed = stateComputer.getNextTxnsFromMempool(List.of());
+
+		// Assert
+		assertThat(proposed).containsExactly(txn, txn2, txn3);
+	}
+
+	@Test
+	public void mempool_does_not_propose_conflicting_txns() {
+		// Arrange
+		getInjector().injectMembers(this);
+		ECKeyPair keyPair = ECKeyPair.generateNew();
+		var txn = createTxn(keyPair, 2);
+		processor.handleMessage(getFirstPeer(), MempoolAdd.create(txn), null);
+		var txn2 = createTxn(keyPair, 1);
+		processor.handleMessage(getFirstPeer(), MempoolAdd.create(txn2), null);
+
+		// Act
+		var proposed = stateComputer.getNextTxnsFromMempool(List.of());
+
+		// Assert
+		assertThat(proposed).containsExactly(txn);
+	}
+
 	@Test
 	@Ignore("Added hack which requires genesis to be sent as message. Reenable when fixed.")
 	public void mempool_should_relay_commands_respecting_delay_config_params() throws Exception {
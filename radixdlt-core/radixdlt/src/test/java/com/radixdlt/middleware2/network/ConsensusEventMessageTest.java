@@ -23,8 +23,21 @@ import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.Test;
 
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.consensus.BFTHeader;
+import com.radixdlt.consensus.HighQC;
+import com.radixdlt.consensus.LedgerHeader;
 import com.radixdlt.consensus.Proposal;
+import com.radixdlt.consensus.QuorumCertificate;
+import com.radixdlt.consensus.TimestampedECDSASignatures;
 import com.radixdlt.consensus.Vote;
+import com.radixdlt.consensus.VoteData;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.serialization.DeserializeException;
+import com.radixdlt.serialization.DsonOutput.Output;
+import java.util.Optional;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -72,10 +85,32 @@ public class ConsensusEventMessageTest {
 		assertNotNull(msg1.getConsensusMessage());
 	}
 
+	@Test
+	public void encoded_event_survives_serialization() throws DeserializeException {
+		final var keyPair = ECKeyPair.generateNew();
+		final var header = new BFTHeader(View.of(1), HashUtils.random256(), LedgerHeader.mocked());
+		final var qc = new QuorumCertificate(new VoteData(header, header, null), new TimestampedECDSASignatures());
+		final var vote = new Vote(
+			BFTNode.create(keyPair.getPublicKey()),
+			new VoteData(header, header, header),
+			1L,
+			keyPair.sign(HashUtils.random256().asBytes()),
+			HighQC.from(qc),
+			Optional.empty()
+		);
+		final var serialization = DefaultSerialization.getInstance();
+		final var message = ConsensusEventMessage.encoded(0, vote);
+
+		final var bytes = serialization.toDson(message, Output.WIRE);
+		final var decoded = serialization.fromDson(bytes, ConsensusEventMessage.class);
+
+		assertEquals(vote, decoded.getConsensusMessage());
+	}
+
 	@Test
 	public void equalsContract() {
 		EqualsVerifier.forClass(ConsensusEventMessage.class)
-				.withIgnoredFields("instance")
+				.withIgnoredFields("instance", "encodedEvent")
 				.suppress(Warning.NONFINAL_FIELDS)
 				.withPrefabValues(HashCode.class, HashUtils.random256(), HashUtils.random256())
 				.verify();
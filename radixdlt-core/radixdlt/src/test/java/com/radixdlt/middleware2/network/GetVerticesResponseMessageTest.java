@@ -42,7 +42,7 @@ public class GetVerticesResponseMessageTest {
 	@Test
 	public void equalsContract() {
 		EqualsVerifier.forClass(GetVerticesResponseMessage.class)
-				.withIgnoredFields("instance")
+				.withIgnoredFields("instance", "encodedVertices")
 				.suppress(Warning.NONFINAL_FIELDS)
 				.withPrefabValues(HashCode.class, HashUtils.random256(), HashUtils.random256())
 				.verify();
@@ -27,9 +27,12 @@ import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.network.addressbook.AddressBook;
 import com.radixdlt.network.addressbook.PeerWithSystem;
 import com.radixdlt.network.messaging.MessageCentral;
+import com.radixdlt.consensus.Proposal;
 import com.radixdlt.consensus.Vote;
 import com.radixdlt.network.messaging.MessageCentralMockProvider;
 
+import io.reactivex.rxjava3.observers.TestObserver;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -71,4 +74,21 @@ public class MessageCentralBFTNetworkTest {
 		network.voteDispatcher().dispatch(leader, vote);
 		verify(messageCentral, times(1)).send(eq(peer), any(ConsensusEventMessage.class));
 	}
+
+	@Test
+	public void when_broadcast_proposal__then_message_central_should_broadcast_to_remote_peers_once() {
+		Proposal proposal = mock(Proposal.class);
+		ECPublicKey otherPk = ECKeyPair.generateNew().getPublicKey();
+		BFTNode other = mock(BFTNode.class);
+		when(other.getKey()).thenReturn(otherPk);
+		PeerWithSystem peer = mock(PeerWithSystem.class);
+		when(addressBook.peer(otherPk.euid())).thenReturn(Optional.of(peer));
+		TestObserver<Proposal> localProposals = network.localProposals().test();
+
+		network.proposalDispatcher().dispatch(List.of(self, other), proposal);
+
+		localProposals.assertValue(proposal);
+		verify(messageCentral, times(1)).broadcast(eq(List.of(peer)), any(ConsensusEventMessage.class));
+		verify(messageCentral, never()).send(any(), any());
+	}
 }
@@ -0,0 +1,260 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.middleware2.network.ConsensusEventMessage;
+import com.radixdlt.middleware2.network.SyncResponseMessage;
+import com.radixdlt.network.addressbook.Peer;
+import com.radixdlt.network.messaging.InboundMessageDecoder.DecodedMessage;
+import com.radixdlt.network.messaging.InboundMessageDecoder.PriorityEvictingQueue;
+import com.radixdlt.network.messaging.InboundMessageDecoder.RawMessageQueue;
+import com.radixdlt.network.transport.StaticTransportMetadata;
+import com.radixdlt.network.transport.TransportInfo;
+import com.radixdlt.utils.functional.Result;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.radix.network.messages.TestMessage;
+import org.radix.network.messaging.Message;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InboundMessageDecoderTest {
+	private static final int BULK_MESSAGE_SIZE = 16;
+
+	private MessagePreprocessor messagePreprocessor;
+	private InboundMessageDecoder decoder;
+	private SystemCounters counters;
+	private List<Message> received;
+	private CountDownLatch receivedLatch;
+
+	@Before
+	public void setup() {
+		this.messagePreprocessor = mock(MessagePreprocessor.class);
+		this.counters = new SystemCountersImpl();
+		this.received = new CopyOnWriteArrayList<>();
+		when(messagePreprocessor.decode(any())).thenAnswer(
+			inv -> new TestMessage(inv.<InboundMessage>getArgument(0).message().getByte(0))
+		);
+		when(messagePreprocessor.process(any(), any())).thenAnswer(
+			inv -> Result.ok(new MessageFromPeer<>(mock(Peer.class), inv.getArgument(1)))
+		);
+		this.decoder = new InboundMessageDecoder(
+			messagePreprocessor,
+			m -> {
+				received.add(m.getMessage());
+				receivedLatch.countDown();
+			},
+			counters,
+			4,
+			1024,
+			BULK_MESSAGE_SIZE
+		);
+		this.decoder.start();
+	}
+
+	@After
+	public void teardown() {
+		this.decoder.stop();
+	}
+
+	@Test
+	public void messages_from_same_source_are_delivered_in_order() throws InterruptedException {
+		final var source = TransportInfo.of("DUMMY", StaticTransportMetadata.empty());
+		final int numMessages = 100;
+		this.receivedLatch = new CountDownLatch(numMessages);
+		for (int i = 0; i < numMessages; i++) {
+			decoder.submit(InboundMessage.of(source, new byte[] {(byte) i}));
+		}
+
+		assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received).extracting(m -> ((TestMessage) m).getMagic())
+			.containsExactlyElementsOf(IntStream.range(0, numMessages).boxed().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void messages_are_released_once_decoded_even_if_decoding_fails() throws InterruptedException {
+		final var source = TransportInfo.of("DUMMY", StaticTransportMetadata.empty());
+		final var bad = PooledByteBufAllocator.DEFAULT.directBuffer().writeByte(1);
+		final var good = PooledByteBufAllocator.DEFAULT.directBuffer().writeByte(2);
+		doThrow(new IllegalStateException()).when(messagePreprocessor).decode(argThat((InboundMessage m) -> m.message() == bad));
+		this.receivedLatch = new CountDownLatch(1);
+
+		decoder.submit(InboundMessage.of(source, bad));
+		decoder.submit(InboundMessage.of(source, good));
+
+		assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received).extracting(m -> ((TestMessage) m).getMagic()).containsExactly(2);
+		assertThat(bad.refCnt()).isZero();
+		assertThat(good.refCnt()).isZero();
+	}
+
+	@Test
+	public void queued_messages_and_messages_submitted_after_stop_are_released() throws InterruptedException {
+		final var level = ResourceLeakDetector.getLevel();
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+		try {
+			final var source = TransportInfo.of("DUMMY", StaticTransportMetadata.empty());
+			final var decoding = new CountDownLatch(1);
+			doAnswer(inv -> {
+				decoding.countDown();
+				// Blocks the lane until interrupted by stop
+				new CountDownLatch(1).await();
+				return null;
+			}).when(messagePreprocessor).decode(any());
+			final var buffers = IntStream.range(0, 4)
+				.mapToObj(i -> PooledByteBufAllocator.DEFAULT.directBuffer().writeByte(i))
+				.collect(Collectors.toList());
+
+			decoder.submit(InboundMessage.of(source, buffers.get(0)));
+			assertThat(decoding.await(10, TimeUnit.SECONDS)).isTrue();
+			decoder.submit(InboundMessage.of(source, buffers.get(1)));
+			decoder.submit(InboundMessage.of(source, buffers.get(2)));
+			decoder.stop();
+			decoder.submit(InboundMessage.of(source, buffers.get(3)));
+
+			assertThat(buffers).allSatisfy(buf -> assertThat(buf.refCnt()).isZero());
+		} finally {
+			ResourceLeakDetector.setLevel(level);
+		}
+	}
+
+	@Test
+	public void saturated_lane_still_admits_consensus_message() throws InterruptedException {
+		this.decoder.stop();
+		this.decoder = new InboundMessageDecoder(
+			messagePreprocessor,
+			m -> {
+				received.add(m.getMessage());
+				receivedLatch.countDown();
+			},
+			counters,
+			1,
+			4,
+			BULK_MESSAGE_SIZE
+		);
+		this.decoder.start();
+		final var source = TransportInfo.of("DUMMY", StaticTransportMetadata.empty());
+		final var consensus = mock(ConsensusEventMessage.class);
+		final var decoding = new CountDownLatch(1);
+		final var unblock = new CountDownLatch(1);
+		doAnswer(inv -> {
+			final InboundMessage m = inv.getArgument(0);
+			if (m.message().readableBytes() < BULK_MESSAGE_SIZE) {
+				return consensus;
+			}
+			if (m.message().getByte(0) == 0) {
+				decoding.countDown();
+				unblock.await();
+			}
+			return new TestMessage(m.message().getByte(0));
+		}).when(messagePreprocessor).decode(any());
+		this.receivedLatch = new CountDownLatch(2);
+
+		// Blocks the lane, then fills its decode queue with bulk messages
+		decoder.submit(InboundMessage.of(source, bulk(0)));
+		assertThat(decoding.await(10, TimeUnit.SECONDS)).isTrue();
+		for (int i = 1; i <= 5; i++) {
+			decoder.submit(InboundMessage.of(source, bulk(i)));
+		}
+		decoder.submit(InboundMessage.of(source, new byte[] {1}));
+
+		assertThat(counters.get(CounterType.MESSAGES_INBOUND_DROPPED)).isEqualTo(1);
+		unblock.countDown();
+		assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(received.subList(0, 2)).contains(consensus);
+	}
+
+	@Test
+	public void raw_queue_takes_other_messages_first_without_starving_bulk_messages() throws InterruptedException {
+		final var queue = new RawMessageQueue(RawMessageQueue.BULK_TAKE_INTERVAL + 1);
+		final var bulk = mock(InboundMessage.class);
+		final var others = IntStream.range(0, RawMessageQueue.BULK_TAKE_INTERVAL + 1)
+			.mapToObj(i -> mock(InboundMessage.class))
+			.collect(Collectors.toList());
+
+		assertThat(queue.offer(bulk, true)).isTrue();
+		others.forEach(m -> assertThat(queue.offer(m, false)).isTrue());
+		assertThat(queue.offer(mock(InboundMessage.class), false)).isFalse();
+
+		for (int i = 0; i < RawMessageQueue.BULK_TAKE_INTERVAL; i++) {
+			assertThat(queue.take()).isSameAs(others.get(i));
+		}
+		assertThat(queue.take()).isSameAs(bulk);
+		assertThat(queue.take()).isSameAs(others.get(RawMessageQueue.BULK_TAKE_INTERVAL));
+	}
+
+	@Test
+	public void full_queue_evicts_lowest_priority_message_first() {
+		final var queue = new PriorityEvictingQueue(3);
+		final var consensus1 = decoded(mock(ConsensusEventMessage.class));
+		final var sync = decoded(mock(SyncResponseMessage.class));
+		final var other = decoded(new TestMessage(0));
+		final var consensus2 = decoded(mock(ConsensusEventMessage.class));
+
+		assertThat(queue.offer(consensus1)).isNull();
+		assertThat(queue.offer(sync)).isNull();
+		assertThat(queue.offer(other)).isNull();
+
+		assertThat(queue.offer(consensus2)).isSameAs(sync);
+		assertThat(queue.size()).isEqualTo(3);
+	}
+
+	@Test
+	public void full_queue_drops_offered_message_of_lowest_priority() throws InterruptedException {
+		final var queue = new PriorityEvictingQueue(2);
+		final var consensus = decoded(mock(ConsensusEventMessage.class));
+		final var other = decoded(new TestMessage(0));
+		final var sync = decoded(mock(SyncResponseMessage.class));
+
+		queue.offer(consensus);
+		queue.offer(other);
+
+		assertThat(queue.offer(sync)).isSameAs(sync);
+		assertThat(queue.take()).isSameAs(consensus);
+		assertThat(queue.take()).isSameAs(other);
+	}
+
+	private static byte[] bulk(int magic) {
+		final var message = new byte[BULK_MESSAGE_SIZE];
+		message[0] = (byte) magic;
+		return message;
+	}
+
+	private static DecodedMessage decoded(Message message) {
+		return new DecodedMessage(mock(InboundMessage.class), message);
+	}
+}
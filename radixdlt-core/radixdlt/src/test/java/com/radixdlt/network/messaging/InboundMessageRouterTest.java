@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.network.addressbook.Peer;
+import org.junit.Before;
+import org.junit.Test;
+import org.radix.network.messages.PeerPingMessage;
+import org.radix.network.messages.TestMessage;
+import org.radix.network.messaging.Message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class InboundMessageRouterTest {
+	private SystemCounters counters;
+	private InboundMessageRouter router;
+
+	@Before
+	public void setup() {
+		this.counters = new SystemCountersImpl();
+		this.router = new InboundMessageRouter(counters, 2);
+	}
+
+	@Test
+	public void messages_are_routed_to_subscribers_of_their_type_and_supertypes() {
+		final var testMessages = router.messagesOf(TestMessage.class).test();
+		final var pingMessages = router.messagesOf(PeerPingMessage.class).test();
+		final var allMessages = router.messagesOf(Message.class).test();
+		final var message = new TestMessage(1);
+
+		router.route(fromPeer(message));
+
+		testMessages.assertValue(m -> m.getMessage() == message);
+		pingMessages.assertEmpty();
+		allMessages.assertValue(m -> m.getMessage() == message);
+	}
+
+	@Test
+	public void new_subscription_receives_messages_of_already_routed_types() {
+		final var testMessages = router.messagesOf(TestMessage.class).test();
+		router.route(fromPeer(new TestMessage(1)));
+
+		final var allMessages = router.messagesOf(Message.class).test();
+		router.route(fromPeer(new TestMessage(2)));
+
+		testMessages.assertValueCount(2);
+		allMessages.assertValueCount(1);
+	}
+
+	@Test
+	public void slow_subscriber_drops_oldest_messages_without_affecting_others() {
+		final var slow = router.messagesOf(TestMessage.class).test(0L);
+		final var fast = router.messagesOf(TestMessage.class).test();
+
+		for (int i = 0; i < 5; ++i) {
+			router.route(fromPeer(new TestMessage(i)));
+		}
+
+		fast.assertValueCount(5);
+		slow.assertEmpty();
+		slow.request(Long.MAX_VALUE);
+		assertThat(slow.values()).extracting(m -> m.getMessage().getMagic())
+			.containsExactly(3, 4);
+		assertThat(counters.get(CounterType.MESSAGES_INBOUND_OVERFLOW)).isEqualTo(3L);
+	}
+
+	private static MessageFromPeer<Message> fromPeer(Message message) {
+		return new MessageFromPeer<>(mock(Peer.class), message);
+	}
+}
@@ -22,6 +22,9 @@ import org.junit.Test;
 
 import com.radixdlt.network.transport.StaticTransportMetadata;
 import com.radixdlt.network.transport.TransportInfo;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -42,7 +45,9 @@ public class InboundMessageTest {
 
 	@Test
 	public void equalsContract() {
-	    EqualsVerifier.forClass(InboundMessage.class).verify();
+	    EqualsVerifier.forClass(InboundMessage.class)
+			.withPrefabValues(ByteBuf.class, Unpooled.wrappedBuffer(new byte[] {1}), Unpooled.wrappedBuffer(new byte[] {2}))
+			.verify();
 	}
 
 	@Test
@@ -52,7 +57,15 @@ public class InboundMessageTest {
 
 	@Test
 	public void testMessage() {
-		assertThat(inboundMessage.message()).isEqualTo(message);
+		assertThat(ByteBufUtil.getBytes(inboundMessage.message())).isEqualTo(message);
+	}
+
+	@Test
+	public void testRelease() {
+		inboundMessage.release();
+
+		assertThat(inboundMessage.message().refCnt()).isZero();
+		assertThat(inboundMessage.toString()).contains("released");
 	}
 
 	@Test
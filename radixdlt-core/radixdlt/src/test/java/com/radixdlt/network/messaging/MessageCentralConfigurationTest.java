@@ -35,13 +35,25 @@ public class MessageCentralConfigurationTest {
         RuntimeProperties properties = mock(RuntimeProperties.class);
 
         when(properties.get(eq("messaging.inbound.queue_max"), anyInt())).thenReturn(100);
+        when(properties.get(eq("messaging.inbound.decode_threads"), anyInt())).thenReturn(101);
+        when(properties.get(eq("messaging.inbound.bulk_message_size"), anyInt())).thenReturn(108);
+        when(properties.get(eq("messaging.inbound.subscription_buffer_max"), anyInt())).thenReturn(106);
         when(properties.get(eq("messaging.outbound.queue_max"), anyInt())).thenReturn(102);
+        when(properties.get(eq("messaging.outbound.peer_queue_max"), anyInt())).thenReturn(103);
+        when(properties.get(eq("messaging.outbound.peer_bulk_queue_max"), anyInt())).thenReturn(107);
+        when(properties.get(eq("messaging.outbound.threads"), anyInt())).thenReturn(105);
         when(properties.get(eq("messaging.time_to_live"), anyLong())).thenReturn(104L);
 
         MessageCentralConfiguration config = MessageCentralConfiguration.fromRuntimeProperties(properties);
 
         assertEquals(100, config.messagingInboundQueueMax(-1));
+        assertEquals(101, config.messagingInboundDecodeThreads(-1));
+        assertEquals(108, config.messagingInboundBulkMessageSize(-1));
+        assertEquals(106, config.messagingInboundSubscriptionBufferMax(-1));
         assertEquals(102, config.messagingOutboundQueueMax(-1));
+        assertEquals(103, config.messagingOutboundPeerQueueMax(-1));
+        assertEquals(107, config.messagingOutboundPeerBulkQueueMax(-1));
+        assertEquals(105, config.messagingOutboundThreads(-1));
         assertEquals(104, config.messagingTimeToLive(-1));
     }
 }
\ No newline at end of file
@@ -21,9 +21,12 @@ import com.radixdlt.DefaultSerialization;
 import com.radixdlt.consensus.Sha256Hasher;
 import com.radixdlt.counters.SystemCounters;
 import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.identifiers.EUID;
 import com.radixdlt.network.addressbook.AddressBook;
+import com.radixdlt.network.addressbook.AddressBookEvent;
 import com.radixdlt.network.addressbook.Peer;
 import com.radixdlt.network.addressbook.PeerWithSystem;
+import com.radixdlt.network.addressbook.PeersRemovedEvent;
 import com.radixdlt.network.messaging.MessagingDummyConfigurations.DummyTransport;
 import com.radixdlt.network.messaging.MessagingDummyConfigurations.DummyTransportOutboundConnection;
 import com.radixdlt.network.transport.StaticTransportMetadata;
@@ -33,6 +36,7 @@ import com.radixdlt.properties.RuntimeProperties;
 import com.radixdlt.serialization.Serialization;
 import com.radixdlt.utils.Compress;
 
+import io.reactivex.rxjava3.subjects.PublishSubject;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,6 +46,7 @@ import org.radix.universe.system.LocalSystem;
 
 import java.io.IOException;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
@@ -84,6 +89,8 @@ public class MessageCentralImplTest {
 	private DummyTransport dt;
 	private MessageCentralImpl mci;
 	private TestBlockingQueue<OutboundMessageEvent> outboundQueue;
+	private AddressBook addressBook;
+	private PublishSubject<AddressBookEvent> peerUpdates;
 
 	@Before
 	public void testSetup() {
@@ -93,9 +100,11 @@ public class MessageCentralImplTest {
 		// Curse you singletons
 		RuntimeProperties runtimeProperties = mock(RuntimeProperties.class);
 		doReturn("").when(runtimeProperties).get(eq("network.whitelist"), any());
-		AddressBook addressBook = mock(AddressBook.class);
+		this.addressBook = mock(AddressBook.class);
 		PeerWithSystem peer = mock(PeerWithSystem.class);
 		doReturn(Optional.of(peer)).when(addressBook).peer(any(TransportInfo.class));
+		this.peerUpdates = PublishSubject.create();
+		doReturn(this.peerUpdates).when(addressBook).peerUpdates();
 
 		// Other scaffolding
 		this.toc = new DummyTransportOutboundConnection();
@@ -161,6 +170,46 @@ public class MessageCentralImplTest {
 		assertEquals(numberOfRequests, toc.getMessages().size());
 	}
 
+	@Test
+	public void idle_queue_is_kept_while_peer_is_in_address_book() throws InterruptedException {
+		final var nid = EUID.ONE;
+		final var peer = peerWithNid(nid);
+		doReturn(Optional.of(mock(PeerWithSystem.class))).when(addressBook).peer(nid);
+
+		mci.send(peer, new TestMessage(1));
+
+		assertTrue(toc.getCountDownLatch().await(10, TimeUnit.SECONDS));
+		assertTrue(mci.outboundQueueStatus(nid).isPresent());
+	}
+
+	@Test
+	public void idle_queue_is_removed_with_its_peer() throws InterruptedException {
+		final var nid = EUID.ONE;
+		final var peer = peerWithNid(nid);
+		doReturn(Optional.of(mock(PeerWithSystem.class))).when(addressBook).peer(nid);
+		mci.send(peer, new TestMessage(1));
+		assertTrue(toc.getCountDownLatch().await(10, TimeUnit.SECONDS));
+
+		doReturn(Optional.empty()).when(addressBook).peer(nid);
+		final var removed = mock(PeersRemovedEvent.class);
+		doReturn(List.of(peer)).when(removed).peers();
+		peerUpdates.onNext(removed);
+
+		assertTrue(awaitRemoved(nid));
+	}
+
+	@Test
+	public void queue_of_unknown_peer_is_removed_once_idle() throws InterruptedException {
+		final var nid = EUID.ONE;
+		final var peer = peerWithNid(nid);
+		doReturn(Optional.empty()).when(addressBook).peer(nid);
+
+		mci.send(peer, new TestMessage(1));
+
+		assertTrue(toc.getCountDownLatch().await(10, TimeUnit.SECONDS));
+		assertTrue(awaitRemoved(nid));
+	}
+
 	@Test
 	public void testInbound() throws IOException, InterruptedException {
 		Message msg = new TestMessage(1);
@@ -183,6 +232,24 @@ public class MessageCentralImplTest {
 		assertNotNull(receivedMessage.get());
 	}
 
+	private static Peer peerWithNid(EUID nid) {
+		final var peer = mock(Peer.class);
+		doReturn(true).when(peer).hasNID();
+		doReturn(nid).when(peer).getNID();
+		return peer;
+	}
+
+	private boolean awaitRemoved(EUID nid) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 10_000L;
+		while (mci.outboundQueueStatus(nid).isPresent()) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			Thread.sleep(10L);
+		}
+		return true;
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T> EventQueueFactory<T> eventQueueFactoryMock() {
 		return mock(EventQueueFactory.class);
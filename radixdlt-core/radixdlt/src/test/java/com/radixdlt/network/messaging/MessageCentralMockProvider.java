@@ -17,7 +17,10 @@
 
 package com.radixdlt.network.messaging;
 
+import com.radixdlt.network.addressbook.Peer;
+import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.util.Collection;
 import org.radix.network.messaging.Message;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -38,8 +41,15 @@ public class MessageCentralMockProvider {
 			return null;
 		}).when(messageCentral).send(any(), any());
 
+		doAnswer(invocation -> {
+			Collection<Peer> peers = invocation.getArgument(0);
+			peers.forEach(peer -> messageProcessor.onNext(new MessageFromPeer<Message>(peer, invocation.getArgument(1))));
+			return null;
+		}).when(messageCentral).broadcast(any(), any());
+
 		doAnswer(invocation ->
 			messageProcessor
+				.toFlowable(BackpressureStrategy.BUFFER)
 				.filter(p -> ((Class<?>) invocation.getArgument(0)).isInstance(p.getMessage()))
 		).when(messageCentral).messagesOf(any());
 
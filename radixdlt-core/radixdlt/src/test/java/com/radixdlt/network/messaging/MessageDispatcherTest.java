@@ -29,7 +29,6 @@ import com.radixdlt.network.transport.SendResult;
 import com.radixdlt.network.transport.Transport;
 import com.radixdlt.network.transport.TransportInfo;
 import com.radixdlt.network.transport.TransportMetadata;
-import com.radixdlt.network.transport.TransportOutboundConnection;
 import com.radixdlt.serialization.Serialization;
 import org.junit.Before;
 import org.junit.Test;
@@ -40,11 +39,13 @@ import org.radix.serialization.RadixTest;
 import org.radix.universe.system.RadixSystem;
 import org.radix.universe.system.SystemMessage;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -56,6 +57,8 @@ public class MessageDispatcherTest extends RadixTest {
 	private MessageDispatcher messageDispatcher;
 	private TransportManager transportManager;
 	private PeerWithSystem peer1;
+	private PeerWithSystem peer2;
+	private MessagingDummyConfigurations.DummyTransportOutboundConnection transportOutboundConnection;
 	private SystemCounters counters;
 	private final Hasher hasher = Sha256Hasher.withDefaultSerialization();
 
@@ -67,15 +70,14 @@ public class MessageDispatcherTest extends RadixTest {
 
 		RadixSystem system1 = makeSystem(EUID.ONE);
 		peer1 = spy(new PeerWithSystem(system1));
+		peer2 = spy(new PeerWithSystem(makeSystem(EUID.TWO)));
 
 		counters = mock(SystemCounters.class);
 		messageDispatcher = new MessageDispatcher(
 			counters, conf, serialization, () -> 30_000, hasher, getKeyPair()::sign
 		);
 
-		// Suppression safe here - dummy outbound connection does not need closing
-		@SuppressWarnings("resource")
-		TransportOutboundConnection transportOutboundConnection = new MessagingDummyConfigurations.DummyTransportOutboundConnection();
+		transportOutboundConnection = new MessagingDummyConfigurations.DummyTransportOutboundConnection();
 		// Suppression safe here - dummy transport does not need closing
 		@SuppressWarnings("resource")
 		Transport transport = new MessagingDummyConfigurations.DummyTransport(transportOutboundConnection);
@@ -87,22 +89,50 @@ public class MessageDispatcherTest extends RadixTest {
 		SystemMessage message = spy(new SystemMessage(getLocalSystem(), 0));
 		message.setSignature(getKeyPair().sign(hasher.hash(message)));
 
-		OutboundMessageEvent messageEvent = new OutboundMessageEvent(peer1, message, 10_000);
+		byte[] bytes = messageDispatcher.signAndSerialize(message);
+
+		SendResult sendResult = messageDispatcher.send(transportManager, peer1, message, bytes, false).get();
+
+		assertTrue(sendResult.isComplete());
+		assertThat(transportOutboundConnection.getMessages()).containsExactly(bytes);
+	}
+
+	@Test
+	public void sendSuccessfullyBulkMessage() throws InterruptedException, ExecutionException {
+		SystemMessage message = spy(new SystemMessage(getLocalSystem(), 0));
+		byte[] bytes = messageDispatcher.signAndSerialize(message);
 
-		SendResult sendResult = messageDispatcher.send(transportManager, messageEvent).get();
+		SendResult sendResult = messageDispatcher.send(transportManager, peer1, message, bytes, true).get();
 
 		assertTrue(sendResult.isComplete());
+		assertThat(transportOutboundConnection.getMessages()).containsExactly(bytes);
+	}
+
+	@Test
+	public void sendToSeveralPeersSerializesMessageOnce() throws InterruptedException, ExecutionException {
+		SystemMessage message = spy(new SystemMessage(getLocalSystem(), 0));
+
+		byte[] bytes = messageDispatcher.signAndSerialize(message);
+		SendResult sendResult1 = messageDispatcher.send(transportManager, peer1, message, bytes, false).get();
+		SendResult sendResult2 = messageDispatcher.send(transportManager, peer2, message, bytes, false).get();
+
+		assertTrue(sendResult1.isComplete());
+		assertTrue(sendResult2.isComplete());
+		assertThat(transportOutboundConnection.getMessages()).hasSize(2);
+		assertThat(transportOutboundConnection.getMessages().get(1)).isSameAs(transportOutboundConnection.getMessages().get(0));
+		verify(message, times(1)).setSignature(any());
+		verify(counters, times(2)).increment(CounterType.MESSAGES_OUTBOUND_SENT);
 	}
 
 	@Test
-	public void sendExpiredMessage() throws InterruptedException, ExecutionException {
+	public void checkExpiredMessage() {
 		Message message = spy(new TestMessage(0));
 		when(message.getTimestamp()).thenReturn(10_000L);
-		OutboundMessageEvent messageEvent = new OutboundMessageEvent(peer1, message, 10_000);
 
-		SendResult sendResult = messageDispatcher.send(transportManager, messageEvent).get();
+		Optional<SendResult> sendResult = messageDispatcher.checkExpired(message, peer1);
 
-		assertThat(sendResult.getThrowable().getMessage()).isEqualTo("TTL for TestMessage message to " + peer1 + " has expired");
+		assertThat(sendResult).hasValueSatisfying(result -> assertThat(result.getThrowable().getMessage())
+			.isEqualTo("TTL for TestMessage message to " + peer1 + " has expired"));
 		verify(counters, times(1)).increment(CounterType.MESSAGES_OUTBOUND_ABORTED);
 	}
 
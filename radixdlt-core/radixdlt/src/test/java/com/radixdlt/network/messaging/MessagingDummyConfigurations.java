@@ -46,11 +46,41 @@ public class MessagingDummyConfigurations {
 			return 10;
 		}
 
+		@Override
+		public int messagingInboundDecodeThreads(int defaultValue) {
+			return 2;
+		}
+
+		@Override
+		public int messagingInboundBulkMessageSize(int defaultValue) {
+			return 1024;
+		}
+
+		@Override
+		public int messagingInboundSubscriptionBufferMax(int defaultValue) {
+			return 8;
+		}
+
 		@Override
 		public int messagingOutboundQueueMax(int defaultValue) {
 			return 11;
 		}
 
+		@Override
+		public int messagingOutboundPeerQueueMax(int defaultValue) {
+			return 12;
+		}
+
+		@Override
+		public int messagingOutboundPeerBulkQueueMax(int defaultValue) {
+			return 4;
+		}
+
+		@Override
+		public int messagingOutboundThreads(int defaultValue) {
+			return 2;
+		}
+
 		@Override
 		public long messagingTimeToLive(long defaultValue) {
 			return 10_000L;
@@ -25,6 +25,8 @@ import org.radix.network.messages.PeerPongMessage;
 import org.radix.network.messaging.Message;
 
 import com.google.common.collect.Lists;
+import com.radixdlt.middleware2.network.GetVerticesResponseMessage;
+import com.radixdlt.middleware2.network.SyncResponseMessage;
 import com.radixdlt.network.addressbook.Peer;
 import nl.jqno.equalsverifier.EqualsVerifier;
 
@@ -112,6 +114,14 @@ public class OutboundMessageEventTest {
 		assertTrue(events.get(0).message() instanceof PeerPongMessage);
 	}
 
+	@Test
+	public void syncResponsesAreBulk() {
+		assertTrue(makeMessageEventFor(SyncResponseMessage.class).isBulk());
+		assertTrue(makeMessageEventFor(GetVerticesResponseMessage.class).isBulk());
+		assertFalse(makeMessageEventFor(Message.class).isBulk());
+		assertFalse(makeMessageEventFor(PeerPingMessage.class).isBulk());
+	}
+
 	private OutboundMessageEvent makeMessageEventFor(Class<? extends Message> cls) {
 		Peer peer = mock(Peer.class);
 		Message message = mock(cls);
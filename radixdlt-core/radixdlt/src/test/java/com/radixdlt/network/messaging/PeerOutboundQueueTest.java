@@ -0,0 +1,246 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.network.messaging;
+
+import com.radixdlt.middleware2.network.ConsensusEventMessage;
+import com.radixdlt.middleware2.network.MempoolAddMessage;
+import com.radixdlt.network.addressbook.Peer;
+import com.radixdlt.network.messaging.PeerOutboundQueue.PendingMessage;
+import com.radixdlt.network.transport.SendResult;
+import org.junit.Test;
+import org.radix.network.messages.TestMessage;
+import org.radix.network.messaging.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PeerOutboundQueueTest {
+	// Runs sends on the calling thread
+	private final Executor executor = Runnable::run;
+	private final List<Message> sent = new ArrayList<>();
+
+	@Test
+	public void messages_are_sent_in_order_one_at_a_time() {
+		final var sends = new ArrayList<CompletableFuture<SendResult>>();
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor, (peer, message, bytes, bulk) -> {
+			sent.add(message);
+			final var result = new CompletableFuture<SendResult>();
+			sends.add(result);
+			return result;
+		}, () -> { });
+		final var first = pending(0);
+		final var second = pending(0);
+
+		queue.offer(first);
+		queue.offer(second);
+
+		assertThat(sent).containsExactly(first.message());
+		assertThat(queue.size()).isEqualTo(1);
+
+		sends.get(0).complete(SendResult.complete());
+
+		assertThat(sent).containsExactly(first.message(), second.message());
+		assertThat(queue.isIdle()).isFalse();
+
+		sends.get(1).complete(SendResult.complete());
+
+		assertThat(queue.isIdle()).isTrue();
+	}
+
+	@Test
+	public void stalled_peer_does_not_hold_up_other_peers() {
+		final var stalled = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor,
+			(peer, message, bytes, bulk) -> new CompletableFuture<>(), () -> { });
+		final var other = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor, this::send, () -> { });
+
+		stalled.offer(pending(0));
+		stalled.offer(pending(0));
+		final var message = pending(0);
+		other.offer(message);
+
+		assertThat(sent).containsExactly(message.message());
+		assertThat(stalled.status().queueDepth()).isEqualTo(1);
+		assertThat(other.isIdle()).isTrue();
+	}
+
+	@Test
+	public void full_queue_drops_oldest_lowest_priority_message() {
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 2, 10, executor,
+			(peer, message, bytes, bulk) -> new CompletableFuture<>(), () -> { });
+		// Taken straight away, waiting for the send to complete
+		queue.offer(pending(0));
+		final var low1 = pending(1);
+		final var low2 = pending(1);
+		final var high = pending(-1);
+
+		queue.offer(low1);
+		queue.offer(low2);
+
+		assertThat(queue.offer(high)).isSameAs(low1);
+		assertThat(queue.offer(pending(2))).isNotNull();
+		assertThat(queue.status().dropped()).isEqualTo(2);
+		assertThat(queue.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void full_queue_drops_mempool_add_rather_than_consensus_message() {
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 1, 10, executor,
+			(peer, message, bytes, bulk) -> new CompletableFuture<>(), () -> { });
+		// Taken straight away, waiting for the send to complete
+		queue.offer(pending(0));
+		final var mempoolAdd = pending(mock(MempoolAddMessage.class));
+		final var vote = pending(mock(ConsensusEventMessage.class));
+
+		final var laterMempoolAdd = pending(mock(MempoolAddMessage.class));
+
+		queue.offer(mempoolAdd);
+
+		assertThat(queue.offer(vote)).isSameAs(mempoolAdd);
+		assertThat(queue.offer(laterMempoolAdd)).isSameAs(laterMempoolAdd);
+		assertThat(queue.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void idle_callback_is_run_when_queue_drains() {
+		final var idle = new ArrayList<Boolean>();
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor, this::send, () -> idle.add(true));
+
+		queue.offer(pending(0));
+
+		assertThat(idle).containsExactly(true);
+	}
+
+	@Test
+	public void bulk_messages_wait_until_urgent_messages_are_sent() {
+		final var sends = new ArrayList<CompletableFuture<SendResult>>();
+		final var bulkSent = new ArrayList<Boolean>();
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor, (peer, message, bytes, bulk) -> {
+			sent.add(message);
+			bulkSent.add(bulk);
+			final var result = new CompletableFuture<SendResult>();
+			sends.add(result);
+			return result;
+		}, () -> { });
+		final var first = pending(mock(ConsensusEventMessage.class));
+		final var second = pending(mock(ConsensusEventMessage.class));
+		final var bulk = bulk();
+
+		queue.offer(first);
+		queue.offer(second);
+		queue.offer(bulk);
+
+		assertThat(sent).containsExactly(first.message());
+		assertThat(queue.status().bulkQueueDepth()).isEqualTo(1);
+
+		sends.get(0).complete(SendResult.complete());
+
+		assertThat(sent).containsExactly(first.message(), second.message());
+
+		sends.get(1).complete(SendResult.complete());
+
+		assertThat(sent).containsExactly(first.message(), second.message(), bulk.message());
+		assertThat(bulkSent).containsExactly(false, false, true);
+	}
+
+	@Test
+	public void bulk_messages_drain_under_sustained_gossip() {
+		final var sends = new ArrayList<CompletableFuture<SendResult>>();
+		final var bulkSends = new ArrayList<CompletableFuture<SendResult>>();
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor, (peer, message, bytes, bulk) -> {
+			sent.add(message);
+			final var result = new CompletableFuture<SendResult>();
+			(bulk ? bulkSends : sends).add(result);
+			return result;
+		}, () -> { });
+		final var syncResponses = List.of(bulk(), bulk(), bulk());
+		syncResponses.forEach(queue::offer);
+
+		// Gossip keeps the other lane busy throughout
+		for (int i = 0; i < syncResponses.size(); i++) {
+			queue.offer(pending(mock(MempoolAddMessage.class)));
+			queue.offer(pending(mock(MempoolAddMessage.class)));
+			sends.get(sends.size() - 1).complete(SendResult.complete());
+			bulkSends.get(bulkSends.size() - 1).complete(SendResult.complete());
+		}
+
+		assertThat(sent).containsAll(syncResponses.stream().map(PendingMessage::message).collect(Collectors.toList()));
+		assertThat(queue.status().bulkQueueDepth()).isZero();
+		assertThat(queue.status().queueDepth()).isPositive();
+	}
+
+	@Test
+	public void bulk_transfer_in_progress_does_not_hold_up_other_messages() {
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 10, 10, executor, (peer, message, bytes, bulk) -> {
+			sent.add(message);
+			// Bulk transfers never complete
+			return bulk ? new CompletableFuture<>() : CompletableFuture.completedFuture(SendResult.complete());
+		}, () -> { });
+		final var bulk = bulk();
+		final var queuedBulk = bulk();
+		final var message = pending(0);
+
+		queue.offer(bulk);
+		queue.offer(queuedBulk);
+		queue.offer(message);
+
+		assertThat(sent).containsExactly(bulk.message(), message.message());
+		assertThat(queue.status().queueDepth()).isZero();
+		assertThat(queue.status().bulkQueueDepth()).isEqualTo(1);
+		assertThat(queue.isIdle()).isFalse();
+	}
+
+	@Test
+	public void full_bulk_queue_does_not_drop_other_messages() {
+		final var queue = new PeerOutboundQueue(mock(Peer.class), 10, 1, executor,
+			(peer, message, bytes, bulk) -> new CompletableFuture<>(), () -> { });
+		// Taken straight away, waiting for the send to complete
+		queue.offer(bulk());
+		queue.offer(pending(0));
+		final var queuedBulk = bulk();
+		queue.offer(queuedBulk);
+
+		assertThat(queue.offer(bulk())).isSameAs(queuedBulk);
+		assertThat(queue.status().queueDepth()).isZero();
+		assertThat(queue.status().bulkQueueDepth()).isEqualTo(1);
+		assertThat(queue.status().dropped()).isEqualTo(1);
+	}
+
+	private CompletableFuture<SendResult> send(Peer peer, Message message, byte[] bytes, boolean bulk) {
+		sent.add(message);
+		return CompletableFuture.completedFuture(SendResult.complete());
+	}
+
+	private static PendingMessage pending(int priority) {
+		return new PendingMessage(new TestMessage(0), new byte[0], priority, false, false, System.nanoTime());
+	}
+
+	private static PendingMessage pending(Message message) {
+		final var event = new OutboundMessageEvent(mock(Peer.class), message, 0L);
+		return new PendingMessage(message, new byte[0], event.priority(), event.isBulk(), event.isUrgent(), System.nanoTime());
+	}
+
+	private static PendingMessage bulk() {
+		return new PendingMessage(new TestMessage(0), new byte[0], 0, true, false, System.nanoTime());
+	}
+}
@@ -26,6 +26,7 @@ import com.radixdlt.network.messaging.InboundMessage;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
 import org.junit.Before;
 import org.junit.Test;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -91,6 +92,23 @@ public class TCPNettyMessageHandlerTest {
 		testSubscriber.assertNoValues();
 	}
 
+	@Test
+	public void frames_are_not_retained_without_a_subscriber() {
+		TCPNettyMessageHandler mh = new TCPNettyMessageHandler(counters, 255);
+		ChannelHandlerContext ctx = createContext("127.0.0.1", 1234);
+		ByteBuf beforeSubscribe = Unpooled.copiedBuffer(new byte[] {0});
+		ByteBuf afterShutdown = Unpooled.copiedBuffer(new byte[] {1});
+
+		mh.channelRead0(ctx, beforeSubscribe);
+		final TestSubscriber<InboundMessage> testSubscriber = mh.inboundMessageRx().test();
+		mh.shutdownRx();
+		mh.channelRead0(ctx, afterShutdown);
+
+		testSubscriber.assertNoValues();
+		assertEquals(1, beforeSubscribe.refCnt());
+		assertEquals(1, afterShutdown.refCnt());
+	}
+
 	@Test
 	public void testBufferOverflow() {
 		int bufferSize = 5;
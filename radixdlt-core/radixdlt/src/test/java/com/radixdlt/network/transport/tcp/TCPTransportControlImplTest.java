@@ -110,6 +110,7 @@ public class TCPTransportControlImplTest {
 
 		transport = mock(NettyTCPTransport.class);
 		when(transport.createChannel(any(), anyInt())).thenReturn(cf);
+		when(transport.createBulkChannel(any(), anyInt())).thenReturn(cf);
 
 		this.counters = mock(SystemCounters.class);
 	}
@@ -195,6 +196,46 @@ public class TCPTransportControlImplTest {
 		}
 	}
 
+	@Test
+	public void bulkChannelsAreKeptApartFromOtherChannels() throws Exception {
+		TCPConfiguration twoChannelConfig = mock(TCPConfiguration.class);
+		when(twoChannelConfig.maxOutChannelCount(anyInt())).thenReturn(2);
+		when(twoChannelConfig.maxInChannelCount(anyInt())).thenReturn(2);
+		try (var tcpTransportControl = new TCPTransportControlImpl(twoChannelConfig, outboundFactory, transport, counters)) {
+			TransportMetadata metadata = StaticTransportMetadata.of(
+				TCPConstants.METADATA_HOST, "127.0.0.1",
+				TCPConstants.METADATA_PORT, "1234"
+			);
+			OutTCPConnectionHandlerChannelInbound handler = (OutTCPConnectionHandlerChannelInbound) tcpTransportControl.outHandler();
+			handler.channelActive(createActiveContext("127.0.0.1", 1234, false));
+
+			tcpTransportControl.open(metadata).get();
+			verify(transport, never()).createChannel(any(), anyInt());
+
+			tcpTransportControl.openBulk(metadata).get();
+			verify(transport, times(1)).createBulkChannel("127.0.0.1", 1234);
+			assertEquals(1, handler.pendingMapSize());
+
+			handler.channelActive(createActiveContext("127.0.0.1", 1234, true));
+			assertEquals(0, handler.pendingMapSize());
+			assertEquals(2, handler.channelMapSize());
+
+			tcpTransportControl.openBulk(metadata).get();
+			tcpTransportControl.open(metadata).get();
+			verify(transport, times(1)).createBulkChannel(any(), anyInt());
+			verify(transport, never()).createChannel(any(), anyInt());
+		}
+	}
+
+	ChannelHandlerContext createActiveContext(String host, int port, boolean bulk) {
+		ChannelHandlerContext ctx = createContext(host, port);
+		SocketChannel sch = (SocketChannel) ctx.channel();
+		when(sch.isOpen()).thenReturn(true);
+		when(sch.isActive()).thenReturn(true);
+		when(sch.hasAttr(NettyTCPTransport.BULK_CHANNEL)).thenReturn(bulk);
+		return ctx;
+	}
+
 	ChannelHandlerContext createContext(String host, int port) {
 		InetSocketAddress isa = new InetSocketAddress(host, port);
 		SocketChannel sch = mock(SocketChannel.class);
@@ -19,8 +19,8 @@ package com.radixdlt.statecomputer;
 
 import com.radixdlt.atom.Txn;
 import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.VerifiedVertex;
 import com.radixdlt.consensus.bft.VerifiedVertexStoreState;
-import com.radixdlt.consensus.bft.View;
 import com.radixdlt.ledger.MockPrepared;
 import com.radixdlt.ledger.StateComputerLedger;
 import com.radixdlt.ledger.StateComputerLedger.StateComputer;
@@ -48,19 +48,21 @@ public final class MockedStateComputer implements StateComputer {
 	@Override
 	public StateComputerLedger.StateComputerResult prepare(
 		List<StateComputerLedger.PreparedTxn> previous,
-		List<Txn> next,
-		long epoch,
-		View view,
+		VerifiedVertex vertex,
 		long timestamp
 	) {
 		return new StateComputerLedger.StateComputerResult(
-			next.stream().map(MockPrepared::new).collect(Collectors.toList()),
+			vertex.getTxns().stream().map(MockPrepared::new).collect(Collectors.toList()),
 			Map.of()
 		);
 	}
 
 	@Override
-	public void commit(VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState) {
+	public void commit(
+		VerifiedTxnsAndProof verifiedTxnsAndProof,
+		List<StateComputerLedger.PreparedTxn> preparedTxns,
+		VerifiedVertexStoreState vertexStoreState
+	) {
 		// No-op
 	}
 }
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableMap;
 import com.radixdlt.atom.Txn;
 import com.radixdlt.consensus.bft.BFTNode;
 import com.radixdlt.consensus.bft.BFTValidatorSet;
+import com.radixdlt.consensus.bft.VerifiedVertex;
 import com.radixdlt.consensus.bft.VerifiedVertexStoreState;
 import com.radixdlt.consensus.bft.View;
 import com.radixdlt.ledger.MockPrepared;
@@ -62,24 +63,27 @@ public final class MockedStateComputerWithEpochs implements StateComputer {
 	@Override
 	public StateComputerResult prepare(
 		List<PreparedTxn> previous,
-		List<Txn> next,
-		long epoch,
-		View view,
+		VerifiedVertex vertex,
 		long timestamp
 	) {
-		if (view.compareTo(epochHighView) >= 0) {
+		if (vertex.getView().compareTo(epochHighView) >= 0) {
+			var epoch = vertex.getParentHeader().getLedgerHeader().getEpoch();
 			return new StateComputerResult(
-				next.stream().map(MockPrepared::new).collect(Collectors.toList()),
+				vertex.getTxns().stream().map(MockPrepared::new).collect(Collectors.toList()),
 				ImmutableMap.of(),
 				validatorSetMapping.apply(epoch + 1)
 			);
 		} else {
-			return stateComputer.prepare(previous, next, epoch, view, timestamp);
+			return stateComputer.prepare(previous, vertex, timestamp);
 		}
 	}
 
 	@Override
-	public void commit(VerifiedTxnsAndProof verifiedTxnsAndProof, VerifiedVertexStoreState vertexStoreState) {
+	public void commit(
+		VerifiedTxnsAndProof verifiedTxnsAndProof,
+		List<PreparedTxn> preparedTxns,
+		VerifiedVertexStoreState vertexStoreState
+	) {
 		// No-op
 	}
 }
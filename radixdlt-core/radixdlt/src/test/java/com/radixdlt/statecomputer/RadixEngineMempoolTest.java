@@ -0,0 +1,126 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.statecomputer;
+
+import com.radixdlt.atom.Txn;
+import com.radixdlt.constraintmachine.REParsedTxn;
+import com.radixdlt.engine.RadixEngine;
+import com.radixdlt.engine.RadixEngineErrorCode;
+import com.radixdlt.engine.RadixEngineException;
+import com.radixdlt.mempool.MempoolDuplicateException;
+import com.radixdlt.mempool.MempoolRejectedException;
+import com.radixdlt.utils.TypedMocks;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RadixEngineMempoolTest {
+	@Test
+	public void concurrent_adds_of_the_same_txn_admit_it_once() throws Exception {
+		RadixEngine<LedgerAndBFTProof> radixEngine = TypedMocks.rmock(RadixEngine.class);
+		var mempool = new RadixEngineMempool(radixEngine, 10);
+		var txn = Txn.create(new byte[] {1});
+		var parsedTxn = mock(REParsedTxn.class);
+		when(parsedTxn.getTxn()).thenReturn(txn);
+		when(parsedTxn.getActions()).thenReturn(List.of());
+		when(parsedTxn.instructions()).thenAnswer(invocation -> Stream.empty());
+		// Both adds are past the duplicate check before either is admitted
+		var barrier = new CyclicBarrier(2);
+		when(radixEngine.verify(txn)).thenAnswer(invocation -> {
+			barrier.await();
+			return parsedTxn;
+		});
+
+		var executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Boolean> first = executor.submit(() -> add(mempool, txn));
+			Future<Boolean> second = executor.submit(() -> add(mempool, txn));
+
+			assertThat(List.of(first.get(), second.get())).containsExactlyInAnyOrder(true, false);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(mempool.getCount()).isEqualTo(1);
+		assertThat(mempool.getTxns(10, List.of())).containsExactly(txn);
+	}
+
+	@Test
+	public void batch_is_verified_in_one_pass_and_rejections_are_reported_per_txn() throws Exception {
+		RadixEngine<LedgerAndBFTProof> radixEngine = TypedMocks.rmock(RadixEngine.class);
+		var mempool = new RadixEngineMempool(radixEngine, 10);
+		var existing = Txn.create(new byte[] {1});
+		var valid = Txn.create(new byte[] {2});
+		var invalid = Txn.create(new byte[] {3});
+		var parsedExisting = parsed(existing);
+		var parsedValid = parsed(valid);
+		when(radixEngine.verify(existing)).thenReturn(parsedExisting);
+		mempool.add(existing);
+		var error = new RadixEngineException(invalid, RadixEngineErrorCode.HOOK_ERROR, "invalid", null);
+		doAnswer(invocation -> {
+			BiConsumer<Txn, RadixEngineException> onInvalid = invocation.getArgument(1);
+			onInvalid.accept(invalid, error);
+			return List.of(parsedValid);
+		}).when(radixEngine).verify(eq(List.of(valid, invalid)), any());
+
+		var rejected = new HashMap<Txn, MempoolRejectedException>();
+		var added = mempool.addAll(List.of(existing, valid, invalid, valid), rejected::put);
+
+		assertThat(added).containsExactly(valid);
+		assertThat(rejected).containsOnlyKeys(existing, invalid, valid);
+		assertThat(rejected.get(existing)).isInstanceOf(MempoolDuplicateException.class);
+		assertThat(rejected.get(valid)).isInstanceOf(MempoolDuplicateException.class);
+		assertThat(rejected.get(invalid)).isInstanceOfSatisfying(
+			RadixEngineMempoolException.class, e -> assertThat(e.getException()).isSameAs(error)
+		);
+		verify(radixEngine, never()).verify(valid);
+		assertThat(mempool.getTxns(10, List.of())).containsExactlyInAnyOrder(existing, valid);
+	}
+
+	private static REParsedTxn parsed(Txn txn) {
+		var parsedTxn = mock(REParsedTxn.class);
+		when(parsedTxn.getTxn()).thenReturn(txn);
+		when(parsedTxn.getActions()).thenReturn(List.of());
+		when(parsedTxn.instructions()).thenAnswer(invocation -> Stream.empty());
+		return parsedTxn;
+	}
+
+	private static boolean add(RadixEngineMempool mempool, Txn txn) throws Exception {
+		try {
+			mempool.add(txn);
+			return true;
+		} catch (MempoolDuplicateException e) {
+			return false;
+		}
+	}
+}
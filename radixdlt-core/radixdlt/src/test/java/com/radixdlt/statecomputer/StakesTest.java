@@ -18,16 +18,64 @@
 package com.radixdlt.statecomputer;
 
 import com.google.common.hash.HashCode;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.utils.PersistentHashMap;
+import com.radixdlt.utils.PersistentSortedSet;
+import com.radixdlt.utils.UInt256;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Test;
 
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class StakesTest {
     @Test
     public void equalsContract() {
         EqualsVerifier.forClass(Stakes.class)
                 .withPrefabValues(HashCode.class, HashUtils.random256(), HashUtils.random256())
+                .withPrefabValues(
+                    PersistentHashMap.class,
+                    PersistentHashMap.empty(),
+                    PersistentHashMap.empty().with(ECKeyPair.generateNew().getPublicKey(), UInt256.ONE)
+                )
+                .withPrefabValues(
+                    PersistentSortedSet.class,
+                    PersistentSortedSet.empty(Comparator.naturalOrder()),
+                    PersistentSortedSet.<String>empty(Comparator.naturalOrder()).with("a")
+                )
+                // Ranking is derived from the staked amounts
+                .withIgnoredFields("ranking")
                 .verify();
     }
 
+    @Test
+    public void stakes_are_ranked_by_descending_stake_then_key() {
+        var keys = Stream.generate(() -> ECKeyPair.generateNew().getPublicKey())
+            .limit(3)
+            .sorted(Comparator.comparing(ECPublicKey::euid))
+            .collect(Collectors.toList());
+
+        var stakes = Stakes.create()
+            .add(keys.get(0), UInt256.FIVE)
+            .add(keys.get(1), UInt256.TEN)
+            .add(keys.get(2), UInt256.FIVE);
+
+        assertThat(stakes.ranked().map(Map.Entry::getKey)).containsExactly(keys.get(1), keys.get(0), keys.get(2));
+        assertThat(stakes.rankedAfter(keys.get(0)).map(Map.Entry::getKey)).containsExactly(keys.get(2));
+
+        var updated = stakes.remove(keys.get(1), UInt256.EIGHT).add(keys.get(2), UInt256.ONE);
+
+        assertThat(updated.ranked()).containsExactly(
+            Map.entry(keys.get(2), UInt256.SIX),
+            Map.entry(keys.get(0), UInt256.FIVE),
+            Map.entry(keys.get(1), UInt256.TWO)
+        );
+        assertThat(updated.remove(keys.get(0), UInt256.FIVE).rankedAfter(keys.get(0))).isEmpty();
+    }
 }
\ No newline at end of file
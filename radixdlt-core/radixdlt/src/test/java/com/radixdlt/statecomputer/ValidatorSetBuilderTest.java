@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.statecomputer;
+
+import com.google.common.collect.ImmutableMap;
+import com.radixdlt.atommodel.validators.ValidatorParticle;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.ECPublicKey;
+import com.radixdlt.utils.UInt256;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidatorSetBuilderTest {
+    // Sorted by EUID, which breaks ties between equal stakes
+    private final List<ECPublicKey> keys = Stream.generate(() -> ECKeyPair.generateNew().getPublicKey())
+        .limit(6)
+        .sorted(Comparator.comparing(ECPublicKey::euid))
+        .collect(Collectors.toList());
+
+    @Test
+    public void ranked_stakes_build_the_same_set_as_staked_amounts() {
+        var stakes = Stakes.create()
+            .add(keys.get(0), UInt256.FIVE)
+            .add(keys.get(1), UInt256.TEN)
+            .add(keys.get(2), UInt256.FIVE)
+            .add(keys.get(3), UInt256.ONE)
+            .add(keys.get(4), UInt256.TEN)
+            .add(keys.get(5), UInt256.FIVE);
+        var registered = register(keys);
+
+        for (int maxValidators = 1; maxValidators <= keys.size() + 1; maxValidators++) {
+            var builder = ValidatorSetBuilder.create(1, maxValidators);
+            assertThat(builder.buildValidatorSet(registered, stakes))
+                .isEqualTo(builder.buildValidatorSet(ImmutableMap.copyOf(stakes.toMap())));
+        }
+    }
+
+    @Test
+    public void unregistered_stakers_are_skipped() {
+        var stakes = Stakes.create()
+            .add(keys.get(0), UInt256.TEN)
+            .add(keys.get(1), UInt256.FIVE)
+            .add(keys.get(2), UInt256.ONE);
+        var registered = register(List.of(keys.get(1), keys.get(2)));
+
+        var validatorSet = ValidatorSetBuilder.create(1, 2).buildValidatorSet(registered, stakes);
+
+        assertThat(validatorSet.nodes()).containsExactlyInAnyOrder(node(1), node(2));
+    }
+
+    @Test
+    public void max_validators_cutoff_breaks_ties_by_euid() {
+        var stakes = Stakes.create()
+            .add(keys.get(3), UInt256.FIVE)
+            .add(keys.get(1), UInt256.FIVE)
+            .add(keys.get(2), UInt256.FIVE)
+            .add(keys.get(0), UInt256.ONE)
+            .add(keys.get(4), UInt256.TEN);
+        var registered = register(keys);
+
+        var validatorSet = ValidatorSetBuilder.create(1, 3).buildValidatorSet(registered, stakes);
+
+        assertThat(validatorSet.nodes()).containsExactlyInAnyOrder(node(4), node(1), node(2));
+    }
+
+    @Test
+    public void too_few_validators_builds_no_set() {
+        var stakes = Stakes.create()
+            .add(keys.get(0), UInt256.TEN)
+            .add(keys.get(1), UInt256.FIVE)
+            .add(keys.get(2), UInt256.FIVE)
+            .remove(keys.get(2), UInt256.FIVE);
+        var builder = ValidatorSetBuilder.create(2, 3);
+
+        assertThat(builder.buildValidatorSet(register(List.of(keys.get(0), keys.get(2))), stakes)).isNull();
+        assertThat(builder.buildValidatorSet(ImmutableMap.of(keys.get(0), UInt256.TEN, keys.get(1), UInt256.ZERO))).isNull();
+        assertThat(builder.buildValidatorSet(register(keys), stakes)).isNotNull();
+    }
+
+    private BFTNode node(int index) {
+        return BFTNode.create(keys.get(index));
+    }
+
+    private static RegisteredValidators register(List<ECPublicKey> validatorKeys) {
+        var registered = RegisteredValidators.create();
+        for (var key : validatorKeys) {
+            registered = registered.add(new ValidatorParticle(key, true));
+        }
+        return registered;
+    }
+}
@@ -18,7 +18,9 @@
 package com.radixdlt.statecomputer;
 
 import com.google.common.hash.HashCode;
+import com.radixdlt.crypto.ECKeyPair;
 import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.utils.PersistentHashMap;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.Test;
 
@@ -27,6 +29,13 @@ public class ValidatorsTest {
     public void equalsContract() {
         EqualsVerifier.forClass(RegisteredValidators.class)
                 .withPrefabValues(HashCode.class, HashUtils.random256(), HashUtils.random256())
+                .withPrefabValues(
+                    PersistentHashMap.class,
+                    PersistentHashMap.empty(),
+                    PersistentHashMap.empty().with(ECKeyPair.generateNew().getPublicKey(), "validator")
+                )
+                // Index by key is derived from the validator particles
+                .withIgnoredFields("validatorsByKey")
                 .verify();
     }
 }
\ No newline at end of file
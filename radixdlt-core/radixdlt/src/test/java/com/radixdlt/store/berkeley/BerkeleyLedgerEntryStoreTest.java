@@ -0,0 +1,113 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.store.berkeley;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.radixdlt.DefaultSerialization;
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.atom.TxLowLevelBuilder;
+import com.radixdlt.atom.Txn;
+import com.radixdlt.atommodel.system.SystemConstraintScrypt;
+import com.radixdlt.atommodel.system.SystemParticle;
+import com.radixdlt.atomos.CMAtomOS;
+import com.radixdlt.constraintmachine.ConstraintMachine;
+import com.radixdlt.constraintmachine.PermissionLevel;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.engine.RadixEngine;
+import com.radixdlt.identifiers.REAddr;
+import com.radixdlt.statecomputer.LedgerAndBFTProof;
+import com.radixdlt.store.DatabaseEnvironment;
+import com.radixdlt.store.StoreConfig;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BerkeleyLedgerEntryStoreTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private DatabaseEnvironment dbEnv;
+	private BerkeleyLedgerEntryStore store;
+	private RadixEngine<LedgerAndBFTProof> engine;
+
+	@Before
+	public void setUp() {
+		this.dbEnv = new DatabaseEnvironment(folder.getRoot().getAbsolutePath(), 0);
+		this.store = new BerkeleyLedgerEntryStore(
+			DefaultSerialization.getInstance(),
+			dbEnv,
+			new StoreConfig(1000),
+			new SystemCountersImpl()
+		);
+
+		var cmAtomOS = new CMAtomOS();
+		cmAtomOS.load(new SystemConstraintScrypt());
+		var cm = new ConstraintMachine.Builder()
+			.setVirtualStoreLayer(cmAtomOS.virtualizedUpParticles())
+			.setParticleStaticCheck(cmAtomOS.buildParticleStaticCheck())
+			.setParticleTransitionProcedures(cmAtomOS.buildTransitionProcedures())
+			.build();
+		this.engine = new RadixEngine<>(cm, store);
+	}
+
+	@After
+	public void tearDown() {
+		this.store.close();
+		this.dbEnv.stop();
+	}
+
+	@Test
+	public void system_addr_holds_the_last_system_particle_of_a_batch() throws Exception {
+		SubstateId current = null;
+		long view = 0;
+		for (int batch = 0; batch < 3; batch++) {
+			var txns = new ArrayList<Txn>();
+			for (int i = 0; i < 10; i++) {
+				var txn = systemUpdate(current, ++view);
+				txns.add(txn);
+				// Index of the up instruction which follows the down
+				current = SubstateId.ofSubstate(txn.getId(), 1);
+			}
+			engine.execute(txns, null, PermissionLevel.SUPER_USER);
+
+			var lastView = view;
+			assertThat(store.loadAddr(null, REAddr.ofSystem()))
+				.get()
+				.isInstanceOfSatisfying(SystemParticle.class, p -> assertThat(p.getView()).isEqualTo(lastView));
+		}
+	}
+
+	private static Txn systemUpdate(SubstateId current, long view) {
+		var builder = TxLowLevelBuilder.newBuilder();
+		if (current == null) {
+			builder.virtualDown(new SystemParticle(0, 0, 0));
+		} else {
+			builder.down(current);
+		}
+		return builder
+			.up(new SystemParticle(0, view, view))
+			.particleGroup()
+			.build();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.store.berkeley;
+
+import com.radixdlt.atom.SubstateId;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.identifiers.AID;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubstateCacheTest {
+	private static final byte[] SUBSTATE = new byte[] {0x01, 0x02, 0x03, 0x04};
+
+	private SystemCounters counters;
+	private SubstateCache cache;
+
+	@Before
+	public void setup() {
+		this.counters = new SystemCountersImpl();
+		this.cache = new SubstateCache(UnpooledByteBufAllocator.DEFAULT, 8, counters);
+	}
+
+	@Test
+	public void cached_substate_is_returned_and_counted_as_hit() {
+		var substateId = substateId(0);
+		cache.put(substateId, SUBSTATE, cache.generation());
+
+		assertThat(cache.get(substateId)).hasValue(SUBSTATE);
+		assertThat(cache.get(substateId(1))).isEmpty();
+		assertThat(counters.get(CounterType.COUNT_BDB_LEDGER_SUBSTATE_CACHE_HITS)).isEqualTo(1);
+		assertThat(counters.get(CounterType.COUNT_BDB_LEDGER_SUBSTATE_CACHE_MISSES)).isEqualTo(1);
+	}
+
+	@Test
+	public void least_recently_used_substate_is_evicted_when_full() {
+		cache.put(substateId(0), SUBSTATE, cache.generation());
+		cache.put(substateId(1), SUBSTATE, cache.generation());
+		cache.get(substateId(0));
+
+		cache.put(substateId(2), SUBSTATE, cache.generation());
+
+		assertThat(cache.size()).isEqualTo(8);
+		assertThat(cache.get(substateId(1))).isEmpty();
+		assertThat(cache.get(substateId(0))).hasValue(SUBSTATE);
+		assertThat(cache.get(substateId(2))).hasValue(SUBSTATE);
+		assertThat(counters.get(CounterType.COUNT_BDB_LEDGER_SUBSTATE_CACHE_EVICTIONS)).isEqualTo(1);
+	}
+
+	@Test
+	public void substate_read_before_invalidation_is_not_cached() {
+		var generation = cache.generation();
+		cache.invalidate(substateId(1));
+
+		cache.put(substateId(0), SUBSTATE, generation);
+
+		assertThat(cache.get(substateId(0))).isEmpty();
+	}
+
+	@Test
+	public void invalidated_substate_is_removed() {
+		cache.put(substateId(0), SUBSTATE, cache.generation());
+
+		cache.invalidate(substateId(0));
+
+		assertThat(cache.get(substateId(0))).isEmpty();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	public void nothing_is_cached_when_disabled() {
+		var disabled = new SubstateCache(UnpooledByteBufAllocator.DEFAULT, 0, counters);
+
+		disabled.put(substateId(0), SUBSTATE, disabled.generation());
+
+		assertThat(disabled.get(substateId(0))).isEmpty();
+	}
+
+	private static SubstateId substateId(int index) {
+		return SubstateId.ofSubstate(AID.ZERO, index);
+	}
+}
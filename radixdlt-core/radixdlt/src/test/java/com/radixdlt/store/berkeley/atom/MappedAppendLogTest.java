@@ -0,0 +1,239 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.store.berkeley.atom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.radixdlt.counters.SystemCounters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import static com.radixdlt.store.berkeley.atom.AppendLog.openCompressed;
+import static com.radixdlt.store.berkeley.atom.AppendLog.openMapped;
+import static com.radixdlt.store.berkeley.atom.AppendLog.openSimple;
+
+public class MappedAppendLogTest {
+	private static final byte[] CHUNK0 = new byte[]{0x01};
+	private static final byte[] CHUNK1 = new byte[]{0x01, 0x02, 0x03, 0x04, 0x05};
+	private static final byte[] CHUNK2 = new byte[]{0x01, 0x02, 0x03, 0x04, 0x05, 0x0C, 0x7F, -1};
+
+	private final SystemCounters systemCounters = mock(SystemCounters.class);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void mapped_append_log_can_be_read_after_write() throws IOException {
+		var appendLog = openMapped(createTempPath(), 1024);
+
+		var offset0 = appendLog.write(CHUNK0);
+		var offset1 = appendLog.write(CHUNK1);
+
+		assertThat(appendLog.read(offset0)).isEqualTo(CHUNK0);
+		assertThat(appendLog.read(offset1)).isEqualTo(CHUNK1);
+		assertThat(appendLog.readBuffer(offset1).isReadOnly()).isTrue();
+	}
+
+	@Test
+	public void mapped_append_log_rolls_over_to_new_segment_when_full() throws IOException {
+		var path = createTempPath();
+		var appendLog = openMapped(path, 12);
+
+		var offsets = writeChunks(appendLog);
+
+		assertThat(Files.exists(Path.of(path + ".1"))).isTrue();
+		assertThat(Files.exists(Path.of(path + ".2"))).isTrue();
+		assertThat(Files.size(Path.of(path))).isLessThanOrEqualTo(12);
+		assertThat(appendLog.read(offsets.get(0))).isEqualTo(CHUNK0);
+		assertThat(appendLog.read(offsets.get(1))).isEqualTo(CHUNK1);
+		assertThat(appendLog.read(offsets.get(2))).isEqualTo(CHUNK2);
+	}
+
+	@Test
+	public void mapped_append_log_writes_batch_across_segments() throws IOException {
+		var path = createTempPath();
+		var appendLog = openMapped(path, 12);
+
+		var offsets = appendLog.write(List.of(CHUNK0, CHUNK1, CHUNK2));
+
+		assertThat(offsets).containsExactly(0L, 1L << 40, 2L << 40);
+		assertThat(appendLog.read(offsets[0])).isEqualTo(CHUNK0);
+		assertThat(appendLog.read(offsets[1])).isEqualTo(CHUNK1);
+		assertThat(appendLog.read(offsets[2])).isEqualTo(CHUNK2);
+		assertThat(appendLog.position()).isEqualTo((2L << 40) + Integer.BYTES + CHUNK2.length);
+	}
+
+	@Test
+	public void mapped_append_log_can_be_read_sequentially_after_reopening() throws IOException {
+		var path = createTempPath();
+		var appendLog = openMapped(path, 16);
+		var offsets = writeChunks(appendLog);
+		appendLog.close();
+
+		var chunks = new ArrayList<byte[]>();
+		var chunkOffsets = new ArrayList<Long>();
+		openMapped(path, 16).forEach((data, offset) -> {
+			chunks.add(data);
+			chunkOffsets.add(offset);
+		});
+
+		assertThat(chunks).containsExactly(CHUNK0, CHUNK1, CHUNK2);
+		assertThat(chunkOffsets).isEqualTo(offsets);
+	}
+
+	@Test
+	public void mapped_append_log_can_read_existing_simple_log() throws IOException {
+		var path = createTempPath();
+		var simpleLog = openSimple(path);
+		var offsets = writeChunks(simpleLog);
+		simpleLog.close();
+
+		var appendLog = openMapped(path, 1024);
+
+		assertThat(appendLog.read(offsets.get(2))).isEqualTo(CHUNK2);
+	}
+
+	@Test
+	public void mapped_append_log_reads_chunks_within_and_across_map_windows() throws IOException {
+		var appendLog = MappedAppendLog.open(createTempPath(), null, 1024, 8);
+
+		// Chunks with headers take 5, 9 and 12 bytes, so the last two span window boundaries
+		var offsets = writeChunks(appendLog);
+		var offset = appendLog.write(CHUNK0);
+
+		assertThat(appendLog.read(offsets.get(0))).isEqualTo(CHUNK0);
+		assertThat(appendLog.read(offsets.get(1))).isEqualTo(CHUNK1);
+		assertThat(appendLog.read(offsets.get(2))).isEqualTo(CHUNK2);
+		assertThat(appendLog.read(offset)).isEqualTo(CHUNK0);
+		assertThat(appendLog.readBuffer(offsets.get(2)).isReadOnly()).isTrue();
+	}
+
+	@Test
+	public void mapped_append_log_reads_chunks_written_after_window_was_mapped() throws IOException {
+		var appendLog = MappedAppendLog.open(createTempPath(), null, 1024, 64);
+		var offset0 = appendLog.write(CHUNK0);
+		assertThat(appendLog.read(offset0)).isEqualTo(CHUNK0);
+
+		var offset1 = appendLog.write(CHUNK1);
+
+		assertThat(appendLog.read(offset1)).isEqualTo(CHUNK1);
+		assertThat(appendLog.read(offset0)).isEqualTo(CHUNK0);
+	}
+
+	@Test
+	public void mapped_append_log_truncates_across_segments() throws IOException {
+		var path = createTempPath();
+		var appendLog = openMapped(path, 12);
+		var offsets = writeChunks(appendLog);
+
+		appendLog.truncate(offsets.get(1));
+
+		assertThat(Files.exists(Path.of(path + ".2"))).isFalse();
+		assertThat(appendLog.read(offsets.get(0))).isEqualTo(CHUNK0);
+		assertThatThrownBy(() -> appendLog.read(offsets.get(1))).isInstanceOf(IOException.class);
+		assertThat(appendLog.write(CHUNK1)).isEqualTo(offsets.get(1));
+		assertThat(appendLog.read(offsets.get(1))).isEqualTo(CHUNK1);
+	}
+
+	@Test
+	public void mapped_append_log_recovers_from_incomplete_chunk() throws IOException {
+		var path = createTempPath();
+		var appendLog = openMapped(path, 1024);
+		var offsets = writeChunks(appendLog);
+		var end = appendLog.position();
+		appendLog.close();
+
+		// Simulate crash in the middle of writing a chunk
+		try (var channel = FileChannel.open(Path.of(path), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(new byte[]{0x00, 0x00, 0x00, 0x10, 0x01}));
+		}
+
+		var reopened = openMapped(path, 1024);
+
+		assertThat(reopened.position()).isEqualTo(end);
+		assertThat(reopened.write(CHUNK0)).isEqualTo(end);
+		assertThat(reopened.read(offsets.get(2))).isEqualTo(CHUNK2);
+		assertThat(reopened.read(end)).isEqualTo(CHUNK0);
+	}
+
+	@Test
+	public void mapped_append_log_keeps_sparse_index_per_segment() throws IOException {
+		var path = createTempPath();
+		var appendLog = openMapped(path, 12);
+		writeChunks(appendLog);
+		appendLog.flush();
+
+		assertThat(Files.size(Path.of(path + ".idx"))).isEqualTo(Long.BYTES);
+		assertThat(Files.size(Path.of(path + ".1.idx"))).isEqualTo(Long.BYTES);
+		assertThat(Files.size(Path.of(path + ".2.idx"))).isEqualTo(Long.BYTES);
+	}
+
+	@Test
+	public void mapped_append_log_can_be_read_after_archiving_segments() throws IOException {
+		var path = createTempPath();
+		var archivePath = folder.newFolder().getAbsolutePath();
+		var appendLog = openMapped(path, archivePath, 12);
+		var offsets = writeChunks(appendLog);
+
+		assertThat(appendLog.archiveSegments(1)).isEqualTo(1);
+		assertThat(Files.exists(Path.of(path))).isFalse();
+		assertThat(appendLog.read(offsets.get(0))).isEqualTo(CHUNK0);
+		appendLog.close();
+
+		var chunks = new ArrayList<byte[]>();
+		openMapped(path, archivePath, 12).forEach((data, offset) -> chunks.add(data));
+
+		assertThat(chunks).containsExactly(CHUNK0, CHUNK1, CHUNK2);
+	}
+
+	@Test
+	public void compressed_mapped_append_log_can_be_read_sequentially_after_reopening() throws IOException {
+		var path = createTempPath();
+		var appendLog = openCompressed(path, 64, systemCounters);
+		var offsets = writeChunks(appendLog);
+		appendLog.close();
+
+		var reopened = openCompressed(path, 64, systemCounters);
+		var chunks = new ArrayList<byte[]>();
+		reopened.forEach((data, offset) -> chunks.add(data));
+
+		assertThat(chunks).containsExactly(CHUNK0, CHUNK1, CHUNK2);
+		assertThat(reopened.read(offsets.get(1))).isEqualTo(CHUNK1);
+	}
+
+	private List<Long> writeChunks(AppendLog appendLog) throws IOException {
+		return List.of(appendLog.write(CHUNK0), appendLog.write(CHUNK1), appendLog.write(CHUNK2));
+	}
+
+	private String createTempPath() throws IOException {
+		return folder.newFile().getAbsolutePath();
+	}
+}
@@ -64,6 +64,7 @@ public class RemoteSyncServiceTest {
 	private RemoteEventDispatcher<StatusResponse> statusResponseDispatcher;
 	private RemoteEventDispatcher<SyncResponse> syncResponseDispatcher;
 	private RemoteEventDispatcher<LedgerStatusUpdate> statusUpdateDispatcher;
+	private SyncResponseBacklog syncResponseBacklog;
 
 	@Before
 	public void setUp() {
@@ -73,6 +74,7 @@ public class RemoteSyncServiceTest {
 		this.statusResponseDispatcher =  rmock(RemoteEventDispatcher.class);
 		this.syncResponseDispatcher =  rmock(RemoteEventDispatcher.class);
 		this.statusUpdateDispatcher =  rmock(RemoteEventDispatcher.class);
+		this.syncResponseBacklog = mock(SyncResponseBacklog.class);
 
 		final var initialHeader = mock(LedgerProof.class);
 		final var initialAccumulatorState = mock(AccumulatorState.class);
@@ -86,6 +88,7 @@ public class RemoteSyncServiceTest {
 			statusResponseDispatcher,
 			syncResponseDispatcher,
 			statusUpdateDispatcher,
+			syncResponseBacklog,
 			SyncConfig.of(5000L, 10, 5000L, 10, 50),
 			mock(SystemCounters.class),
 			Comparator.comparingLong(AccumulatorState::getStateVersion),
@@ -110,6 +113,16 @@ public class RemoteSyncServiceTest {
 		verify(syncResponseDispatcher, times(1)).dispatch(eq(node), any());
 	}
 
+	@Test
+	public void when_remote_sync_request_and_responses_backlogged__then_dont_do_anything() {
+		DtoLedgerProof header = mock(DtoLedgerProof.class);
+		BFTNode node = BFTNode.random();
+		when(syncResponseBacklog.isBacklogged(node)).thenReturn(true);
+		processor.syncRequestEventProcessor().process(node, SyncRequest.create(header));
+		verify(reader, never()).getNextCommittedTxns(any());
+		verify(syncResponseDispatcher, never()).dispatch(any(BFTNode.class), any());
+	}
+
 	@Test
 	public void when_remote_sync_request_and_unable__then_dont_do_anything() {
 		SyncRequest request = mock(SyncRequest.class);
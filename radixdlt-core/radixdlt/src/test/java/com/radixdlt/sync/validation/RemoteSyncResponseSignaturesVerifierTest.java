@@ -0,0 +1,101 @@
+/*
+ * (C) Copyright 2020 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.sync.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.radixdlt.consensus.ConsensusHasher;
+import com.radixdlt.consensus.LedgerHeader;
+import com.radixdlt.consensus.Sha256Hasher;
+import com.radixdlt.consensus.SignatureVerificationExecutor;
+import com.radixdlt.consensus.TimestampedECDSASignature;
+import com.radixdlt.consensus.TimestampedECDSASignatures;
+import com.radixdlt.consensus.bft.BFTNode;
+import com.radixdlt.consensus.bft.View;
+import com.radixdlt.counters.SystemCounters;
+import com.radixdlt.counters.SystemCounters.CounterType;
+import com.radixdlt.counters.SystemCountersImpl;
+import com.radixdlt.crypto.ECKeyPair;
+import com.radixdlt.crypto.HashUtils;
+import com.radixdlt.crypto.Hasher;
+import com.radixdlt.ledger.AccumulatorState;
+import com.radixdlt.ledger.DtoLedgerProof;
+import com.radixdlt.ledger.DtoTxnsAndProof;
+import com.radixdlt.sync.messages.remote.SyncResponse;
+import com.radixdlt.utils.UInt256;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Test;
+
+public class RemoteSyncResponseSignaturesVerifierTest {
+	private final Hasher hasher = Sha256Hasher.withDefaultSerialization();
+	private final SystemCounters counters = new SystemCountersImpl();
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+
+	@After
+	public void teardown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void when_all_signatures_valid__then_verified_sequentially_and_in_parallel() {
+		final var response = syncResponse(20, false);
+
+		assertThat(verifier(SignatureVerificationExecutor.sequential()).verifyResponseSignatures(response)).isTrue();
+		assertThat(verifier(SignatureVerificationExecutor.parallel(pool)).verifyResponseSignatures(response)).isTrue();
+		assertThat(counters.get(CounterType.COUNT_SYNC_SIGNATURES_VERIFY)).isEqualTo(2L);
+	}
+
+	@Test
+	public void when_one_signature_invalid__then_not_verified_sequentially_or_in_parallel() {
+		final var response = syncResponse(20, true);
+
+		assertThat(verifier(SignatureVerificationExecutor.sequential()).verifyResponseSignatures(response)).isFalse();
+		assertThat(verifier(SignatureVerificationExecutor.parallel(pool)).verifyResponseSignatures(response)).isFalse();
+	}
+
+	private RemoteSyncResponseSignaturesVerifier verifier(SignatureVerificationExecutor executor) {
+		return new RemoteSyncResponseSignaturesVerifier(
+			hasher,
+			(key, hash, signature) -> key.verify(hash, signature),
+			executor,
+			counters
+		);
+	}
+
+	private SyncResponse syncResponse(int signers, boolean oneInvalid) {
+		final var opaque = HashUtils.random256();
+		final var header = LedgerHeader.create(1L, View.of(2), new AccumulatorState(3L, HashUtils.random256()), 4L);
+		final var signatures = new HashMap<BFTNode, TimestampedECDSASignature>();
+		for (int i = 0; i < signers; ++i) {
+			final var keyPair = ECKeyPair.generateNew();
+			final var hash = oneInvalid && i == signers / 2
+				? HashUtils.random256()
+				: ConsensusHasher.toHash(opaque, header, i, hasher);
+			signatures.put(
+				BFTNode.create(keyPair.getPublicKey()),
+				TimestampedECDSASignature.from(i, UInt256.ONE, keyPair.sign(hash))
+			);
+		}
+		final var proof = new DtoLedgerProof(opaque, header, new TimestampedECDSASignatures(Map.copyOf(signatures)));
+		return SyncResponse.create(new DtoTxnsAndProof(List.of(), proof, proof));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.utils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+import org.xerial.snappy.SnappyFramedInputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompressTest {
+	private final Random random = new Random(1234L);
+
+	@Test
+	public void compressed_data_is_readable_by_snappy_framed_stream() throws IOException {
+		for (byte[] data : testData()) {
+			final var is = new SnappyFramedInputStream(new ByteArrayInputStream(Compress.compress(data)));
+
+			assertThat(is.readAllBytes()).isEqualTo(data);
+		}
+	}
+
+	@Test
+	public void data_from_snappy_framed_stream_is_uncompressed_from_direct_buffer() throws IOException {
+		for (byte[] data : testData()) {
+			final var out = new ByteArrayOutputStream();
+			try (var os = new SnappyFramedOutputStream(out)) {
+				os.write(data);
+			}
+			final var compressed = PooledByteBufAllocator.DEFAULT.directBuffer().writeBytes(out.toByteArray());
+
+			final var uncompressed = Compress.uncompress(compressed, PooledByteBufAllocator.DEFAULT);
+
+			assertThat(uncompressed.isDirect()).isTrue();
+			assertThat(ByteBufUtil.getBytes(uncompressed)).isEqualTo(data);
+			assertThat(compressed.readerIndex()).isZero();
+			uncompressed.release();
+			compressed.release();
+		}
+	}
+
+	@Test
+	public void heap_buffer_is_uncompressed() throws IOException {
+		final var data = compressible(100_000);
+
+		final var uncompressed = Compress.uncompress(Unpooled.wrappedBuffer(Compress.compress(data)), PooledByteBufAllocator.DEFAULT);
+
+		assertThat(ByteBufUtil.getBytes(uncompressed)).isEqualTo(data);
+		assertThat(uncompressed.release()).isTrue();
+	}
+
+	@Test
+	public void corrupt_data_is_rejected() throws IOException {
+		final var compressed = Compress.compress(compressible(1000));
+		compressed[compressed.length - 1] ^= 1;
+		final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer().writeBytes(compressed);
+
+		assertThatThrownBy(() -> Compress.uncompress(buffer, PooledByteBufAllocator.DEFAULT))
+			.isInstanceOf(IOException.class);
+		assertThat(buffer.release()).isTrue();
+	}
+
+	@Test
+	public void truncated_data_is_rejected() throws IOException {
+		final var compressed = Compress.compress(compressible(1000));
+		final var buffer = Unpooled.wrappedBuffer(compressed, 0, compressed.length - 1);
+
+		assertThatThrownBy(() -> Compress.uncompress(buffer, PooledByteBufAllocator.DEFAULT))
+			.isInstanceOf(IOException.class);
+	}
+
+	private byte[][] testData() {
+		final var incompressible = new byte[70_000];
+		random.nextBytes(incompressible);
+		return new byte[][] {
+			new byte[0],
+			compressible(10),
+			compressible(65536),
+			compressible(200_000),
+			incompressible
+		};
+	}
+
+	private byte[] compressible(int length) {
+		final var data = new byte[length];
+		for (int i = 0; i < length; ++i) {
+			data[i] = (byte) (random.nextInt(4) + 'a');
+		}
+		return data;
+	}
+}
@@ -587,6 +587,22 @@ public final class ConstraintMachine {
 		PermissionLevel permissionLevel
 	) throws RadixEngineException {
 		var result = this.statelessVerify(txn);
+		return this.verify(dbTxn, cmStore, result, permissionLevel);
+	}
+
+	/**
+	 * Executes the stateful part of verification on a transaction which has already
+	 * been parsed and had its signature checked by {@link #statelessVerify(Txn)}.
+	 *
+	 * @return the parsed transaction
+	 */
+	public REParsedTxn verify(
+		CMStore.Transaction dbTxn,
+		CMStore cmStore,
+		StatelessVerificationResult result,
+		PermissionLevel permissionLevel
+	) throws RadixEngineException {
+		var txn = result.txn;
 		var validationState = new CMValidationState(
 			virtualStoreLayer,
 			dbTxn,
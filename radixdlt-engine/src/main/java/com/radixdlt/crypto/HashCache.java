@@ -0,0 +1,70 @@
+/*
+ * (C) Copyright 2020 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.crypto;
+
+import com.google.common.hash.HashCode;
+
+import java.util.Objects;
+
+/**
+ * Holds the most recently computed hash of an immutable object,
+ * together with the key of the hash function that computed it.
+ * <p>
+ * Safe to share between threads.  Concurrent callers computing the same
+ * hash may each store it, with the same result.
+ */
+public final class HashCache {
+	private static final class Entry {
+		private final Object key;
+		private final HashCode hash;
+
+		private Entry(Object key, HashCode hash) {
+			this.key = key;
+			this.hash = hash;
+		}
+	}
+
+	private volatile Entry entry;
+
+	/**
+	 * Returns the cached hash computed by the hash function identified by {@code key}.
+	 *
+	 * @param key identity of the hash function
+	 * @return the cached hash, or {@code null} if none is cached for {@code key}
+	 */
+	public HashCode get(Object key) {
+		final var current = this.entry;
+		return current != null && current.key == key ? current.hash : null;
+	}
+
+	/**
+	 * Caches a hash computed by the hash function identified by {@code key},
+	 * replacing any hash previously cached.
+	 *
+	 * @param key identity of the hash function
+	 * @param hash the hash to cache
+	 */
+	public void put(Object key, HashCode hash) {
+		this.entry = new Entry(Objects.requireNonNull(key), Objects.requireNonNull(hash));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[%s]", getClass().getSimpleName(), this.entry == null ? null : this.entry.hash);
+	}
+}
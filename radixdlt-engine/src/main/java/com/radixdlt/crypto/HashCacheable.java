@@ -0,0 +1,33 @@
+/*
+ * (C) Copyright 2020 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+package com.radixdlt.crypto;
+
+/**
+ * Marks an immutable object whose hash a {@link Hasher} may compute once and cache.
+ * <p>
+ * Implementations must not change any hashed state after construction, and should
+ * keep the cache out of {@code equals}, {@code hashCode} and serialization.
+ */
+public interface HashCacheable {
+	/**
+	 * Returns the cache in which a {@link Hasher} may keep the hash of this object.
+	 *
+	 * @return the hash cache of this object
+	 */
+	HashCache hashCache();
+}
@@ -19,6 +19,7 @@ package com.radixdlt.engine;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import com.radixdlt.atom.Substate;
 import com.radixdlt.atom.SubstateCursor;
 import com.radixdlt.atom.SubstateStore;
@@ -33,6 +34,7 @@ import com.radixdlt.constraintmachine.PermissionLevel;
 import com.radixdlt.constraintmachine.Particle;
 import com.radixdlt.constraintmachine.Spin;
 import com.radixdlt.constraintmachine.ConstraintMachine;
+import com.radixdlt.constraintmachine.ConstraintMachine.StatelessVerificationResult;
 import com.radixdlt.crypto.ECPublicKey;
 import com.radixdlt.store.CMStore;
 import com.radixdlt.store.EngineStore;
@@ -48,7 +50,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -147,8 +153,15 @@ public final class RadixEngine<M> {
 	private final Map<Class<?>, SubstateCache<?>> substateCache = new HashMap<>();
 	private final List<RadixEngineBranch<M>> branches = new ArrayList<>();
 	private final BatchVerifier<M> batchVerifier;
+	private final ForkJoinPool verificationPool;
+	private final Function<M, Long> stateVersionOf;
 
-	private ConstraintMachine constraintMachine;
+	private volatile ConstraintMachine constraintMachine;
+
+	// Guarded by stateUpdateEngineLock, taken from the metadata of every commit
+	private long stateVersion;
+	// Published after every change to the computed state so that readers need not take the lock
+	private volatile StateSnapshot stateSnapshot;
 
 	public RadixEngine(
 		ConstraintMachine constraintMachine,
@@ -162,11 +175,52 @@ public final class RadixEngine<M> {
 		EngineStore<M> engineStore,
 		PostParsedChecker checker,
 		BatchVerifier<M> batchVerifier
+	) {
+		this(constraintMachine, engineStore, checker, batchVerifier, null);
+	}
+
+	/**
+	 * Creates a Radix Engine which runs the stateless part of verification (parsing and
+	 * signature recovery) of a batch of transactions on the given pool before executing them.
+	 *
+	 * @param verificationPool pool for stateless verification, or {@code null} to verify on the calling thread
+	 */
+	public RadixEngine(
+		ConstraintMachine constraintMachine,
+		EngineStore<M> engineStore,
+		PostParsedChecker checker,
+		BatchVerifier<M> batchVerifier,
+		ForkJoinPool verificationPool
+	) {
+		this(constraintMachine, engineStore, checker, batchVerifier, verificationPool, null, 0L);
+	}
+
+	/**
+	 * Creates a Radix Engine which tags its published {@link StateSnapshot}s with the
+	 * ledger state version they reflect.
+	 *
+	 * @param verificationPool pool for stateless verification, or {@code null} to verify on the calling thread
+	 * @param stateVersionOf extracts the state version from the metadata of a commit,
+	 * 	or {@code null} if metadata carries no state version
+	 * @param stateVersion the state version of the store the engine is created on
+	 */
+	public RadixEngine(
+		ConstraintMachine constraintMachine,
+		EngineStore<M> engineStore,
+		PostParsedChecker checker,
+		BatchVerifier<M> batchVerifier,
+		ForkJoinPool verificationPool,
+		Function<M, Long> stateVersionOf,
+		long stateVersion
 	) {
 		this.constraintMachine = Objects.requireNonNull(constraintMachine);
 		this.engineStore = Objects.requireNonNull(engineStore);
 		this.checker = checker;
 		this.batchVerifier = batchVerifier;
+		this.verificationPool = verificationPool;
+		this.stateVersionOf = stateVersionOf;
+		this.stateVersion = stateVersion;
+		this.stateSnapshot = new StateSnapshot(stateVersion, ImmutableMap.of());
 	}
 
 	public <T extends Particle> void addSubstateCache(SubstateCacheRegister<T> substateCacheRegister, boolean includeInBranches) {
@@ -211,6 +265,7 @@ public final class RadixEngine<M> {
 		synchronized (stateUpdateEngineLock) {
 			applicationStateComputer.initialize(this.engineStore);
 			stateComputers.put(Pair.of(stateReducer.stateClass(), name), applicationStateComputer);
+			publishSnapshot();
 		}
 	}
 
@@ -235,9 +290,30 @@ public final class RadixEngine<M> {
 	 * @return the current state
 	 */
 	public <U> U getComputedState(Class<U> applicationStateClass, String name) {
-		synchronized (stateUpdateEngineLock) {
-			return applicationStateClass.cast(stateComputers.get(Pair.of(applicationStateClass, name)).curValue);
-		}
+		return stateSnapshot.get(applicationStateClass, name);
+	}
+
+	/**
+	 * Retrieves an immutable snapshot of all computed state as of
+	 * the last commit. Does not block on execution, so should be used by readers which
+	 * need several pieces of state which are consistent with each other.
+	 * Computed state values must be immutable for this to be safe.
+	 *
+	 * @return the latest published state snapshot
+	 */
+	public StateSnapshot getStateSnapshot() {
+		return stateSnapshot;
+	}
+
+	// Live state during execution, only to be accessed with stateUpdateEngineLock held
+	private <U> U currentState(Class<U> applicationStateClass) {
+		return applicationStateClass.cast(stateComputers.get(Pair.of(applicationStateClass, null)).curValue);
+	}
+
+	private void publishSnapshot() {
+		var computedState = ImmutableMap.<Pair<Class<?>, String>, Object>builder();
+		stateComputers.forEach((key, computer) -> computedState.put(key, computer.curValue));
+		this.stateSnapshot = new StateSnapshot(stateVersion, computedState.build());
 	}
 
 	public void replaceConstraintMachine(ConstraintMachine constraintMachine) {
@@ -252,6 +328,8 @@ public final class RadixEngine<M> {
 	 */
 	public static class RadixEngineBranch<M> {
 		private final RadixEngine<M> engine;
+		// Children are not retained, so nested branches cannot pile up while this branch is kept
+		private volatile boolean branchedFrom;
 
 		private RadixEngineBranch(
 			ConstraintMachine constraintMachine,
@@ -271,13 +349,16 @@ public final class RadixEngine<M> {
 
 			engine.substateCache.putAll(substateCache);
 			engine.stateComputers.putAll(stateComputers);
+			engine.publishSnapshot();
 		}
 
 		public List<REParsedTxn> execute(List<Txn> txns) throws RadixEngineException {
+			assertNotBranchedFrom();
 			return engine.execute(txns);
 		}
 
 		public List<REParsedTxn> execute(List<Txn> txns, PermissionLevel permissionLevel) throws RadixEngineException {
+			assertNotBranchedFrom();
 			return engine.execute(txns, null, permissionLevel);
 		}
 
@@ -292,6 +373,24 @@ public final class RadixEngine<M> {
 		public <U> U getComputedState(Class<U> applicationStateClass) {
 			return engine.getComputedState(applicationStateClass);
 		}
+
+		/**
+		 * Creates a new branch on top of the current state of this branch without
+		 * re-executing any of the transactions already executed on this branch.
+		 * Once branched from, this branch can no longer execute transactions.
+		 *
+		 * @return a new transient branch
+		 */
+		public RadixEngineBranch<M> transientBranch() {
+			branchedFrom = true;
+			return engine.createBranch();
+		}
+
+		private void assertNotBranchedFrom() {
+			if (branchedFrom) {
+				throw new IllegalStateException("Branch has been branched from and can no longer execute transactions.");
+			}
+		}
 	}
 
 	public void deleteBranches() {
@@ -301,6 +400,14 @@ public final class RadixEngine<M> {
 	}
 
 	public RadixEngineBranch<M> transientBranch() {
+		synchronized (stateUpdateEngineLock) {
+			RadixEngineBranch<M> branch = createBranch();
+			branches.add(branch);
+			return branch;
+		}
+	}
+
+	private RadixEngineBranch<M> createBranch() {
 		synchronized (stateUpdateEngineLock) {
 			Map<Pair<Class<?>, String>, ApplicationStateComputer<?, ?, M>> branchedStateComputers = new HashMap<>();
 			this.stateComputers.forEach((c, computer) -> {
@@ -314,45 +421,144 @@ public final class RadixEngine<M> {
 					branchedCache.put(c, cache.copy());
 				}
 			});
-			RadixEngineBranch<M> branch = new RadixEngineBranch<>(
+			return new RadixEngineBranch<>(
 				this.constraintMachine,
 				this.engineStore,
 				this.checker,
 				branchedStateComputers,
 				branchedCache
 			);
+		}
+	}
 
-			branches.add(branch);
+	/**
+	 * Result of the stateless part of verification of a single transaction, either
+	 * the parsed result or the error which was found.
+	 */
+	private static final class PreVerifiedTxn {
+		private final StatelessVerificationResult result;
+		private final RadixEngineException exception;
 
-			return branch;
+		private PreVerifiedTxn(StatelessVerificationResult result, RadixEngineException exception) {
+			this.result = result;
+			this.exception = exception;
+		}
+
+		StatelessVerificationResult get() throws RadixEngineException {
+			if (exception != null) {
+				throw exception;
+			}
+			return result;
+		}
+	}
+
+	private static PreVerifiedTxn statelessVerify(ConstraintMachine constraintMachine, Txn txn) {
+		try {
+			return new PreVerifiedTxn(constraintMachine.statelessVerify(txn), null);
+		} catch (RadixEngineException e) {
+			return new PreVerifiedTxn(null, e);
 		}
 	}
 
-	private REParsedTxn verify(CMStore.Transaction dbTransaction, Txn txn, PermissionLevel permissionLevel)
-		throws RadixEngineException {
+	/**
+	 * Parses and verifies the signatures of all transactions in the batch. If a pool
+	 * is available the transactions are verified in parallel. Errors are not thrown here
+	 * but retained, so that they are surfaced in transaction order during execution.
+	 */
+	private List<PreVerifiedTxn> statelessVerify(List<Txn> txns) {
+		final var cm = this.constraintMachine;
+		if (verificationPool == null || txns.size() < 2) {
+			var results = new ArrayList<PreVerifiedTxn>(txns.size());
+			for (var txn : txns) {
+				results.add(statelessVerify(cm, txn));
+			}
+			return results;
+		}
+
+		var tasks = new ArrayList<ForkJoinTask<PreVerifiedTxn>>(txns.size());
+		for (var txn : txns) {
+			tasks.add(verificationPool.submit(() -> statelessVerify(cm, txn)));
+		}
+		var results = new ArrayList<PreVerifiedTxn>(txns.size());
+		for (var task : tasks) {
+			results.add(task.join());
+		}
+		return results;
+	}
 
+	private REParsedTxn verify(
+		CMStore.Transaction dbTransaction,
+		CMStore store,
+		PreVerifiedTxn preVerifiedTxn,
+		PermissionLevel permissionLevel
+	) throws RadixEngineException {
+		var statelessResult = preVerifiedTxn.get();
 		var parsedTxn = constraintMachine.verify(
 			dbTransaction,
-			engineStore,
-			txn,
+			store,
+			statelessResult,
 			permissionLevel
 		);
+		checkParsed(permissionLevel, parsedTxn);
+		return parsedTxn;
+	}
 
+	private void checkParsed(PermissionLevel permissionLevel, REParsedTxn parsedTxn) throws RadixEngineException {
 		if (checker != null) {
 			var hookResult = checker.check(permissionLevel, parsedTxn);
 			if (hookResult.isError()) {
 				throw new RadixEngineException(
-					txn,
+					parsedTxn.getTxn(),
 					RadixEngineErrorCode.HOOK_ERROR,
 					"Checker failed: " + hookResult.getErrorMessage(),
 					parsedTxn.getStatelessResult()
 				);
 			}
 		}
+	}
 
+	/**
+	 * Verifies a transaction against the current state of the store with permission level USER
+	 * without executing it. No branch is created, nothing is stored and computed state is not
+	 * updated, so this does not block on and may run concurrently with execution. As reads are
+	 * not isolated from concurrent executions the result is only a point in time check and the
+	 * transaction must still be executed normally to be applied.
+	 *
+	 * @param txn transaction to verify
+	 * @return the parsed transaction
+	 * @throws RadixEngineException if the transaction is invalid against the current state
+	 */
+	public REParsedTxn verify(Txn txn) throws RadixEngineException {
+		var cm = this.constraintMachine;
+		var parsedTxn = cm.verify(null, engineStore, cm.statelessVerify(txn), PermissionLevel.USER);
+		checkParsed(PermissionLevel.USER, parsedTxn);
 		return parsedTxn;
 	}
 
+	/**
+	 * Verifies a batch of transactions against the current state of the store with permission
+	 * level USER, as {@link #verify(Txn)} does for a single transaction. Signatures of the whole
+	 * batch are verified up front, in parallel if a verification pool is available. Each
+	 * transaction is verified on its own against the store, so a transaction depending on
+	 * another in the same batch is invalid.
+	 *
+	 * @param txns transactions to verify
+	 * @param invalid called with each invalid transaction and the error found
+	 * @return the parsed valid transactions, in batch order
+	 */
+	public List<REParsedTxn> verify(List<Txn> txns, BiConsumer<Txn, RadixEngineException> invalid) {
+		var preVerifiedTxns = statelessVerify(txns);
+		var parsedTxns = new ArrayList<REParsedTxn>(txns.size());
+		for (int i = 0; i < txns.size(); i++) {
+			try {
+				parsedTxns.add(verify(null, engineStore, preVerifiedTxns.get(i), PermissionLevel.USER));
+			} catch (RadixEngineException e) {
+				invalid.accept(txns.get(i), e);
+			}
+		}
+		return parsedTxns;
+	}
+
 	/**
 	 * Atomically stores the given atom into the store with default permission level USER.
 	 * If the atom has any conflicts or dependency issues the atom will not be stored.
@@ -373,18 +579,13 @@ public final class RadixEngine<M> {
 	 */
 	public List<REParsedTxn> execute(List<Txn> txns, M meta, PermissionLevel permissionLevel) throws RadixEngineException {
 		synchronized (stateUpdateEngineLock) {
-			if (!branches.isEmpty()) {
-				throw new IllegalStateException(
-					String.format(
-						"%s transient branches still exist. Must delete branches before storing additional atoms.",
-						branches.size()
-					)
-				);
-			}
+			assertNoBranches();
 			var dbTransaction = engineStore.createTransaction();
 			try {
 				var parsedTransactions = executeInternal(dbTransaction, txns, meta, permissionLevel);
 				dbTransaction.commit();
+				updateStateVersion(meta);
+				publishSnapshot();
 				return parsedTransactions;
 			} catch (Exception e) {
 				dbTransaction.abort();
@@ -393,54 +594,119 @@ public final class RadixEngine<M> {
 		}
 	}
 
+	/**
+	 * Atomically stores transactions which have already been parsed and verified by this
+	 * node against the state they are being stored on top of, for example when they were
+	 * executed on a branch. Only the state updates are applied; parsing, signature and
+	 * constraint machine verification are skipped so this must only be used with trusted
+	 * transactions.
+	 *
+	 * @param parsedTxns previously verified transactions to store
+	 * @param meta metadata to store alongside the transactions
+	 * @return the stored transactions
+	 */
+	public List<REParsedTxn> executeVerified(List<REParsedTxn> parsedTxns, M meta) {
+		synchronized (stateUpdateEngineLock) {
+			assertNoBranches();
+			var dbTransaction = engineStore.createTransaction();
+			try {
+				var checker = batchVerifier.newVerifier(this::currentState);
+				storeTxns(dbTransaction, parsedTxns);
+				for (var parsedTxn : parsedTxns) {
+					updateComputedState(parsedTxn, checker);
+				}
+				storeMetadata(dbTransaction, meta, checker);
+				dbTransaction.commit();
+				updateStateVersion(meta);
+				publishSnapshot();
+				return parsedTxns;
+			} catch (Exception e) {
+				dbTransaction.abort();
+				throw e;
+			}
+		}
+	}
+
+	private void updateStateVersion(M meta) {
+		if (meta != null && stateVersionOf != null) {
+			this.stateVersion = stateVersionOf.apply(meta);
+		}
+	}
+
+	private void assertNoBranches() {
+		if (!branches.isEmpty()) {
+			throw new IllegalStateException(
+				String.format(
+					"%s transient branches still exist. Must delete branches before storing additional atoms.",
+					branches.size()
+				)
+			);
+		}
+	}
+
 	private List<REParsedTxn> executeInternal(
 		CMStore.Transaction dbTransaction,
 		List<Txn> txns,
 		M meta,
 		PermissionLevel permissionLevel
 	) throws RadixEngineException {
-		var checker = batchVerifier.newVerifier(this::getComputedState);
+		var checker = batchVerifier.newVerifier(this::currentState);
+		var preVerifiedTxns = statelessVerify(txns);
 		var parsedTransactions = new ArrayList<REParsedTxn>();
-		for (var txn : txns) {
-			// TODO: combine verification and storage
-			var parsedTxn = this.verify(dbTransaction, txn, permissionLevel);
-			try {
-				this.engineStore.storeTxn(dbTransaction, txn, parsedTxn.stateUpdates());
-			} catch (Exception e) {
-				logger.error("Store of atom failed: " + parsedTxn, e);
-				throw e;
-			}
+		// Later transactions are verified against the state updates of earlier ones held in
+		// memory, so that the whole batch can be stored at once
+		var batchStore = new TransientEngineStore<>(engineStore);
+		for (int i = 0; i < txns.size(); i++) {
+			var parsedTxn = this.verify(dbTransaction, batchStore, preVerifiedTxns.get(i), permissionLevel);
+			batchStore.storeTxn(dbTransaction, parsedTxn.getTxn(), parsedTxn.stateUpdates());
+			updateComputedState(parsedTxn, checker);
+			parsedTransactions.add(parsedTxn);
+		}
+		storeTxns(dbTransaction, parsedTransactions);
 
-			// TODO Feature: Return updated state for some given query (e.g. for current validator set)
-			// Non-persisted computed state
-			parsedTxn.instructions().filter(REParsedInstruction::isStateUpdate).forEach(parsedInstruction -> {
-				final var particle = parsedInstruction.getSubstate().getParticle();
-				final var checkSpin = parsedInstruction.getCheckSpin();
-				stateComputers.forEach((a, computer) -> computer.processCheckSpin(particle, checkSpin));
-
-				var cache = substateCache.get(particle.getClass());
-				if (cache != null && cache.test(particle)) {
-					if (parsedInstruction.isBootUp()) {
-						cache.bringUp(parsedInstruction.getSubstate());
-					} else {
-						cache.shutDown(parsedInstruction.getSubstate().getId());
-					}
-				}
+		storeMetadata(dbTransaction, meta, checker);
 
+		return parsedTransactions;
+	}
+
+	private void storeTxns(CMStore.Transaction dbTransaction, List<REParsedTxn> parsedTxns) {
+		try {
+			this.engineStore.storeTxns(dbTransaction, parsedTxns);
+		} catch (Exception e) {
+			logger.error("Store of atoms failed: " + parsedTxns, e);
+			throw e;
+		}
+	}
+
+	private void updateComputedState(REParsedTxn parsedTxn, BatchVerifier.PerStateChangeVerifier<M> checker) {
+		// TODO Feature: Return updated state for some given query (e.g. for current validator set)
+		// Non-persisted computed state
+		parsedTxn.instructions().filter(REParsedInstruction::isStateUpdate).forEach(parsedInstruction -> {
+			final var particle = parsedInstruction.getSubstate().getParticle();
+			final var checkSpin = parsedInstruction.getCheckSpin();
+			stateComputers.forEach((a, computer) -> computer.processCheckSpin(particle, checkSpin));
+
+			var cache = substateCache.get(particle.getClass());
+			if (cache != null && cache.test(particle)) {
 				if (parsedInstruction.isBootUp()) {
-					checker.test(this::getComputedState);
+					cache.bringUp(parsedInstruction.getSubstate());
+				} else {
+					cache.shutDown(parsedInstruction.getSubstate().getId());
 				}
-			});
-			parsedTransactions.add(parsedTxn);
-		}
+			}
+
+			if (parsedInstruction.isBootUp()) {
+				checker.test(this::currentState);
+			}
+		});
+	}
 
-		checker.testMetadata(meta, this::getComputedState);
+	private void storeMetadata(CMStore.Transaction dbTransaction, M meta, BatchVerifier.PerStateChangeVerifier<M> checker) {
+		checker.testMetadata(meta, this::currentState);
 
 		if (meta != null) {
 			this.engineStore.storeMetadata(dbTransaction, meta);
 		}
-
-		return parsedTransactions;
 	}
 
 	public TxBuilder construct(TxAction action) throws TxBuilderException {
@@ -0,0 +1,67 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.engine;
+
+import com.google.common.collect.ImmutableMap;
+import com.radixdlt.utils.Pair;
+
+/**
+ * Immutable view of all computed state of a {@link RadixEngine} as of a given state version.
+ * Snapshots are published by the engine after each commit so that readers can access
+ * a consistent view of the state without locking.
+ */
+public final class StateSnapshot {
+	private final long stateVersion;
+	private final ImmutableMap<Pair<Class<?>, String>, Object> computedState;
+
+	StateSnapshot(long stateVersion, ImmutableMap<Pair<Class<?>, String>, Object> computedState) {
+		this.stateVersion = stateVersion;
+		this.computedState = computedState;
+	}
+
+	/**
+	 * The ledger state version this snapshot reflects, as taken from the metadata
+	 * of the last commit. Always zero for engines whose metadata has no state version.
+	 */
+	public long stateVersion() {
+		return stateVersion;
+	}
+
+	public <U> U get(Class<U> applicationStateClass) {
+		return get(applicationStateClass, null);
+	}
+
+	/**
+	 * Retrieves the computed state of the given class and name as of this snapshot.
+	 *
+	 * @throws IllegalStateException if no such state is computed by the engine
+	 */
+	public <U> U get(Class<U> applicationStateClass, String name) {
+		var state = computedState.get(Pair.of(applicationStateClass, name));
+		if (state == null) {
+			throw new IllegalStateException("No computed state for " + applicationStateClass.getSimpleName() + " " + name);
+		}
+		return applicationStateClass.cast(state);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s{stateVersion=%s states=%s}", getClass().getSimpleName(), stateVersion, computedState.keySet());
+	}
+}
@@ -20,6 +20,7 @@ package com.radixdlt.store;
 import com.radixdlt.atom.SubstateStore;
 import com.radixdlt.atom.Txn;
 import com.radixdlt.constraintmachine.REParsedInstruction;
+import com.radixdlt.constraintmachine.REParsedTxn;
 import com.radixdlt.constraintmachine.Particle;
 
 import java.util.List;
@@ -34,6 +35,16 @@ public interface EngineStore<M> extends SubstateStore, CMStore {
 	 */
 	void storeTxn(Transaction dbTxn, Txn txn, List<REParsedInstruction> instructions);
 
+	/**
+	 * Stores a batch of transactions, in order, into this CMStore. Implementations
+	 * may combine the writes of all transactions.
+	 */
+	default void storeTxns(Transaction dbTxn, List<REParsedTxn> txns) {
+		for (var txn : txns) {
+			storeTxn(dbTxn, txn.getTxn(), txn.stateUpdates());
+		}
+	}
+
 	void storeMetadata(Transaction txn, M metadata);
 
 	/**
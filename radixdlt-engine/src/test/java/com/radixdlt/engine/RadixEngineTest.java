@@ -17,11 +17,16 @@
 
 package com.radixdlt.engine;
 
+import com.radixdlt.atom.SubstateId;
 import com.radixdlt.atom.TxLowLevelBuilder;
+import com.radixdlt.atom.Txn;
 import com.radixdlt.atommodel.system.SystemConstraintScrypt;
+import com.radixdlt.atommodel.system.SystemParticle;
 import com.radixdlt.atomos.CMAtomOS;
 import com.radixdlt.constraintmachine.ConstraintMachine;
 import com.radixdlt.constraintmachine.Particle;
+import com.radixdlt.constraintmachine.PermissionLevel;
+import com.radixdlt.constraintmachine.REParsedInstruction;
 import com.radixdlt.store.EngineStore;
 import com.radixdlt.store.InMemoryEngineStore;
 import com.radixdlt.test.utils.TypedMocks;
@@ -108,4 +113,129 @@ public class RadixEngineTest {
 		);
 		assertThat(radixEngine.getComputedState(Object.class)).isEqualTo(state);
 	}
+
+	@Test
+	public void state_snapshot_is_versioned_and_not_affected_by_later_commits() throws RadixEngineException {
+		// Metadata is the state version of the commit
+		RadixEngine<Long> engine = new RadixEngine<>(
+			systemConstraintMachine(), new InMemoryEngineStore<>(), null, BatchVerifier.empty(), null, meta -> meta, 10L
+		);
+		engine.addStateReducer(new SystemViewReducer(), true);
+		var initial = engine.getStateSnapshot();
+
+		var system = engine.execute(List.of(systemUpdate(null, 1)), 11L, PermissionLevel.SUPER_USER).get(0).instructions()
+			.filter(REParsedInstruction::isBootUp)
+			.map(i -> i.getSubstate().getId())
+			.findFirst()
+			.orElseThrow();
+		var afterFirst = engine.getStateSnapshot();
+		engine.execute(List.of(systemUpdate(system, 2)), 12L, PermissionLevel.SUPER_USER);
+
+		assertThat(initial.get(Long.class)).isEqualTo(0L);
+		assertThat(afterFirst.get(Long.class)).isEqualTo(1L);
+		assertThat(engine.getStateSnapshot().get(Long.class)).isEqualTo(2L);
+		assertThat(engine.getComputedState(Long.class)).isEqualTo(2L);
+		assertThat(initial.stateVersion()).isEqualTo(10L);
+		assertThat(afterFirst.stateVersion()).isEqualTo(11L);
+		assertThat(engine.getStateSnapshot().stateVersion()).isEqualTo(12L);
+	}
+
+	@Test
+	public void state_snapshot_is_not_published_for_failed_execution() throws RadixEngineException {
+		var engine = systemEngine();
+		engine.addStateReducer(new SystemViewReducer(), true);
+		var system = executeSystemUpdate(engine, null, 1);
+		var snapshot = engine.getStateSnapshot();
+
+		assertThatThrownBy(() -> executeSystemUpdate(engine, system, 1))
+			.isInstanceOf(RadixEngineException.class);
+
+		assertThat(engine.getStateSnapshot()).isSameAs(snapshot);
+	}
+
+	@Test
+	public void nested_branches_are_not_retained_by_their_parent() throws RadixEngineException {
+		var engine = systemEngine();
+		var branch = engine.transientBranch();
+		var nested = branch.transientBranch();
+
+		assertThatThrownBy(() -> branch.execute(List.of(systemUpdate(null, 1)), PermissionLevel.SUPER_USER))
+			.isInstanceOf(IllegalStateException.class);
+		nested.execute(List.of(systemUpdate(null, 1)), PermissionLevel.SUPER_USER);
+
+		// Deleting the top level branches is enough for the engine to commit again
+		engine.deleteBranches();
+		executeSystemUpdate(engine, null, 1);
+	}
+
+	private static RadixEngine<Void> systemEngine() {
+		return new RadixEngine<>(systemConstraintMachine(), new InMemoryEngineStore<>());
+	}
+
+	private static ConstraintMachine systemConstraintMachine() {
+		CMAtomOS cmAtomOS = new CMAtomOS();
+		cmAtomOS.load(new SystemConstraintScrypt());
+		return new ConstraintMachine.Builder()
+			.setVirtualStoreLayer(cmAtomOS.virtualizedUpParticles())
+			.setParticleStaticCheck(cmAtomOS.buildParticleStaticCheck())
+			.setParticleTransitionProcedures(cmAtomOS.buildTransitionProcedures())
+			.build();
+	}
+
+	/**
+	 * Moves the system particle with the given id, or the virtual genesis system
+	 * particle if none, to the given view and returns the id of the new system particle.
+	 */
+	private static SubstateId executeSystemUpdate(
+		RadixEngine<Void> engine,
+		SubstateId current,
+		long view
+	) throws RadixEngineException {
+		var parsed = engine.execute(List.of(systemUpdate(current, view)), null, PermissionLevel.SUPER_USER);
+		return parsed.get(0).instructions()
+			.filter(REParsedInstruction::isBootUp)
+			.map(i -> i.getSubstate().getId())
+			.findFirst()
+			.orElseThrow();
+	}
+
+	private static Txn systemUpdate(SubstateId current, long view) {
+		var builder = TxLowLevelBuilder.newBuilder();
+		if (current == null) {
+			builder.virtualDown(new SystemParticle(0, 0, 0));
+		} else {
+			builder.down(current);
+		}
+		return builder
+			.up(new SystemParticle(0, view, view))
+			.particleGroup()
+			.build();
+	}
+
+	private static final class SystemViewReducer implements StateReducer<Long, SystemParticle> {
+		@Override
+		public Class<Long> stateClass() {
+			return Long.class;
+		}
+
+		@Override
+		public Class<SystemParticle> particleClass() {
+			return SystemParticle.class;
+		}
+
+		@Override
+		public Supplier<Long> initial() {
+			return () -> 0L;
+		}
+
+		@Override
+		public BiFunction<Long, SystemParticle, Long> outputReducer() {
+			return (view, p) -> p.getView();
+		}
+
+		@Override
+		public BiFunction<Long, SystemParticle, Long> inputReducer() {
+			return (view, p) -> view;
+		}
+	}
 }
\ No newline at end of file
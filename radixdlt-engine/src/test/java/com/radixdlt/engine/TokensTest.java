@@ -1,6 +1,7 @@
 package com.radixdlt.engine;
 
 import com.radixdlt.atom.TxLowLevelBuilder;
+import com.radixdlt.atom.Txn;
 import com.radixdlt.atommodel.tokens.TokenDefinitionParticle;
 import com.radixdlt.atommodel.tokens.TokensConstraintScrypt;
 import com.radixdlt.atommodel.tokens.TokensParticle;
@@ -13,22 +14,29 @@ import com.radixdlt.identifiers.REAddr;
 import com.radixdlt.store.EngineStore;
 import com.radixdlt.store.InMemoryEngineStore;
 import com.radixdlt.utils.UInt256;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class TokensTest {
+	private ConstraintMachine cm;
 	private RadixEngine<Void> engine;
 	private EngineStore<Void> store;
+	private ForkJoinPool verificationPool;
 
 	@Before
 	public void setup() {
 		CMAtomOS cmAtomOS = new CMAtomOS();
 		cmAtomOS.load(new ValidatorConstraintScrypt());
 		cmAtomOS.load(new TokensConstraintScrypt());
-		ConstraintMachine cm = new ConstraintMachine.Builder()
+		this.cm = new ConstraintMachine.Builder()
 			.setVirtualStoreLayer(cmAtomOS.virtualizedUpParticles())
 			.setParticleStaticCheck(cmAtomOS.buildParticleStaticCheck())
 			.setParticleTransitionProcedures(cmAtomOS.buildTransitionProcedures())
@@ -38,6 +46,103 @@ public class TokensTest {
 			cm,
 			store
 		);
+		this.verificationPool = new ForkJoinPool(2);
+	}
+
+	@After
+	public void teardown() {
+		this.verificationPool.shutdownNow();
+	}
+
+	private static TxLowLevelBuilder createTokenBuilder(ECKeyPair keyPair, String symbol) {
+		REAddr rri = REAddr.ofHashedKey(keyPair.getPublicKey(), symbol);
+		var tokenDefinitionParticle = new TokenDefinitionParticle(
+			rri,
+			symbol.toUpperCase(),
+			"description",
+			"",
+			"",
+			UInt256.TEN
+		);
+		var tokensParticle = new TokensParticle(
+			REAddr.ofPubKeyAccount(keyPair.getPublicKey()),
+			UInt256.TEN,
+			rri
+		);
+		return TxLowLevelBuilder.newBuilder()
+			.virtualDown(new REAddrParticle(rri), symbol.getBytes(StandardCharsets.UTF_8))
+			.up(tokenDefinitionParticle)
+			.up(tokensParticle)
+			.particleGroup();
+	}
+
+	private static Txn createToken(ECKeyPair keyPair, String symbol) {
+		var builder = createTokenBuilder(keyPair, symbol);
+		var sig = keyPair.sign(builder.hashToSign().asBytes());
+		return builder.sig(sig).build();
+	}
+
+	@Test
+	public void batch_of_tokens_verified_in_parallel_executes_with_no_errors() throws RadixEngineException {
+		// Arrange
+		var parallelEngine = new RadixEngine<>(cm, store, null, BatchVerifier.<Void>empty(), verificationPool);
+		var txns = List.of(
+			createToken(ECKeyPair.generateNew(), "test"),
+			createToken(ECKeyPair.generateNew(), "test"),
+			createToken(ECKeyPair.generateNew(), "test")
+		);
+
+		// Act
+		var parsed = parallelEngine.execute(txns);
+
+		// Assert
+		assertThat(parsed).extracting(p -> p.getTxn()).containsExactlyElementsOf(txns);
+	}
+
+	@Test
+	public void batch_with_bad_signature_verified_in_parallel_fails() {
+		// Arrange
+		var parallelEngine = new RadixEngine<>(cm, store, null, BatchVerifier.<Void>empty(), verificationPool);
+		var keyPair = ECKeyPair.generateNew();
+		var builder = createTokenBuilder(keyPair, "test");
+		var badSig = keyPair.sign(createTokenBuilder(keyPair, "other").hashToSign().asBytes());
+		var txns = List.of(
+			createToken(ECKeyPair.generateNew(), "test"),
+			builder.sig(badSig).build()
+		);
+
+		// Act
+		// Assert
+		assertThatThrownBy(() -> parallelEngine.execute(txns))
+			.isInstanceOf(RadixEngineException.class);
+	}
+
+	@Test
+	public void batch_creating_same_token_twice_fails() {
+		// Arrange
+		var keyPair = ECKeyPair.generateNew();
+		var txn = createToken(keyPair, "test");
+		var txns = List.of(txn, txn);
+
+		// Act
+		// Assert
+		assertThatThrownBy(() -> engine.execute(txns))
+			.isInstanceOf(RadixEngineException.class);
+		assertThat(store.loadAddr(null, REAddr.ofHashedKey(keyPair.getPublicKey(), "test"))).isEmpty();
+	}
+
+	@Test
+	public void verifying_token_does_not_store_it() throws RadixEngineException {
+		// Arrange
+		var txn = createToken(ECKeyPair.generateNew(), "test");
+
+		// Act
+		engine.verify(txn);
+
+		// Assert
+		assertThat(engine.execute(List.of(txn))).extracting(p -> p.getTxn()).containsExactly(txn);
+		assertThatThrownBy(() -> engine.verify(txn))
+			.isInstanceOf(RadixEngineException.class);
 	}
 
 	@Test
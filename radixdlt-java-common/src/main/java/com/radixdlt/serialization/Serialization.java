@@ -30,6 +30,7 @@ import com.radixdlt.serialization.DsonOutput.Output;
 import com.radixdlt.serialization.mapper.JacksonCborMapper;
 import com.radixdlt.serialization.mapper.JacksonJsonMapper;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Map;
@@ -204,6 +205,23 @@ public class Serialization {
 		}
 	}
 
+	/**
+	 * Convert DSON encoded bytes read from the specified stream to an
+	 * instance of the specified class.
+	 *
+	 * @param in The stream to read the DSON encoded object from
+	 * @param valueType The class of the object to deserialize
+	 * @return The deserialized object
+	 * @throws DeserializeException if something goes wrong with serialization
+	 */
+	public <T> T fromDson(InputStream in, Class<T> valueType) throws DeserializeException {
+		try {
+			return dsonMapper(Output.ALL).readValue(in, valueType);
+		} catch (IOException ex) {
+			throw new DeserializeException("Error converting from DSON", ex);
+		}
+	}
+
 	/**
 	 * Convert the specified JSON encoded string to an instance of the
 	 * specified class.
@@ -0,0 +1,450 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map implemented as a hash array mapped trie.
+ * <p>
+ * Updates return a new map which shares all unchanged parts of the trie with
+ * the original, so that adding or removing an entry is O(log n) in time and space
+ * rather than requiring a copy of the whole map. The {@link Map} mutators are not
+ * supported; use {@link #with(Object, Object)} and {@link #without(Object)} instead.
+ * <p>
+ * Neither keys nor values may be {@code null}.
+ *
+ * @param <K> Type of the keys
+ * @param <V> Type of the values
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+	private static final Object NOT_FOUND = new Object();
+
+	private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+	private final Node root;
+	private final int size;
+
+	private PersistentHashMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return (PersistentHashMap<K, V>) EMPTY;
+	}
+
+	public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+		if (map instanceof PersistentHashMap) {
+			@SuppressWarnings("unchecked")
+			var persistent = (PersistentHashMap<K, V>) map;
+			return persistent;
+		}
+		PersistentHashMap<K, V> result = empty();
+		for (var entry : map.entrySet()) {
+			result = result.with(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a map with the given key mapped to the given value, replacing any
+	 * existing mapping for the key. Returns this map if it already contains the mapping.
+	 */
+	public PersistentHashMap<K, V> with(K key, V value) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+		var added = new boolean[1];
+		var newRoot = root.with(key, value, key.hashCode(), 0, added);
+		if (newRoot == root) {
+			return this;
+		}
+		return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+	}
+
+	/**
+	 * Returns a map without any mapping for the given key.
+	 * Returns this map if it does not contain the key.
+	 */
+	public PersistentHashMap<K, V> without(Object key) {
+		if (key == null) {
+			return this;
+		}
+		var newRoot = root.without(key, key.hashCode(), 0);
+		if (newRoot == root) {
+			return this;
+		}
+		return size == 1 ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (key == null) {
+			return null;
+		}
+		var value = root.find(key, key.hashCode(), 0);
+		return value == NOT_FOUND ? null : (V) value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key != null && root.find(key, key.hashCode(), 0) != NOT_FOUND;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		root.forEach((BiConsumer<Object, Object>) action);
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new EntryIterator<>(root);
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private static int index(int bitmap, int bit) {
+		return Integer.bitCount(bitmap & (bit - 1));
+	}
+
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	/**
+	 * A trie node. Entries are stored inline as key/value pairs at the start of
+	 * {@code content}, followed by any sub-nodes.
+	 */
+	private abstract static class Node {
+		final Object[] content;
+
+		Node(Object[] content) {
+			this.content = content;
+		}
+
+		abstract int entryCount();
+
+		abstract int nodeCount();
+
+		abstract Object find(Object key, int hash, int shift);
+
+		abstract Node with(Object key, Object value, int hash, int shift, boolean[] added);
+
+		abstract Node without(Object key, int hash, int shift);
+
+		void forEach(BiConsumer<Object, Object> action) {
+			var entries = entryCount() * 2;
+			for (int i = 0; i < entries; i += 2) {
+				action.accept(content[i], content[i + 1]);
+			}
+			for (int i = entries; i < content.length; i++) {
+				((Node) content[i]).forEach(action);
+			}
+		}
+	}
+
+	private static final class BitmapNode extends Node {
+		static final BitmapNode EMPTY = new BitmapNode(0, 0, new Object[0]);
+
+		// Bits of the hash fragments stored inline as entries
+		private final int entryMap;
+		// Bits of the hash fragments stored in sub-nodes
+		private final int nodeMap;
+
+		BitmapNode(int entryMap, int nodeMap, Object[] content) {
+			super(content);
+			this.entryMap = entryMap;
+			this.nodeMap = nodeMap;
+		}
+
+		@Override
+		int entryCount() {
+			return Integer.bitCount(entryMap);
+		}
+
+		@Override
+		int nodeCount() {
+			return Integer.bitCount(nodeMap);
+		}
+
+		private int nodeIndex(int bit) {
+			return entryCount() * 2 + index(nodeMap, bit);
+		}
+
+		@Override
+		Object find(Object key, int hash, int shift) {
+			var bit = bit(hash, shift);
+			if ((entryMap & bit) != 0) {
+				var i = index(entryMap, bit) * 2;
+				return key.equals(content[i]) ? content[i + 1] : NOT_FOUND;
+			}
+			if ((nodeMap & bit) != 0) {
+				return ((Node) content[nodeIndex(bit)]).find(key, hash, shift + BITS);
+			}
+			return NOT_FOUND;
+		}
+
+		@Override
+		Node with(Object key, Object value, int hash, int shift, boolean[] added) {
+			var bit = bit(hash, shift);
+			if ((entryMap & bit) != 0) {
+				var i = index(entryMap, bit) * 2;
+				var existingKey = content[i];
+				if (key.equals(existingKey)) {
+					if (value.equals(content[i + 1])) {
+						return this;
+					}
+					var newContent = content.clone();
+					newContent[i + 1] = value;
+					return new BitmapNode(entryMap, nodeMap, newContent);
+				}
+				added[0] = true;
+				var subNode = merge(existingKey, content[i + 1], existingKey.hashCode(), key, value, hash, shift + BITS);
+				return replaceEntryWithNode(bit, i, subNode);
+			}
+			if ((nodeMap & bit) != 0) {
+				var i = nodeIndex(bit);
+				var subNode = (Node) content[i];
+				var newSubNode = subNode.with(key, value, hash, shift + BITS, added);
+				if (newSubNode == subNode) {
+					return this;
+				}
+				var newContent = content.clone();
+				newContent[i] = newSubNode;
+				return new BitmapNode(entryMap, nodeMap, newContent);
+			}
+			added[0] = true;
+			var i = index(entryMap, bit) * 2;
+			var newContent = new Object[content.length + 2];
+			System.arraycopy(content, 0, newContent, 0, i);
+			newContent[i] = key;
+			newContent[i + 1] = value;
+			System.arraycopy(content, i, newContent, i + 2, content.length - i);
+			return new BitmapNode(entryMap | bit, nodeMap, newContent);
+		}
+
+		@Override
+		Node without(Object key, int hash, int shift) {
+			var bit = bit(hash, shift);
+			if ((entryMap & bit) != 0) {
+				var i = index(entryMap, bit) * 2;
+				if (!key.equals(content[i])) {
+					return this;
+				}
+				var newContent = new Object[content.length - 2];
+				System.arraycopy(content, 0, newContent, 0, i);
+				System.arraycopy(content, i + 2, newContent, i, content.length - i - 2);
+				return new BitmapNode(entryMap & ~bit, nodeMap, newContent);
+			}
+			if ((nodeMap & bit) != 0) {
+				var i = nodeIndex(bit);
+				var subNode = (Node) content[i];
+				var newSubNode = subNode.without(key, hash, shift + BITS);
+				if (newSubNode == subNode) {
+					return this;
+				}
+				// Keep the trie compact by pulling a single remaining entry up into this node
+				if (newSubNode.nodeCount() == 0 && newSubNode.entryCount() == 1) {
+					return replaceNodeWithEntry(bit, i, newSubNode.content[0], newSubNode.content[1]);
+				}
+				var newContent = content.clone();
+				newContent[i] = newSubNode;
+				return new BitmapNode(entryMap, nodeMap, newContent);
+			}
+			return this;
+		}
+
+		private Node replaceEntryWithNode(int bit, int entryIndex, Node node) {
+			var nodeIndex = nodeIndex(bit) - 2;
+			var newContent = new Object[content.length - 1];
+			System.arraycopy(content, 0, newContent, 0, entryIndex);
+			System.arraycopy(content, entryIndex + 2, newContent, entryIndex, nodeIndex - entryIndex);
+			newContent[nodeIndex] = node;
+			System.arraycopy(content, nodeIndex + 2, newContent, nodeIndex + 1, content.length - nodeIndex - 2);
+			return new BitmapNode(entryMap & ~bit, nodeMap | bit, newContent);
+		}
+
+		private Node replaceNodeWithEntry(int bit, int nodeIndex, Object key, Object value) {
+			var entryIndex = index(entryMap, bit) * 2;
+			var newContent = new Object[content.length + 1];
+			System.arraycopy(content, 0, newContent, 0, entryIndex);
+			newContent[entryIndex] = key;
+			newContent[entryIndex + 1] = value;
+			System.arraycopy(content, entryIndex, newContent, entryIndex + 2, nodeIndex - entryIndex);
+			System.arraycopy(content, nodeIndex + 1, newContent, nodeIndex + 2, content.length - nodeIndex - 1);
+			return new BitmapNode(entryMap | bit, nodeMap & ~bit, newContent);
+		}
+
+		private static Node merge(Object key1, Object value1, int hash1, Object key2, Object value2, int hash2, int shift) {
+			if (shift >= Integer.SIZE) {
+				return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+			}
+			var bit1 = bit(hash1, shift);
+			var bit2 = bit(hash2, shift);
+			if (bit1 == bit2) {
+				var subNode = merge(key1, value1, hash1, key2, value2, hash2, shift + BITS);
+				return new BitmapNode(0, bit1, new Object[] {subNode});
+			}
+			var content = Integer.compareUnsigned(bit1, bit2) < 0
+				? new Object[] {key1, value1, key2, value2}
+				: new Object[] {key2, value2, key1, value1};
+			return new BitmapNode(bit1 | bit2, 0, content);
+		}
+	}
+
+	/**
+	 * Entries whose keys have identical hash codes, once all bits of the hash are used up.
+	 */
+	private static final class CollisionNode extends Node {
+		private final int hash;
+
+		CollisionNode(int hash, Object[] content) {
+			super(content);
+			this.hash = hash;
+		}
+
+		@Override
+		int entryCount() {
+			return content.length / 2;
+		}
+
+		@Override
+		int nodeCount() {
+			return 0;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < content.length; i += 2) {
+				if (key.equals(content[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Object find(Object key, int hash, int shift) {
+			var i = indexOf(key);
+			return i < 0 ? NOT_FOUND : content[i + 1];
+		}
+
+		@Override
+		Node with(Object key, Object value, int hash, int shift, boolean[] added) {
+			var i = indexOf(key);
+			if (i >= 0) {
+				if (value.equals(content[i + 1])) {
+					return this;
+				}
+				var newContent = content.clone();
+				newContent[i + 1] = value;
+				return new CollisionNode(this.hash, newContent);
+			}
+			added[0] = true;
+			var newContent = Arrays.copyOf(content, content.length + 2);
+			newContent[content.length] = key;
+			newContent[content.length + 1] = value;
+			return new CollisionNode(this.hash, newContent);
+		}
+
+		@Override
+		Node without(Object key, int hash, int shift) {
+			var i = indexOf(key);
+			if (i < 0) {
+				return this;
+			}
+			var newContent = new Object[content.length - 2];
+			System.arraycopy(content, 0, newContent, 0, i);
+			System.arraycopy(content, i + 2, newContent, i, content.length - i - 2);
+			return new CollisionNode(this.hash, newContent);
+		}
+	}
+
+	private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+		private final ArrayDeque<Node> pending = new ArrayDeque<>();
+		private Object[] current;
+		private int index;
+		private int end;
+
+		EntryIterator(Node root) {
+			pending.push(root);
+			advance();
+		}
+
+		private void advance() {
+			while (index >= end && !pending.isEmpty()) {
+				var node = pending.pop();
+				current = node.content;
+				index = 0;
+				end = node.entryCount() * 2;
+				for (int i = end; i < current.length; i++) {
+					pending.push((Node) current[i]);
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < end;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			var entry = new SimpleImmutableEntry<>((K) current[index], (V) current[index + 1]);
+			index += 2;
+			advance();
+			return entry;
+		}
+	}
+}
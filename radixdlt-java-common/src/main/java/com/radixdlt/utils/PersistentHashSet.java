@@ -0,0 +1,85 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.utils;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * An immutable hash set backed by a {@link PersistentHashMap}, so that adding
+ * or removing an element shares all unchanged structure with the original set.
+ * The {@link java.util.Set} mutators are not supported; use {@link #with(Object)}
+ * and {@link #without(Object)} instead.
+ *
+ * @param <E> Type of the elements
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+	private static final PersistentHashSet<?> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+	private final PersistentHashMap<E, Boolean> elements;
+
+	private PersistentHashSet(PersistentHashMap<E, Boolean> elements) {
+		this.elements = elements;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentHashSet<E> empty() {
+		return (PersistentHashSet<E>) EMPTY;
+	}
+
+	/**
+	 * Returns a set with the given element added, or this set if it already contains it.
+	 */
+	public PersistentHashSet<E> with(E element) {
+		var newElements = elements.with(element, Boolean.TRUE);
+		return newElements == elements ? this : new PersistentHashSet<>(newElements);
+	}
+
+	/**
+	 * Returns a set with the given element removed, or this set if it does not contain it.
+	 */
+	public PersistentHashSet<E> without(Object element) {
+		var newElements = elements.without(element);
+		if (newElements == elements) {
+			return this;
+		}
+		return newElements.isEmpty() ? empty() : new PersistentHashSet<>(newElements);
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return elements.containsKey(o);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return elements.keySet().iterator();
+	}
+
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		elements.forEach((e, present) -> action.accept(e));
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.utils;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable sorted set implemented as a balanced (AVL) binary tree in which
+ * each node also records the size of its subtree.
+ * <p>
+ * Updates return a new set which shares all unchanged subtrees with the original,
+ * so that adding or removing an element is O(log n). Iterating over the first k
+ * elements, or the k elements following a given element, is O(log n + k), and the
+ * element at a given position can be found in O(log n).
+ * The {@link java.util.Set} mutators are not supported; use {@link #with(Object)}
+ * and {@link #without(Object)} instead.
+ *
+ * @param <E> Type of the elements
+ */
+public final class PersistentSortedSet<E> extends AbstractSet<E> {
+	private final Comparator<? super E> comparator;
+	private final Node<E> root;
+
+	private PersistentSortedSet(Comparator<? super E> comparator, Node<E> root) {
+		this.comparator = comparator;
+		this.root = root;
+	}
+
+	public static <E> PersistentSortedSet<E> empty(Comparator<? super E> comparator) {
+		return new PersistentSortedSet<>(Objects.requireNonNull(comparator), null);
+	}
+
+	/**
+	 * Returns a set with the given element added, or this set if it already contains it.
+	 */
+	public PersistentSortedSet<E> with(E element) {
+		Objects.requireNonNull(element);
+		var newRoot = insert(root, element);
+		return newRoot == root ? this : new PersistentSortedSet<>(comparator, newRoot);
+	}
+
+	/**
+	 * Returns a set with the given element removed, or this set if it does not contain it.
+	 */
+	public PersistentSortedSet<E> without(E element) {
+		if (element == null) {
+			return this;
+		}
+		var newRoot = delete(root, element);
+		return newRoot == root ? this : new PersistentSortedSet<>(comparator, newRoot);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean contains(Object o) {
+		if (o == null) {
+			return false;
+		}
+		var node = root;
+		while (node != null) {
+			var c = comparator.compare((E) o, node.element);
+			if (c == 0) {
+				return true;
+			}
+			node = c < 0 ? node.left : node.right;
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/**
+	 * Returns the element at the given position in the ordering of this set.
+	 *
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public E get(int index) {
+		Objects.checkIndex(index, size());
+		var node = root;
+		var i = index;
+		while (true) {
+			var leftSize = size(node.left);
+			if (i < leftSize) {
+				node = node.left;
+			} else if (i > leftSize) {
+				i -= leftSize + 1;
+				node = node.right;
+			} else {
+				return node.element;
+			}
+		}
+	}
+
+	/**
+	 * Iterates over all elements in order.
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		var iterator = new NodeIterator<E>();
+		iterator.pushLeft(root);
+		return iterator;
+	}
+
+	/**
+	 * Iterates in order over the elements which are strictly greater than
+	 * the given element. The given element need not be in the set.
+	 */
+	public Iterator<E> iteratorAfter(E element) {
+		var iterator = new NodeIterator<E>();
+		var node = root;
+		while (node != null) {
+			if (comparator.compare(node.element, element) > 0) {
+				iterator.pending.push(node);
+				node = node.left;
+			} else {
+				node = node.right;
+			}
+		}
+		return iterator;
+	}
+
+	private Node<E> insert(Node<E> node, E element) {
+		if (node == null) {
+			return new Node<>(element, null, null);
+		}
+		var c = comparator.compare(element, node.element);
+		if (c < 0) {
+			var left = insert(node.left, element);
+			return left == node.left ? node : balance(node.element, left, node.right);
+		} else if (c > 0) {
+			var right = insert(node.right, element);
+			return right == node.right ? node : balance(node.element, node.left, right);
+		}
+		return node;
+	}
+
+	private Node<E> delete(Node<E> node, E element) {
+		if (node == null) {
+			return null;
+		}
+		var c = comparator.compare(element, node.element);
+		if (c < 0) {
+			var left = delete(node.left, element);
+			return left == node.left ? node : balance(node.element, left, node.right);
+		} else if (c > 0) {
+			var right = delete(node.right, element);
+			return right == node.right ? node : balance(node.element, node.left, right);
+		}
+		if (node.left == null) {
+			return node.right;
+		}
+		if (node.right == null) {
+			return node.left;
+		}
+		var successor = node.right;
+		while (successor.left != null) {
+			successor = successor.left;
+		}
+		return balance(successor.element, node.left, deleteFirst(node.right));
+	}
+
+	private static <E> Node<E> deleteFirst(Node<E> node) {
+		if (node.left == null) {
+			return node.right;
+		}
+		return balance(node.element, deleteFirst(node.left), node.right);
+	}
+
+	private static <E> Node<E> balance(E element, Node<E> left, Node<E> right) {
+		var leftHeight = height(left);
+		var rightHeight = height(right);
+		if (leftHeight > rightHeight + 1) {
+			if (height(left.left) < height(left.right)) {
+				left = rotateLeft(left.element, left.left, left.right);
+			}
+			return rotateRight(element, left, right);
+		}
+		if (rightHeight > leftHeight + 1) {
+			if (height(right.right) < height(right.left)) {
+				right = rotateRight(right.element, right.left, right.right);
+			}
+			return rotateLeft(element, left, right);
+		}
+		return new Node<>(element, left, right);
+	}
+
+	private static <E> Node<E> rotateRight(E element, Node<E> left, Node<E> right) {
+		return new Node<>(left.element, left.left, new Node<>(element, left.right, right));
+	}
+
+	private static <E> Node<E> rotateLeft(E element, Node<E> left, Node<E> right) {
+		return new Node<>(right.element, new Node<>(element, left, right.left), right.right);
+	}
+
+	private static int height(Node<?> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private static int size(Node<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private static final class Node<E> {
+		private final E element;
+		private final Node<E> left;
+		private final Node<E> right;
+		private final int height;
+		private final int size;
+
+		Node(E element, Node<E> left, Node<E> right) {
+			this.element = element;
+			this.left = left;
+			this.right = right;
+			this.height = Math.max(height(left), height(right)) + 1;
+			this.size = size(left) + size(right) + 1;
+		}
+	}
+
+	private static final class NodeIterator<E> implements Iterator<E> {
+		private final ArrayDeque<Node<E>> pending = new ArrayDeque<>();
+
+		void pushLeft(Node<E> node) {
+			while (node != null) {
+				pending.push(node);
+				node = node.left;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !pending.isEmpty();
+		}
+
+		@Override
+		public E next() {
+			if (pending.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+			var node = pending.pop();
+			pushLeft(node.right);
+			return node.element;
+		}
+	}
+}
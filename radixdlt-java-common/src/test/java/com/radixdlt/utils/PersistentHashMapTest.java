@@ -0,0 +1,124 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.utils;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PersistentHashMapTest {
+	@Test
+	public void updates_do_not_change_original_map() {
+		var original = PersistentHashMap.<String, Integer>empty().with("a", 1).with("b", 2);
+
+		var updated = original.with("a", 3).without("b").with("c", 4);
+
+		assertThat(original).containsOnly(Map.entry("a", 1), Map.entry("b", 2));
+		assertThat(updated).containsOnly(Map.entry("a", 3), Map.entry("c", 4));
+	}
+
+	@Test
+	public void unchanged_updates_return_same_map() {
+		var map = PersistentHashMap.<String, Integer>empty().with("a", 1);
+
+		assertThat(map.with("a", 1)).isSameAs(map);
+		assertThat(map.without("b")).isSameAs(map);
+		assertThat(map.without("a")).isSameAs(PersistentHashMap.empty());
+	}
+
+	@Test
+	public void random_updates_match_hash_map() {
+		var random = new Random(12345L);
+		var expected = new HashMap<Integer, Integer>();
+		PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+
+		for (int i = 0; i < 20_000; i++) {
+			var key = random.nextInt(5_000) - 2_500;
+			if (random.nextInt(3) == 0) {
+				expected.remove(key);
+				map = map.without(key);
+			} else {
+				expected.put(key, i);
+				map = map.with(key, i);
+			}
+		}
+
+		var result = map;
+		assertThat(result).hasSize(expected.size());
+		assertThat(result).isEqualTo(expected);
+		assertThat(expected).isEqualTo(result);
+		assertThat(result.hashCode()).isEqualTo(expected.hashCode());
+		expected.forEach((key, value) -> assertThat(result.get(key)).isEqualTo(value));
+	}
+
+	@Test
+	public void keys_with_colliding_hashes_are_kept_apart() {
+		var keys = new CollidingKey[] {new CollidingKey(1), new CollidingKey(2), new CollidingKey(3)};
+		PersistentHashMap<CollidingKey, Integer> map = PersistentHashMap.empty();
+		for (int i = 0; i < keys.length; i++) {
+			map = map.with(keys[i], i);
+		}
+
+		var removed = map.without(keys[1]);
+
+		assertThat(map).hasSize(3).containsEntry(keys[0], 0).containsEntry(keys[1], 1).containsEntry(keys[2], 2);
+		assertThat(removed).hasSize(2).containsEntry(keys[0], 0).containsEntry(keys[2], 2).doesNotContainKey(keys[1]);
+		assertThat(removed.without(keys[0]).without(keys[2])).isEmpty();
+	}
+
+	@Test
+	public void map_mutators_are_not_supported() {
+		var map = PersistentHashMap.<String, Integer>empty().with("a", 1);
+
+		assertThatThrownBy(() -> map.put("b", 2)).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> map.entrySet().clear()).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void null_keys_and_values_are_rejected() {
+		var map = PersistentHashMap.<String, Integer>empty();
+
+		assertThatThrownBy(() -> map.with(null, 1)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> map.with("a", null)).isInstanceOf(NullPointerException.class);
+		assertThat(map.get(null)).isNull();
+	}
+
+	private static final class CollidingKey {
+		private final int id;
+
+		CollidingKey(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.utils;
+
+import org.junit.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentHashSetTest {
+	@Test
+	public void updates_do_not_change_original_set() {
+		var original = PersistentHashSet.<String>empty().with("a").with("b");
+
+		var updated = original.without("a").with("c");
+
+		assertThat(original).containsExactlyInAnyOrder("a", "b");
+		assertThat(updated).containsExactlyInAnyOrder("b", "c");
+		assertThat(updated).isEqualTo(Set.of("b", "c"));
+	}
+
+	@Test
+	public void unchanged_updates_return_same_set() {
+		var set = PersistentHashSet.<String>empty().with("a");
+
+		assertThat(set.with("a")).isSameAs(set);
+		assertThat(set.without("b")).isSameAs(set);
+		assertThat(set.without("a")).isSameAs(PersistentHashSet.empty());
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * (C) Copyright 2021 Radix DLT Ltd
+ *
+ * Radix DLT Ltd licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ */
+
+
+package com.radixdlt.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PersistentSortedSetTest {
+	@Test
+	public void random_updates_match_tree_set() {
+		var random = new Random(12345L);
+		var expected = new TreeSet<Integer>();
+		var set = PersistentSortedSet.<Integer>empty(Comparator.naturalOrder());
+
+		for (int i = 0; i < 20_000; i++) {
+			var element = random.nextInt(5_000);
+			if (random.nextInt(3) == 0) {
+				expected.remove(element);
+				set = set.without(element);
+			} else {
+				expected.add(element);
+				set = set.with(element);
+			}
+		}
+
+		assertThat(set).hasSize(expected.size());
+		assertThat(set).containsExactlyElementsOf(expected);
+		var elements = new ArrayList<>(expected);
+		for (int i = 0; i < elements.size(); i += 97) {
+			assertThat(set.get(i)).isEqualTo(elements.get(i));
+		}
+	}
+
+	@Test
+	public void iterator_after_returns_greater_elements_in_order() {
+		var set = PersistentSortedSet.<Integer>empty(Comparator.reverseOrder());
+		for (int i = 0; i < 100; i += 10) {
+			set = set.with(i);
+		}
+
+		assertThat(set.iteratorAfter(50)).containsExactly(40, 30, 20, 10, 0);
+		assertThat(set.iteratorAfter(55)).containsExactly(50, 40, 30, 20, 10, 0);
+		assertThat(set.iteratorAfter(0)).isEmpty();
+		assertThat(set.iteratorAfter(100)).containsExactlyElementsOf(set);
+	}
+
+	@Test
+	public void updates_do_not_change_original_set() {
+		var original = PersistentSortedSet.<String>empty(Comparator.naturalOrder()).with("b").with("a");
+
+		var updated = original.without("a").with("c");
+
+		assertThat(original).containsExactly("a", "b");
+		assertThat(updated).containsExactly("b", "c");
+		assertThat(original.with("a")).isSameAs(original);
+		assertThat(original.without("c")).isSameAs(original);
+	}
+
+	@Test
+	public void get_out_of_range_throws() {
+		var set = PersistentSortedSet.<String>empty(Comparator.naturalOrder()).with("a");
+
+		assertThatThrownBy(() -> set.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> set.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+}